@@ -3,22 +3,37 @@
 import com.badlogic.gdx.Game;
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.Screen;
-import com.badlogic.gdx.audio.Sound;
 import com.badlogic.gdx.files.FileHandle;
 import com.badlogic.gdx.graphics.g2d.BitmapFont;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
 import com.badlogic.gdx.scenes.scene2d.ui.Skin;
-import de.tum.cit.ase.bomberquest.ScreenStates.GameOverScreen;
-import de.tum.cit.ase.bomberquest.ScreenStates.GameWonScreen;
-import de.tum.cit.ase.bomberquest.ScreenStates.MenuScreen;
+import de.tum.cit.ase.bomberquest.ScreenStates.ScreenRegistry;
 import de.tum.cit.ase.bomberquest.ScreenStates.ScreenState;
+import de.tum.cit.ase.bomberquest.assets.AssetDescriptors;
+import de.tum.cit.ase.bomberquest.assets.AssetManifest;
+import de.tum.cit.ase.bomberquest.assets.GameAssets;
 import de.tum.cit.ase.bomberquest.audio.MusicTrack;
+import de.tum.cit.ase.bomberquest.audio.SoundMixer;
 import de.tum.cit.ase.bomberquest.bonusFeatures.Score;
+import de.tum.cit.ase.bomberquest.bot.BotPlayer;
+import de.tum.cit.ase.bomberquest.bot.SoakTestRunner;
+import de.tum.cit.ase.bomberquest.map.ArenaGenerator;
 import de.tum.cit.ase.bomberquest.map.GameMap;
+import de.tum.cit.ase.bomberquest.map.MapSnapshot;
+import de.tum.cit.ase.bomberquest.map.SnapshotStore;
+import de.tum.cit.ase.bomberquest.net.GameServer;
+import de.tum.cit.ase.bomberquest.net.NetworkLoadTest;
+import de.tum.cit.ase.bomberquest.net.UdpTransport;
+import de.tum.cit.ase.bomberquest.replay.Replay;
+import de.tum.cit.ase.bomberquest.replay.ReplayRunner;
 import de.tum.cit.ase.bomberquest.objects.Player;
 import de.tum.cit.ase.bomberquest.screens.*;
 import games.spooky.gdx.nativefilechooser.NativeFileChooser;
 
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.util.Random;
+
 /**
  * Main class for the BomberQuest game, responsible for initializing and managing game states, resources, and screen transitions.
  * Extends libGDX's Game class to leverage its game lifecycle management.
@@ -36,9 +51,18 @@ public class BomberQuestGame extends Game {
     private ScreenState previousScreenState;
     private MusicTrack currentMusicTrack;
     private Hud hud;
-    private Sound gameWonSound;
-    private Sound gameOverSound;
+    private ScreenRegistry screens;
     private Score score = new Score();
+    private String replayToRun; // Replay file passed on the command line, run once on startup
+    private SoakTestRunner.Settings soakTestToRun; // Soak test passed on the command line, run once on startup
+    private NetworkLoadTest.Settings networkTestToRun; // Network load test passed on the command line, run once on startup
+    private GameServer.Settings serverToRun; // Dedicated server passed on the command line, started on startup
+    private int serverPort;
+    private GameServer server;
+    private boolean botControlled = false; // The player is steered by a BotPlayer instead of the keyboard
+    private int playerCount = 1; // Local players on every map; two share the keyboard, bots steer the others
+    private SnapshotStore quickSaves;
+    private MapSnapshot restartSnapshot; // The selected map right after loading it, so a restart does not parse it again
 
     /**
      * Constructs a new BomberQuestGame instance with the specified file chooser.
@@ -57,12 +81,19 @@ public BomberQuestGame(NativeFileChooser fileChooser) {
     @Override
     public void create() {
         this.spriteBatch = new SpriteBatch(); // Create SpriteBatch for rendering
-        this.skin = new Skin(Gdx.files.internal("skin/craftacular/craftacular-ui.json")); // Load UI skin
 
-        gameWonSound = Gdx.audio.newSound(Gdx.files.internal("audio/gameWon.mp3"));
-        gameOverSound = Gdx.audio.newSound(Gdx.files.internal("assets/audio/death.mp3"));
+        // Load everything the menu needs right away, the other screens are loaded in the background
+        GameAssets.initialize();
+        GameAssets.finishLoading(AssetManifest.MENU);
+        GameAssets.queue(AssetManifest.GAME);
+        GameAssets.queue(AssetManifest.GAME_OVER);
+        GameAssets.queue(AssetManifest.GAME_WON);
+
+        this.skin = GameAssets.get(AssetDescriptors.SKIN); // Load UI skin
 
         this.font = skin.getFont("font");
+        this.screens = new ScreenRegistry(this, font);
+        this.quickSaves = new SnapshotStore(Gdx.files.local("saves/quicksave.bqs"));
 
         // this serves as a fallback in case the map loaded is corrupted
         FileHandle hardcodedMapFile = Gdx.files.internal("maps/Map 1.properties");
@@ -70,6 +101,47 @@ public void create() {
         this.map = new GameMap(this, hardcodedMapFile, hud, score);
 
         goToMenu();
+
+        if (replayToRun != null) {
+            runReplay(replayToRun);
+        }
+        if (soakTestToRun != null) {
+            GameAssets.finishLoading(AssetManifest.GAME); // Loaded here, the games run on threads without a GL context
+            SoakTestRunner.run(this, soakTestToRun);
+            Gdx.app.exit(); // A soak test is a batch job, the game is not played afterwards
+        }
+        if (networkTestToRun != null) {
+            NetworkLoadTest.run(this, networkTestToRun);
+            Gdx.app.exit();
+        }
+        if (serverToRun != null) {
+            startServer();
+        }
+    }
+
+    /**
+     * Starts the dedicated server on all interfaces. It runs on its own threads until the game is closed.
+     */
+    private void startServer() {
+        try {
+            server = new GameServer(this, serverToRun, new UdpTransport(new InetSocketAddress(serverPort)));
+            server.start();
+        } catch (IOException e) {
+            Gdx.app.error("GameServer", "Failed to open port " + serverPort, e);
+        }
+    }
+
+    /**
+     * Continues loading queued assets in the background, renders the current screen,
+     * plays the sound effects it requested and advances the music crossfades.
+     */
+    @Override
+    public void render() {
+        float deltaTime = Gdx.graphics.getDeltaTime();
+        GameAssets.update();
+        super.render();
+        SoundMixer.update(deltaTime);
+        MusicTrack.updateAll(deltaTime);
     }
 
     /**
@@ -106,21 +178,28 @@ public void setScreenWithState(ScreenState newState) {
         // Play appropriate music for the new state
         switch (newState) {
             case MENU -> {
-                setScreen(new MenuScreen(this, font));
+                setScreen(screens.get(ScreenState.MENU));
                 playMusic(MusicTrack.BACKGROUND);
             }
             case GAME -> {
-                setScreen(new GameScreen(this, score, savedTime));
+                GameAssets.finishLoading(AssetManifest.GAME);
+                GameScreen gameScreen = new GameScreen(this, score, savedTime);
+                if (botControlled) {
+                    gameScreen.setInputSource(new BotPlayer(map.getSeed()));
+                }
+                setScreen(gameScreen);
                 playMusic(MusicTrack.GAMEPLAY_MUSIC);
             }
             case GAME_OVER -> {
-                setScreen(new GameOverScreen(this, font));
+                GameAssets.finishLoading(AssetManifest.GAME_OVER);
+                setScreen(screens.get(ScreenState.GAME_OVER));
                 currentMusicTrack.stop();
-                gameOverSound.play();
+                GameAssets.get(AssetDescriptors.GAME_OVER_SOUND).play();
             }
             case GAME_WON -> {
-                setScreen(new GameWonScreen(this, font));
-                gameWonSound.play();
+                GameAssets.finishLoading(AssetManifest.GAME_WON);
+                setScreen(screens.get(ScreenState.GAME_WON));
+                GameAssets.get(AssetDescriptors.GAME_WON_SOUND).play();
                 if (currentMusicTrack != null) {
                     currentMusicTrack.stop();
                 }
@@ -129,21 +208,21 @@ public void setScreenWithState(ScreenState newState) {
     }
 
     /**
-     * Plays the specified music track, handling the transition from any currently playing track.
+     * Plays the specified music track, crossfading from any currently playing track.
      *
      * @param track the MusicTrack to be played
      */
     private void playMusic(MusicTrack track) {
         if (currentMusicTrack != track) {
             if (currentMusicTrack != null) {
-                currentMusicTrack.stop();
+                currentMusicTrack.fadeOut();
             }
 
             if (track == MusicTrack.GAMEPLAY_MUSIC) {
                 track.setLooping(false);
             }
             currentMusicTrack = track;
-            track.play();
+            track.fadeIn();
         }
     }
 
@@ -167,7 +246,11 @@ public void restartGame() {
             currentScreen.dispose();
         }
 
-        if (selectedMap != null) {
+        if (restartSnapshot != null) {
+            this.map = addLocalPlayers(restartSnapshot.restore(this, hud, score));
+            score.resetScore();
+            goToGame();
+        } else if (selectedMap != null) {
             loadMap(selectedMap);
         } else {
             Gdx.app.error("BomberQuestGame", "No map selected to restart the game.");
@@ -190,16 +273,10 @@ public void goToGameWon() {
      */
     public void loadMap(String mapPath) {
         try {
-            FileHandle fileHandle;
-            FileHandle internalCheck = Gdx.files.internal(mapPath);
-            if (internalCheck.exists()) {
-                fileHandle = internalCheck;
-            } else {
-                fileHandle = Gdx.files.absolute(mapPath);
-            }
-
             this.selectedMap = mapPath;
-            this.map = new GameMap(this, fileHandle, hud, score);
+            this.map = createMap(mapPath, score, new Random().nextLong(), savedTime);
+            this.restartSnapshot = MapSnapshot.capture(map, savedTime); // Before the other local players join
+            addLocalPlayers(map);
             goToGame();
         } catch (Exception e) {
             e.printStackTrace();
@@ -207,8 +284,111 @@ public void loadMap(String mapPath) {
         }
     }
 
+    /**
+     * Saves the running game. The snapshot is taken immediately, the file is written in the background.
+     *
+     * @param timeLeft the time left on the level timer
+     */
+    public void quickSave(float timeLeft) {
+        quickSaves.save(map, timeLeft);
+        Gdx.app.log("QuickSave", "Saved " + map.getMapPath());
+    }
+
+    /**
+     * Continues the game from the last quick save, of this session or of an earlier one.
+     *
+     * @return true if a quick save was loaded, false if there is none
+     */
+    public boolean quickLoad() {
+        MapSnapshot snapshot = quickSaves.getLatest();
+        if (snapshot == null) {
+            Gdx.app.log("QuickLoad", "No quick save found");
+            return false;
+        }
+        this.map = addLocalPlayers(snapshot.restore(this, hud, score));
+        this.selectedMap = snapshot.getMapPath();
+        this.restartSnapshot = null; // A restart loads the map file again
+        setSavedTime(snapshot.getTimeLeft());
+        goToGame();
+        return true;
+    }
+
+    /**
+     * Adds the local players that a new map does not have yet.
+     *
+     * @param map the map, with the player from its entrance or the players of its snapshot
+     * @return the same map
+     */
+    private GameMap addLocalPlayers(GameMap map) {
+        for (int i = map.getPlayerCount(); i < playerCount; i++) {
+            map.addPlayer();
+        }
+        return map;
+    }
+
+    /**
+     * Builds the map for a map path: generated arenas are generated from the seed, map files are parsed.
+     *
+     * @param mapPath  the file path of the map, or the path of a generated arena
+     * @param score    the Score instance for tracking player points
+     * @param seed     the seed for all randomness of the map
+     * @param timeLeft the time on the level timer when the session starts
+     * @return the new map
+     */
+    public GameMap createMap(String mapPath, Score score, long seed, float timeLeft) {
+        return createMap(mapPath, score, seed, timeLeft, hud);
+    }
+
+    /**
+     * Builds the map for a map path with its own HUD, or without one for headless maps that run
+     * on other threads.
+     *
+     * @param mapPath  the file path of the map, or the path of a generated arena
+     * @param score    the Score instance for tracking player points
+     * @param seed     the seed for all randomness of the map
+     * @param timeLeft the time on the level timer when the session starts
+     * @param hud      the HUD showing the stats of the map, or null
+     * @return the new map
+     */
+    public GameMap createMap(String mapPath, Score score, long seed, float timeLeft, Hud hud) {
+        if (ArenaGenerator.isArenaPath(mapPath)) {
+            return new GameMap(this, ArenaGenerator.Settings.fromPath(mapPath), hud, score, seed, timeLeft);
+        }
+        return new GameMap(this, resolveMapFile(mapPath), hud, score, seed, timeLeft);
+    }
+
+    /**
+     * Resolves a map path to a file. Bundled maps are looked up internally, imported maps by their absolute path.
+     *
+     * @param mapPath the file path of the map
+     * @return the file handle of the map
+     */
+    public static FileHandle resolveMapFile(String mapPath) {
+        FileHandle internalCheck = Gdx.files.internal(mapPath);
+        if (internalCheck.exists()) {
+            return internalCheck;
+        }
+        return Gdx.files.absolute(mapPath);
+    }
+
+    /**
+     * Plays a recorded replay back without rendering, at maximum speed, and logs the timing.
+     *
+     * @param replayPath the path of the replay file
+     */
+    public void runReplay(String replayPath) {
+        try {
+            Replay replay = Replay.read(Gdx.files.absolute(replayPath));
+            ReplayRunner.run(this, replay);
+        } catch (Exception e) {
+            e.printStackTrace();
+            System.out.println("Failed to run replay: " + replayPath);
+        }
+    }
+
     /**
      * Sets the active screen and ensures that the previous screen is properly disposed of to free resources.
+     * Screens cached by the {@link ScreenRegistry} are kept alive so they can be shown again.
      *
      * @param screen the new Screen to set as active
      */
@@ -216,21 +396,29 @@ public void loadMap(String mapPath) {
     public void setScreen(Screen screen) {
         Screen previousScreen = super.screen;
         super.setScreen(screen);
-        if (previousScreen != null) {
+        if (previousScreen != null && previousScreen != screen && !screens.contains(previousScreen)) {
             previousScreen.dispose();
         }
     }
 
     /**
-     * Disposes of all game resources, including screens, rendering components, and skins.
+     * Disposes of all game resources, including screens, rendering components, and loaded assets.
      * This method is called when the application is closing.
      */
     @Override
     public void dispose() {
         getScreen().hide();
-        getScreen().dispose();
+        if (!screens.contains(getScreen())) {
+            getScreen().dispose();
+        }
+        screens.dispose();
+        quickSaves.dispose(); // Lets a pending quick save finish writing
+        if (server != null) {
+            server.close();
+        }
+        hud.dispose();
         spriteBatch.dispose();
-        skin.dispose();
+        GameAssets.dispose(); // Releases the skin, textures, sounds and music in one place
     }
 
     /**
@@ -276,6 +464,10 @@ public void resetTime(){
 
 
 
+    public ScreenRegistry getScreens() {
+        return screens;
+    }
+
     public Skin getSkin() {
         return skin;
     }
@@ -356,12 +548,33 @@ public void setHud(Hud hud) {
         this.hud = hud;
     }
 
-    public Sound getGameWonSound() {
-        return gameWonSound;
+    public void setReplayToRun(String replayToRun) {
+        this.replayToRun = replayToRun;
+    }
+
+    public void setSoakTestToRun(SoakTestRunner.Settings soakTestToRun) {
+        this.soakTestToRun = soakTestToRun;
+    }
+
+    public void setNetworkTestToRun(NetworkLoadTest.Settings networkTestToRun) {
+        this.networkTestToRun = networkTestToRun;
+    }
+
+    /**
+     * @param serverToRun the matches the dedicated server runs
+     * @param port        the UDP port the clients reach it on
+     */
+    public void setServerToRun(GameServer.Settings serverToRun, int port) {
+        this.serverToRun = serverToRun;
+        this.serverPort = port;
+    }
+
+    public void setBotControlled(boolean botControlled) {
+        this.botControlled = botControlled;
     }
 
-    public void setGameWonSound(Sound gameWonSound) {
-        this.gameWonSound = gameWonSound;
+    public void setPlayerCount(int playerCount) {
+        this.playerCount = Math.max(1, playerCount);
     }
 
     public NativeFileChooser getFileChooser() {
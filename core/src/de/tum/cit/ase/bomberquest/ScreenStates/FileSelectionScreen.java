@@ -15,6 +15,8 @@
 import com.badlogic.gdx.utils.viewport.ScreenViewport;
 import com.badlogic.gdx.utils.viewport.Viewport;
 import de.tum.cit.ase.bomberquest.BomberQuestGame;
+import de.tum.cit.ase.bomberquest.assets.AssetDescriptors;
+import de.tum.cit.ase.bomberquest.map.ArenaGenerator;
 import de.tum.cit.ase.bomberquest.screens.BaseScreen;
 import de.tum.cit.ase.bomberquest.textures.Textures;
 import de.tum.cit.ase.bomberquest.bonusFeatures.ui.MenuButton;
@@ -24,7 +26,7 @@
 /**
  * Screen that allows users to select or import map files for BomberQuest.
  * It displays available maps from the internal "maps" directory and provides
- * an option to import custom maps from the file system.
+ * options to play a randomly generated arena or to import custom maps from the file system.
  */
 public class FileSelectionScreen extends BaseScreen {
 
@@ -32,6 +34,8 @@ public class FileSelectionScreen extends BaseScreen {
     private final BitmapFont font;
     private final BomberQuestGame game;
 
+    private static final int ARENA_SIZE = 64; // Width and height of a random arena in tiles
+
     /**
      * Creates a new FileSelectionScreen.
      *
@@ -39,7 +43,7 @@ public class FileSelectionScreen extends BaseScreen {
      * @param font the bitmap font used for rendering text
      */
     public FileSelectionScreen(BomberQuestGame game, BitmapFont font) {
-        super(game, font, "assets/startScreen/start_background.jpg", true);
+        super(game, font, AssetDescriptors.START_BACKGROUND, true);
 
         this.game = game;
         this.font = font;
@@ -89,8 +93,7 @@ public FileSelectionScreen(BomberQuestGame game, BitmapFont font) {
                         @Override
                         public void clicked(InputEvent event, float x, float y) {
                             game.loadMap(file.path());
-                            game.getCurrentMusicTrack().stop();
-                            game.getCurrentMusicTrack().play();
+                            game.getCurrentMusicTrack().restart();
                             super.clicked(event, x, y);
                         }
                     });
@@ -102,6 +105,26 @@ public void clicked(InputEvent event, float x, float y) {
         rootTable.add(mapTable).padBottom(20);
         rootTable.row();
 
+        // A new arena is generated from a fresh seed every time
+        MenuButton arenaButton = new MenuButton(
+                "Random Arena",
+                400, 70,
+                font,
+                upDrawable,
+                overDrawable
+        );
+        arenaButton.setTouchable(Touchable.enabled);
+        arenaButton.addListener(new ClickListener() {
+            @Override
+            public void clicked(InputEvent event, float x, float y) {
+                game.loadMap(ArenaGenerator.Settings.of(ARENA_SIZE, ARENA_SIZE).toPath());
+                game.getCurrentMusicTrack().restart();
+                super.clicked(event, x, y);
+            }
+        });
+        rootTable.add(arenaButton).padBottom(20);
+        rootTable.row();
+
         Label importLabel = new Label("Import a custom map", labelStyle);
         rootTable.add(importLabel).left().padBottom(10);
         rootTable.row();
@@ -10,6 +10,7 @@
 import com.badlogic.gdx.scenes.scene2d.utils.NinePatchDrawable;
 import com.badlogic.gdx.utils.viewport.ScreenViewport;
 import de.tum.cit.ase.bomberquest.BomberQuestGame;
+import de.tum.cit.ase.bomberquest.assets.AssetDescriptors;
 import de.tum.cit.ase.bomberquest.screens.BaseScreen;
 import de.tum.cit.ase.bomberquest.textures.Textures;
 import de.tum.cit.ase.bomberquest.bonusFeatures.ui.MenuButton;
@@ -23,7 +24,9 @@
 public class GameOverScreen extends BaseScreen {
 
     private final Stage uiStage;
-    private final String gameOverMessage;
+    private final Label messageLabel;
+    private final Label scoreLabel;
+    private final Random random = new Random();
 
     private static final String[] MESSAGES = {
             "Boom! And just like that... Game Over.",
@@ -56,10 +59,7 @@ public class GameOverScreen extends BaseScreen {
      */
     public GameOverScreen(BomberQuestGame game, BitmapFont font) {
 
-        super(game, font, "assets/background/gameOverBackground.jpg", true);
-
-        Random random = new Random();
-        this.gameOverMessage = MESSAGES[random.nextInt(MESSAGES.length)];
+        super(game, font, AssetDescriptors.GAME_OVER_BACKGROUND, true);
 
         this.uiStage = new Stage(new ScreenViewport(), game.getSpriteBatch());
 
@@ -72,18 +72,11 @@ public GameOverScreen(BomberQuestGame game, BitmapFont font) {
         table.add(gameOverLabel).padBottom(40f);
         table.row();
 
-        Label messageLabel = new Label(gameOverMessage, new Label.LabelStyle(font, font.getColor()));
+        messageLabel = new Label("", new Label.LabelStyle(font, font.getColor()));
         table.add(messageLabel).padBottom(50f);
         table.row();
 
-
-        int finalScore = 0;
-
-        if (game.getMap() != null && game.getMap().getScore() != null) {
-            finalScore = game.getMap().getScore().getScore();
-        }
-
-        Label scoreLabel = new Label("Score: " + finalScore, new Label.LabelStyle(font, font.getColor()));
+        scoreLabel = new Label("", new Label.LabelStyle(font, font.getColor()));
         table.add(scoreLabel).padBottom(30f);
         table.row();
 
@@ -131,10 +124,20 @@ public void clicked(InputEvent event, float x, float y) {
     }
 
     /**
-     * Sets the input processor to the UI stage when the screen is shown.
+     * Picks a new message, shows the final score and sets the input processor to the UI stage.
+     * The screen is reused, so this happens every time it is shown.
      */
     @Override
     public void show() {
+        messageLabel.setText(MESSAGES[random.nextInt(MESSAGES.length)]);
+
+        int finalScore = 0;
+
+        if (game.getMap() != null && game.getMap().getScore() != null) {
+            finalScore = game.getMap().getScore().getScore();
+        }
+
+        scoreLabel.setText("Score: " + finalScore);
         Gdx.input.setInputProcessor(uiStage);
     }
 
@@ -10,6 +10,7 @@
 import com.badlogic.gdx.scenes.scene2d.utils.NinePatchDrawable;
 import com.badlogic.gdx.utils.viewport.ScreenViewport;
 import de.tum.cit.ase.bomberquest.BomberQuestGame;
+import de.tum.cit.ase.bomberquest.assets.AssetDescriptors;
 import de.tum.cit.ase.bomberquest.screens.BaseScreen;
 import de.tum.cit.ase.bomberquest.textures.Textures;
 import de.tum.cit.ase.bomberquest.bonusFeatures.ui.MenuButton;
@@ -23,7 +24,9 @@
 public class GameWonScreen extends BaseScreen {
 
     private final Stage uiStage;
-    private final String winMessage;
+    private final Label messageLabel;
+    private final Label scoreLabel;
+    private final Random random = new Random();
 
     private static final String[] WIN_MESSAGES = {
             "You’ve bombed your way to glory! Nicely done!",
@@ -55,10 +58,7 @@ public class GameWonScreen extends BaseScreen {
      * @param font The BitmapFont to use for text rendering.
      */
     public GameWonScreen(BomberQuestGame game, BitmapFont font) {
-        super(game, font, "assets/background/gameWonBackground.jpg", true);
-
-        Random random = new Random();
-        this.winMessage = WIN_MESSAGES[random.nextInt(WIN_MESSAGES.length)];
+        super(game, font, AssetDescriptors.GAME_WON_BACKGROUND, true);
 
         this.uiStage = new Stage(new ScreenViewport(), game.getSpriteBatch());
 
@@ -72,19 +72,12 @@ public GameWonScreen(BomberQuestGame game, BitmapFont font) {
         table.add(wonLabel).padBottom(40f);
         table.row();
 
-        Label messageLabel = new Label(winMessage, labelStyle);
+        messageLabel = new Label("", labelStyle);
         table.add(messageLabel).padBottom(50f);
         table.row();
 
-
-        int finalScore = 0;
-
-        if (game.getMap() != null && game.getMap().getScore() != null) {
-            finalScore = game.getMap().getScore().getScore();
-        }
-
-        // Display final score
-        Label scoreLabel = new Label("Score: " + finalScore, labelStyle);
+        // Display final score, filled in when the screen is shown
+        scoreLabel = new Label("", labelStyle);
         table.add(scoreLabel).padBottom(30f);
         table.row();
 
@@ -127,10 +120,20 @@ public void clicked(InputEvent event, float x, float y) {
     }
 
     /**
-     * Sets the input processor to the UI stage when the screen is shown.
+     * Picks a new message, shows the final score and sets the input processor to the UI stage.
+     * The screen is reused, so this happens every time it is shown.
      */
     @Override
     public void show() {
+        messageLabel.setText(WIN_MESSAGES[random.nextInt(WIN_MESSAGES.length)]);
+
+        int finalScore = 0;
+
+        if (game.getMap() != null && game.getMap().getScore() != null) {
+            finalScore = game.getMap().getScore().getScore();
+        }
+
+        scoreLabel.setText("Score: " + finalScore);
         Gdx.input.setInputProcessor(uiStage);
     }
 
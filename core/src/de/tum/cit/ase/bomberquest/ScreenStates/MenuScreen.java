@@ -13,6 +13,7 @@
 import com.badlogic.gdx.utils.Scaling;
 import com.badlogic.gdx.utils.viewport.ScreenViewport;
 import de.tum.cit.ase.bomberquest.BomberQuestGame;
+import de.tum.cit.ase.bomberquest.assets.AssetDescriptors;
 import de.tum.cit.ase.bomberquest.screens.BaseScreen;
 import de.tum.cit.ase.bomberquest.textures.Textures;
 import de.tum.cit.ase.bomberquest.bonusFeatures.ui.MenuButton;
@@ -23,7 +24,7 @@ public class MenuScreen extends BaseScreen {
     private Image logoImage;
 
     public MenuScreen(BomberQuestGame game, BitmapFont font) {
-        super(game, font, "assets/startScreen/start_background.jpg", false);
+        super(game, font, AssetDescriptors.START_BACKGROUND, false);
 
         // Create the stage and main UI table
         uiStage = new Stage(new ScreenViewport(), game.getSpriteBatch());
@@ -52,7 +53,7 @@ public MenuScreen(BomberQuestGame game, BitmapFont font) {
         startButton.addListener(new ClickListener() {
             @Override
             public void clicked(InputEvent event, float x, float y) {
-                game.setScreen(new FileSelectionScreen(game, font));
+                game.setScreen(game.getScreens().get(ScreenState.FILE_SELECTION));
                 game.resetTime();
                 super.clicked(event, x, y);
             }
@@ -68,7 +69,7 @@ public void clicked(InputEvent event, float x, float y) {
         settingsButton.addListener(new ClickListener() {
             @Override
             public void clicked(InputEvent event, float x, float y) {
-                game.setScreen(new SettingsScreen(game, font, false));
+                game.setScreen(game.getScreens().getSettingsScreen(false));
                 game.setPreviousScreenState(ScreenState.MENU);
                 game.setCurrentScreenState(ScreenState.SETTINGS);
                 super.clicked(event, x, y);
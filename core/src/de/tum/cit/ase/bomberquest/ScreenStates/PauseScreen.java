@@ -86,7 +86,6 @@ public void clicked(InputEvent event, float x, float y) {
             @Override
             public void clicked(InputEvent event, float x, float y) {
                 Gdx.app.log("PauseScreen", "To main menu clicked");
-                game.setScreen(new MenuScreen(game, font));
                 game.setScreenWithState(ScreenState.MENU);
                 game.getScore().resetScore();
                 game.resetTime();
@@ -104,7 +103,7 @@ public void clicked(InputEvent event, float x, float y) {
         loadMap.addListener(new ClickListener() {
             @Override
             public void clicked(InputEvent event, float x, float y) {
-                game.setScreen(new FileSelectionScreen(game, font));
+                game.setScreen(game.getScreens().get(ScreenState.FILE_SELECTION));
                 game.resetTime();
                 super.clicked(event, x, y);
             }
@@ -123,7 +122,7 @@ public void clicked(InputEvent event, float x, float y) {
             @Override
             public void clicked(InputEvent event, float x, float y) {
                 Gdx.app.log("PauseScreen", "Settings button clicked");
-                game.setScreen(new SettingsScreen(game, font, true));
+                game.setScreen(game.getScreens().getSettingsScreen(true));
                 game.setCurrentScreenState(ScreenState.SETTINGS);
                 game.setPreviousScreenState(ScreenState.PAUSE);
                 super.clicked(event, x, y);
@@ -218,7 +217,7 @@ public void resize(int width, int height) {
 
     /**
      * Disposes of the resources used by the PauseScreen, including the stage and shape renderer.
-     * Should be called when the pause screen is no longer needed to free resources.
+     * The pause screen is shared by all game screens, so this is only called by the ScreenRegistry.
      */
     public void dispose() {
         stage.dispose();
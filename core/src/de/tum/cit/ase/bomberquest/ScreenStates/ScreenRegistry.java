@@ -0,0 +1,103 @@
+package de.tum.cit.ase.bomberquest.ScreenStates;
+
+import com.badlogic.gdx.Screen;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import de.tum.cit.ase.bomberquest.BomberQuestGame;
+import de.tum.cit.ase.bomberquest.screens.BaseScreen;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * ScreenRegistry builds each menu screen once and hands out the same instance on every transition.
+ * The stages, effects and background textures of a screen are therefore only created the first time
+ * it is shown, and navigating between menus, settings and pause no longer allocates GPU resources.
+ * The GameScreen is not cached, a new one is created for every map.
+ */
+public class ScreenRegistry {
+
+    private final BomberQuestGame game;
+    private final BitmapFont font;
+    private final Map<ScreenState, BaseScreen> screens = new EnumMap<>(ScreenState.class);
+    private PauseScreen pauseScreen;
+
+    /**
+     * Constructs the ScreenRegistry. No screen is built until it is requested.
+     *
+     * @param game The main game instance.
+     * @param font The BitmapFont shared by all screens.
+     */
+    public ScreenRegistry(BomberQuestGame game, BitmapFont font) {
+        this.game = game;
+        this.font = font;
+    }
+
+    /**
+     * Returns the screen for the given state, building it the first time it is requested.
+     *
+     * @param state the state of the screen (MENU, SETTINGS, FILE_SELECTION, GAME_OVER or GAME_WON)
+     * @return the cached screen
+     */
+    public BaseScreen get(ScreenState state) {
+        return screens.computeIfAbsent(state, this::create);
+    }
+
+    private BaseScreen create(ScreenState state) {
+        return switch (state) {
+            case MENU -> new MenuScreen(game, font);
+            case SETTINGS -> new SettingsScreen(game, font);
+            case FILE_SELECTION -> new FileSelectionScreen(game, font);
+            case GAME_OVER -> new GameOverScreen(game, font);
+            case GAME_WON -> new GameWonScreen(game, font);
+            default -> throw new IllegalArgumentException("No cached screen for state: " + state);
+        };
+    }
+
+    /**
+     * Returns the settings screen, configured for where it was opened from.
+     *
+     * @param fromPause true if opened from the pause menu, false if opened from the main menu
+     * @return the cached settings screen
+     */
+    public SettingsScreen getSettingsScreen(boolean fromPause) {
+        SettingsScreen settingsScreen = (SettingsScreen) get(ScreenState.SETTINGS);
+        settingsScreen.setFromPause(fromPause);
+        return settingsScreen;
+    }
+
+    /**
+     * Returns the pause overlay that is shared by all game screens.
+     *
+     * @return the cached pause screen
+     */
+    public PauseScreen getPauseScreen() {
+        if (pauseScreen == null) {
+            pauseScreen = new PauseScreen(game, font);
+        }
+        return pauseScreen;
+    }
+
+    /**
+     * Checks whether a screen is owned by this registry and must therefore not be disposed on a transition.
+     *
+     * @param screen the screen to check
+     * @return true if the screen is cached here
+     */
+    public boolean contains(Screen screen) {
+        return screens.containsValue(screen);
+    }
+
+    /**
+     * Disposes all cached screens. Called once when the game closes.
+     */
+    public void dispose() {
+        for (BaseScreen screen : screens.values()) {
+            screen.dispose();
+        }
+        screens.clear();
+        if (pauseScreen != null) {
+            pauseScreen.dispose();
+            pauseScreen = null;
+        }
+    }
+}
@@ -4,7 +4,6 @@
 import com.badlogic.gdx.Input;
 import com.badlogic.gdx.InputAdapter;
 import com.badlogic.gdx.graphics.GL20;
-import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.g2d.BitmapFont;
 import com.badlogic.gdx.scenes.scene2d.*;
 import com.badlogic.gdx.scenes.scene2d.ui.CheckBox;
@@ -17,6 +16,8 @@
 import com.badlogic.gdx.utils.viewport.ScreenViewport;
 import com.badlogic.gdx.utils.viewport.Viewport;
 import de.tum.cit.ase.bomberquest.BomberQuestGame;
+import de.tum.cit.ase.bomberquest.assets.AssetDescriptors;
+import de.tum.cit.ase.bomberquest.assets.GameAssets;
 import de.tum.cit.ase.bomberquest.audio.MusicTrack;
 import de.tum.cit.ase.bomberquest.screens.BaseScreen;
 import de.tum.cit.ase.bomberquest.screens.GameScreen;
@@ -37,6 +38,7 @@ public class SettingsScreen extends BaseScreen {
     private final BomberQuestGame game;
     private final float desiredWidth = 400;
     private final float desiredHeight = 70;
+    private final CheckBox muteCheckBox;
     private boolean fromPause;
 
     /**
@@ -46,9 +48,8 @@ public class SettingsScreen extends BaseScreen {
      * @param game The main game instance.
      * @param font The BitmapFont used for rendering text on the buttons.
      */
-    public SettingsScreen(BomberQuestGame game, BitmapFont font, boolean fromPause) {
-        super(game, font, "assets/startScreen/start_background.jpg", true);
-        this.fromPause = fromPause;
+    public SettingsScreen(BomberQuestGame game, BitmapFont font) {
+        super(game, font, AssetDescriptors.START_BACKGROUND, true);
 
         this.game = game;
         this.font = font;
@@ -59,16 +60,19 @@ public SettingsScreen(BomberQuestGame game, BitmapFont font, boolean fromPause)
         NinePatchDrawable upDrawable = new NinePatchDrawable(Textures.BUTTON_LONG_NINEPATCH_OFF);
         NinePatchDrawable overDrawable = new NinePatchDrawable(Textures.BUTTON_LONG_NINEPATCH_HOVER);
 
-        Skin skin = new Skin(Gdx.files.internal("skin/craftacular/craftacular-ui.json"));
+        // Reuse the game's skin; the checkbox style only has to be registered the first time
+        Skin skin = game.getSkin();
 
-        TextureRegionDrawable checkOn = new TextureRegionDrawable(new Texture(Gdx.files.internal("menu/check_disable.png")));
-        TextureRegionDrawable checkOff = new TextureRegionDrawable(new Texture(Gdx.files.internal("menu/check_off.png")));
+        if (!skin.has("customCheckBox", CheckBox.CheckBoxStyle.class)) {
+            TextureRegionDrawable checkOn = new TextureRegionDrawable(GameAssets.get(AssetDescriptors.CHECK_ON));
+            TextureRegionDrawable checkOff = new TextureRegionDrawable(GameAssets.get(AssetDescriptors.CHECK_OFF));
 
-        CheckBox.CheckBoxStyle checkBoxStyle = new CheckBox.CheckBoxStyle();
-        checkBoxStyle.checkboxOn = checkOn;
-        checkBoxStyle.checkboxOff = checkOff;
-        checkBoxStyle.font = skin.getFont("font");
-        skin.add("customCheckBox", checkBoxStyle);
+            CheckBox.CheckBoxStyle checkBoxStyle = new CheckBox.CheckBoxStyle();
+            checkBoxStyle.checkboxOn = checkOn;
+            checkBoxStyle.checkboxOff = checkOff;
+            checkBoxStyle.font = skin.getFont("font");
+            skin.add("customCheckBox", checkBoxStyle);
+        }
 
         // Create buttons for key bindings
         MenuButton upButton = createKeyBindingButton(KeyBindings.MOVE_UP, upDrawable, overDrawable);
@@ -78,6 +82,8 @@ public SettingsScreen(BomberQuestGame game, BitmapFont font, boolean fromPause)
         MenuButton placeBombButton = createKeyBindingButton(KeyBindings.PLACE_BOMB, upDrawable, overDrawable);
         MenuButton shootButton = createKeyBindingButton(KeyBindings.SHOOT_ARROW, upDrawable, overDrawable);
         MenuButton pauseGameButton = createKeyBindingButton(KeyBindings.PAUSE_GAME, upDrawable, overDrawable);
+        MenuButton quickSaveButton = createKeyBindingButton(KeyBindings.QUICK_SAVE, upDrawable, overDrawable);
+        MenuButton quickLoadButton = createKeyBindingButton(KeyBindings.QUICK_LOAD, upDrawable, overDrawable);
 
         // Create a label for "Custom Keybindings"
         Label keybindingsLabel = new Label("Custom Keybindings", skin, "default");
@@ -97,12 +103,14 @@ public SettingsScreen(BomberQuestGame game, BitmapFont font, boolean fromPause)
         keybindingsTable.add(shootButton).size(desiredWidth, desiredHeight).pad(10);
         keybindingsTable.row();
         keybindingsTable.add(pauseGameButton).size(desiredWidth, desiredHeight).pad(10);
+        keybindingsTable.add(quickSaveButton).size(desiredWidth, desiredHeight).pad(10);
+        keybindingsTable.row();
+        keybindingsTable.add(quickLoadButton).size(desiredWidth, desiredHeight).pad(10);
 
 
 
 
-        CheckBox muteCheckBox = new CheckBox("", skin, "customCheckBox");
-        muteCheckBox.setChecked(MusicTrack.BACKGROUND.isMuted());
+        muteCheckBox = new CheckBox("", skin, "customCheckBox");
         muteCheckBox.addListener(new ClickListener() {
             @Override
             public void clicked(InputEvent event, float x, float y) {
@@ -218,10 +226,20 @@ public boolean keyDown(int keycode) {
     }
 
     /**
-     * Sets the input processor to the UI stage when the screen is shown.
+     * Sets whether the settings were opened from the pause menu, which decides where the back button leads.
+     *
+     * @param fromPause true if opened from the pause menu, false if opened from the main menu
+     */
+    public void setFromPause(boolean fromPause) {
+        this.fromPause = fromPause;
+    }
+
+    /**
+     * Syncs the mute checkbox with the music state and sets the input processor to the UI stage.
      */
     @Override
     public void show() {
+        muteCheckBox.setChecked(MusicTrack.BACKGROUND.isMuted());
         Gdx.input.setInputProcessor(stage);
     }
 
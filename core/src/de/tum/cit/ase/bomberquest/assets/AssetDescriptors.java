@@ -0,0 +1,94 @@
+package de.tum.cit.ase.bomberquest.assets;
+
+import com.badlogic.gdx.assets.AssetDescriptor;
+import com.badlogic.gdx.assets.loaders.TextureLoader;
+import com.badlogic.gdx.audio.Music;
+import com.badlogic.gdx.audio.Sound;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.scenes.scene2d.ui.Skin;
+
+/**
+ * Contains the descriptor of every file the game loads from disk.
+ * The descriptors are grouped into per-screen manifests by {@link AssetManifest}
+ * and resolved through {@link GameAssets}.
+ */
+public final class AssetDescriptors {
+
+    private AssetDescriptors() {
+    }
+
+    // UI skin (the atlas with the same name is loaded as a dependency)
+    public static final AssetDescriptor<Skin> SKIN =
+            new AssetDescriptor<>("skin/craftacular/craftacular-ui.json", Skin.class);
+
+    // Menu textures
+    public static final AssetDescriptor<Texture> LOGO = texture("assets/menu/bomberQuestLogo.png");
+    public static final AssetDescriptor<Texture> BUTTON_LONG_OFF = texture("assets/menu/button_long_off.png");
+    public static final AssetDescriptor<Texture> BUTTON_LONG_HOVER = texture("assets/menu/button_long_hover.png");
+    public static final AssetDescriptor<Texture> CHECK_ON = texture("menu/check_disable.png");
+    public static final AssetDescriptor<Texture> CHECK_OFF = texture("menu/check_off.png");
+
+    // Screen backgrounds, filtered linearly because they are stretched to the window size
+    public static final AssetDescriptor<Texture> START_BACKGROUND = linearTexture("assets/startScreen/start_background.jpg");
+    public static final AssetDescriptor<Texture> GAME_OVER_BACKGROUND = linearTexture("assets/background/gameOverBackground.jpg");
+    public static final AssetDescriptor<Texture> GAME_WON_BACKGROUND = linearTexture("assets/background/gameWonBackground.jpg");
+
+    // HUD panels
+    public static final AssetDescriptor<Texture> HUD_PANEL_BLACK = texture("assets/menu/hudPanelBlack.png");
+    public static final AssetDescriptor<Texture> HUD_PANEL_RED = texture("assets/menu/hudPanelRed.png");
+    public static final AssetDescriptor<Texture> HUD_PANEL_BLUE = texture("assets/menu/hudPanelBlue.png");
+
+    // Sprite sheets (see SpriteSheet)
+    public static final AssetDescriptor<Texture> CHARACTER_SHEET = texture("texture/character.png");
+    public static final AssetDescriptor<Texture> PLAYER_SHEET = texture("texture/player.png");
+    public static final AssetDescriptor<Texture> MOBS_SHEET = texture("texture/mobs.png");
+    public static final AssetDescriptor<Texture> ORIGINAL_BOMBERMAN_SHEET = texture("texture/original-bomberman.png");
+    public static final AssetDescriptor<Texture> TILESET_SHEET = texture("texture/tileset.png");
+
+    // Single-image game textures (see Textures)
+    public static final AssetDescriptor<Texture> BLAST_RADIUS_PU = texture("assets/texture/blastRadiusPU.png");
+    public static final AssetDescriptor<Texture> CONCURRENT_BOMB_PU = texture("assets/texture/concurrentBombPU.png");
+    public static final AssetDescriptor<Texture> BLAST_RADIUS_HUD = texture("assets/texture/blastRadiusBombPuHUD.png");
+    public static final AssetDescriptor<Texture> CONCURRENT_BOMB_HUD = texture("assets/texture/concurrentBombPuHUD.png");
+    public static final AssetDescriptor<Texture> ENEMY_COUNT_HUD = texture("assets/texture/enemyCountHUD.png");
+    public static final AssetDescriptor<Texture> SPEED_PU_HUD = texture("assets/texture/speedPuHUD.png");
+    public static final AssetDescriptor<Texture> SPEED_PU = texture("assets/texture/speedPU.png");
+    public static final AssetDescriptor<Texture> ARROW_PU = texture("assets/texture/arrowPowerUp.png");
+    public static final AssetDescriptor<Texture> ARROW_PU_HUD = texture("assets/texture/arrowPowerUpHUD.png");
+    public static final AssetDescriptor<Texture> ARROW_RIGHT = texture("assets/texture/arrowRight.png");
+    public static final AssetDescriptor<Texture> ARROW_LEFT = texture("assets/texture/arrowLeft.png");
+    public static final AssetDescriptor<Texture> ARROW_UP = texture("assets/texture/arrowUp.png");
+    public static final AssetDescriptor<Texture> ARROW_DOWN = texture("assets/texture/arrowDown.png");
+
+    // Sound effects
+    public static final AssetDescriptor<Sound> BUTTON_CLICK_SOUND = sound("assets/audio/buttonClick.mp3");
+    public static final AssetDescriptor<Sound> BOMB_PLACED_SOUND = sound("assets/audio/bombPlaced.mp3");
+    public static final AssetDescriptor<Sound> EXPLOSION_SOUND = sound("assets/audio/explosionSound.mp3");
+    public static final AssetDescriptor<Sound> POWER_UP_SOUND = sound("assets/audio/powerUp.mp3");
+    public static final AssetDescriptor<Sound> ARROW_SOUND = sound("assets/audio/arrowSound.mp3");
+    public static final AssetDescriptor<Sound> GAME_WON_SOUND = sound("audio/gameWon.mp3");
+    public static final AssetDescriptor<Sound> GAME_OVER_SOUND = sound("assets/audio/death.mp3");
+
+    // Music (see MusicTrack)
+    public static final AssetDescriptor<Music> MAIN_MENU_MUSIC = music("audio/mainMenuTrack.mp3");
+    public static final AssetDescriptor<Music> GAMEPLAY_MUSIC = music("audio/gameplayMusic.mp3");
+
+    private static AssetDescriptor<Texture> texture(String fileName) {
+        return new AssetDescriptor<>(fileName, Texture.class);
+    }
+
+    private static AssetDescriptor<Texture> linearTexture(String fileName) {
+        TextureLoader.TextureParameter parameter = new TextureLoader.TextureParameter();
+        parameter.minFilter = Texture.TextureFilter.Linear;
+        parameter.magFilter = Texture.TextureFilter.Linear;
+        return new AssetDescriptor<>(fileName, Texture.class, parameter);
+    }
+
+    private static AssetDescriptor<Sound> sound(String fileName) {
+        return new AssetDescriptor<>(fileName, Sound.class);
+    }
+
+    private static AssetDescriptor<Music> music(String fileName) {
+        return new AssetDescriptor<>(fileName, Music.class);
+    }
+}
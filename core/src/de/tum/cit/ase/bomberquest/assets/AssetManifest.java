@@ -0,0 +1,61 @@
+package de.tum.cit.ase.bomberquest.assets;
+
+import com.badlogic.gdx.assets.AssetDescriptor;
+
+import static de.tum.cit.ase.bomberquest.assets.AssetDescriptors.*;
+
+/**
+ * Lists the assets each screen needs before it can be shown.
+ * MENU is loaded synchronously on startup; all other manifests are queued and
+ * loaded in the background while the menu is visible, so screen transitions
+ * only ever read from memory.
+ * Assets shared by several manifests are reference counted by the AssetManager.
+ * Music is not part of any manifest, MusicTrack opens a track when it is first played.
+ */
+public enum AssetManifest {
+
+    /**
+     * Everything needed for the menu screens (menu, settings, file selection).
+     * The Textures class is initialized as a whole, so all its single-image textures
+     * and the tileset are part of this manifest as well.
+     */
+    MENU(
+            SKIN, LOGO, BUTTON_LONG_OFF, BUTTON_LONG_HOVER, CHECK_ON, CHECK_OFF, START_BACKGROUND,
+            TILESET_SHEET, BLAST_RADIUS_PU, CONCURRENT_BOMB_PU, BLAST_RADIUS_HUD, CONCURRENT_BOMB_HUD,
+            ENEMY_COUNT_HUD, SPEED_PU_HUD, SPEED_PU, ARROW_PU, ARROW_PU_HUD,
+            ARROW_RIGHT, ARROW_LEFT, ARROW_UP, ARROW_DOWN,
+            BUTTON_CLICK_SOUND
+    ),
+
+    /**
+     * Everything needed while a map is being played.
+     */
+    GAME(
+            CHARACTER_SHEET, PLAYER_SHEET, MOBS_SHEET, ORIGINAL_BOMBERMAN_SHEET, TILESET_SHEET,
+            HUD_PANEL_BLACK, HUD_PANEL_RED, HUD_PANEL_BLUE,
+            BOMB_PLACED_SOUND, EXPLOSION_SOUND, POWER_UP_SOUND, ARROW_SOUND
+    ),
+
+    /**
+     * The game over screen.
+     */
+    GAME_OVER(GAME_OVER_BACKGROUND, GAME_OVER_SOUND),
+
+    /**
+     * The game won screen.
+     */
+    GAME_WON(GAME_WON_BACKGROUND, GAME_WON_SOUND);
+
+    private final AssetDescriptor<?>[] assets;
+
+    AssetManifest(AssetDescriptor<?>... assets) {
+        this.assets = assets;
+    }
+
+    /**
+     * @return the descriptors of all assets belonging to this manifest
+     */
+    public AssetDescriptor<?>[] getAssets() {
+        return assets;
+    }
+}
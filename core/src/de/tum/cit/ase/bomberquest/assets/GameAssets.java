@@ -0,0 +1,118 @@
+package de.tum.cit.ase.bomberquest.assets;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.assets.AssetDescriptor;
+import com.badlogic.gdx.assets.AssetManager;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Owns the single libGDX AssetManager of the game.
+ * Every texture, sound, music track and skin is loaded through this class, so each file
+ * is read from disk once, shared between all users and disposed together when the game closes.
+ *
+ * Implemented according to https://libgdx.com/wiki/managing-your-assets
+ */
+public final class GameAssets {
+
+    // Maximum time per frame spent on background loading, so the menu keeps rendering smoothly
+    private static final int UPDATE_BUDGET_MILLIS = 4;
+
+    private static AssetManager manager;
+
+    // Manifests that have been handed to the manager (each one holds a reference on its assets)
+    private static final Set<AssetManifest> queuedManifests = EnumSet.noneOf(AssetManifest.class);
+
+    private GameAssets() {
+    }
+
+    /**
+     * Creates the AssetManager. Must be called once from the render thread before any asset is requested.
+     */
+    public static void initialize() {
+        if (manager == null) {
+            manager = new AssetManager();
+        }
+    }
+
+    /**
+     * Queues all assets of a manifest for background loading.
+     * Queuing the same manifest twice has no effect.
+     *
+     * @param manifest the manifest to load
+     */
+    public static void queue(AssetManifest manifest) {
+        if (!queuedManifests.add(manifest)) {
+            return;
+        }
+        for (AssetDescriptor<?> descriptor : manifest.getAssets()) {
+            manager.load(descriptor);
+        }
+    }
+
+    /**
+     * Loads all assets of a manifest and blocks until they are available.
+     * Returns immediately if the background loading has already finished them.
+     *
+     * @param manifest the manifest to load
+     */
+    public static void finishLoading(AssetManifest manifest) {
+        queue(manifest);
+        for (AssetDescriptor<?> descriptor : manifest.getAssets()) {
+            if (!manager.isLoaded(descriptor.fileName, descriptor.type)) {
+                manager.finishLoadingAsset(descriptor);
+            }
+        }
+    }
+
+    /**
+     * Continues loading queued assets for a small time budget.
+     * Should be called once per frame.
+     *
+     * @return true if all queued assets are loaded
+     */
+    public static boolean update() {
+        return manager.update(UPDATE_BUDGET_MILLIS);
+    }
+
+    /**
+     * Returns a loaded asset. If the asset is not loaded yet (e.g. it is requested before the
+     * background loading reached it), it is loaded synchronously as a fallback.
+     *
+     * @param descriptor the descriptor of the asset
+     * @return the loaded asset
+     */
+    public static <T> T get(AssetDescriptor<T> descriptor) {
+        if (!manager.isLoaded(descriptor.fileName, descriptor.type)) {
+            Gdx.app.log("GameAssets", "Loading on demand: " + descriptor.fileName);
+            if (!manager.contains(descriptor.fileName)) {
+                manager.load(descriptor);
+            }
+            manager.finishLoadingAsset(descriptor);
+        }
+        return manager.get(descriptor);
+    }
+
+    /**
+     * Releases a single asset that was loaded on demand, e.g. a music track that is no longer played.
+     *
+     * @param descriptor the descriptor of the asset
+     */
+    public static void unload(AssetDescriptor<?> descriptor) {
+        if (manager != null && manager.contains(descriptor.fileName, descriptor.type)) {
+            manager.unload(descriptor.fileName);
+        }
+    }
+
+    /**
+     * Disposes all loaded assets. Called once when the game closes.
+     */
+    public static void dispose() {
+        if (manager != null) {
+            manager.dispose();
+            manager = null;
+        }
+        queuedManifests.clear();
+    }
+}
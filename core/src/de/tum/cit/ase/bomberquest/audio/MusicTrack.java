@@ -1,56 +1,172 @@
 package de.tum.cit.ase.bomberquest.audio;
 
-import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.assets.AssetDescriptor;
 import com.badlogic.gdx.audio.Music;
+import de.tum.cit.ase.bomberquest.assets.AssetDescriptors;
+import de.tum.cit.ase.bomberquest.assets.GameAssets;
 
 /**
  * This enum is used to manage the music tracks in the game.
  * See the assets/audio folder for the actual music files.
+ * A track is only opened the first time it is played. libGDX streams Music from disk through a few
+ * small buffers, so an open track never holds the whole file in memory. Tracks are crossfaded with
+ * {@link #fadeIn()} and {@link #fadeOut()} and closed again after they have been silent for a while.
  */
 
 public enum MusicTrack {
-    BACKGROUND("mainMenuTrack.mp3", 1f),
-    GAMEPLAY_MUSIC("gameplayMusic.mp3", 1f);
+    BACKGROUND(AssetDescriptors.MAIN_MENU_MUSIC, 1f),
+    GAMEPLAY_MUSIC(AssetDescriptors.GAMEPLAY_MUSIC, 1f);
 
-    private final Music music;
+    // Time in seconds a crossfade takes
+    private static final float FADE_DURATION = 1.5f;
+
+    // Time in seconds a silent track stays open before it is closed
+    private static final float IDLE_CLOSE_DELAY = 30f;
+
+    private final AssetDescriptor<Music> descriptor;
     private final float originalVolume;
+    private Music music;
+    private Music.OnCompletionListener completionListener;
+    private boolean isLooping = true;
     private boolean isMuted = false;
     private boolean isPaused = false;
+    private float fade = 1f; // Current fade level between 0 (silent) and 1 (full volume)
+    private float targetFade = 1f;
+    private float idleTime = 0f;
 
-    MusicTrack(String fileName, float volume) {
-        this.music = Gdx.audio.newMusic(Gdx.files.internal("audio/" + fileName));
-        this.music.setLooping(true);
-        this.music.setVolume(volume);
+    MusicTrack(AssetDescriptor<Music> descriptor, float volume) {
+        this.descriptor = descriptor;
         this.originalVolume = volume;
+    }
 
+    /**
+     * Updates the fades of all tracks and closes tracks that have been silent for too long.
+     * Should be called once per frame.
+     *
+     * @param deltaTime the time since the last frame in seconds
+     */
+    public static void updateAll(float deltaTime) {
+        for (MusicTrack track : values()) {
+            track.update(deltaTime);
+        }
     }
 
+    private void update(float deltaTime) {
+        if (music == null) {
+            return;
+        }
+        if (fade != targetFade) {
+            float step = deltaTime / FADE_DURATION;
+            fade = targetFade > fade ? Math.min(targetFade, fade + step) : Math.max(targetFade, fade - step);
+            applyVolume();
+            if (fade == 0f) {
+                music.stop(); // Faded out completely
+            }
+        }
+
+        if (music.isPlaying() || isPaused) {
+            idleTime = 0f;
+        } else {
+            idleTime += deltaTime;
+            if (idleTime >= IDLE_CLOSE_DELAY) {
+                close();
+            }
+        }
+    }
+
+    /**
+     * Opens the Music object of this track and applies the current looping, listener and volume state.
+     *
+     * @return the Music object of this track
+     */
+    private Music music() {
+        if (music == null) {
+            music = GameAssets.get(descriptor);
+            music.setLooping(isLooping);
+            music.setOnCompletionListener(completionListener);
+            applyVolume();
+        }
+        return music;
+    }
+
+    /**
+     * Closes the stream of this track. It is opened again the next time it is played.
+     */
+    private void close() {
+        music.stop();
+        GameAssets.unload(descriptor);
+        music = null;
+        idleTime = 0f;
+    }
+
+    private void applyVolume() {
+        if (music != null) {
+            music.setVolume(isMuted ? 0 : originalVolume * fade);
+        }
+    }
 
     public void play() {
-        this.music.play();
+        fade = 1f;
+        targetFade = 1f;
+        music().play();
+        applyVolume();
         isPaused = false;
     }
 
+    /**
+     * Starts this track silently (if it is not playing yet) and raises it to full volume.
+     */
+    public void fadeIn() {
+        if (!music().isPlaying()) {
+            fade = 0f;
+            applyVolume();
+            music.play();
+        }
+        targetFade = 1f;
+        isPaused = false;
+    }
+
+    /**
+     * Lowers this track to silence and stops it afterwards.
+     */
+    public void fadeOut() {
+        targetFade = 0f;
+    }
+
+    /**
+     * Starts this track from the beginning. A running fade-in is kept.
+     */
+    public void restart() {
+        if (music().isPlaying()) {
+            music.setPosition(0f);
+        } else {
+            play();
+        }
+    }
+
     public void stop() {
-        this.music.stop();
+        if (music != null) {
+            music.stop();
+        }
+        isPaused = false;
     }
 
     public void mute() {
         if (!isMuted) {
-            music.setVolume(0);
             isMuted = true;
+            applyVolume();
         }
     }
 
     public void unmute() {
         if (isMuted) {
-            music.setVolume(originalVolume);
             isMuted = false;
+            applyVolume();
         }
     }
 
     public void pause(){
-        if (!isPaused){
+        if (!isPaused && music != null){
             music.pause();
             isPaused = true;
         }
@@ -61,11 +177,15 @@ public boolean isMuted() {
     }
 
     public void setLooping(boolean shouldLoop) {
-        this.music.setLooping(shouldLoop);
+        this.isLooping = shouldLoop;
+        if (music != null) {
+            music.setLooping(shouldLoop);
+        }
     }
 
     public void setOnCompletionListener(Music.OnCompletionListener listener) {
-        this.music.setOnCompletionListener(listener);
+        this.completionListener = listener;
+        music().setOnCompletionListener(listener);
     }
 
 }
@@ -0,0 +1,64 @@
+package de.tum.cit.ase.bomberquest.audio;
+
+import com.badlogic.gdx.assets.AssetDescriptor;
+import com.badlogic.gdx.audio.Sound;
+import de.tum.cit.ase.bomberquest.assets.AssetDescriptors;
+
+/**
+ * This enum lists the gameplay sound effects that are played through the {@link SoundMixer}.
+ * Every effect has its own mixing rules, so a chain reaction of explosions cannot start
+ * more voices than the audio backend can handle.
+ */
+public enum SoundEffect {
+    // descriptor, priority, max voices, coalesce window (s), approximate length (s)
+    EXPLOSION(AssetDescriptors.EXPLOSION_SOUND, 3, 4, 0.08f, 2f),
+    POWER_UP(AssetDescriptors.POWER_UP_SOUND, 2, 2, 0.1f, 1f),
+    ARROW(AssetDescriptors.ARROW_SOUND, 1, 3, 0.05f, 0.6f),
+    BOMB_PLACED(AssetDescriptors.BOMB_PLACED_SOUND, 0, 2, 0.05f, 0.5f);
+
+    private final AssetDescriptor<Sound> descriptor;
+    private final int priority;
+    private final int maxVoices;
+    private final float coalesceWindow;
+    private final float length;
+
+    SoundEffect(AssetDescriptor<Sound> descriptor, int priority, int maxVoices, float coalesceWindow, float length) {
+        this.descriptor = descriptor;
+        this.priority = priority;
+        this.maxVoices = maxVoices;
+        this.coalesceWindow = coalesceWindow;
+        this.length = length;
+    }
+
+    public AssetDescriptor<Sound> getDescriptor() {
+        return descriptor;
+    }
+
+    /**
+     * @return the priority of this effect, higher priorities get a voice first when the frame budget is exceeded
+     */
+    public int getPriority() {
+        return priority;
+    }
+
+    /**
+     * @return the maximum number of voices of this effect that may play at the same time
+     */
+    public int getMaxVoices() {
+        return maxVoices;
+    }
+
+    /**
+     * @return the time in seconds after a play in which further requests are merged into it
+     */
+    public float getCoalesceWindow() {
+        return coalesceWindow;
+    }
+
+    /**
+     * @return the approximate length of the sound file in seconds, used to tell when a voice has finished
+     */
+    public float getLength() {
+        return length;
+    }
+}
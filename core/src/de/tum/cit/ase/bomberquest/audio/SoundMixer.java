@@ -0,0 +1,183 @@
+package de.tum.cit.ase.bomberquest.audio;
+
+import com.badlogic.gdx.audio.Sound;
+import com.badlogic.gdx.math.MathUtils;
+import de.tum.cit.ase.bomberquest.assets.GameAssets;
+
+import java.util.Arrays;
+import java.util.Comparator;
+
+/**
+ * Mixes all gameplay sound effects.
+ * Instead of playing a sound directly, game objects request it here. The requests are collected
+ * during the frame and played in {@link #update(float)}:
+ * - identical requests within the coalesce window of an effect are merged into one voice,
+ * - sounds far outside the camera are culled and the others are attenuated and panned by distance,
+ * - every effect has a voice cap (the oldest voice is stopped to make room for a new one),
+ * - at most {@link #MAX_NEW_VOICES_PER_FRAME} voices are started per frame, ordered by priority.
+ * This keeps the audio cost bounded, no matter how many bombs go off at once.
+ */
+public final class SoundMixer {
+
+    // Maximum number of voices that are started in a single frame
+    private static final int MAX_NEW_VOICES_PER_FRAME = 3;
+
+    // Distance in tiles outside the visible area after which a sound is no longer audible
+    private static final float AUDIBLE_RANGE = 6f;
+
+    // Maximum stereo panning for sounds at the edge of the screen
+    private static final float MAX_PAN = 0.6f;
+
+    private static final SoundEffect[] EFFECTS_BY_PRIORITY = SoundEffect.values();
+
+    static {
+        Arrays.sort(EFFECTS_BY_PRIORITY, Comparator.comparingInt(SoundEffect::getPriority).reversed());
+    }
+
+    private static final int EFFECT_COUNT = SoundEffect.values().length;
+
+    // Loudest request of the current frame per effect (0 = nothing requested)
+    private static final float[] pendingVolume = new float[EFFECT_COUNT];
+    private static final float[] pendingPan = new float[EFFECT_COUNT];
+
+    // Time each effect was last started, used for coalescing
+    private static final float[] lastPlayTime = new float[EFFECT_COUNT];
+
+    // Ring buffers of the voices that are currently playing per effect
+    private static final long[][] voiceIds = new long[EFFECT_COUNT][];
+    private static final float[][] voiceEndTimes = new float[EFFECT_COUNT][];
+
+    static {
+        for (SoundEffect effect : SoundEffect.values()) {
+            voiceIds[effect.ordinal()] = new long[effect.getMaxVoices()];
+            voiceEndTimes[effect.ordinal()] = new float[effect.getMaxVoices()];
+        }
+        Arrays.fill(lastPlayTime, Float.NEGATIVE_INFINITY);
+    }
+
+    private static float time;
+
+    // Visible area in tile coordinates, only set while a map is shown
+    private static boolean hasListener;
+    private static float listenerX;
+    private static float listenerY;
+    private static float listenerHalfWidth;
+    private static float listenerHalfHeight;
+
+    private SoundMixer() {
+    }
+
+    /**
+     * Sets the area the player is looking at. Positional sounds are attenuated and culled relative to it.
+     *
+     * @param x          the center of the visible area in tiles
+     * @param y          the center of the visible area in tiles
+     * @param halfWidth  half the width of the visible area in tiles
+     * @param halfHeight half the height of the visible area in tiles
+     */
+    public static void setListener(float x, float y, float halfWidth, float halfHeight) {
+        hasListener = true;
+        listenerX = x;
+        listenerY = y;
+        listenerHalfWidth = halfWidth;
+        listenerHalfHeight = halfHeight;
+    }
+
+    /**
+     * Removes the listener, e.g. when the map is no longer shown. Positional sounds then play at full volume.
+     */
+    public static void clearListener() {
+        hasListener = false;
+    }
+
+    /**
+     * Requests a sound effect that is not tied to a position, e.g. picking up a power-up.
+     *
+     * @param effect the effect to play
+     */
+    public static void play(SoundEffect effect) {
+        request(effect, 1f, 0f);
+    }
+
+    /**
+     * Requests a sound effect at a position on the map.
+     *
+     * @param effect the effect to play
+     * @param x      the x-coordinate of the source in tiles
+     * @param y      the y-coordinate of the source in tiles
+     */
+    public static void play(SoundEffect effect, float x, float y) {
+        if (!hasListener) {
+            request(effect, 1f, 0f);
+            return;
+        }
+        // Distance from the visible area, sounds on screen are not attenuated
+        float outsideX = Math.max(0f, Math.abs(x - listenerX) - listenerHalfWidth);
+        float outsideY = Math.max(0f, Math.abs(y - listenerY) - listenerHalfHeight);
+        float outside = Math.max(outsideX, outsideY);
+        if (outside >= AUDIBLE_RANGE) {
+            return; // Culled, too far away to be heard
+        }
+        float volume = 1f - outside / AUDIBLE_RANGE;
+        float pan = MathUtils.clamp((x - listenerX) / Math.max(listenerHalfWidth, 1f), -1f, 1f) * MAX_PAN;
+        request(effect, volume, pan);
+    }
+
+    private static void request(SoundEffect effect, float volume, float pan) {
+        int index = effect.ordinal();
+        // Several requests in one frame are merged, the loudest one wins
+        if (volume > pendingVolume[index]) {
+            pendingVolume[index] = volume;
+            pendingPan[index] = pan;
+        }
+    }
+
+    /**
+     * Plays the sounds requested since the last call. Should be called once per frame.
+     *
+     * @param deltaTime the time since the last frame in seconds
+     */
+    public static void update(float deltaTime) {
+        time += deltaTime;
+        int started = 0;
+        for (SoundEffect effect : EFFECTS_BY_PRIORITY) {
+            int index = effect.ordinal();
+            float volume = pendingVolume[index];
+            if (volume <= 0f) {
+                continue;
+            }
+            pendingVolume[index] = 0f;
+
+            if (time - lastPlayTime[index] < effect.getCoalesceWindow()) {
+                continue; // Merged into the voice that was just started
+            }
+            if (started >= MAX_NEW_VOICES_PER_FRAME) {
+                continue; // Frame budget used up by more important sounds
+            }
+            startVoice(effect, volume, pendingPan[index]);
+            started++;
+        }
+    }
+
+    private static void startVoice(SoundEffect effect, float volume, float pan) {
+        int index = effect.ordinal();
+        long[] ids = voiceIds[index];
+        float[] endTimes = voiceEndTimes[index];
+        Sound sound = GameAssets.get(effect.getDescriptor());
+
+        // The voice that ends first is either finished already or the oldest one, which is stolen
+        int slot = 0;
+        for (int i = 1; i < ids.length; i++) {
+            if (endTimes[i] < endTimes[slot]) {
+                slot = i;
+            }
+        }
+        if (endTimes[slot] > time) {
+            sound.stop(ids[slot]);
+        }
+
+        ids[slot] = sound.play(volume, 1f, pan);
+        endTimes[slot] = time + effect.getLength();
+        lastPlayTime[index] = time;
+    }
+}
@@ -1,185 +1,216 @@
 package de.tum.cit.ase.bomberquest.bonusFeatures;
 
-import com.badlogic.gdx.math.Vector2;
-import de.tum.cit.ase.bomberquest.map.GameMap;
+import de.tum.cit.ase.bomberquest.map.WalkabilityGrid;
 
-import java.util.*;
+import java.util.Arrays;
 
 /**
- * A very basic implementation of the A* pathfinding algorithm.
+ * An implementation of the A* pathfinding algorithm.
  * This algorithm is used to find the shortest path between two points on a grid-based map.
  * It works by evaluating possible paths, prioritizing the ones that seem most promising
  * based on the cost to reach a point and an estimate of how close that point is to the goal.
+ *
+ * Tiles are handled as indices (y * width + x). What the search knows about them is kept in a
+ * {@link TileTable}, which only holds the tiles the search reached, so the buffers of a thread do not grow
+ * with the size of the map. The buffers are reused by the next search on the same thread; searches on
+ * different threads use different buffers.
+ * The search itself is static; an instance only offers it as a {@link PathFinder} strategy.
  */
-public class AStarPathFinder {
+public class AStarPathFinder implements PathFinder {
 
-    // Inner class for representing grid nodes
-    // Each "Node" represents a single tile or position on the game map grid.
-    private static class Node {
-        int x, y; // The position of this node in the grid
-        float costFromStart; // The actual cost to move from the start node to this node
-        float estimatedCostToGoal; // Heuristic: an estimate of the remaining cost to the goal
-        Node previousNode; // A reference to the previous node on the shortest path
-        boolean walkable; // Indicates if this tile can be traversed (e.g., not blocked by walls)
+    // Directions: up, down, right, left
+    private static final int[] DIRECTION_X = {0, 0, 1, -1};
+    private static final int[] DIRECTION_Y = {1, -1, 0, 0};
 
-        /**
-         * Constructor for a Node.
-         *
-         * @param x The x-coordinate of the node
-         * @param y The y-coordinate of the node
-         * @param walkable Whether the tile at this position can be walked on
-         */
-        public Node(int x, int y, boolean walkable) {
-            this.x = x;
-            this.y = y;
-            this.walkable = walkable;
-            this.costFromStart = Float.MAX_VALUE; // Initialize with a high cost
-            this.estimatedCostToGoal = 0; // Start with zero estimated cost
-            this.previousNode = null; // No parent node yet
+    private static final int MAX_KEPT_HEAP = 1 << 12;
+
+    private static final ThreadLocal<Search> SEARCHES = ThreadLocal.withInitial(Search::new);
+
+    /**
+     * The buffers of the searches on one thread.
+     */
+    private static final class Search {
+        final TileTable tiles = new TileTable();
+        int expanded = 0;
+
+        // Open list: a binary heap of tiles ordered by their total cost. A tile is pushed again when a
+        // cheaper way to it is found, the outdated entry is skipped when it comes up
+        int[] heapTiles = new int[64];
+        int[] heapCosts = new int[64];
+        int heapSize = 0;
+
+        void begin() {
+            tiles.begin();
+            heapSize = 0;
+            expanded = 0;
         }
 
         /**
-         * Calculates the total cost for this node.
-         * total cost is the sum of costFromStart and estimatedCostToGoal.
-         *
-         * @return The total cost for this node
+         * Gives back the memory of a search that reached many tiles, see {@link TileTable#trim}.
          */
-        public float getTotalCost() {
-            return costFromStart + estimatedCostToGoal;
+        void trim() {
+            tiles.trim();
+            if (heapTiles.length > MAX_KEPT_HEAP) {
+                heapTiles = new int[64];
+                heapCosts = new int[64];
+            }
+        }
+
+        void push(int tile, int totalCost) {
+            if (heapSize == heapTiles.length) {
+                heapTiles = Arrays.copyOf(heapTiles, heapSize * 2);
+                heapCosts = Arrays.copyOf(heapCosts, heapSize * 2);
+            }
+            int i = heapSize++;
+            while (i > 0) {
+                int parent = (i - 1) / 2;
+                if (heapCosts[parent] <= totalCost) {
+                    break;
+                }
+                heapTiles[i] = heapTiles[parent];
+                heapCosts[i] = heapCosts[parent];
+                i = parent;
+            }
+            heapTiles[i] = tile;
+            heapCosts[i] = totalCost;
+        }
+
+        int pop() {
+            int top = heapTiles[0];
+            int tile = heapTiles[--heapSize];
+            int cost = heapCosts[heapSize];
+            int i = 0;
+            while (true) {
+                int child = 2 * i + 1;
+                if (child >= heapSize) {
+                    break;
+                }
+                if (child + 1 < heapSize && heapCosts[child + 1] < heapCosts[child]) {
+                    child++;
+                }
+                if (cost <= heapCosts[child]) {
+                    break;
+                }
+                heapTiles[i] = heapTiles[child];
+                heapCosts[i] = heapCosts[child];
+                i = child;
+            }
+            heapTiles[i] = tile;
+            heapCosts[i] = cost;
+            return top;
         }
     }
 
+    @Override
+    public boolean findPath(WalkabilityGrid walkability, int startX, int startY, int goalX, int goalY, TilePath path) {
+        return calculatePath(walkability, startX, startY, goalX, goalY, path);
+    }
+
+    @Override
+    public int getLastExpandedCount() {
+        return SEARCHES.get().expanded;
+    }
+
     /**
-     * This method finds a path from a starting point to a goal point using the A* algorithm.
+     * This method finds a path from a starting tile to a goal tile using the A* algorithm.
      * The algorithm explores possible paths by moving through neighboring tiles and calculates
      * the cost of each move, always focusing on the most promising path until the goal is reached.
+     * The walkable tiles never change, so several paths can be searched at the same time on different threads.
      *
-     * @param gameMap The grid-based map where the pathfinding is happening
-     * @param start The starting position of the path (Vector2 with x and y coordinates)
-     * @param goal The target position of the path (Vector2 with x and y coordinates)
-     * @return A list of Vector2 objects representing the path from start to goal, or an empty list if no path is found
+     * @param walkability The walkable tiles of the map
+     * @param startX The x-coordinate of the starting tile
+     * @param startY The y-coordinate of the starting tile
+     * @param goalX The x-coordinate of the goal tile
+     * @param goalY The y-coordinate of the goal tile
+     * @param path Receives the path from start to goal; emptied if no path is found
+     * @return True if a path was found
      */
-    public static List<Vector2> calculatePath(GameMap gameMap, Vector2 start, Vector2 goal) {
-        // Get the dimensions of the game map
-        int mapWidth = gameMap.getWidth();
-        int mapHeight = gameMap.getHeight();
-
-        // Create a grid of nodes representing each tile in the map
-        Node[][] grid = new Node[mapWidth][mapHeight];
-
-        // Initialize the grid by creating a Node for each tile
-        for (int x = 0; x < mapWidth; x++) {
-            for (int y = 0; y < mapHeight; y++) {
-                grid[x][y] = new Node(x, y, gameMap.isTileWalkable(x, y)); // Check if the tile is walkable
-            }
+    public static boolean calculatePath(WalkabilityGrid walkability, int startX, int startY,
+                                        int goalX, int goalY, TilePath path) {
+        path.clear();
+
+        // If either position is not traversable, there is no path
+        if (!walkability.isWalkable(startX, startY) || !walkability.isWalkable(goalX, goalY)) {
+            return false;
         }
 
-        // Convert the start and goal positions from float (Vector2) to integers for grid indexing
-        int startX = (int) start.x;
-        int startY = (int) start.y;
-        int goalX = (int) goal.x;
-        int goalY = (int) goal.y;
+        int width = walkability.getWidth();
+        int height = walkability.getHeight();
+        int goal = goalY * width + goalX;
 
-        // Check if either the start or goal position is invalid (not walkable)
-        if (!grid[startX][startY].walkable || !grid[goalX][goalY].walkable) {
-            // If either position is not traversable, return an empty path
-            return new ArrayList<>();
-        }
+        Search search = SEARCHES.get();
+        search.begin();
 
-        // Initialize the lists for open and closed nodes
-        List<Node> toExplore = new ArrayList<>(); // Open list: nodes yet to be evaluated
-        List<Node> alreadyExplored = new ArrayList<>(); // Closed list: nodes already evaluated
-
-        // Set up the start node with initial values
-        Node startNode = grid[startX][startY];
-        startNode.costFromStart = 0; // Cost to reach the start node is zero
-        startNode.estimatedCostToGoal = calculateManhattanDistance(startX, startY, goalX, goalY); // Calculate estimated cost to reach the goal tile
-        toExplore.add(startNode); // Add the start node to the open list
-
-        // Main loop: continue until all nodes are evaluated or the goal is reached
-        while (!toExplore.isEmpty()) {
-            // Find the node in the open list with the lowest total cost
-            Node currentNode = toExplore.get(0);
-            for (Node node : toExplore) {
-                //If the totalCost of this new node is smaller than the current note that is "the best"
-                if (node.getTotalCost() < currentNode.getTotalCost()) {
-                    currentNode = node; // Update this node to be the "best candidate".
-                }
-            }
+        // Set up the start tile: reaching it costs nothing
+        int start = startY * width + startX;
+        search.tiles.reach(start, 0, -1);
+        search.push(start, calculateManhattanDistance(startX, startY, goalX, goalY));
 
-            // Move the current node from the open list to the closed list
-            toExplore.remove(currentNode);
-            alreadyExplored.add(currentNode);
+        // Main loop: continue until all tiles are evaluated or the goal is reached
+        while (search.heapSize > 0) {
+            // Take the tile with the lowest total cost
+            int current = search.pop();
+            if (search.tiles.isExplored(current)) {
+                continue; // Outdated entry, the tile was already explored on a cheaper way
+            }
+            search.tiles.setExplored(current);
+            search.expanded++;
 
             // Check if we have reached the goal
-            if (currentNode.x == goalX && currentNode.y == goalY) {
-                // If the goal is reached, we need to build the path and return it.
-                return buildPath(currentNode);
+            if (current == goal) {
+                buildPath(search, goal, width, path);
+                search.trim();
+                return true;
             }
 
-            // Check all neighboring nodes of the current node
-            int[][] directions = {{0, 1}, {0, -1}, {1, 0}, {-1, 0}}; // Directions: up, down, right, left
-            for (int[] direction : directions) {
-                int neighborX = currentNode.x + direction[0];
-                int neighborY = currentNode.y + direction[1];
+            int currentX = current % width;
+            int currentY = current / width;
+            int newCostFromStart = search.tiles.cost(current) + 1; // Each move has a cost of 1
 
-                // Skip neighbors that are out of map bounds
-                if (neighborX < 0 || neighborY < 0 || neighborX >= mapWidth || neighborY >= mapHeight) {
-                    continue;
-                }
+            // Check all neighboring tiles of the current tile
+            for (int d = 0; d < DIRECTION_X.length; d++) {
+                int neighborX = currentX + DIRECTION_X[d];
+                int neighborY = currentY + DIRECTION_Y[d];
 
-                // Get the neighbor node from the grid
-                Node neighborNode = grid[neighborX][neighborY];
-
-                // Skip if the neighbor is not walkable or already evaluated
-                if (!neighborNode.walkable || alreadyExplored.contains(neighborNode)) {
+                // Skip neighbors that are out of the map or not walkable
+                if (neighborX < 0 || neighborY < 0 || neighborX >= width || neighborY >= height
+                        || !walkability.isWalkable(neighborX, neighborY)) {
                     continue;
                 }
 
-                // Calculate the tentative gCost to reach this neighbor
-                float newCostFromStart = currentNode.costFromStart + 1; // Assume each move has a cost of 1
-                if (newCostFromStart < neighborNode.costFromStart) {
-                    // If this path is better, update the neighbor's costs and parent
-                    neighborNode.costFromStart = newCostFromStart;
-                    neighborNode.estimatedCostToGoal = calculateManhattanDistance(neighborX, neighborY, goalX, goalY);
-                    neighborNode.previousNode = currentNode; // Set the current node as the parent
-
-                    // Add the neighbor to the open list if not already there
-                    if (!toExplore.contains(neighborNode)) {
-                        toExplore.add(neighborNode);
-                    }
+                int neighbor = neighborY * width + neighborX;
+                if (!search.tiles.isReached(neighbor) || newCostFromStart < search.tiles.cost(neighbor)) {
+                    // This way is better: remember it and queue the neighbor
+                    search.tiles.reach(neighbor, newCostFromStart, current);
+                    search.push(neighbor, newCostFromStart + calculateManhattanDistance(neighborX, neighborY, goalX, goalY));
                 }
             }
         }
 
-        // If no path is found, return an empty list
-        return new ArrayList<>();
+        // No path was found
+        search.trim();
+        return false;
     }
 
     /**
      * Calculates the Manhattan distance between two points.
      * This heuristic assumes movement is only allowed along grid lines (horizontal/vertical).
      */
-    private static float calculateManhattanDistance(int x1, int y1, int x2, int y2) {
+    private static int calculateManhattanDistance(int x1, int y1, int x2, int y2) {
         return Math.abs(x1 - x2) + Math.abs(y1 - y2);
     }
 
     /**
-     * Reconstructs the path from the goal node to the start node.
-     * This method traces back from the goal to the start using the previousNode references
-     * and builds the path in reverse order.
-     *
-     * @param goalNode The node representing the goal position
-     * @return A list of Vector2 objects representing the path, ordered from start to goal
+     * Writes the path into the given path, ordered from start to goal.
+     * The cost of the goal is the number of moves, so the length is known and the tiles can be
+     * filled in from the back while tracing the previous tiles from the goal.
      */
-    private static List<Vector2> buildPath(Node goalNode) {
-        List<Vector2> path = new ArrayList<>();
-        Node currentNode = goalNode;
-        while (currentNode != null) {
-            // Add each node's position to the path, inserting at the beginning to reverse order
-            path.add(0, new Vector2(currentNode.x, currentNode.y));
-            currentNode = currentNode.previousNode; // Move to the parent node
+    private static void buildPath(Search search, int goal, int width, TilePath path) {
+        path.resize(search.tiles.cost(goal) + 1);
+        int tile = goal;
+        for (int i = path.size() - 1; i >= 0; i--) {
+            path.set(i, tile % width, tile / width);
+            tile = search.tiles.previous(tile);
         }
-        return path; // Return the reconstructed path
     }
 }
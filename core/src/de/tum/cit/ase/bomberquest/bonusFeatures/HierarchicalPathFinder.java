@@ -0,0 +1,546 @@
+package de.tum.cit.ase.bomberquest.bonusFeatures;
+
+import de.tum.cit.ase.bomberquest.map.WalkabilityGrid;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * Hierarchical pathfinding (HPA*) for routes across the whole map.
+ *
+ * The map is split into square clusters. Where two neighboring clusters are connected, i.e. along a run
+ * of tiles that are walkable on both sides of their border, there is an entrance: a pair of tiles, one in
+ * each cluster, in the middle of the run. The entrance tiles are the nodes of an abstract graph. Nodes of
+ * the same cluster are connected by the length of the shortest walk inside the cluster, precomputed per
+ * cluster, and the two tiles of an entrance are one step apart.
+ *
+ * A long route is searched on the abstract graph, which has a few nodes per cluster instead of a hundred
+ * tiles, and only the way to its first entrance is refined on the tiles, inside the start cluster.
+ * Routes are not always the shortest, so for short distances {@link AStarPathFinder} is the better choice.
+ *
+ * When a tile changes (e.g. a wall is blown up), only its cluster is marked. {@link #refresh} then
+ * rebuilds the entrances around the marked clusters and the distances of them and their neighbors.
+ * Queries may run on several threads at once, but never at the same time as {@link #refresh}.
+ */
+public class HierarchicalPathFinder {
+
+    private static final int CLUSTER_SIZE = 10;
+
+    private static final ThreadLocal<Query> QUERIES = ThreadLocal.withInitial(Query::new);
+
+    private WalkabilityGrid walkability;
+    private final int width;
+    private final int height;
+    private final int clustersX;
+    private final int clustersY;
+
+    // Abstract nodes, by id: the tile, the cluster, the index within the cluster and the other tile of the entrance.
+    // Ids of removed entrances are reused
+    private int[] nodeTile = new int[256];
+    private int[] nodeCluster = new int[256];
+    private int[] nodeLocal = new int[256];
+    private int[] nodePartner = new int[256];
+    private int nodeCount = 0; // Ids in use are below this
+    private int[] freeNodes = new int[64];
+    private int freeCount = 0;
+
+    // Per cluster: the entrances to the cluster east and north of it, as node ids in pairs (own tile, other tile)
+    private final int[][] eastEntrances;
+    private final int[][] northEntrances;
+    // Per cluster: its nodes and the walking distances between them (n * n, -1 if not connected inside the cluster)
+    private final int[][] clusterNodes;
+    private final int[][] clusterDistances;
+
+    private final BitSet dirtyClusters = new BitSet();
+
+    // Used while building, only on the thread that calls refresh
+    private final int[] buildDistances = new int[CLUSTER_SIZE * CLUSTER_SIZE];
+    private final int[] buildQueue = new int[CLUSTER_SIZE * CLUSTER_SIZE];
+
+    /**
+     * Builds the abstract graph of the whole map.
+     *
+     * @param walkability The walkable tiles of the map
+     */
+    public HierarchicalPathFinder(WalkabilityGrid walkability) {
+        this.walkability = walkability;
+        this.width = walkability.getWidth();
+        this.height = walkability.getHeight();
+        this.clustersX = (width + CLUSTER_SIZE - 1) / CLUSTER_SIZE;
+        this.clustersY = (height + CLUSTER_SIZE - 1) / CLUSTER_SIZE;
+        int clusterCount = clustersX * clustersY;
+        eastEntrances = new int[clusterCount][];
+        northEntrances = new int[clusterCount][];
+        clusterNodes = new int[clusterCount][];
+        clusterDistances = new int[clusterCount][];
+
+        for (int cluster = 0; cluster < clusterCount; cluster++) {
+            eastEntrances[cluster] = buildEntrances(cluster, 1, 0);
+            northEntrances[cluster] = buildEntrances(cluster, 0, 1);
+        }
+        for (int cluster = 0; cluster < clusterCount; cluster++) {
+            buildCluster(cluster);
+        }
+    }
+
+    /**
+     * Marks the cluster of a tile whose walkability may have changed.
+     *
+     * @param x The x-coordinate of the tile
+     * @param y The y-coordinate of the tile
+     */
+    public void markChanged(int x, int y) {
+        if (x >= 0 && x < width && y >= 0 && y < height) {
+            dirtyClusters.set(clusterOf(x, y));
+        }
+    }
+
+    /**
+     * Switches to a newer copy of the walkable tiles and rebuilds the parts of the graph around the
+     * clusters marked since the last refresh.
+     *
+     * @param walkability The current walkable tiles of the map
+     */
+    public void refresh(WalkabilityGrid walkability) {
+        this.walkability = walkability;
+        if (dirtyClusters.isEmpty()) {
+            return;
+        }
+
+        BitSet affected = new BitSet();
+        for (int cluster = dirtyClusters.nextSetBit(0); cluster >= 0; cluster = dirtyClusters.nextSetBit(cluster + 1)) {
+            int cx = cluster % clustersX;
+            int cy = cluster / clustersX;
+            freeEntrances(eastEntrances[cluster]);
+            eastEntrances[cluster] = buildEntrances(cluster, 1, 0);
+            freeEntrances(northEntrances[cluster]);
+            northEntrances[cluster] = buildEntrances(cluster, 0, 1);
+            if (cx > 0) {
+                freeEntrances(eastEntrances[cluster - 1]);
+                eastEntrances[cluster - 1] = buildEntrances(cluster - 1, 1, 0);
+                affected.set(cluster - 1);
+            }
+            if (cy > 0) {
+                freeEntrances(northEntrances[cluster - clustersX]);
+                northEntrances[cluster - clustersX] = buildEntrances(cluster - clustersX, 0, 1);
+                affected.set(cluster - clustersX);
+            }
+            affected.set(cluster);
+            if (cx + 1 < clustersX) {
+                affected.set(cluster + 1);
+            }
+            if (cy + 1 < clustersY) {
+                affected.set(cluster + clustersX);
+            }
+        }
+        dirtyClusters.clear();
+
+        for (int cluster = affected.nextSetBit(0); cluster >= 0; cluster = affected.nextSetBit(cluster + 1)) {
+            buildCluster(cluster);
+        }
+    }
+
+    /**
+     * Finds the first part of a route from a start tile to a goal tile: the path inside the start cluster
+     * to the first entrance on the route, or to the goal if it is in the same cluster.
+     * Every step along it brings the start closer to the goal on the abstract graph, so following the
+     * first step of each new query never goes back and forth.
+     *
+     * @param startX The x-coordinate of the starting tile
+     * @param startY The y-coordinate of the starting tile
+     * @param goalX The x-coordinate of the goal tile
+     * @param goalY The y-coordinate of the goal tile
+     * @param path Receives the path from the start; emptied if there is no route
+     * @return True if there is a route to the goal
+     */
+    public boolean findPath(int startX, int startY, int goalX, int goalY, TilePath path) {
+        path.clear();
+        if (!walkability.isWalkable(startX, startY) || !walkability.isWalkable(goalX, goalY)) {
+            return false;
+        }
+        int startCluster = clusterOf(startX, startY);
+        int goalCluster = clusterOf(goalX, goalY);
+        Query query = QUERIES.get();
+        int waypoint = query.findFirstWaypoint(this, startX, startY, startCluster, goalX, goalY, goalCluster);
+        if (waypoint < 0) {
+            return false;
+        }
+        query.walkToWaypoint(this, startX, startY, startCluster, waypoint, path);
+        return true;
+    }
+
+    private int clusterOf(int x, int y) {
+        return (y / CLUSTER_SIZE) * clustersX + x / CLUSTER_SIZE;
+    }
+
+    /**
+     * Creates the entrances on the border between a cluster and its neighbor in the given direction.
+     *
+     * @return the node ids in pairs (own tile, other tile)
+     */
+    private int[] buildEntrances(int cluster, int dx, int dy) {
+        int cx = cluster % clustersX;
+        int cy = cluster / clustersX;
+        if (cx + dx >= clustersX || cy + dy >= clustersY) {
+            return new int[0];
+        }
+        int neighbor = cluster + dx + dy * clustersX;
+
+        // The border runs along y for an eastern neighbor and along x for a northern one
+        int borderX = dx == 1 ? cx * CLUSTER_SIZE + CLUSTER_SIZE - 1 : cx * CLUSTER_SIZE;
+        int borderY = dy == 1 ? cy * CLUSTER_SIZE + CLUSTER_SIZE - 1 : cy * CLUSTER_SIZE;
+        int length = dx == 1
+                ? Math.min(CLUSTER_SIZE, height - cy * CLUSTER_SIZE)
+                : Math.min(CLUSTER_SIZE, width - cx * CLUSTER_SIZE);
+
+        int[] entrances = new int[2 * length];
+        int count = 0;
+        int runStart = -1;
+        for (int i = 0; i <= length; i++) {
+            boolean open = i < length && walkability.isWalkable(borderX + dy * i, borderY + dx * i)
+                    && walkability.isWalkable(borderX + dy * i + dx, borderY + dx * i + dy);
+            if (open && runStart < 0) {
+                runStart = i;
+            } else if (!open && runStart >= 0) {
+                int middle = (runStart + i - 1) / 2;
+                int x = borderX + dy * middle;
+                int y = borderY + dx * middle;
+                int own = allocateNode(y * width + x, cluster);
+                int other = allocateNode((y + dy) * width + x + dx, neighbor);
+                nodePartner[own] = other;
+                nodePartner[other] = own;
+                entrances[count++] = own;
+                entrances[count++] = other;
+                runStart = -1;
+            }
+        }
+        return Arrays.copyOf(entrances, count);
+    }
+
+    private int allocateNode(int tile, int cluster) {
+        int id;
+        if (freeCount > 0) {
+            id = freeNodes[--freeCount];
+        } else {
+            id = nodeCount++;
+            if (id == nodeTile.length) {
+                nodeTile = Arrays.copyOf(nodeTile, id * 2);
+                nodeCluster = Arrays.copyOf(nodeCluster, id * 2);
+                nodeLocal = Arrays.copyOf(nodeLocal, id * 2);
+                nodePartner = Arrays.copyOf(nodePartner, id * 2);
+            }
+        }
+        nodeTile[id] = tile;
+        nodeCluster[id] = cluster;
+        return id;
+    }
+
+    private void freeEntrances(int[] entrances) {
+        for (int id : entrances) {
+            if (freeCount == freeNodes.length) {
+                freeNodes = Arrays.copyOf(freeNodes, freeCount * 2);
+            }
+            freeNodes[freeCount++] = id;
+            nodePartner[id] = -1;
+        }
+    }
+
+    /**
+     * Collects the nodes of a cluster from the entrances on its four borders and computes the walking
+     * distances between them inside the cluster.
+     */
+    private void buildCluster(int cluster) {
+        int cx = cluster % clustersX;
+        int cy = cluster / clustersX;
+        int[] east = eastEntrances[cluster];
+        int[] north = northEntrances[cluster];
+        int[] west = cx > 0 ? eastEntrances[cluster - 1] : new int[0];
+        int[] south = cy > 0 ? northEntrances[cluster - clustersX] : new int[0];
+
+        int[] nodes = new int[(east.length + north.length + west.length + south.length) / 2];
+        int n = 0;
+        for (int i = 0; i < east.length; i += 2) nodes[n++] = east[i];
+        for (int i = 0; i < north.length; i += 2) nodes[n++] = north[i];
+        for (int i = 1; i < west.length; i += 2) nodes[n++] = west[i];
+        for (int i = 1; i < south.length; i += 2) nodes[n++] = south[i];
+
+        int[] distances = new int[n * n];
+        for (int i = 0; i < n; i++) {
+            nodeLocal[nodes[i]] = i;
+            walkCluster(cluster, nodeTile[nodes[i]], buildDistances, buildQueue);
+            for (int j = 0; j < n; j++) {
+                distances[i * n + j] = buildDistances[localIndex(cluster, nodeTile[nodes[j]])];
+            }
+        }
+        clusterNodes[cluster] = nodes;
+        clusterDistances[cluster] = distances;
+    }
+
+    /**
+     * @return the index of a tile within the square of its cluster
+     */
+    private int localIndex(int cluster, int tile) {
+        int x = tile % width - (cluster % clustersX) * CLUSTER_SIZE;
+        int y = tile / width - (cluster / clustersX) * CLUSTER_SIZE;
+        return y * CLUSTER_SIZE + x;
+    }
+
+    /**
+     * Computes the walking distance from a tile to every tile of its cluster, without leaving the cluster.
+     *
+     * @param distances Receives the distances by local index, -1 for tiles that cannot be reached
+     * @param queue     Scratch space for the breadth-first search
+     */
+    private void walkCluster(int cluster, int from, int[] distances, int[] queue) {
+        WalkabilityGrid grid = walkability;
+        int minX = (cluster % clustersX) * CLUSTER_SIZE;
+        int minY = (cluster / clustersX) * CLUSTER_SIZE;
+        int maxX = Math.min(minX + CLUSTER_SIZE, width) - 1;
+        int maxY = Math.min(minY + CLUSTER_SIZE, height) - 1;
+
+        Arrays.fill(distances, -1);
+        int head = 0;
+        int tail = 0;
+        distances[localIndex(cluster, from)] = 0;
+        queue[tail++] = from;
+        while (head < tail) {
+            int tile = queue[head++];
+            int x = tile % width;
+            int y = tile / width;
+            int next = distances[localIndex(cluster, tile)] + 1;
+            for (int d = 0; d < 4; d++) {
+                int nx = x + (d == 0 ? 1 : d == 1 ? -1 : 0);
+                int ny = y + (d == 2 ? 1 : d == 3 ? -1 : 0);
+                if (nx < minX || nx > maxX || ny < minY || ny > maxY || !grid.isWalkable(nx, ny)) {
+                    continue;
+                }
+                int neighbor = ny * width + nx;
+                int local = localIndex(cluster, neighbor);
+                if (distances[local] < 0) {
+                    distances[local] = next;
+                    queue[tail++] = neighbor;
+                }
+            }
+        }
+    }
+
+    /**
+     * The buffers of the abstract searches on one thread, shared by all finders. The start and the goal
+     * are added to the graph as two extra nodes with the ids right after the regular ones. The graph is
+     * passed in with every search, so a thread's buffers do not keep a finder alive.
+     */
+    private static final class Query {
+        final int[] startDistances = new int[CLUSTER_SIZE * CLUSTER_SIZE];
+        final int[] goalDistances = new int[CLUSTER_SIZE * CLUSTER_SIZE];
+        final int[] walkQueue = new int[CLUSTER_SIZE * CLUSTER_SIZE];
+
+        int[] stamp = new int[0];
+        int[] cost = new int[0];
+        int[] previous = new int[0];
+        boolean[] explored = new boolean[0];
+        int searchNumber = 0;
+
+        int[] heapNodes = new int[64];
+        int[] heapCosts = new int[64];
+        int heapSize = 0;
+
+        /**
+         * Searches the abstract graph and returns the first tile on the route that is not the start,
+         * or -1 if the goal cannot be reached.
+         */
+        int findFirstWaypoint(HierarchicalPathFinder graph, int startX, int startY, int startCluster,
+                              int goalX, int goalY, int goalCluster) {
+            int start = startY * graph.width + startX;
+            int goal = goalY * graph.width + goalX;
+            graph.walkCluster(startCluster, start, startDistances, walkQueue);
+            graph.walkCluster(goalCluster, goal, goalDistances, walkQueue);
+
+            int startNode = graph.nodeCount;
+            int goalNode = graph.nodeCount + 1;
+            begin(graph.nodeCount + 2);
+            reach(startNode, 0, -1);
+            push(startNode, manhattan(graph, start, goal));
+
+            while (heapSize > 0) {
+                int node = pop();
+                if (explored[node]) {
+                    continue;
+                }
+                explored[node] = true;
+                if (node == goalNode) {
+                    return traceFirstWaypoint(graph, goalNode, startNode, start, goal);
+                }
+
+                if (node == startNode) {
+                    if (startCluster == goalCluster) {
+                        int d = startDistances[graph.localIndex(startCluster, goal)];
+                        if (d >= 0) {
+                            relax(graph, goalNode, node, d, goal); // Straight to the goal without leaving the cluster
+                        }
+                    }
+                    int[] nodes = graph.clusterNodes[startCluster];
+                    for (int id : nodes) {
+                        int d = startDistances[graph.localIndex(startCluster, graph.nodeTile[id])];
+                        if (d >= 0) {
+                            relax(graph, id, node, d, goal);
+                        }
+                    }
+                    continue;
+                }
+
+                int cluster = graph.nodeCluster[node];
+                int[] nodes = graph.clusterNodes[cluster];
+                int[] distances = graph.clusterDistances[cluster];
+                int n = nodes.length;
+                int i = graph.nodeLocal[node];
+                relax(graph, graph.nodePartner[node], node, cost[node] + 1, goal);
+                for (int j = 0; j < n; j++) {
+                    int d = distances[i * n + j];
+                    if (j != i && d >= 0) {
+                        relax(graph, nodes[j], node, cost[node] + d, goal);
+                    }
+                }
+                if (cluster == goalCluster) {
+                    int d = goalDistances[graph.localIndex(goalCluster, graph.nodeTile[node])];
+                    if (d >= 0) {
+                        relax(graph, goalNode, node, cost[node] + d, goal);
+                    }
+                }
+            }
+            return -1;
+        }
+
+        /**
+         * Writes the path from the start to the waypoint into the given path. The path stays inside the
+         * start cluster, where the distances of the abstract graph were measured, so every step gets closer
+         * to the goal on the abstract graph as well. A waypoint outside the cluster is the other tile of
+         * an entrance the start is on.
+         */
+        void walkToWaypoint(HierarchicalPathFinder graph, int startX, int startY, int startCluster, int waypoint,
+                            TilePath path) {
+            int start = startY * graph.width + startX;
+            if (graph.clusterOf(waypoint % graph.width, waypoint / graph.width) != startCluster) {
+                path.resize(2);
+                path.set(0, startX, startY);
+                path.set(1, waypoint % graph.width, waypoint / graph.width);
+                return;
+            }
+
+            // Walk down the distances to the waypoint, one neighbor closer each step
+            graph.walkCluster(startCluster, waypoint, goalDistances, walkQueue);
+            int length = goalDistances[graph.localIndex(startCluster, start)];
+            path.resize(length + 1);
+            int x = startX;
+            int y = startY;
+            path.set(0, x, y);
+            for (int i = 1; i <= length; i++) {
+                for (int d = 0; d < 4; d++) {
+                    int nx = x + (d == 0 ? 1 : d == 1 ? -1 : 0);
+                    int ny = y + (d == 2 ? 1 : d == 3 ? -1 : 0);
+                    if (nx >= 0 && ny >= 0 && nx < graph.width && ny < graph.height
+                            && graph.clusterOf(nx, ny) == startCluster
+                            && goalDistances[graph.localIndex(startCluster, ny * graph.width + nx)] == length - i) {
+                        x = nx;
+                        y = ny;
+                        break;
+                    }
+                }
+                path.set(i, x, y);
+            }
+        }
+
+        private void relax(HierarchicalPathFinder graph, int node, int from, int newCost, int goal) {
+            if (node < 0) {
+                return;
+            }
+            if (stamp[node] != searchNumber || newCost < cost[node]) {
+                reach(node, newCost, from);
+                int h = node >= graph.nodeCount ? 0 : manhattan(graph, graph.nodeTile[node], goal);
+                push(node, newCost + h);
+            }
+        }
+
+        private int traceFirstWaypoint(HierarchicalPathFinder graph, int goalNode, int startNode, int start, int goal) {
+            // Walk back from the goal and keep the earliest node that is not on the start tile
+            int waypoint = goal;
+            for (int node = previous[goalNode]; node != startNode && node >= 0; node = previous[node]) {
+                if (graph.nodeTile[node] != start) {
+                    waypoint = graph.nodeTile[node];
+                }
+            }
+            return waypoint;
+        }
+
+        private int manhattan(HierarchicalPathFinder graph, int tileA, int tileB) {
+            int width = graph.width;
+            return Math.abs(tileA % width - tileB % width) + Math.abs(tileA / width - tileB / width);
+        }
+
+        private void begin(int size) {
+            if (stamp.length < size) {
+                int capacity = Math.max(size, stamp.length * 2);
+                stamp = new int[capacity];
+                cost = new int[capacity];
+                previous = new int[capacity];
+                explored = new boolean[capacity];
+                searchNumber = 0;
+            }
+            if (++searchNumber == Integer.MAX_VALUE) {
+                Arrays.fill(stamp, 0);
+                searchNumber = 1;
+            }
+            heapSize = 0;
+        }
+
+        private void reach(int node, int newCost, int from) {
+            stamp[node] = searchNumber;
+            cost[node] = newCost;
+            previous[node] = from;
+            explored[node] = false;
+        }
+
+        private void push(int node, int totalCost) {
+            if (heapSize == heapNodes.length) {
+                heapNodes = Arrays.copyOf(heapNodes, heapSize * 2);
+                heapCosts = Arrays.copyOf(heapCosts, heapSize * 2);
+            }
+            int i = heapSize++;
+            while (i > 0) {
+                int parent = (i - 1) / 2;
+                if (heapCosts[parent] <= totalCost) {
+                    break;
+                }
+                heapNodes[i] = heapNodes[parent];
+                heapCosts[i] = heapCosts[parent];
+                i = parent;
+            }
+            heapNodes[i] = node;
+            heapCosts[i] = totalCost;
+        }
+
+        private int pop() {
+            int top = heapNodes[0];
+            int node = heapNodes[--heapSize];
+            int nodeCost = heapCosts[heapSize];
+            int i = 0;
+            while (true) {
+                int child = 2 * i + 1;
+                if (child >= heapSize) {
+                    break;
+                }
+                if (child + 1 < heapSize && heapCosts[child + 1] < heapCosts[child]) {
+                    child++;
+                }
+                if (nodeCost <= heapCosts[child]) {
+                    break;
+                }
+                heapNodes[i] = heapNodes[child];
+                heapCosts[i] = heapCosts[child];
+                i = child;
+            }
+            heapNodes[i] = node;
+            heapCosts[i] = nodeCost;
+            return top;
+        }
+    }
+}
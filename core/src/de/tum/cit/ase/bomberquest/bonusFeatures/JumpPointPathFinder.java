@@ -0,0 +1,226 @@
+package de.tum.cit.ase.bomberquest.bonusFeatures;
+
+import de.tum.cit.ase.bomberquest.map.WalkabilityGrid;
+
+import java.util.Arrays;
+
+/**
+ * Jump Point Search for grids with moves up, down, left and right only.
+ *
+ * On a grid where every move costs the same, many shortest paths are symmetric: they only differ in the
+ * order of their moves, and plain A* expands the tiles of all of them. Jump Point Search only allows
+ * paths that go straight for as long as possible, and scans ahead along each straight line instead of
+ * queuing every tile on it. Only the tiles where a path may have to turn (jump points) are queued: tiles
+ * next to the corner of an obstacle, and tiles on a vertical line from which a jump point can be seen to
+ * the left or right. The paths found are as short as those of {@link AStarPathFinder}, but far fewer
+ * tiles are expanded on open maps.
+ *
+ * Like {@link AStarPathFinder}, the buffers of a search are reused by the next search on the same thread,
+ * and only hold the tiles the search reached.
+ */
+public class JumpPointPathFinder implements PathFinder {
+
+    private static final int[] DIRECTION_X = {0, 0, 1, -1};
+    private static final int[] DIRECTION_Y = {1, -1, 0, 0};
+
+    private static final int MAX_KEPT_HEAP = 1 << 12;
+
+    private static final ThreadLocal<Search> SEARCHES = ThreadLocal.withInitial(Search::new);
+
+    /**
+     * The buffers of the searches on one thread, see {@link AStarPathFinder}.
+     */
+    private static final class Search {
+        final TileTable tiles = new TileTable(); // The previous tile of a jump point is the jump point before it
+        int expanded = 0;
+
+        int[] heapTiles = new int[64];
+        int[] heapCosts = new int[64];
+        int heapSize = 0;
+
+        void begin() {
+            tiles.begin();
+            heapSize = 0;
+            expanded = 0;
+        }
+
+        void trim() {
+            tiles.trim();
+            if (heapTiles.length > MAX_KEPT_HEAP) {
+                heapTiles = new int[64];
+                heapCosts = new int[64];
+            }
+        }
+
+        void push(int tile, int totalCost) {
+            if (heapSize == heapTiles.length) {
+                heapTiles = Arrays.copyOf(heapTiles, heapSize * 2);
+                heapCosts = Arrays.copyOf(heapCosts, heapSize * 2);
+            }
+            int i = heapSize++;
+            while (i > 0) {
+                int parent = (i - 1) / 2;
+                if (heapCosts[parent] <= totalCost) {
+                    break;
+                }
+                heapTiles[i] = heapTiles[parent];
+                heapCosts[i] = heapCosts[parent];
+                i = parent;
+            }
+            heapTiles[i] = tile;
+            heapCosts[i] = totalCost;
+        }
+
+        int pop() {
+            int top = heapTiles[0];
+            int tile = heapTiles[--heapSize];
+            int cost = heapCosts[heapSize];
+            int i = 0;
+            while (true) {
+                int child = 2 * i + 1;
+                if (child >= heapSize) {
+                    break;
+                }
+                if (child + 1 < heapSize && heapCosts[child + 1] < heapCosts[child]) {
+                    child++;
+                }
+                if (cost <= heapCosts[child]) {
+                    break;
+                }
+                heapTiles[i] = heapTiles[child];
+                heapCosts[i] = heapCosts[child];
+                i = child;
+            }
+            heapTiles[i] = tile;
+            heapCosts[i] = cost;
+            return top;
+        }
+    }
+
+    @Override
+    public boolean findPath(WalkabilityGrid walkability, int startX, int startY, int goalX, int goalY, TilePath path) {
+        path.clear();
+        if (!walkability.isWalkable(startX, startY) || !walkability.isWalkable(goalX, goalY)) {
+            return false;
+        }
+
+        int width = walkability.getWidth();
+        int start = startY * width + startX;
+        int goal = goalY * width + goalX;
+
+        Search search = SEARCHES.get();
+        search.begin();
+        search.tiles.reach(start, 0, -1);
+        search.push(start, Math.abs(startX - goalX) + Math.abs(startY - goalY));
+
+        while (search.heapSize > 0) {
+            int current = search.pop();
+            if (search.tiles.isExplored(current)) {
+                continue; // Outdated entry
+            }
+            search.tiles.setExplored(current);
+            search.expanded++;
+
+            if (current == goal) {
+                buildPath(search, start, goal, width, path);
+                search.trim();
+                return true;
+            }
+
+            int x = current % width;
+            int y = current / width;
+            int previous = search.tiles.previous(current);
+            for (int d = 0; d < DIRECTION_X.length; d++) {
+                int dx = DIRECTION_X[d];
+                int dy = DIRECTION_Y[d];
+                if (previous >= 0 && !isNatural(x - previous % width, y - previous / width, dx, dy)) {
+                    continue;
+                }
+                int jumpPoint = jump(walkability, x + dx, y + dy, dx, dy, goalX, goalY);
+                if (jumpPoint < 0) {
+                    continue;
+                }
+                int jumpX = jumpPoint % width;
+                int jumpY = jumpPoint / width;
+                int cost = search.tiles.cost(current) + Math.abs(jumpX - x) + Math.abs(jumpY - y);
+                if (!search.tiles.isReached(jumpPoint) || cost < search.tiles.cost(jumpPoint)) {
+                    search.tiles.reach(jumpPoint, cost, current);
+                    search.push(jumpPoint, cost + Math.abs(jumpX - goalX) + Math.abs(jumpY - goalY));
+                }
+            }
+        }
+        search.trim();
+        return false;
+    }
+
+    @Override
+    public int getLastExpandedCount() {
+        return SEARCHES.get().expanded;
+    }
+
+    /**
+     * Decides which directions are worth searching from a jump point that was reached by moving along
+     * (arrivedX, arrivedY). Going back is never worth it. After a horizontal move, the path may continue or
+     * turn either way. After a vertical move it may too, since the jump point was found by looking sideways.
+     */
+    private static boolean isNatural(int arrivedX, int arrivedY, int dx, int dy) {
+        return Integer.signum(arrivedX) != -dx || Integer.signum(arrivedY) != -dy;
+    }
+
+    /**
+     * Moves from a tile in one direction until a jump point, the goal or an obstacle is reached.
+     *
+     * @return the jump point (y * width + x), or -1 if the line ends at an obstacle first
+     */
+    private static int jump(WalkabilityGrid grid, int x, int y, int dx, int dy, int goalX, int goalY) {
+        int width = grid.getWidth();
+        while (grid.isWalkable(x, y)) {
+            if (x == goalX && y == goalY) {
+                return y * width + x;
+            }
+            if (dx != 0) {
+                // A tile above or below that is only reachable around an obstacle behind us: a forced turn
+                if ((grid.isWalkable(x, y - 1) && !grid.isWalkable(x - dx, y - 1))
+                        || (grid.isWalkable(x, y + 1) && !grid.isWalkable(x - dx, y + 1))) {
+                    return y * width + x;
+                }
+            } else {
+                if ((grid.isWalkable(x - 1, y) && !grid.isWalkable(x - 1, y - dy))
+                        || (grid.isWalkable(x + 1, y) && !grid.isWalkable(x + 1, y - dy))) {
+                    return y * width + x;
+                }
+                // Moving vertically, look left and right for a jump point to turn towards
+                if (jump(grid, x + 1, y, 1, 0, goalX, goalY) >= 0 || jump(grid, x - 1, y, -1, 0, goalX, goalY) >= 0) {
+                    return y * width + x;
+                }
+            }
+            x += dx;
+            y += dy;
+        }
+        return -1;
+    }
+
+    /**
+     * Writes the path into the given path, ordered from start to goal. Consecutive jump points lie on a
+     * straight line, so the tiles in between are filled in from the goal backwards.
+     */
+    private static void buildPath(Search search, int start, int goal, int width, TilePath path) {
+        path.resize(search.tiles.cost(goal) + 1);
+        int index = path.size() - 1;
+        int tile = goal;
+        int x = goal % width;
+        int y = goal / width;
+        while (tile != start) {
+            int previous = search.tiles.previous(tile);
+            int stepX = Integer.signum(previous % width - x);
+            int stepY = Integer.signum(previous / width - y);
+            while (x != previous % width || y != previous / width) {
+                path.set(index--, x, y);
+                x += stepX;
+                y += stepY;
+            }
+            tile = previous;
+        }
+        path.set(index, x, y);
+    }
+}
@@ -0,0 +1,29 @@
+package de.tum.cit.ase.bomberquest.bonusFeatures;
+
+import de.tum.cit.ase.bomberquest.map.WalkabilityGrid;
+
+/**
+ * A strategy for finding shortest paths on the tile grid, moving up, down, left and right at a cost of 1
+ * per move. Implementations keep their buffers per thread, so one instance can be shared by all enemies,
+ * also while they think in parallel.
+ */
+public interface PathFinder {
+
+    /**
+     * Finds a shortest path from a starting tile to a goal tile.
+     *
+     * @param walkability The walkable tiles of the map
+     * @param startX The x-coordinate of the starting tile
+     * @param startY The y-coordinate of the starting tile
+     * @param goalX The x-coordinate of the goal tile
+     * @param goalY The y-coordinate of the goal tile
+     * @param path Receives every tile of the path from start to goal; emptied if no path is found
+     * @return True if a path was found
+     */
+    boolean findPath(WalkabilityGrid walkability, int startX, int startY, int goalX, int goalY, TilePath path);
+
+    /**
+     * @return The number of nodes expanded by the last search on the calling thread, for benchmarks
+     */
+    int getLastExpandedCount();
+}
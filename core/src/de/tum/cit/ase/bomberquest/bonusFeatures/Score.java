@@ -62,6 +62,14 @@ public int getScore() {
         return score;
     }
 
+    /**
+     * Sets the score, e.g. when a saved game is loaded.
+     * @param score The score to continue from.
+     */
+    public void setScore(int score) {
+        this.score = score;
+    }
+
     /**
      * Resets the in-game score to zero.
      */
@@ -0,0 +1,58 @@
+package de.tum.cit.ase.bomberquest.bonusFeatures;
+
+import java.util.Arrays;
+
+/**
+ * A path of tiles, from the start tile to the goal tile, filled in by {@link AStarPathFinder}.
+ * The tiles are kept as primitive coordinates, and the same instance is meant to be reused for
+ * every search, so following a path produces no garbage.
+ */
+public class TilePath {
+
+    private int[] xs = new int[32];
+    private int[] ys = new int[32];
+    private int length = 0;
+
+    /**
+     * @return The number of tiles in the path, including the start and the goal, 0 if there is none.
+     */
+    public int size() {
+        return length;
+    }
+
+    /**
+     * @param index The position in the path, 0 for the start tile.
+     * @return The x-coordinate of the tile.
+     */
+    public int getX(int index) {
+        return xs[index];
+    }
+
+    /**
+     * @param index The position in the path, 0 for the start tile.
+     * @return The y-coordinate of the tile.
+     */
+    public int getY(int index) {
+        return ys[index];
+    }
+
+    void clear() {
+        length = 0;
+    }
+
+    /**
+     * Makes room for a path of the given length. The tiles are then set from the goal backwards.
+     */
+    void resize(int length) {
+        if (length > xs.length) {
+            xs = Arrays.copyOf(xs, Math.max(length, xs.length * 2));
+            ys = Arrays.copyOf(ys, xs.length);
+        }
+        this.length = length;
+    }
+
+    void set(int index, int x, int y) {
+        xs[index] = x;
+        ys[index] = y;
+    }
+}
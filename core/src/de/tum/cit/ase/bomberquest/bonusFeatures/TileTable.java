@@ -0,0 +1,140 @@
+package de.tum.cit.ase.bomberquest.bonusFeatures;
+
+import java.util.Arrays;
+
+/**
+ * What a path search knows about the tiles it reached: the cost from the start, the tile it was reached
+ * from and whether it was explored. Used by {@link AStarPathFinder} and {@link JumpPointPathFinder}.
+ *
+ * The tiles are kept in a hash table with open addressing instead of arrays over the whole map, so the
+ * memory of a search grows with the tiles it reaches, not with the size of the map. Like the arrays
+ * before, the table is reused by the next search on the same thread and cleared by numbering the searches.
+ * A table that grew large in one search is dropped by {@link #trim}, so a thread does not hold on to it.
+ */
+final class TileTable {
+
+    private static final int INITIAL_CAPACITY = 256;
+    private static final int MAX_KEPT_CAPACITY = 1 << 14; // About 280 kB, more than the searches of the enemies need
+
+    private int[] tiles;
+    private int[] stamps;   // Number of the search that last used the slot
+    private int[] costs;
+    private int[] previous;
+    private boolean[] explored;
+    private int mask;
+    private int shift; // Takes the top bits of the hash, as many as the capacity needs
+    private int size;
+    private int searchNumber = 0;
+
+    TileTable() {
+        allocate(INITIAL_CAPACITY);
+    }
+
+    /**
+     * Forgets all tiles of the last search.
+     */
+    void begin() {
+        if (++searchNumber == Integer.MAX_VALUE) {
+            Arrays.fill(stamps, 0);
+            searchNumber = 1;
+        }
+        size = 0;
+    }
+
+    /**
+     * Gives the memory of a large search back once its results have been read.
+     */
+    void trim() {
+        if (tiles.length > MAX_KEPT_CAPACITY) {
+            allocate(INITIAL_CAPACITY);
+            searchNumber = 0;
+        }
+    }
+
+    /**
+     * Marks a tile as reached in this search.
+     */
+    void reach(int tile, int cost, int from) {
+        int slot = find(tile);
+        if (stamps[slot] != searchNumber) {
+            if (2 * (size + 1) > tiles.length) {
+                grow();
+                slot = find(tile);
+            }
+            stamps[slot] = searchNumber;
+            tiles[slot] = tile;
+            size++;
+        }
+        costs[slot] = cost;
+        previous[slot] = from;
+        explored[slot] = false;
+    }
+
+    boolean isReached(int tile) {
+        return stamps[find(tile)] == searchNumber;
+    }
+
+    /**
+     * @return the cost from the start of a reached tile
+     */
+    int cost(int tile) {
+        return costs[find(tile)];
+    }
+
+    /**
+     * @return the tile a reached tile was reached from, -1 for the start
+     */
+    int previous(int tile) {
+        return previous[find(tile)];
+    }
+
+    boolean isExplored(int tile) {
+        return explored[find(tile)];
+    }
+
+    void setExplored(int tile) {
+        explored[find(tile)] = true;
+    }
+
+    /**
+     * @return the slot of the tile, or the free slot where it belongs
+     */
+    private int find(int tile) {
+        int slot = (tile * 0x9E3779B9) >>> shift;
+        while (stamps[slot] == searchNumber && tiles[slot] != tile) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private void grow() {
+        int[] oldTiles = tiles;
+        int[] oldStamps = stamps;
+        int[] oldCosts = costs;
+        int[] oldPrevious = previous;
+        boolean[] oldExplored = explored;
+        int number = searchNumber;
+        allocate(oldTiles.length * 2);
+        searchNumber = number;
+        for (int i = 0; i < oldTiles.length; i++) {
+            if (oldStamps[i] == number) {
+                int slot = find(oldTiles[i]);
+                stamps[slot] = number;
+                tiles[slot] = oldTiles[i];
+                costs[slot] = oldCosts[i];
+                previous[slot] = oldPrevious[i];
+                explored[slot] = oldExplored[i];
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        tiles = new int[capacity];
+        stamps = new int[capacity];
+        costs = new int[capacity];
+        previous = new int[capacity];
+        explored = new boolean[capacity];
+        mask = capacity - 1;
+        shift = Integer.numberOfLeadingZeros(capacity) + 1;
+    }
+}
@@ -1,6 +1,7 @@
 package de.tum.cit.ase.bomberquest.bonusFeatures.ui;
 
 import com.badlogic.gdx.Input;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
 import com.badlogic.gdx.Gdx;
@@ -23,12 +24,48 @@ public class KeyBindings {
     public static final String PLACE_BOMB = "place_bomb";
     public static final String PAUSE_GAME = "pause_game";
     public static final String SHOOT_ARROW = "shoot_arrow";
+    public static final String QUICK_SAVE = "quick_save";
+    public static final String QUICK_LOAD = "quick_load";
 
+    // The second player of a local multiplayer game shares the keyboard
+    public static final String P2_MOVE_UP = "p2_move_up";
+    public static final String P2_MOVE_DOWN = "p2_move_down";
+    public static final String P2_MOVE_LEFT = "p2_move_left";
+    public static final String P2_MOVE_RIGHT = "p2_move_right";
+    public static final String P2_PLACE_BOMB = "p2_place_bomb";
+    public static final String P2_SHOOT_ARROW = "p2_shoot_arrow";
+
+    // Action ids, for code that looks bindings up every frame. Index into ACTIONS
+    public static final int ACTION_MOVE_UP = 0;
+    public static final int ACTION_MOVE_DOWN = 1;
+    public static final int ACTION_MOVE_LEFT = 2;
+    public static final int ACTION_MOVE_RIGHT = 3;
+    public static final int ACTION_PLACE_BOMB = 4;
+    public static final int ACTION_PAUSE_GAME = 5;
+    public static final int ACTION_SHOOT_ARROW = 6;
+    public static final int ACTION_QUICK_SAVE = 7;
+    public static final int ACTION_QUICK_LOAD = 8;
+    public static final int ACTION_P2_MOVE_UP = 9;
+    public static final int ACTION_P2_MOVE_DOWN = 10;
+    public static final int ACTION_P2_MOVE_LEFT = 11;
+    public static final int ACTION_P2_MOVE_RIGHT = 12;
+    public static final int ACTION_P2_PLACE_BOMB = 13;
+    public static final int ACTION_P2_SHOOT_ARROW = 14;
+    public static final int ACTION_COUNT = 15;
+
+    private static final String[] ACTIONS = {
+            MOVE_UP, MOVE_DOWN, MOVE_LEFT, MOVE_RIGHT, PLACE_BOMB, PAUSE_GAME, SHOOT_ARROW, QUICK_SAVE, QUICK_LOAD,
+            P2_MOVE_UP, P2_MOVE_DOWN, P2_MOVE_LEFT, P2_MOVE_RIGHT, P2_PLACE_BOMB, P2_SHOOT_ARROW
+    };
 
     private static final Preferences prefs = Gdx.app.getPreferences("KeyBindings");
 
     private static final Map<String, Integer> bindings = new HashMap<>();
 
+    // The bindings as primitive arrays, kept in sync with the map: key code by action id and action id by key code
+    private static final int[] keyByAction = new int[ACTION_COUNT];
+    private static final int[] actionByKey = new int[Input.Keys.MAX_KEYCODE + 1];
+
     static {
         bindings.put(MOVE_UP, Input.Keys.W);           // Default: W
         bindings.put(MOVE_DOWN, Input.Keys.S);         // Default: S
@@ -37,12 +74,34 @@ public class KeyBindings {
         bindings.put(PLACE_BOMB, Input.Keys.SPACE);    // Default: SPACE
         bindings.put(PAUSE_GAME, Input.Keys.ESCAPE);    // Default: ESC
         bindings.put(SHOOT_ARROW, Input.Keys.SHIFT_LEFT); // Default: Left Shift
+        bindings.put(QUICK_SAVE, Input.Keys.F5);       // Default: F5
+        bindings.put(QUICK_LOAD, Input.Keys.F9);       // Default: F9
+        bindings.put(P2_MOVE_UP, Input.Keys.UP);       // Default: Arrow Up
+        bindings.put(P2_MOVE_DOWN, Input.Keys.DOWN);   // Default: Arrow Down
+        bindings.put(P2_MOVE_LEFT, Input.Keys.LEFT);   // Default: Arrow Left
+        bindings.put(P2_MOVE_RIGHT, Input.Keys.RIGHT); // Default: Arrow Right
+        bindings.put(P2_PLACE_BOMB, Input.Keys.ENTER); // Default: ENTER
+        bindings.put(P2_SHOOT_ARROW, Input.Keys.SHIFT_RIGHT); // Default: Right Shift
     }
 
     static {
         loadBindings();
     }
 
+    /**
+     * Rebuilds the primitive lookup arrays from the bindings.
+     */
+    private static void updateLookups() {
+        Arrays.fill(actionByKey, -1);
+        for (int id = 0; id < ACTION_COUNT; id++) {
+            int key = bindings.get(ACTIONS[id]);
+            keyByAction[id] = key;
+            if (key >= 0 && key < actionByKey.length) {
+                actionByKey[key] = id;
+            }
+        }
+    }
+
     /**
      * Retrieves the display name for a given action.
      *
@@ -65,6 +124,22 @@ public static String getActionName(String action) {
                 return "Pause Game";
             case SHOOT_ARROW:
                 return "Shoot Arrow";
+            case QUICK_SAVE:
+                return "Quick Save";
+            case QUICK_LOAD:
+                return "Quick Load";
+            case P2_MOVE_UP:
+                return "Player 2 Move Up";
+            case P2_MOVE_DOWN:
+                return "Player 2 Move Down";
+            case P2_MOVE_LEFT:
+                return "Player 2 Move Left";
+            case P2_MOVE_RIGHT:
+                return "Player 2 Move Right";
+            case P2_PLACE_BOMB:
+                return "Player 2 Place Bomb";
+            case P2_SHOOT_ARROW:
+                return "Player 2 Shoot Arrow";
             default:
                 return action;
         }
@@ -80,6 +155,26 @@ public static int getKey(String action) {
         return bindings.get(action);
     }
 
+    /**
+     * Retrieves the key code bound to an action by its id, without boxing.
+     *
+     * @param actionId the action id, one of the ACTION_ constants
+     * @return the key code associated with the action
+     */
+    public static int getKey(int actionId) {
+        return keyByAction[actionId];
+    }
+
+    /**
+     * Retrieves the action a key is bound to.
+     *
+     * @param keycode the key code
+     * @return the action id, or -1 if the key is not bound
+     */
+    public static int getAction(int keycode) {
+        return keycode >= 0 && keycode < actionByKey.length ? actionByKey[keycode] : -1;
+    }
+
     /**
      * Sets a new key binding for a specific action and saves the updated bindings.
      *
@@ -88,6 +183,7 @@ public static int getKey(String action) {
      */
     public static void setKey(String action, int key) {
         bindings.put(action, key);
+        updateLookups();
         saveBindings();
     }
 
@@ -109,5 +205,6 @@ public static void loadBindings() {
         for (String action : bindings.keySet()) {
             bindings.put(action, prefs.getInteger(action, bindings.get(action)));
         }
+        updateLookups();
     }
 }
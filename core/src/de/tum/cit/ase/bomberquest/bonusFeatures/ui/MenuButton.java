@@ -1,13 +1,13 @@
 package de.tum.cit.ase.bomberquest.bonusFeatures.ui;
 
-import com.badlogic.gdx.Gdx;
-import com.badlogic.gdx.audio.Sound;
 import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.graphics.g2d.BitmapFont;
 import com.badlogic.gdx.scenes.scene2d.InputEvent;
 import com.badlogic.gdx.scenes.scene2d.ui.TextButton;
 import com.badlogic.gdx.scenes.scene2d.utils.ClickListener;
 import com.badlogic.gdx.scenes.scene2d.utils.NinePatchDrawable;
+import de.tum.cit.ase.bomberquest.assets.AssetDescriptors;
+import de.tum.cit.ase.bomberquest.assets.GameAssets;
 
 /**
  * MenuButton is a custom button class for the BomberQuest UI, extending libGDX's TextButton.
@@ -21,9 +21,6 @@ public class MenuButton extends TextButton {
     private float desiredWidth;
     private float desiredHeight;
 
-    // Sound effect played on button click
-    private static final Sound clickSound = Gdx.audio.newSound(Gdx.files.internal("assets/audio/buttonClick.mp3"));
-
     /**
      * Constructs a new MenuButton with the specified text, dimensions, font, and drawable styles.
      *
@@ -48,7 +45,7 @@ public MenuButton(String text,
         this.addListener(new ClickListener() {
             @Override
             public void clicked(InputEvent event, float x, float y) {
-                clickSound.play();
+                GameAssets.get(AssetDescriptors.BUTTON_CLICK_SOUND).play();
                 super.clicked(event, x, y);
             }
         });
@@ -0,0 +1,378 @@
+package de.tum.cit.ase.bomberquest.bot;
+
+import de.tum.cit.ase.bomberquest.input.InputSource;
+import de.tum.cit.ase.bomberquest.map.DangerMap;
+import de.tum.cit.ase.bomberquest.map.GameMap;
+import de.tum.cit.ase.bomberquest.map.WalkabilityGrid;
+import de.tum.cit.ase.bomberquest.objects.Bomb;
+import de.tum.cit.ase.bomberquest.objects.Enemy;
+import de.tum.cit.ase.bomberquest.objects.Player;
+import de.tum.cit.ase.bomberquest.replay.Replay;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Plays the game on its own, for soak tests and for watching the game run unattended.
+ *
+ * Every step the bot looks at the map and picks the first thing it can do, in this order:
+ * <ol>
+ *     <li>get out of the blast of a bomb, using the escape search of the {@link DangerMap},</li>
+ *     <li>walk to an open exit,</li>
+ *     <li>pick up a power-up,</li>
+ *     <li>walk to a tile next to a destructible wall or in line with an enemy and place a bomb there,
+ *     if a safe tile can be reached before it explodes,</li>
+ *     <li>wander.</li>
+ * </ol>
+ * Goals are found with a breadth-first search over the tiles outside of all blasts that keeps away from
+ * enemies. The bot only produces the input bits of a step, so it steers the player exactly like the keyboard.
+ * Its own decisions are random only through its own seeded generator, never through the map's.
+ */
+public class BotPlayer implements InputSource {
+
+    // Directions: up, down, right, left
+    private static final int[] DIRECTION_X = {0, 0, 1, -1};
+    private static final int[] DIRECTION_Y = {1, -1, 0, 0};
+
+    private static final int[] WANDER_MOVES = {Replay.MOVE_UP, Replay.MOVE_DOWN, Replay.MOVE_LEFT, Replay.MOVE_RIGHT};
+
+    private static final int SEARCH_LIMIT = 4096;      // Tiles visited per search, keeps big arenas cheap
+    private static final int MAX_ESCAPE_STEPS = 6;     // A bomb is only placed with a safe tile this close
+    private static final float CENTER_TOLERANCE = 0.15f; // How far off the center of a tile still counts as on it
+    private static final int STUCK_STEPS = 90;         // Steps without leaving a tile before the bot wanders off
+    private static final int WANDER_STEPS = 45;        // Steps the bot keeps one random direction
+
+    private enum Goal {
+        EXIT, POWER_UP, BOMB_SPOT
+    }
+
+    private final SplittableRandom random;
+    private final int playerIndex; // The player on the map the bot steers
+
+    // Search buffers, y * width + x, grown to the size of the map
+    private int width = 0;
+    private int height = 0;
+    private int[] stamp = new int[0];
+    private int[] firstStep = new int[0];
+    private int[] distance = new int[0];
+    private int[] queue = new int[0];
+    private int[] enemyStamp = new int[0]; // Tiles of enemies in this step
+    private int[] blastStamp = new int[0]; // Tiles of the bomb the bot considers placing
+    private int searchNumber = 0;
+    private int stepNumber = 0;
+
+    // Getting unstuck
+    private int lastTile = -1;
+    private int stepsOnTile = 0;
+    private int wanderInput = 0;
+    private int wanderStepsLeft = 0;
+
+    /**
+     * @param seed the seed of the bot's own decisions
+     */
+    public BotPlayer(long seed) {
+        this(seed, 0);
+    }
+
+    /**
+     * @param seed        the seed of the bot's own decisions
+     * @param playerIndex the player on the map the bot steers, 0 for the first one
+     */
+    public BotPlayer(long seed, int playerIndex) {
+        this.random = new SplittableRandom(seed);
+        this.playerIndex = playerIndex;
+    }
+
+    @Override
+    public int nextInput(GameMap map, long stepTime) {
+        Player player = playerIndex < map.getPlayerCount() ? map.getPlayer(playerIndex) : null;
+        if (player == null || player.getBody() == null || map.isFinished()) {
+            return 0;
+        }
+        WalkabilityGrid grid = map.getWalkability();
+        DangerMap danger = map.getDanger();
+        prepare(map, grid);
+
+        float x = player.getX();
+        float y = player.getY();
+        int px = (int) Math.floor(x);
+        int py = (int) Math.floor(y);
+        int tile = py * width + px;
+
+        // Keep going in a random direction for a while when the bot did not get off its tile
+        stepsOnTile = tile == lastTile ? stepsOnTile + 1 : 0;
+        lastTile = tile;
+        if (stepsOnTile > STUCK_STEPS && wanderStepsLeft == 0) {
+            startWandering();
+            stepsOnTile = 0;
+        }
+        if (wanderStepsLeft > 0 && !danger.isDangerous(px, py)) {
+            if (!danger.isDangerous(px + wanderX(), py + wanderY())) {
+                wanderStepsLeft--;
+                return wanderInput;
+            }
+            wanderStepsLeft = 0; // Do not wander into a blast
+        }
+
+        // 1) Run from blasts
+        if (danger.isDangerous(px, py)) {
+            int escape = danger.findEscapeStep(grid, px, py);
+            return escape >= 0 ? moveTowards(escape % width, escape / width, x, y) : 0;
+        }
+
+        WalkabilityGrid safe = danger.avoiding(grid);
+
+        // 2) to 4) Look for something to do, the most important goal first
+        int goal = -1;
+        if (map.areExitsActive()) {
+            goal = search(map, safe, px, py, Goal.EXIT);
+        }
+        if (goal < 0) {
+            goal = search(map, safe, px, py, Goal.POWER_UP);
+        }
+        boolean bombing = false;
+        if (goal < 0 && canPlaceBomb(map)) {
+            goal = search(map, safe, px, py, Goal.BOMB_SPOT);
+            bombing = goal >= 0;
+        }
+
+        if (goal == tile) {
+            if (bombing && isCentered(x, y, px, py) && canEscapeBomb(map, safe, danger, px, py)) {
+                return Replay.PLACE_BOMB;
+            }
+            return moveTowards(px, py, x, y);
+        }
+        if (goal >= 0) {
+            int step = firstStep[goal];
+            return moveTowards(step % width, step / width, x, y);
+        }
+
+        // 5) Nothing in reach, wander
+        startWandering();
+        return 0;
+    }
+
+    /**
+     * Grows the buffers to the map and marks the tiles of the enemies.
+     */
+    private void prepare(GameMap map, WalkabilityGrid grid) {
+        width = grid.getWidth();
+        height = grid.getHeight();
+        int tileCount = width * height;
+        if (stamp.length < tileCount) {
+            stamp = new int[tileCount];
+            firstStep = new int[tileCount];
+            distance = new int[tileCount];
+            queue = new int[tileCount];
+            enemyStamp = new int[tileCount];
+            blastStamp = new int[tileCount];
+            searchNumber = 0;
+            stepNumber = 0;
+        }
+        if (++stepNumber == Integer.MAX_VALUE) {
+            Arrays.fill(enemyStamp, 0);
+            Arrays.fill(blastStamp, 0);
+            stepNumber = 1;
+        }
+        for (Enemy enemy : map.getEnemies()) {
+            if (enemy.getBody() == null) {
+                continue;
+            }
+            int ex = (int) Math.floor(enemy.getX());
+            int ey = (int) Math.floor(enemy.getY());
+            if (ex >= 0 && ex < width && ey >= 0 && ey < height) {
+                enemyStamp[ey * width + ex] = stepNumber;
+            }
+        }
+    }
+
+    private boolean isEnemyAt(int x, int y) {
+        return x >= 0 && x < width && y >= 0 && y < height && enemyStamp[y * width + x] == stepNumber;
+    }
+
+    private boolean isEnemyNear(int x, int y) {
+        if (isEnemyAt(x, y)) {
+            return true;
+        }
+        for (int d = 0; d < DIRECTION_X.length; d++) {
+            if (isEnemyAt(x + DIRECTION_X[d], y + DIRECTION_Y[d])) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private int beginSearch(int start) {
+        if (++searchNumber == Integer.MAX_VALUE) {
+            Arrays.fill(stamp, 0);
+            searchNumber = 1;
+        }
+        stamp[start] = searchNumber;
+        distance[start] = 0;
+        firstStep[start] = start;
+        queue[0] = start;
+        return 1;
+    }
+
+    /**
+     * Searches breadth-first for the closest tile that fulfills a goal, keeping off the tiles around enemies.
+     *
+     * @return the goal tile (y * width + x), its first step is in {@link #firstStep}, or -1 if none is in reach
+     */
+    private int search(GameMap map, WalkabilityGrid safe, int startX, int startY, Goal goal) {
+        int start = startY * width + startX;
+        int tail = beginSearch(start);
+        int head = 0;
+        while (head < tail && tail < SEARCH_LIMIT) {
+            int current = queue[head++];
+            int cx = current % width;
+            int cy = current / width;
+            if (fulfills(map, safe, cx, cy, goal)) {
+                return current;
+            }
+            for (int d = 0; d < DIRECTION_X.length; d++) {
+                int nx = cx + DIRECTION_X[d];
+                int ny = cy + DIRECTION_Y[d];
+                if (!safe.isWalkable(nx, ny) || stamp[ny * width + nx] == searchNumber || isEnemyNear(nx, ny)) {
+                    continue;
+                }
+                int next = ny * width + nx;
+                stamp[next] = searchNumber;
+                distance[next] = distance[current] + 1;
+                firstStep[next] = current == start ? next : firstStep[current];
+                queue[tail++] = next;
+            }
+        }
+        return -1;
+    }
+
+    private boolean fulfills(GameMap map, WalkabilityGrid safe, int x, int y, Goal goal) {
+        switch (goal) {
+            case EXIT:
+                return map.isExitTile(x, y);
+            case POWER_UP:
+                return map.isPowerUpTile(x, y);
+            default:
+                return isWorthBombing(map, safe, x, y);
+        }
+    }
+
+    /**
+     * A tile is worth a bomb if a destructible wall is next to it or an enemy is in the reach of the blast.
+     */
+    private boolean isWorthBombing(GameMap map, WalkabilityGrid safe, int x, int y) {
+        int radius = map.getBlastRadius();
+        for (int d = 0; d < DIRECTION_X.length; d++) {
+            if (map.isDestructibleWall(x + DIRECTION_X[d], y + DIRECTION_Y[d])) {
+                return true;
+            }
+            for (int i = 1; i <= radius; i++) {
+                int tx = x + i * DIRECTION_X[d];
+                int ty = y + i * DIRECTION_Y[d];
+                if (!safe.isWalkable(tx, ty)) {
+                    break;
+                }
+                if (isEnemyAt(tx, ty)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private boolean canPlaceBomb(GameMap map) {
+        int active = 0;
+        for (Bomb bomb : map.getBombs()) {
+            if (!bomb.isHasExploded()) {
+                active++;
+            }
+        }
+        return active < map.getConcurrentBombCount();
+    }
+
+    /**
+     * Checks whether a safe tile can be reached from a bomb placed on the given tile, outside of its blast,
+     * which goes up to the blast radius and stops at indestructible walls like the real one.
+     */
+    private boolean canEscapeBomb(GameMap map, WalkabilityGrid safe, DangerMap danger, int x, int y) {
+        int radius = map.getBlastRadius();
+        blastStamp[y * width + x] = stepNumber;
+        for (int d = 0; d < DIRECTION_X.length; d++) {
+            for (int i = 1; i <= radius; i++) {
+                int tx = x + i * DIRECTION_X[d];
+                int ty = y + i * DIRECTION_Y[d];
+                if (map.isIndestructibleWall(tx, ty)) {
+                    break;
+                }
+                if (safe.isWalkable(tx, ty)) {
+                    blastStamp[ty * width + tx] = stepNumber;
+                }
+            }
+        }
+
+        int start = y * width + x;
+        int tail = beginSearch(start);
+        int head = 0;
+        while (head < tail) {
+            int current = queue[head++];
+            if (blastStamp[current] != stepNumber && !danger.isDangerous(current % width, current / width)) {
+                return true;
+            }
+            if (distance[current] == MAX_ESCAPE_STEPS) {
+                continue;
+            }
+            int cx = current % width;
+            int cy = current / width;
+            for (int d = 0; d < DIRECTION_X.length; d++) {
+                int nx = cx + DIRECTION_X[d];
+                int ny = cy + DIRECTION_Y[d];
+                if (!safe.isWalkable(nx, ny) || stamp[ny * width + nx] == searchNumber || isEnemyNear(nx, ny)) {
+                    continue;
+                }
+                int next = ny * width + nx;
+                stamp[next] = searchNumber;
+                distance[next] = distance[current] + 1;
+                queue[tail++] = next;
+            }
+        }
+        return false;
+    }
+
+    private boolean isCentered(float x, float y, int tileX, int tileY) {
+        return Math.abs(tileX + 0.5f - x) <= CENTER_TOLERANCE && Math.abs(tileY + 0.5f - y) <= CENTER_TOLERANCE;
+    }
+
+    /**
+     * Steers toward the center of a tile. Both axes are corrected at once, so the player does not catch
+     * on the corners of walls when turning.
+     */
+    private int moveTowards(int tileX, int tileY, float x, float y) {
+        float dx = tileX + 0.5f - x;
+        float dy = tileY + 0.5f - y;
+        int input = 0;
+        if (dx > CENTER_TOLERANCE) {
+            input |= Replay.MOVE_RIGHT;
+        } else if (dx < -CENTER_TOLERANCE) {
+            input |= Replay.MOVE_LEFT;
+        }
+        if (dy > CENTER_TOLERANCE) {
+            input |= Replay.MOVE_UP;
+        } else if (dy < -CENTER_TOLERANCE) {
+            input |= Replay.MOVE_DOWN;
+        }
+        return input;
+    }
+
+    private void startWandering() {
+        wanderInput = WANDER_MOVES[random.nextInt(WANDER_MOVES.length)];
+        wanderStepsLeft = WANDER_STEPS;
+    }
+
+    private int wanderX() {
+        return wanderInput == Replay.MOVE_RIGHT ? 1 : wanderInput == Replay.MOVE_LEFT ? -1 : 0;
+    }
+
+    private int wanderY() {
+        return wanderInput == Replay.MOVE_UP ? 1 : wanderInput == Replay.MOVE_DOWN ? -1 : 0;
+    }
+}
@@ -0,0 +1,77 @@
+package de.tum.cit.ase.bomberquest.bot;
+
+/**
+ * Counts durations in buckets whose width grows with the duration: 16 buckets per power of two, so every
+ * value is kept to about 6 percent, from nanoseconds up to hours, in a fixed amount of memory. Each thread
+ * records into its own histogram, they are added up at the end. The game server also counts the sizes
+ * of its snapshots in bytes with it.
+ */
+public final class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 4;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+    private final long[] counts = new long[64 << SUB_BUCKET_BITS];
+    private long count = 0;
+    private long max = 0;
+
+    public void record(long nanos) {
+        counts[index(Math.max(0L, nanos))]++;
+        count++;
+        max = Math.max(max, nanos);
+    }
+
+    public void add(LatencyHistogram other) {
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] += other.counts[i];
+        }
+        count += other.count;
+        max = Math.max(max, other.max);
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public long getMax() {
+        return max;
+    }
+
+    /**
+     * @param fraction the fraction of recorded values, e.g. 0.99
+     * @return the smallest duration in nanoseconds that the given fraction of values does not exceed,
+     * rounded down to the start of its bucket
+     */
+    public long getPercentile(double fraction) {
+        if (count == 0) {
+            return 0;
+        }
+        long target = Math.max(1L, (long) Math.ceil(fraction * count));
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= target) {
+                return Math.min(lowestValue(i), max);
+            }
+        }
+        return max;
+    }
+
+    private static int index(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int subBucket = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return ((exponent - SUB_BUCKET_BITS + 1) << SUB_BUCKET_BITS) + subBucket;
+    }
+
+    private static long lowestValue(int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        int exponent = (index >> SUB_BUCKET_BITS) + SUB_BUCKET_BITS - 1;
+        long subBucket = index & (SUB_BUCKETS - 1);
+        return (SUB_BUCKETS + subBucket) << (exponent - SUB_BUCKET_BITS);
+    }
+}
@@ -0,0 +1,141 @@
+package de.tum.cit.ase.bomberquest.bot;
+
+import com.badlogic.gdx.Gdx;
+import de.tum.cit.ase.bomberquest.BomberQuestGame;
+import de.tum.cit.ase.bomberquest.bonusFeatures.Score;
+import de.tum.cit.ase.bomberquest.map.FixedTimestep;
+import de.tum.cit.ase.bomberquest.map.GameMap;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Plays many games with a {@link BotPlayer} at once, without rendering and as fast as the simulation can run,
+ * to find crashes and slow steps that only show up after hours of play.
+ *
+ * Every game runs on one thread of a pool, on its own headless map without a HUD. Game n uses the seed n
+ * for both the map and the bot, so a game that went wrong can be run again on its own. The replay of a
+ * crashed game is written to the local replays folder. At the end, the throughput, the outcomes and the
+ * distribution of the time per simulation step are logged.
+ */
+public final class SoakTestRunner {
+
+    /**
+     * What to run.
+     *
+     * @param games    the number of games
+     * @param threads  the number of games running at the same time
+     * @param mapPath  the map of all games, a map file or the path of a generated arena
+     * @param timeLeft the level time of each game in seconds
+     */
+    public record Settings(int games, int threads, String mapPath, float timeLeft) {
+    }
+
+    private record GameResult(long seed, boolean won, boolean timedOut, boolean crashed, long steps,
+                              LatencyHistogram stepTimes) {
+    }
+
+    private SoakTestRunner() {
+    }
+
+    /**
+     * Runs all games of a soak test and logs the results.
+     *
+     * @param game     the main game instance, used for the map file lookup
+     * @param settings the games to run
+     */
+    public static void run(BomberQuestGame game, Settings settings) {
+        Gdx.app.log("Soak", String.format("Running %d games on %s with %d threads",
+                settings.games(), settings.mapPath(), settings.threads()));
+        ExecutorService pool = Executors.newFixedThreadPool(Math.max(1, settings.threads()));
+        long start = System.nanoTime();
+        List<Future<GameResult>> futures = new ArrayList<>();
+        for (int i = 1; i <= settings.games(); i++) {
+            long seed = i;
+            futures.add(pool.submit(() -> play(game, settings, seed)));
+        }
+
+        int wins = 0;
+        int timeouts = 0;
+        int crashes = 0;
+        long steps = 0;
+        LatencyHistogram stepTimes = new LatencyHistogram();
+        for (Future<GameResult> future : futures) {
+            try {
+                GameResult result = future.get();
+                wins += result.won() ? 1 : 0;
+                timeouts += result.timedOut() ? 1 : 0;
+                crashes += result.crashed() ? 1 : 0;
+                steps += result.steps();
+                stepTimes.add(result.stepTimes());
+            } catch (Throwable e) {
+                Gdx.app.error("Soak", "A game could not be run", e);
+                crashes++;
+            }
+        }
+        pool.shutdown();
+
+        double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+        int games = settings.games();
+        int deaths = games - wins - timeouts - crashes;
+        Gdx.app.log("Soak", String.format("%d games in %.1f s: %.1f games/min, %.0f steps/s (%.0fx real time)",
+                games, seconds, games / seconds * 60, steps / seconds,
+                steps * FixedTimestep.SIMULATION_STEP / seconds));
+        Gdx.app.log("Soak", String.format("Won %d (%.1f%%), died %d, timed out %d, crashed %d",
+                wins, games > 0 ? 100.0 * wins / games : 0, deaths, timeouts, crashes));
+        Gdx.app.log("Soak", String.format("Step time: p50 %.3f ms, p90 %.3f ms, p99 %.3f ms, p99.9 %.3f ms, max %.3f ms",
+                stepTimes.getPercentile(0.5) / 1e6, stepTimes.getPercentile(0.9) / 1e6,
+                stepTimes.getPercentile(0.99) / 1e6, stepTimes.getPercentile(0.999) / 1e6,
+                stepTimes.getMax() / 1e6));
+    }
+
+    /**
+     * Plays one game until it is won, lost or out of time. A step is timed from the tick of the map up to
+     * the bot's input being applied, like one step of the game screen.
+     */
+    private static GameResult play(BomberQuestGame game, Settings settings, long seed) {
+        LatencyHistogram stepTimes = new LatencyHistogram();
+        GameMap map = null;
+        long steps = 0;
+        boolean timedOut = false;
+        try {
+            map = game.createMap(settings.mapPath(), new Score(), seed, settings.timeLeft(), null);
+            map.setHeadless(true);
+            BotPlayer bot = new BotPlayer(seed);
+
+            float remainingTime = settings.timeLeft();
+            while (!map.isFinished()) {
+                long stepStart = System.nanoTime();
+                map.tick(FixedTimestep.SIMULATION_STEP);
+                map.applyPlayerInput(bot.nextInput(map, stepStart), FixedTimestep.SIMULATION_STEP);
+                stepTimes.record(System.nanoTime() - stepStart);
+                steps++;
+
+                remainingTime -= FixedTimestep.SIMULATION_STEP;
+                if (remainingTime <= 0 && !map.isFinished()) {
+                    timedOut = true;
+                    map.endGame(false);
+                }
+            }
+            return new GameResult(seed, map.isWon(), timedOut, false, steps, stepTimes);
+        } catch (Throwable e) {
+            // Also errors, e.g. of a failed class initialization, so the seed and the replay are not lost
+            Gdx.app.error("Soak", "Game with seed " + seed + " crashed after " + steps + " steps", e);
+            if (map != null && map.getReplay() != null) {
+                try {
+                    map.getReplay().write(Gdx.files.local("replays/soak-" + seed + ".bqr"));
+                } catch (Throwable writeError) {
+                    Gdx.app.error("Soak", "Failed to save the replay of seed " + seed, writeError);
+                }
+            }
+            return new GameResult(seed, false, false, true, steps, stepTimes);
+        } finally {
+            if (map != null) {
+                map.getWorld().dispose();
+            }
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package de.tum.cit.ase.bomberquest.ecs;
+
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+/**
+ * Lets every entity with a {@link Brain} decide what to do in a simulation step.
+ *
+ * Brains are updated at a level of detail that depends on their distance to the closest player, which the
+ * camera follows: near ones every step, mid-range ones every {@value #MID_INTERVAL} steps and far ones every
+ * {@value #FAR_INTERVAL} steps. In between, mid-range bodies keep the velocity of the last update. Far
+ * brains are told to simulate coarsely (see {@link Brain#setCoarse}): their entities leave the physics step
+ * and move the whole time of an update at once, from tile to tile, so they do not walk on into walls with a
+ * stale velocity. The steps are staggered by entity id, so only a fraction of the distant brains is due in
+ * any one step and the cost per step stays bounded however many there are.
+ *
+ * The think phase of the brains that are due is spread over the common ForkJoin pool once there are enough
+ * of them to be worth it, since each may run a path search. The apply phase then runs in the order of the
+ * store on the calling thread, so the results do not depend on how the threads were scheduled and replays
+ * stay deterministic. Brains must not create or destroy entities in either phase.
+ */
+public class AiSystem {
+
+    private static final int PARALLEL_THRESHOLD = 64; // Below this, forking costs more than it saves
+
+    private static final float NEAR_DISTANCE = 8f;  // In tiles. Enemies chase from 5 tiles, so chasers are always near
+    private static final float MID_DISTANCE = 24f;  // Beyond this, a brain is far
+    private static final int MID_INTERVAL = 4;
+    private static final int FAR_INTERVAL = 16;
+
+    private final BrainStore brains;
+    private final TransformStore transforms;
+
+    // Dense indices of the brains due in the current step, and the number of steps each update covers
+    private int[] due = new int[64];
+    private int[] dueSteps = new int[64];
+    private long step = 0;
+
+    public AiSystem(EntityWorld entities) {
+        this.brains = entities.brains;
+        this.transforms = entities.transforms;
+    }
+
+    /**
+     * @param view      what the brains may look at in this step
+     * @param deltaTime the length of the simulation step in seconds
+     */
+    public void update(AiView view, float deltaTime) {
+        step++;
+        int size = brains.size();
+        if (due.length < size) {
+            due = Arrays.copyOf(due, Math.max(size, due.length * 2));
+            dueSteps = Arrays.copyOf(dueSteps, due.length);
+        }
+
+        int count = 0;
+        for (int i = 0; i < size; i++) {
+            int interval = intervalOf(view, i);
+            if (interval == 1 || (step + brains.entityAt(i)) % interval == 0) {
+                due[count] = i;
+                dueSteps[count] = interval;
+                count++;
+            }
+        }
+
+        if (count >= PARALLEL_THRESHOLD) {
+            IntStream.range(0, count).parallel().forEach(k -> think(view, due[k]));
+        } else {
+            for (int k = 0; k < count; k++) {
+                think(view, due[k]);
+            }
+        }
+
+        for (int k = 0; k < count; k++) {
+            Brain brain = brains.brain[due[k]];
+            brain.setCoarse(dueSteps[k] == FAR_INTERVAL);
+            brain.apply(deltaTime * dueSteps[k]);
+        }
+    }
+
+    /**
+     * @return every how many steps the brain at the dense index is updated
+     */
+    private int intervalOf(AiView view, int i) {
+        int t = transforms.indexOf(brains.entityAt(i));
+        int target = t < 0 ? -1 : view.nearestTarget(transforms.x[t], transforms.y[t]);
+        if (target < 0) {
+            return 1;
+        }
+        float dx = transforms.x[t] - view.targets()[target];
+        float dy = transforms.y[t] - view.targets()[target + 1];
+        float distanceSquared = dx * dx + dy * dy;
+        if (distanceSquared <= NEAR_DISTANCE * NEAR_DISTANCE) {
+            return 1;
+        }
+        return distanceSquared <= MID_DISTANCE * MID_DISTANCE ? MID_INTERVAL : FAR_INTERVAL;
+    }
+
+    private void think(AiView view, int i) {
+        int t = transforms.indexOf(brains.entityAt(i));
+        if (t >= 0) {
+            brains.brain[i].think(view, transforms.x[t], transforms.y[t]);
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package de.tum.cit.ase.bomberquest.ecs;
+
+import de.tum.cit.ase.bomberquest.bonusFeatures.HierarchicalPathFinder;
+import de.tum.cit.ase.bomberquest.bonusFeatures.PathFinder;
+import de.tum.cit.ase.bomberquest.map.DangerMap;
+import de.tum.cit.ase.bomberquest.map.WalkabilityGrid;
+
+/**
+ * Everything a {@link Brain} may look at while it thinks, frozen at the start of a simulation step.
+ *
+ * @param walkability     the walkable tiles of the map
+ * @param safeWalkability the walkable tiles outside of every bomb blast
+ * @param danger          the tiles about to be hit by a bomb, and when
+ * @param pathFinder      the strategy for exact paths over short distances
+ * @param routes          long-distance routes across the map, up to date with the walkable tiles
+ * @param targets         the centers of the living players (in tiles), x and y of each player one after the other
+ */
+public record AiView(WalkabilityGrid walkability, WalkabilityGrid safeWalkability, DangerMap danger,
+                     PathFinder pathFinder, HierarchicalPathFinder routes, float[] targets) {
+
+    /**
+     * @param x the x-coordinate of the one looking (in tiles)
+     * @param y the y-coordinate of the one looking (in tiles)
+     * @return the index of the x-coordinate of the closest player in {@link #targets()}, the y-coordinate
+     * follows it, or -1 if there is no player
+     */
+    public int nearestTarget(float x, float y) {
+        int nearest = -1;
+        float nearestDistance = Float.POSITIVE_INFINITY;
+        for (int i = 0; i < targets.length; i += 2) {
+            float dx = targets[i] - x;
+            float dy = targets[i + 1] - y;
+            float distance = dx * dx + dy * dy;
+            if (distance < nearestDistance) {
+                nearestDistance = distance;
+                nearest = i;
+            }
+        }
+        return nearest;
+    }
+}
@@ -0,0 +1,39 @@
+package de.tum.cit.ase.bomberquest.ecs;
+
+/**
+ * Decides what an entity does in a simulation step, e.g. where an enemy walks.
+ *
+ * A step has two phases. In {@link #think} the brains of all entities decide at the same time, on
+ * several threads, so they may only read the given view and their own position and must only write their
+ * own fields. In {@link #apply} the decisions are carried out one brain after the other on the simulation
+ * thread, which is where physics bodies, timers and the random generator of the map may be used.
+ */
+public interface Brain {
+
+    /**
+     * Decides what to do, without side effects outside of the brain. May run on any thread.
+     *
+     * @param view what the brain may look at
+     * @param x    the x-coordinate of the entity's center (in tiles)
+     * @param y    the y-coordinate of the entity's center (in tiles)
+     */
+    void think(AiView view, float x, float y);
+
+    /**
+     * Carries out the decision of the last {@link #think}. Runs on the simulation thread.
+     * Distant brains are not updated every step, see {@link AiSystem}.
+     *
+     * @param deltaTime the time since the last update of this brain in seconds
+     */
+    void apply(float deltaTime);
+
+    /**
+     * Tells the brain before {@link #apply} whether it is far from every player. A far brain is not
+     * updated again for many steps, so its entity should not keep moving in the physics step until then,
+     * but cover the whole time of the update in apply, e.g. from tile to tile. Runs on the simulation thread.
+     *
+     * @param coarse true if the brain is far and updated rarely
+     */
+    default void setCoarse(boolean coarse) {
+    }
+}
@@ -0,0 +1,34 @@
+package de.tum.cit.ase.bomberquest.ecs;
+
+import java.util.Arrays;
+
+/**
+ * The AI of entities that think for themselves.
+ */
+public class BrainStore extends ComponentStore {
+
+    Brain[] brain;
+
+    /**
+     * @param entity the entity id
+     * @param brain  the AI of the entity
+     */
+    public void add(int entity, Brain brain) {
+        this.brain[insert(entity)] = brain;
+    }
+
+    @Override
+    protected void grow(int capacity) {
+        brain = brain == null ? new Brain[capacity] : Arrays.copyOf(brain, capacity);
+    }
+
+    @Override
+    protected void move(int from, int to) {
+        brain[to] = brain[from];
+    }
+
+    @Override
+    protected void clear(int index) {
+        brain[index] = null;
+    }
+}
@@ -0,0 +1,113 @@
+package de.tum.cit.ase.bomberquest.ecs;
+
+import java.util.Arrays;
+
+/**
+ * Stores one kind of component for any number of entities as a sparse set.
+ *
+ * The component data lives in parallel arrays (columns) defined by the subclass, packed densely from
+ * index 0 to {@link #size()} - 1, so a system walks plain arrays without gaps. A sparse array maps an
+ * entity id to its dense index. Removing a component moves the last element into the hole, so the
+ * order of the dense arrays changes, but adding, removing and looking up are all O(1).
+ */
+public abstract class ComponentStore {
+
+    private static final int INITIAL_CAPACITY = 64;
+
+    private int[] sparse = new int[INITIAL_CAPACITY]; // Entity id -> dense index + 1, 0 if absent
+    private int[] entities = new int[INITIAL_CAPACITY]; // Dense index -> entity id
+    private int size = 0;
+
+    protected ComponentStore() {
+        grow(INITIAL_CAPACITY);
+    }
+
+    /**
+     * Adds the component to an entity and returns the dense index its columns have to be filled at.
+     *
+     * @param entity the entity id
+     * @return the dense index of the new component
+     */
+    protected final int insert(int entity) {
+        if (has(entity)) {
+            throw new IllegalStateException("Entity " + entity + " already has a " + getClass().getSimpleName());
+        }
+        if (entity >= sparse.length) {
+            sparse = Arrays.copyOf(sparse, Math.max(sparse.length * 2, entity + 1));
+        }
+        if (size == entities.length) {
+            entities = Arrays.copyOf(entities, size * 2);
+            grow(size * 2);
+        }
+        int index = size++;
+        entities[index] = entity;
+        sparse[entity] = index + 1;
+        return index;
+    }
+
+    /**
+     * Removes the component of an entity, if it has one.
+     *
+     * @param entity the entity id
+     */
+    public final void remove(int entity) {
+        int index = indexOf(entity);
+        if (index < 0) {
+            return;
+        }
+        int last = --size;
+        if (index != last) {
+            move(last, index);
+            entities[index] = entities[last];
+            sparse[entities[index]] = index + 1;
+        }
+        clear(last);
+        sparse[entity] = 0;
+    }
+
+    /**
+     * @param entity the entity id
+     * @return true if the entity has this component
+     */
+    public final boolean has(int entity) {
+        return entity >= 0 && entity < sparse.length && sparse[entity] != 0;
+    }
+
+    /**
+     * @param entity the entity id
+     * @return the dense index of the entity's component, or -1 if it has none
+     */
+    public final int indexOf(int entity) {
+        return has(entity) ? sparse[entity] - 1 : -1;
+    }
+
+    /**
+     * @param index a dense index
+     * @return the entity owning the component at the index
+     */
+    public final int entityAt(int index) {
+        return entities[index];
+    }
+
+    /**
+     * @return the number of components in the store
+     */
+    public final int size() {
+        return size;
+    }
+
+    /**
+     * Grows every column to the given capacity.
+     */
+    protected abstract void grow(int capacity);
+
+    /**
+     * Copies the columns at one dense index to another.
+     */
+    protected abstract void move(int from, int to);
+
+    /**
+     * Drops the references held at a dense index that is no longer used.
+     */
+    protected abstract void clear(int index);
+}
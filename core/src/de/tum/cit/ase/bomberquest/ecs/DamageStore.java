@@ -0,0 +1,36 @@
+package de.tum.cit.ase.bomberquest.ecs;
+
+import java.util.Arrays;
+
+/**
+ * Marks entities that explosions can hit, with the faction deciding what a hit does.
+ */
+public class DamageStore extends ComponentStore {
+
+    public static final byte FACTION_PLAYER = 0;
+    public static final byte FACTION_ENEMY = 1;
+
+    byte[] faction;
+
+    /**
+     * @param entity  the entity id
+     * @param faction the faction of the entity
+     */
+    public void add(int entity, byte faction) {
+        this.faction[insert(entity)] = faction;
+    }
+
+    @Override
+    protected void grow(int capacity) {
+        faction = faction == null ? new byte[capacity] : Arrays.copyOf(faction, capacity);
+    }
+
+    @Override
+    protected void move(int from, int to) {
+        faction[to] = faction[from];
+    }
+
+    @Override
+    protected void clear(int index) {
+    }
+}
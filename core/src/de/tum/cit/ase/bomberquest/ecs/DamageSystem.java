@@ -0,0 +1,63 @@
+package de.tum.cit.ase.bomberquest.ecs;
+
+import java.util.Arrays;
+
+/**
+ * Finds the entities standing on a tile hit by an explosion.
+ *
+ * The entities are looked up in the {@link TileIndex}, which the {@link MovementSystem} keeps up to
+ * date, so a blast tile only costs as much as there are entities on it. What a hit does is up to the
+ * listener, which may destroy the entity that was hit.
+ */
+public class DamageSystem {
+
+    /**
+     * Notified for every entity hit by an explosion.
+     */
+    public interface Listener {
+        void onHit(int entity, byte faction);
+    }
+
+    private final DamageStore damage;
+    private final TileIndex tiles;
+    private Listener listener;
+
+    // Entities hit on the current tile. Collected first, since the listener may remove them from the stores
+    private int[] hits = new int[16];
+    private byte[] hitFactions = new byte[16];
+
+    public DamageSystem(EntityWorld entities) {
+        this.damage = entities.damage;
+        this.tiles = entities.tiles;
+    }
+
+    public void setListener(Listener listener) {
+        this.listener = listener;
+    }
+
+    /**
+     * Hits every damageable entity whose center is on the given tile, as of the last physics step.
+     *
+     * @param tileX the x-coordinate of the tile
+     * @param tileY the y-coordinate of the tile
+     */
+    public void hitTile(int tileX, int tileY) {
+        int count = 0;
+        for (int entity = tiles.first(tileX, tileY); entity >= 0; entity = tiles.next(entity)) {
+            int i = damage.indexOf(entity);
+            if (i < 0) {
+                continue;
+            }
+            if (count == hits.length) {
+                hits = Arrays.copyOf(hits, count * 2);
+                hitFactions = Arrays.copyOf(hitFactions, count * 2);
+            }
+            hits[count] = entity;
+            hitFactions[count] = damage.faction[i];
+            count++;
+        }
+        for (int i = 0; i < count && listener != null; i++) {
+            listener.onHit(hits[i], hitFactions[i]);
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package de.tum.cit.ase.bomberquest.ecs;
+
+import java.util.Arrays;
+
+/**
+ * Hands out entity ids and holds the component stores of a map.
+ *
+ * An entity is just an int. Its data lives in the stores, one per component type, and the systems
+ * ({@link MovementSystem}, {@link AiSystem}, {@link DamageSystem}, {@link RenderSystem}) run over the
+ * dense arrays of the stores they need instead of over lists of objects. The {@link TileIndex} finds
+ * the entities on a tile. Ids of destroyed entities
+ * are reused, so the stores stay small. Each entity remembers the object it was created for, e.g. the
+ * {@link de.tum.cit.ase.bomberquest.objects.Enemy}, for code that needs to get back to it.
+ */
+public class EntityWorld {
+
+    public final TransformStore transforms = new TransformStore();
+    public final SpriteStore sprites = new SpriteStore();
+    public final BrainStore brains = new BrainStore();
+    public final DamageStore damage = new DamageStore();
+    public final TileIndex tiles = new TileIndex();
+
+    private final ComponentStore[] stores = {transforms, sprites, brains, damage};
+
+    private Object[] owners = new Object[64];
+    private int[] freeIds = new int[64];
+    private int freeCount = 0;
+    private int nextId = 0;
+    private int count = 0;
+
+    /**
+     * Creates an entity without components.
+     *
+     * @param owner the object the entity stands for
+     * @return the id of the entity
+     */
+    public int create(Object owner) {
+        int entity = freeCount > 0 ? freeIds[--freeCount] : nextId++;
+        if (entity >= owners.length) {
+            owners = Arrays.copyOf(owners, owners.length * 2);
+        }
+        owners[entity] = owner;
+        count++;
+        return entity;
+    }
+
+    /**
+     * Removes all components of an entity and frees its id. Ids that are not alive are ignored.
+     *
+     * @param entity the id of the entity
+     */
+    public void destroy(int entity) {
+        if (!isAlive(entity)) {
+            return;
+        }
+        for (ComponentStore store : stores) {
+            store.remove(entity);
+        }
+        tiles.remove(entity);
+        owners[entity] = null;
+        if (freeCount == freeIds.length) {
+            freeIds = Arrays.copyOf(freeIds, freeCount * 2);
+        }
+        freeIds[freeCount++] = entity;
+        count--;
+    }
+
+    /**
+     * @param entity the id of an entity
+     * @return true if the entity was created and not destroyed since
+     */
+    public boolean isAlive(int entity) {
+        return entity >= 0 && entity < nextId && owners[entity] != null;
+    }
+
+    /**
+     * @param entity the id of an entity
+     * @return the object the entity stands for, or null if the entity is not alive
+     */
+    public Object getOwner(int entity) {
+        return entity >= 0 && entity < nextId ? owners[entity] : null;
+    }
+
+    /**
+     * @return the number of entities alive
+     */
+    public int getCount() {
+        return count;
+    }
+}
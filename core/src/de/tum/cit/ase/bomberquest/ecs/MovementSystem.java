@@ -0,0 +1,81 @@
+package de.tum.cit.ase.bomberquest.ecs;
+
+import com.badlogic.gdx.physics.box2d.Body;
+
+/**
+ * Keeps the transforms of moving entities in step with their physics bodies and remembers where they
+ * were one simulation step earlier, so the renderer can interpolate between the two positions. Entities
+ * that are tracked are moved along in the {@link TileIndex} as they cross from tile to tile.
+ */
+public class MovementSystem {
+
+    private final TransformStore transforms;
+    private final TileIndex tiles;
+
+    public MovementSystem(EntityWorld entities) {
+        this.transforms = entities.transforms;
+        this.tiles = entities.tiles;
+    }
+
+    /**
+     * Puts an entity into the tile index at its current position and keeps it there from now on.
+     *
+     * @param entity the id of an entity with a transform
+     */
+    public void track(int entity) {
+        int i = transforms.indexOf(entity);
+        if (i >= 0) {
+            tiles.put(entity, transforms.x[i], transforms.y[i]);
+        }
+    }
+
+    /**
+     * Remembers the current positions as the start of the next simulation step.
+     */
+    public void savePreviousPositions() {
+        int size = transforms.size();
+        System.arraycopy(transforms.x, 0, transforms.previousX, 0, size);
+        System.arraycopy(transforms.y, 0, transforms.previousY, 0, size);
+    }
+
+    /**
+     * Copies the positions of the physics bodies into the transforms, after the physics step, and moves
+     * the tracked entities in the tile index. Entities whose body was destroyed keep their last position.
+     */
+    public void syncFromBodies() {
+        for (int i = 0, size = transforms.size(); i < size; i++) {
+            if (transforms.object[i] == null) {
+                continue;
+            }
+            Body body = transforms.object[i].getBody();
+            if (body != null) {
+                transforms.x[i] = body.getPosition().x;
+                transforms.y[i] = body.getPosition().y;
+                int entity = transforms.entityAt(i);
+                if (tiles.contains(entity)) {
+                    tiles.put(entity, transforms.x[i], transforms.y[i]);
+                }
+            }
+        }
+    }
+
+    /**
+     * @param entity the id of the entity
+     * @param alpha  how far the render time is between the last two simulation steps (0 to 1)
+     * @return the x-coordinate of the entity's center blended between the last two steps
+     */
+    public float getInterpolatedX(int entity, float alpha) {
+        int i = transforms.indexOf(entity);
+        return i < 0 ? 0f : transforms.previousX[i] + (transforms.x[i] - transforms.previousX[i]) * alpha;
+    }
+
+    /**
+     * @param entity the id of the entity
+     * @param alpha  how far the render time is between the last two simulation steps (0 to 1)
+     * @return the y-coordinate of the entity's center blended between the last two steps
+     */
+    public float getInterpolatedY(int entity, float alpha) {
+        int i = transforms.indexOf(entity);
+        return i < 0 ? 0f : transforms.previousY[i] + (transforms.y[i] - transforms.previousY[i]) * alpha;
+    }
+}
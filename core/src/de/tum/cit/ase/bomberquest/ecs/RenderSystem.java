@@ -0,0 +1,53 @@
+package de.tum.cit.ase.bomberquest.ecs;
+
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+
+/**
+ * Draws the entities with a sprite, layer by layer, at their interpolated positions.
+ * The actual drawing is left to a {@link Sink}, so the system does not depend on a screen.
+ */
+public class RenderSystem {
+
+    /**
+     * Receives the textures to draw.
+     */
+    public interface Sink {
+        /**
+         * @param texture the texture
+         * @param x       the x-coordinate of the center (in tiles)
+         * @param y       the y-coordinate of the center (in tiles)
+         * @param scale   the scale of the texture
+         */
+        void draw(TextureRegion texture, float x, float y, float scale);
+    }
+
+    private final SpriteStore sprites;
+    private final TransformStore transforms;
+
+    public RenderSystem(EntityWorld entities) {
+        this.sprites = entities.sprites;
+        this.transforms = entities.transforms;
+    }
+
+    /**
+     * @param alpha how far the render time is between the last two simulation steps (0 to 1)
+     * @param sink  receives the textures, lower layers first
+     */
+    public void render(float alpha, Sink sink) {
+        int size = sprites.size();
+        for (byte layer = 0; layer < SpriteStore.LAYERS; layer++) {
+            for (int i = 0; i < size; i++) {
+                if (sprites.layer[i] != layer) {
+                    continue;
+                }
+                int t = transforms.indexOf(sprites.entityAt(i));
+                if (t < 0) {
+                    continue;
+                }
+                float x = transforms.previousX[t] + (transforms.x[t] - transforms.previousX[t]) * alpha;
+                float y = transforms.previousY[t] + (transforms.y[t] - transforms.previousY[t]) * alpha;
+                sink.draw(sprites.drawable[i].getCurrentAppearance(), x, y, sprites.scale[i]);
+            }
+        }
+    }
+}
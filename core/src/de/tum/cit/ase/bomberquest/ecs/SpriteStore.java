@@ -0,0 +1,57 @@
+package de.tum.cit.ase.bomberquest.ecs;
+
+import de.tum.cit.ase.bomberquest.textures.Drawable;
+
+import java.util.Arrays;
+
+/**
+ * What an entity looks like: the drawable providing the texture, how much the texture is scaled and
+ * the layer it is drawn on. Lower layers are drawn first.
+ */
+public class SpriteStore extends ComponentStore {
+
+    public static final byte LAYER_ENEMY = 0;
+    public static final byte LAYER_BOMB = 1;
+    public static final byte LAYER_EXPLOSION = 2;
+    public static final byte LAYER_ARROW = 3;
+    public static final byte LAYER_PLAYER = 4;
+    static final int LAYERS = 5;
+
+    Drawable[] drawable;
+    float[] scale;
+    byte[] layer;
+
+    /**
+     * Adds a sprite.
+     *
+     * @param entity   the entity id
+     * @param drawable the drawable providing the texture
+     * @param scale    the scale of the texture, 1 for its natural size
+     * @param layer    the layer to draw on
+     */
+    public void add(int entity, Drawable drawable, float scale, byte layer) {
+        int i = insert(entity);
+        this.drawable[i] = drawable;
+        this.scale[i] = scale;
+        this.layer[i] = layer;
+    }
+
+    @Override
+    protected void grow(int capacity) {
+        drawable = drawable == null ? new Drawable[capacity] : Arrays.copyOf(drawable, capacity);
+        scale = scale == null ? new float[capacity] : Arrays.copyOf(scale, capacity);
+        layer = layer == null ? new byte[capacity] : Arrays.copyOf(layer, capacity);
+    }
+
+    @Override
+    protected void move(int from, int to) {
+        drawable[to] = drawable[from];
+        scale[to] = scale[from];
+        layer[to] = layer[from];
+    }
+
+    @Override
+    protected void clear(int index) {
+        drawable[index] = null;
+    }
+}
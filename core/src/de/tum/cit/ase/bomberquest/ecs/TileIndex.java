@@ -0,0 +1,158 @@
+package de.tum.cit.ase.bomberquest.ecs;
+
+import java.util.Arrays;
+
+/**
+ * Knows which entities stand on which tile, so an explosion only looks at the entities on its own tiles
+ * instead of at all of them.
+ *
+ * The tiles are hashed into buckets, each bucket a doubly linked list of entities through arrays indexed
+ * by the entity id, so moving an entity to another tile or removing it takes constant time and the map's
+ * size need not be known. Only the entities added with {@link #put} are indexed; the
+ * {@link MovementSystem} moves them along after every physics step.
+ */
+public class TileIndex {
+
+    private static final int NONE = -1;
+
+    private int[] buckets = new int[64]; // First entity of each bucket, or NONE
+    private int mask = buckets.length - 1;
+    private int count = 0;
+
+    // By entity id
+    private int[] next = new int[64];
+    private int[] previous = new int[64];
+    private long[] tileOf = new long[64];
+    private boolean[] indexed = new boolean[64];
+
+    public TileIndex() {
+        Arrays.fill(buckets, NONE);
+    }
+
+    /**
+     * Puts an entity on a tile, taking it off the tile it was on. Nothing happens if it is already there.
+     *
+     * @param entity the id of the entity
+     * @param x      the x-coordinate of the entity's center
+     * @param y      the y-coordinate of the entity's center
+     */
+    public void put(int entity, float x, float y) {
+        long tile = key((int) Math.floor(x), (int) Math.floor(y));
+        if (contains(entity)) {
+            if (tileOf[entity] == tile) {
+                return;
+            }
+            unlink(entity);
+            tileOf[entity] = tile;
+            link(entity);
+            return;
+        }
+        ensureCapacity(entity);
+        indexed[entity] = true;
+        tileOf[entity] = tile;
+        if (++count > buckets.length) {
+            rehash(buckets.length * 2); // Links the new entity with all others
+        } else {
+            link(entity);
+        }
+    }
+
+    /**
+     * Takes an entity out of the index. Entities that are not indexed are ignored.
+     *
+     * @param entity the id of the entity
+     */
+    public void remove(int entity) {
+        if (!contains(entity)) {
+            return;
+        }
+        unlink(entity);
+        indexed[entity] = false;
+        count--;
+    }
+
+    /**
+     * @param entity the id of an entity
+     * @return true if the entity was put into the index and not removed since
+     */
+    public boolean contains(int entity) {
+        return entity >= 0 && entity < indexed.length && indexed[entity];
+    }
+
+    /**
+     * @param tileX the x-coordinate of the tile
+     * @param tileY the y-coordinate of the tile
+     * @return the first entity on the tile, or -1 if there is none
+     */
+    public int first(int tileX, int tileY) {
+        long tile = key(tileX, tileY);
+        return onTile(buckets[bucket(tile)], tile);
+    }
+
+    /**
+     * @param entity an entity returned by {@link #first} or this method
+     * @return the next entity on the same tile, or -1 if there is none
+     */
+    public int next(int entity) {
+        return onTile(next[entity], tileOf[entity]);
+    }
+
+    private int onTile(int entity, long tile) {
+        while (entity != NONE && tileOf[entity] != tile) {
+            entity = next[entity];
+        }
+        return entity;
+    }
+
+    private void link(int entity) {
+        int bucket = bucket(tileOf[entity]);
+        int head = buckets[bucket];
+        next[entity] = head;
+        previous[entity] = NONE;
+        if (head != NONE) {
+            previous[head] = entity;
+        }
+        buckets[bucket] = entity;
+    }
+
+    private void unlink(int entity) {
+        if (previous[entity] != NONE) {
+            next[previous[entity]] = next[entity];
+        } else {
+            buckets[bucket(tileOf[entity])] = next[entity];
+        }
+        if (next[entity] != NONE) {
+            previous[next[entity]] = previous[entity];
+        }
+    }
+
+    private void rehash(int capacity) {
+        buckets = new int[capacity];
+        mask = capacity - 1;
+        Arrays.fill(buckets, NONE);
+        for (int entity = 0; entity < indexed.length; entity++) {
+            if (indexed[entity]) {
+                link(entity);
+            }
+        }
+    }
+
+    private void ensureCapacity(int entity) {
+        if (entity < indexed.length) {
+            return;
+        }
+        int capacity = Math.max(indexed.length * 2, entity + 1);
+        next = Arrays.copyOf(next, capacity);
+        previous = Arrays.copyOf(previous, capacity);
+        tileOf = Arrays.copyOf(tileOf, capacity);
+        indexed = Arrays.copyOf(indexed, capacity);
+    }
+
+    private int bucket(long tile) {
+        return Long.hashCode(tile * 0x9E3779B97F4A7C15L) & mask;
+    }
+
+    private static long key(int tileX, int tileY) {
+        return ((long) tileX << 32) | (tileY & 0xFFFFFFFFL);
+    }
+}
@@ -0,0 +1,58 @@
+package de.tum.cit.ase.bomberquest.ecs;
+
+import de.tum.cit.ase.bomberquest.objects.GameObject;
+
+import java.util.Arrays;
+
+/**
+ * Positions of entities (tile coordinates of their centers) at the last two simulation steps,
+ * plus the object whose physics body moves the entity. Entities without a body keep their position.
+ */
+public class TransformStore extends ComponentStore {
+
+    float[] x;
+    float[] y;
+    float[] previousX;
+    float[] previousY;
+    GameObject[] object; // Null for entities without a physics body
+
+    /**
+     * Adds a transform at the given position.
+     *
+     * @param entity the entity id
+     * @param object the object whose body moves the entity, or null if it does not move
+     * @param x      the x-coordinate of the center (in tiles)
+     * @param y      the y-coordinate of the center (in tiles)
+     */
+    public void add(int entity, GameObject object, float x, float y) {
+        int i = insert(entity);
+        this.object[i] = object;
+        this.x[i] = x;
+        this.y[i] = y;
+        this.previousX[i] = x;
+        this.previousY[i] = y;
+    }
+
+    @Override
+    protected void grow(int capacity) {
+        x = x == null ? new float[capacity] : Arrays.copyOf(x, capacity);
+        y = y == null ? new float[capacity] : Arrays.copyOf(y, capacity);
+        previousX = previousX == null ? new float[capacity] : Arrays.copyOf(previousX, capacity);
+        previousY = previousY == null ? new float[capacity] : Arrays.copyOf(previousY, capacity);
+        object = object == null ? new GameObject[capacity] : Arrays.copyOf(object, capacity);
+    }
+
+    @Override
+    protected void move(int from, int to) {
+        x[to] = x[from];
+        y[to] = y[from];
+        previousX[to] = previousX[from];
+        previousY[to] = previousY[from];
+        object[to] = object[from];
+    }
+
+    @Override
+    protected void clear(int index) {
+        object[index] = null;
+    }
+}
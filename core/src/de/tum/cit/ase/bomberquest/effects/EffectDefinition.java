@@ -0,0 +1,47 @@
+package de.tum.cit.ase.bomberquest.effects;
+
+import de.tum.cit.ase.bomberquest.objects.PowerUpType;
+
+import java.util.List;
+
+/**
+ * Describes what collecting a power-up does: how long the effect lasts, what happens when it is
+ * collected again while still active, and which stats it modifies.
+ *
+ * @param type      the power-up this effect belongs to
+ * @param duration  the duration in seconds, 0 for effects that last until the end of the game
+ * @param stacking  what collecting the power-up again does
+ * @param maxStacks the maximum number of stacks that can be active at once
+ * @param modifiers the stat changes of one stack
+ */
+public record EffectDefinition(PowerUpType type, float duration, Stacking stacking, int maxStacks,
+                               List<Modifier> modifiers) {
+
+    /**
+     * What collecting a power-up does while its effect is still active.
+     */
+    public enum Stacking {
+        REFRESH, // The timer starts over
+        EXTEND,  // The duration is added to the remaining time
+        STACK    // Another stack is added, with a timer of its own
+    }
+
+    /**
+     * A change of one stat per stack of an effect.
+     *
+     * @param stat   the stat to change
+     * @param amount the amount added (or the factor, for multiplied stats)
+     */
+    public record Modifier(Stat stat, float amount) {}
+
+    public EffectDefinition {
+        modifiers = List.copyOf(modifiers);
+    }
+
+    /**
+     * @return true if the effect has no timer
+     */
+    public boolean isPermanent() {
+        return duration <= 0f;
+    }
+}
@@ -0,0 +1,234 @@
+package de.tum.cit.ase.bomberquest.effects;
+
+import de.tum.cit.ase.bomberquest.objects.PowerUpType;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * Keeps track of the active power-up effects of a player and the stats resulting from them.
+ *
+ * The timers of all effects are kept in one queue ordered by expiry time, so an update only looks at
+ * the front of the queue and does work only when an effect actually runs out. Stats are recomputed when
+ * an effect starts or ends and are read from a cache in between.
+ */
+public class EffectEngine {
+
+    /**
+     * Notified when an effect starts or ends, e.g. to show or hide a HUD icon.
+     */
+    public interface Listener {
+        void onEffectChanged(PowerUpType type, boolean active);
+    }
+
+    /**
+     * An expiry of one stack. When an effect is refreshed or extended, a new timer is queued and the old
+     * one becomes stale: it no longer matches the expiry time of the effect and is skipped.
+     */
+    private record Timer(PowerUpType type, float expiresAt) implements Comparable<Timer> {
+        @Override
+        public int compareTo(Timer other) {
+            return Float.compare(expiresAt, other.expiresAt);
+        }
+    }
+
+    private static final class ActiveEffect {
+        final EffectDefinition definition;
+        int stacks;
+        float expiresAt; // Latest expiry of the effect, only used for REFRESH and EXTEND
+
+        ActiveEffect(EffectDefinition definition) {
+            this.definition = definition;
+        }
+    }
+
+    private final Map<PowerUpType, ActiveEffect> active = new EnumMap<>(PowerUpType.class);
+    private final PriorityQueue<Timer> timers = new PriorityQueue<>();
+    private final float[] stats = new float[Stat.values().length];
+    private float time = 0f;
+    private Listener listener;
+
+    public EffectEngine() {
+        recomputeStats();
+    }
+
+    public void setListener(Listener listener) {
+        this.listener = listener;
+    }
+
+    /**
+     * Applies the effect of a collected power-up.
+     *
+     * @param type the collected power-up type
+     */
+    public void apply(PowerUpType type) {
+        EffectDefinition definition = PowerUpEffects.get(type);
+        ActiveEffect effect = active.get(type);
+        boolean started = effect == null;
+        if (started) {
+            effect = new ActiveEffect(definition);
+            active.put(type, effect);
+        }
+
+        if (effect.stacks == 0 || definition.stacking() == EffectDefinition.Stacking.STACK) {
+            if (effect.stacks >= definition.maxStacks()) {
+                return; // Nothing more to gain
+            }
+            effect.stacks++;
+            if (!definition.isPermanent()) {
+                effect.expiresAt = time + definition.duration();
+                timers.add(new Timer(type, effect.expiresAt));
+            }
+        } else if (!definition.isPermanent()) {
+            float remaining = Math.max(0f, effect.expiresAt - time);
+            effect.expiresAt = definition.stacking() == EffectDefinition.Stacking.EXTEND
+                    ? time + remaining + definition.duration()
+                    : time + definition.duration();
+            timers.add(new Timer(type, effect.expiresAt));
+        }
+
+        recomputeStats();
+        if (started && listener != null) {
+            listener.onEffectChanged(type, true);
+        }
+    }
+
+    /**
+     * Advances the effect clock and ends the effects that ran out.
+     *
+     * @param deltaTime the time elapsed in seconds
+     */
+    public void update(float deltaTime) {
+        time += deltaTime;
+        while (!timers.isEmpty() && timers.peek().expiresAt() <= time) {
+            expire(timers.poll());
+        }
+    }
+
+    private void expire(Timer timer) {
+        ActiveEffect effect = active.get(timer.type());
+        if (effect == null) {
+            return;
+        }
+        if (effect.definition.stacking() != EffectDefinition.Stacking.STACK) {
+            if (timer.expiresAt() != effect.expiresAt) {
+                return; // Stale, the effect was refreshed or extended since
+            }
+            effect.stacks = 0;
+        } else {
+            effect.stacks--;
+        }
+        if (effect.stacks <= 0) {
+            active.remove(timer.type());
+            if (listener != null) {
+                listener.onEffectChanged(timer.type(), false);
+            }
+        }
+        recomputeStats();
+    }
+
+    private void recomputeStats() {
+        for (Stat stat : Stat.values()) {
+            stats[stat.ordinal()] = stat.getBase();
+        }
+        for (ActiveEffect effect : active.values()) {
+            for (EffectDefinition.Modifier modifier : effect.definition.modifiers()) {
+                int i = modifier.stat().ordinal();
+                if (modifier.stat().getCombine() == Stat.Combine.ADD) {
+                    stats[i] += modifier.amount() * effect.stacks;
+                } else {
+                    stats[i] *= (float) Math.pow(modifier.amount(), effect.stacks);
+                }
+            }
+        }
+        for (Stat stat : Stat.values()) {
+            stats[stat.ordinal()] = Math.min(stats[stat.ordinal()], stat.getMax());
+        }
+    }
+
+    /**
+     * @param stat the stat
+     * @return the current value of the stat
+     */
+    public float get(Stat stat) {
+        return stats[stat.ordinal()];
+    }
+
+    /**
+     * @param type the power-up type
+     * @return true if the effect of the power-up type is active
+     */
+    public boolean isActive(PowerUpType type) {
+        return active.containsKey(type);
+    }
+
+    /**
+     * @param type the power-up type
+     * @return the number of active stacks of the effect
+     */
+    public int getStacks(PowerUpType type) {
+        ActiveEffect effect = active.get(type);
+        return effect == null ? 0 : effect.stacks;
+    }
+
+    /**
+     * @param type the power-up type
+     * @return the seconds until the effect ends (its last stack, for stacking effects), 0 if it is not
+     * active or permanent
+     */
+    public float getRemaining(PowerUpType type) {
+        ActiveEffect effect = active.get(type);
+        if (effect == null || effect.definition.isPermanent()) {
+            return 0f;
+        }
+        return Math.max(0f, effect.expiresAt - time);
+    }
+
+    /**
+     * Restores an effect from a snapshot. All stacks expire after the given time.
+     *
+     * @param type      the power-up type
+     * @param stacks    the number of active stacks, 0 to leave the effect inactive
+     * @param remaining the seconds until the effect ends, ignored for permanent effects
+     */
+    public void restore(PowerUpType type, int stacks, float remaining) {
+        if (stacks <= 0 || active.containsKey(type)) {
+            return;
+        }
+        EffectDefinition definition = PowerUpEffects.get(type);
+        ActiveEffect effect = new ActiveEffect(definition);
+        effect.stacks = Math.min(stacks, definition.maxStacks());
+        active.put(type, effect);
+        if (!definition.isPermanent()) {
+            effect.expiresAt = time + remaining;
+            for (int i = 0; i < effect.stacks; i++) {
+                timers.add(new Timer(type, effect.expiresAt));
+                if (definition.stacking() != EffectDefinition.Stacking.STACK) {
+                    break; // One timer ends all stacks
+                }
+            }
+        }
+        recomputeStats();
+        if (listener != null) {
+            listener.onEffectChanged(type, true);
+        }
+    }
+
+    /**
+     * Restores a permanent effect from the value of a stat it modifies, for snapshots that store the
+     * value rather than the stacks.
+     *
+     * @param type  the power-up type
+     * @param stat  the stat modified by the effect
+     * @param value the value of the stat
+     */
+    public void restoreFromStat(PowerUpType type, Stat stat, float value) {
+        for (EffectDefinition.Modifier modifier : PowerUpEffects.get(type).modifiers()) {
+            if (modifier.stat() == stat && stat.getCombine() == Stat.Combine.ADD && modifier.amount() > 0f) {
+                restore(type, Math.round((value - stat.getBase()) / modifier.amount()), 0f);
+                return;
+            }
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package de.tum.cit.ase.bomberquest.effects;
+
+import de.tum.cit.ase.bomberquest.objects.PowerUpType;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+import static de.tum.cit.ase.bomberquest.effects.EffectDefinition.Modifier;
+import static de.tum.cit.ase.bomberquest.effects.EffectDefinition.Stacking;
+
+/**
+ * The effect of every power-up type. A new power-up only needs a {@link PowerUpType} and an entry here.
+ */
+public final class PowerUpEffects {
+
+    private static final Map<PowerUpType, EffectDefinition> DEFINITIONS = new EnumMap<>(PowerUpType.class);
+
+    static {
+        define(new EffectDefinition(PowerUpType.CONCURRENTBOMB, 0f, Stacking.STACK, 7,
+                List.of(new Modifier(Stat.CONCURRENT_BOMBS, 1f))));
+        define(new EffectDefinition(PowerUpType.BLASTRADIUS, 0f, Stacking.STACK, 7,
+                List.of(new Modifier(Stat.BLAST_RADIUS, 1f))));
+        define(new EffectDefinition(PowerUpType.SPEED, 30f, Stacking.REFRESH, 1,
+                List.of(new Modifier(Stat.SPEED_MULTIPLIER, 2f))));
+        define(new EffectDefinition(PowerUpType.ARROW, 30f, Stacking.REFRESH, 1,
+                List.of(new Modifier(Stat.ARROWS, 1f))));
+    }
+
+    private PowerUpEffects() {
+    }
+
+    private static void define(EffectDefinition definition) {
+        DEFINITIONS.put(definition.type(), definition);
+    }
+
+    /**
+     * @param type the power-up type
+     * @return the effect of the power-up type
+     */
+    public static EffectDefinition get(PowerUpType type) {
+        EffectDefinition definition = DEFINITIONS.get(type);
+        if (definition == null) {
+            throw new IllegalArgumentException("No effect defined for power-up " + type);
+        }
+        return definition;
+    }
+}
@@ -0,0 +1,42 @@
+package de.tum.cit.ase.bomberquest.effects;
+
+/**
+ * A value of the player that effects can modify.
+ * Every stat has a base value, a rule for combining the modifiers of all active effects and an upper limit.
+ */
+public enum Stat {
+    SPEED_MULTIPLIER(1f, Combine.MULTIPLY, 4f),
+    ARROWS(0f, Combine.ADD, 1f),             // Above zero means arrows can be shot
+    BLAST_RADIUS(1f, Combine.ADD, 8f),
+    CONCURRENT_BOMBS(1f, Combine.ADD, 8f);
+
+    /**
+     * How the modifiers of several effects (or stacks of one effect) are combined.
+     */
+    public enum Combine {
+        ADD,
+        MULTIPLY
+    }
+
+    private final float base;
+    private final Combine combine;
+    private final float max;
+
+    Stat(float base, Combine combine, float max) {
+        this.base = base;
+        this.combine = combine;
+        this.max = max;
+    }
+
+    public float getBase() {
+        return base;
+    }
+
+    public Combine getCombine() {
+        return combine;
+    }
+
+    public float getMax() {
+        return max;
+    }
+}
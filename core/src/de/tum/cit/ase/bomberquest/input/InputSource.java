@@ -0,0 +1,20 @@
+package de.tum.cit.ase.bomberquest.input;
+
+import de.tum.cit.ase.bomberquest.map.GameMap;
+
+/**
+ * Decides the player input of each simulation step, as the input bits of {@link de.tum.cit.ase.bomberquest.replay.Replay}.
+ *
+ * The game screen asks its input source once per step, so the keyboard and a bot can steer the player
+ * through exactly the same path into {@link GameMap#applyPlayerInput}.
+ */
+public interface InputSource {
+
+    /**
+     * @param map      the map the input is applied to, after its tick of this step
+     * @param stepTime the real time the step stands for, in nanoseconds of {@link System#nanoTime()}.
+     *                 Sources that record their input with a time stamp hand out what happened up to this time.
+     * @return the input bits of the next simulation step
+     */
+    int nextInput(GameMap map, long stepTime);
+}
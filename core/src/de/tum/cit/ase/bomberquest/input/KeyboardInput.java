@@ -0,0 +1,198 @@
+package de.tum.cit.ase.bomberquest.input;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.InputAdapter;
+import de.tum.cit.ase.bomberquest.bonusFeatures.ui.KeyBindings;
+import de.tum.cit.ase.bomberquest.map.GameMap;
+import de.tum.cit.ase.bomberquest.replay.Replay;
+
+/**
+ * Reads the player input from the keyboard, using the keys of {@link KeyBindings}.
+ *
+ * Instead of polling every binding each frame, the key events are received as an input processor and
+ * queued with the time they happened at. Each simulation step takes the events up to its own time, so a
+ * key pressed and released between two steps still moves the player for one step, and a bomb is placed
+ * in the step the key was pressed in, not in the first step of the next frame. The actions that are not
+ * part of the simulation (pause, quick save, quick load) are counted per press and taken with
+ * {@link #consumePress}.
+ *
+ * Up to {@value #PLAYERS} players share the keyboard. This source steers the first one, {@link #player}
+ * returns the sources of the others.
+ */
+public class KeyboardInput extends InputAdapter implements InputSource {
+
+    public static final int PLAYERS = 2; // Players with their own keys in KeyBindings
+
+    private static final int MOVE_BITS = Replay.MOVE_UP | Replay.MOVE_DOWN | Replay.MOVE_LEFT | Replay.MOVE_RIGHT;
+
+    // Input bit and player of each action id. The bit is 0 for the actions outside of the simulation
+    private static final int[] INPUT_BITS = new int[KeyBindings.ACTION_COUNT];
+    private static final int[] PLAYER_OF = new int[KeyBindings.ACTION_COUNT];
+
+    static {
+        bind(KeyBindings.ACTION_MOVE_UP, 0, Replay.MOVE_UP);
+        bind(KeyBindings.ACTION_MOVE_DOWN, 0, Replay.MOVE_DOWN);
+        bind(KeyBindings.ACTION_MOVE_LEFT, 0, Replay.MOVE_LEFT);
+        bind(KeyBindings.ACTION_MOVE_RIGHT, 0, Replay.MOVE_RIGHT);
+        bind(KeyBindings.ACTION_PLACE_BOMB, 0, Replay.PLACE_BOMB);
+        bind(KeyBindings.ACTION_SHOOT_ARROW, 0, Replay.SHOOT_ARROW);
+        bind(KeyBindings.ACTION_P2_MOVE_UP, 1, Replay.MOVE_UP);
+        bind(KeyBindings.ACTION_P2_MOVE_DOWN, 1, Replay.MOVE_DOWN);
+        bind(KeyBindings.ACTION_P2_MOVE_LEFT, 1, Replay.MOVE_LEFT);
+        bind(KeyBindings.ACTION_P2_MOVE_RIGHT, 1, Replay.MOVE_RIGHT);
+        bind(KeyBindings.ACTION_P2_PLACE_BOMB, 1, Replay.PLACE_BOMB);
+        bind(KeyBindings.ACTION_P2_SHOOT_ARROW, 1, Replay.SHOOT_ARROW);
+    }
+
+    private static void bind(int action, int player, int bit) {
+        PLAYER_OF[action] = player;
+        INPUT_BITS[action] = bit;
+    }
+
+    // Queued key events of the simulation actions, as a ring buffer of action id, pressed or released and time
+    private int[] eventActions = new int[32];
+    private boolean[] eventDown = new boolean[32];
+    private long[] eventTimes = new long[32];
+    private int head = 0;
+    private int size = 0;
+
+    // Per player: keys held down as of the last event taken from the queue, and keys pressed since the
+    // player's last step
+    private final int[] heldBits = new int[PLAYERS];
+    private final int[] pressedBits = new int[PLAYERS];
+
+    private final int[] presses = new int[KeyBindings.ACTION_COUNT]; // Presses not yet consumed, by action id
+
+    /**
+     * Forgets all queued events and presses and takes the held keys from the keyboard, e.g. when the
+     * keyboard is installed as the input processor again after a pause.
+     */
+    public void reset() {
+        head = 0;
+        size = 0;
+        for (int player = 0; player < PLAYERS; player++) {
+            heldBits[player] = 0;
+            pressedBits[player] = 0;
+        }
+        for (int action = 0; action < KeyBindings.ACTION_COUNT; action++) {
+            presses[action] = 0;
+            if ((INPUT_BITS[action] & MOVE_BITS) != 0 && Gdx.input.isKeyPressed(KeyBindings.getKey(action))) {
+                heldBits[PLAYER_OF[action]] |= INPUT_BITS[action];
+            }
+        }
+    }
+
+    @Override
+    public boolean keyDown(int keycode) {
+        return onKey(keycode, true);
+    }
+
+    @Override
+    public boolean keyUp(int keycode) {
+        return onKey(keycode, false);
+    }
+
+    private boolean onKey(int keycode, boolean down) {
+        int action = KeyBindings.getAction(keycode);
+        if (action < 0) {
+            return false;
+        }
+        if (INPUT_BITS[action] == 0) {
+            if (down) {
+                presses[action]++;
+            }
+            return true;
+        }
+        if (size == eventActions.length) {
+            grow();
+        }
+        int index = (head + size) % eventActions.length;
+        eventActions[index] = action;
+        eventDown[index] = down;
+        eventTimes[index] = Gdx.input.getCurrentEventTime();
+        size++;
+        return true;
+    }
+
+    private void grow() {
+        int capacity = eventActions.length * 2;
+        int[] actions = new int[capacity];
+        boolean[] down = new boolean[capacity];
+        long[] times = new long[capacity];
+        for (int i = 0; i < size; i++) {
+            int index = (head + i) % eventActions.length;
+            actions[i] = eventActions[index];
+            down[i] = eventDown[index];
+            times[i] = eventTimes[index];
+        }
+        eventActions = actions;
+        eventDown = down;
+        eventTimes = times;
+        head = 0;
+    }
+
+    /**
+     * Takes one press of an action outside of the simulation.
+     *
+     * @param actionId the action id, one of the ACTION_ constants of {@link KeyBindings}
+     * @return true if the key of the action was pressed since the last call
+     */
+    public boolean consumePress(int actionId) {
+        if (presses[actionId] == 0) {
+            return false;
+        }
+        presses[actionId]--;
+        return true;
+    }
+
+    /**
+     * Applies the queued events up to a time to the keys of all players. Presses are kept until the
+     * player they belong to takes its next input, so nothing is lost when no step takes them, e.g. while
+     * a bot steers that player.
+     *
+     * @param time the time in nanoseconds of {@link System#nanoTime()}
+     */
+    public void drain(long time) {
+        while (size > 0 && eventTimes[head] <= time) {
+            int action = eventActions[head];
+            int player = PLAYER_OF[action];
+            if (eventDown[head]) {
+                heldBits[player] |= INPUT_BITS[action];
+                pressedBits[player] |= INPUT_BITS[action];
+            } else {
+                heldBits[player] &= ~INPUT_BITS[action];
+            }
+            head = (head + 1) % eventActions.length;
+            size--;
+        }
+    }
+
+    /**
+     * Applies the queued events up to the time of the step and returns the input of one player. A movement
+     * key counts if it is held at the end of the step or was pressed during the step; a bomb or arrow is
+     * requested by every press.
+     *
+     * @param player   the player, below {@link #PLAYERS}
+     * @param stepTime the time of the step in nanoseconds of {@link System#nanoTime()}
+     * @return the input bits of the player for the step
+     */
+    public int nextInput(int player, long stepTime) {
+        drain(stepTime);
+        int input = (heldBits[player] & MOVE_BITS) | pressedBits[player];
+        pressedBits[player] = 0;
+        return input;
+    }
+
+    @Override
+    public int nextInput(GameMap map, long stepTime) {
+        return nextInput(0, stepTime);
+    }
+
+    /**
+     * @param player the player, below {@link #PLAYERS}
+     * @return the source of the player's input on the shared keyboard
+     */
+    public InputSource player(int player) {
+        return player == 0 ? this : (map, stepTime) -> nextInput(player, stepTime);
+    }
+}
@@ -0,0 +1,302 @@
+package de.tum.cit.ase.bomberquest.map;
+
+import com.badlogic.gdx.Gdx;
+import de.tum.cit.ase.bomberquest.objects.PowerUpType;
+
+import java.util.Locale;
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
+
+/**
+ * Generates arenas of any size from a seed instead of reading them from a map file.
+ *
+ * The layout follows the bundled maps: a border of indestructible walls, an indestructible pillar on
+ * every tile with two even coordinates, and destructible walls (some hiding power-ups) scattered over
+ * the rest. The grid is split into square chunks that are filled in parallel. Every chunk gets its own
+ * generator split off the seed in a fixed order, so the result does not depend on thread scheduling and
+ * a replay of a generated arena rebuilds exactly the same layout.
+ *
+ * The entrance is always in the bottom left corner and the exit is hidden under a destructible wall in
+ * the top right corner. A corridor without indestructible walls is carved between them, so the exit can
+ * always be reached by blowing up destructible walls.
+ */
+public final class ArenaGenerator {
+
+    public static final String PATH_PREFIX = "arena:";
+
+    private static final int CHUNK_SIZE = 64;
+    private static final int SAFE_DISTANCE = 6; // No walls or enemies this close to the entrance
+
+    private static final byte EMPTY = -1;
+    private static final byte INDESTRUCTIBLE_WALL = 0;
+    private static final byte DESTRUCTIBLE_WALL = 1;
+    private static final byte ENTRANCE = 2;
+    private static final byte ENEMY = 3;
+    private static final byte EXIT_WALL = 4;
+    private static final byte POWER_UP_WALL = 5; // Plus the PowerUpType ordinal, see GameMap#createObject
+
+    /**
+     * The parameters of a generated arena. They can be written as a map path, so generated arenas
+     * are selected, replayed and restarted like map files.
+     */
+    public static class Settings {
+        public final int width;
+        public final int height;
+        public final float wallDensity;     // Share of free tiles covered by destructible walls
+        public final float solidDensity;    // Share of free tiles covered by extra indestructible walls
+        public final int enemyCount;
+        public final float powerUpChance;   // Share of destructible walls hiding a power-up
+        public final float[] powerUpWeights; // Relative frequency of each PowerUpType, by ordinal
+
+        public Settings(int width, int height, float wallDensity, float solidDensity, int enemyCount,
+                        float powerUpChance, float[] powerUpWeights) {
+            if (width < 5 || height < 5) {
+                throw new IllegalArgumentException("Arena must be at least 5x5 tiles: " + width + "x" + height);
+            }
+            if (powerUpWeights.length != PowerUpType.values().length) {
+                throw new IllegalArgumentException("Expected one power-up weight per PowerUpType");
+            }
+            this.width = width;
+            this.height = height;
+            this.wallDensity = wallDensity;
+            this.solidDensity = solidDensity;
+            this.enemyCount = enemyCount;
+            this.powerUpChance = powerUpChance;
+            this.powerUpWeights = powerUpWeights.clone();
+        }
+
+        /**
+         * Settings resembling the bundled maps, scaled to the given size.
+         *
+         * @param width  width of the arena in tiles
+         * @param height height of the arena in tiles
+         * @return the settings
+         */
+        public static Settings of(int width, int height) {
+            int enemies = Math.max(1, width * height / 120);
+            return new Settings(width, height, 0.6f, 0.05f, enemies, 0.2f, new float[]{1f, 1f, 1f, 1f});
+        }
+
+        /**
+         * @return the map path describing these settings
+         */
+        public String toPath() {
+            StringBuilder weights = new StringBuilder();
+            for (int i = 0; i < powerUpWeights.length; i++) {
+                weights.append(i > 0 ? "/" : "").append(powerUpWeights[i]);
+            }
+            return String.format(Locale.ROOT, "%s%dx%d;walls=%s;solid=%s;enemies=%d;powerups=%s;weights=%s",
+                    PATH_PREFIX, width, height, wallDensity, solidDensity, enemyCount, powerUpChance, weights);
+        }
+
+        /**
+         * Reads settings from a map path written by {@link #toPath()}. Missing values use the defaults.
+         *
+         * @param path the map path
+         * @return the settings
+         */
+        public static Settings fromPath(String path) {
+            String[] parts = path.substring(PATH_PREFIX.length()).split(";");
+            String[] size = parts[0].split("x");
+            Settings defaults = of(Integer.parseInt(size[0].trim()), Integer.parseInt(size[1].trim()));
+            float wallDensity = defaults.wallDensity;
+            float solidDensity = defaults.solidDensity;
+            int enemyCount = defaults.enemyCount;
+            float powerUpChance = defaults.powerUpChance;
+            float[] powerUpWeights = defaults.powerUpWeights;
+
+            for (int i = 1; i < parts.length; i++) {
+                String[] pair = parts[i].split("=");
+                String value = pair[1].trim();
+                switch (pair[0].trim()) {
+                    case "walls" -> wallDensity = Float.parseFloat(value);
+                    case "solid" -> solidDensity = Float.parseFloat(value);
+                    case "enemies" -> enemyCount = Integer.parseInt(value);
+                    case "powerups" -> powerUpChance = Float.parseFloat(value);
+                    case "weights" -> {
+                        String[] weights = value.split("/");
+                        for (int w = 0; w < weights.length && w < powerUpWeights.length; w++) {
+                            powerUpWeights[w] = Float.parseFloat(weights[w]);
+                        }
+                    }
+                    default -> Gdx.app.log("ArenaGenerator", "Ignoring unknown arena setting: " + pair[0]);
+                }
+            }
+            return new Settings(defaults.width, defaults.height, wallDensity, solidDensity, enemyCount,
+                    powerUpChance, powerUpWeights);
+        }
+    }
+
+    private ArenaGenerator() {
+    }
+
+    /**
+     * Checks whether a map path describes a generated arena rather than a map file.
+     *
+     * @param mapPath the map path
+     * @return true for generated arenas
+     */
+    public static boolean isArenaPath(String mapPath) {
+        return mapPath.startsWith(PATH_PREFIX);
+    }
+
+    /**
+     * Generates the arena into a map, using the map's seeded generator.
+     *
+     * @param gameMap  the map to fill
+     * @param settings the arena parameters
+     */
+    public static void generate(GameMap gameMap, Settings settings) {
+        long start = System.nanoTime();
+        byte[] tiles = generate(settings, gameMap.getRandom().nextLong());
+        long generated = System.nanoTime();
+
+        gameMap.setWidth(settings.width);
+        gameMap.setHeight(settings.height);
+        for (int i = 0; i < tiles.length; i++) {
+            if (tiles[i] != EMPTY) {
+                gameMap.createObject(i % settings.width, i / settings.width, tiles[i]);
+            }
+        }
+
+        Gdx.app.debug("ArenaGenerator", String.format(Locale.ROOT,
+                "Generated %dx%d arena in %.1f ms, created objects in %.1f ms", settings.width, settings.height,
+                (generated - start) / 1e6, (System.nanoTime() - generated) / 1e6));
+    }
+
+    /**
+     * Generates the tile grid of an arena.
+     *
+     * @param settings the arena parameters
+     * @param seed     the seed of the layout
+     * @return one tile code per tile, row by row (-1 for empty tiles, otherwise the codes of the map files)
+     */
+    public static byte[] generate(Settings settings, long seed) {
+        int width = settings.width;
+        int height = settings.height;
+        byte[] tiles = new byte[width * height];
+
+        int chunksX = (width + CHUNK_SIZE - 1) / CHUNK_SIZE;
+        int chunksY = (height + CHUNK_SIZE - 1) / CHUNK_SIZE;
+        int chunkCount = chunksX * chunksY;
+
+        // Split the generators up front and in order, so every chunk always gets the same one
+        SplittableRandom root = new SplittableRandom(seed);
+        SplittableRandom[] chunkRandoms = new SplittableRandom[chunkCount];
+        for (int i = 0; i < chunkCount; i++) {
+            chunkRandoms[i] = root.split();
+        }
+
+        // Enemies are shared out between the chunks by area
+        int[] enemyQuota = new int[chunkCount];
+        long totalArea = (long) width * height;
+        int assigned = 0;
+        for (int i = 0; i < chunkCount; i++) {
+            enemyQuota[i] = (int) (settings.enemyCount * chunkArea(i, chunksX, width, height) / totalArea);
+            assigned += enemyQuota[i];
+        }
+        for (int i = 0; assigned < settings.enemyCount; i = (i + 1) % chunkCount, assigned++) {
+            enemyQuota[i]++;
+        }
+
+        IntStream.range(0, chunkCount).parallel().forEach(chunk ->
+                fillChunk(tiles, settings, chunk % chunksX, chunk / chunksX, chunkRandoms[chunk], enemyQuota[chunk]));
+
+        tiles[width + 1] = ENTRANCE;
+        carveExitPath(tiles, width, height, root);
+        return tiles;
+    }
+
+    private static long chunkArea(int chunk, int chunksX, int width, int height) {
+        int x0 = (chunk % chunksX) * CHUNK_SIZE;
+        int y0 = (chunk / chunksX) * CHUNK_SIZE;
+        return (long) (Math.min(x0 + CHUNK_SIZE, width) - x0) * (Math.min(y0 + CHUNK_SIZE, height) - y0);
+    }
+
+    private static void fillChunk(byte[] tiles, Settings settings, int chunkX, int chunkY,
+                                  SplittableRandom random, int enemies) {
+        int width = settings.width;
+        int height = settings.height;
+        int x0 = chunkX * CHUNK_SIZE;
+        int y0 = chunkY * CHUNK_SIZE;
+        int x1 = Math.min(x0 + CHUNK_SIZE, width);
+        int y1 = Math.min(y0 + CHUNK_SIZE, height);
+
+        float totalWeight = 0f;
+        for (float weight : settings.powerUpWeights) {
+            totalWeight += weight;
+        }
+
+        for (int y = y0; y < y1; y++) {
+            for (int x = x0; x < x1; x++) {
+                byte code;
+                if (x == 0 || y == 0 || x == width - 1 || y == height - 1 || (x % 2 == 0 && y % 2 == 0)) {
+                    code = INDESTRUCTIBLE_WALL;
+                } else if (x + y <= SAFE_DISTANCE) {
+                    code = EMPTY;
+                } else {
+                    double roll = random.nextDouble();
+                    if (roll < settings.solidDensity) {
+                        code = INDESTRUCTIBLE_WALL;
+                    } else if (roll < settings.solidDensity + settings.wallDensity) {
+                        code = DESTRUCTIBLE_WALL;
+                        if (totalWeight > 0f && random.nextDouble() < settings.powerUpChance) {
+                            code = (byte) (POWER_UP_WALL + pickPowerUp(settings.powerUpWeights, totalWeight, random));
+                        }
+                    } else {
+                        code = EMPTY;
+                    }
+                }
+                tiles[y * width + x] = code;
+            }
+        }
+
+        // Enemies go on free tiles away from the entrance; a crowded chunk may place fewer
+        int chunkWidth = x1 - x0;
+        int chunkHeight = y1 - y0;
+        for (int placed = 0, attempts = 0; placed < enemies && attempts < enemies * 20; attempts++) {
+            int x = x0 + random.nextInt(chunkWidth);
+            int y = y0 + random.nextInt(chunkHeight);
+            if (tiles[y * width + x] == EMPTY && x + y > SAFE_DISTANCE * 2) {
+                tiles[y * width + x] = ENEMY;
+                placed++;
+            }
+        }
+    }
+
+    private static int pickPowerUp(float[] weights, float totalWeight, SplittableRandom random) {
+        double roll = random.nextDouble() * totalWeight;
+        for (int i = 0; i < weights.length; i++) {
+            roll -= weights[i];
+            if (roll < 0) {
+                return i;
+            }
+        }
+        return weights.length - 1;
+    }
+
+    /**
+     * Hides the exit in the top right corner and carves a winding corridor to it from the entrance,
+     * removing every indestructible wall on the way except the border.
+     */
+    private static void carveExitPath(byte[] tiles, int width, int height, SplittableRandom random) {
+        // Odd coordinates are never pillars
+        int exitX = (width - 2) % 2 == 1 ? width - 2 : width - 3;
+        int exitY = (height - 2) % 2 == 1 ? height - 2 : height - 3;
+
+        int x = 1;
+        int y = 1;
+        while (x != exitX || y != exitY) {
+            boolean stepX = y == exitY || (x != exitX && random.nextInt(exitX - x + exitY - y) < exitX - x);
+            if (stepX) {
+                x++;
+            } else {
+                y++;
+            }
+            if (tiles[y * width + x] == INDESTRUCTIBLE_WALL) {
+                tiles[y * width + x] = EMPTY;
+            }
+        }
+        tiles[exitY * width + exitX] = EXIT_WALL;
+    }
+}
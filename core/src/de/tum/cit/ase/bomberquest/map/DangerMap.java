@@ -0,0 +1,294 @@
+package de.tum.cit.ase.bomberquest.map;
+
+import de.tum.cit.ase.bomberquest.objects.Bomb;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Keeps track of which tiles of a {@link GameMap} will be hit by a bomb that is about to explode, and when.
+ *
+ * Every armed bomb stamps its blast onto the tiles once, when its fuse starts, and the blast is taken off
+ * again when the bomb explodes. The blast of a bomb is worked out with {@link Bomb#getBlastReach}, so it
+ * covers the same tiles as the explosion itself. Where blasts overlap, a tile keeps the earliest detonation.
+ * Taking a blast off only touches the tiles of its own cross, which are stamped again from the blasts that
+ * reach them, so the cost of an explosion does not grow with the size of the map.
+ * Queries only read the tiles, so all enemies share this one layer, also while they think in parallel.
+ */
+public class DangerMap {
+
+    // Directions: up, down, right, left
+    private static final int[] DIRECTION_X = {0, 0, 1, -1};
+    private static final int[] DIRECTION_Y = {1, -1, 0, 0};
+
+    private static final int MAX_ESCAPE_DISTANCE = 16; // Tiles searched for a way out of a blast
+    private static final int ESCAPE_WINDOW = 2 * MAX_ESCAPE_DISTANCE + 1; // Side of the square an escape stays in
+
+    private static final ThreadLocal<Escape> ESCAPES = ThreadLocal.withInitial(Escape::new);
+
+    /**
+     * The buffers of the escape searches on one thread, reused like the ones of the path finders.
+     * An escape never gets further than {@value #MAX_ESCAPE_DISTANCE} tiles from its start, so the
+     * buffers only cover the square around the start tile, indexed by the position within it.
+     */
+    private static final class Escape {
+        final int[] stamp = new int[ESCAPE_WINDOW * ESCAPE_WINDOW];
+        final int[] firstStep = new int[ESCAPE_WINDOW * ESCAPE_WINDOW]; // A tile of the map (y * width + x)
+        final int[] distance = new int[ESCAPE_WINDOW * ESCAPE_WINDOW];
+        final int[] queue = new int[ESCAPE_WINDOW * ESCAPE_WINDOW];
+        int searchNumber = 0;
+
+        void begin() {
+            if (++searchNumber == Integer.MAX_VALUE) {
+                Arrays.fill(stamp, 0);
+                searchNumber = 1;
+            }
+        }
+    }
+
+    /**
+     * The cross of tiles a blast was stamped on, kept so exactly these tiles can be cleared again,
+     * even after the walls around the bomb changed.
+     */
+    private static final class Blast {
+        final int x;
+        final int y;
+        final int[] reach = new int[DIRECTION_X.length];
+        final float time;
+
+        Blast(Bomb bomb, float time) {
+            this.x = (int) Math.floor(bomb.getX());
+            this.y = (int) Math.floor(bomb.getY());
+            this.time = time;
+            for (int d = 0; d < DIRECTION_X.length; d++) {
+                reach[d] = bomb.getBlastReach(DIRECTION_X[d], DIRECTION_Y[d]);
+            }
+        }
+
+        boolean covers(int tileX, int tileY) {
+            return (tileY == y && tileX >= x - reach[3] && tileX <= x + reach[2])
+                    || (tileX == x && tileY >= y - reach[1] && tileY <= y + reach[0]);
+        }
+
+        boolean overlapsBoundsOf(Blast other) {
+            return x - reach[3] <= other.x + other.reach[2] && other.x - other.reach[3] <= x + reach[2]
+                    && y - reach[1] <= other.y + other.reach[0] && other.y - other.reach[1] <= y + reach[0];
+        }
+    }
+
+    private final TimerWheel timers;
+    private final Map<Bomb, Blast> blasts = new LinkedHashMap<>(); // Armed bombs and their blasts
+    private int width = 0;
+    private int height = 0;
+
+    // Earliest detonation (map time in seconds) per tile, y * width + x, infinite for safe tiles
+    private float[] detonatesAt = new float[0];
+    private final BitSet dangerousTiles = new BitSet();
+
+    // Walkable tiles outside of all blasts, made again only after a blast or the walkable tiles changed
+    private WalkabilityGrid safeWalkability;
+    private WalkabilityGrid safeWalkabilityBase;
+
+    DangerMap(TimerWheel timers) {
+        this.timers = timers;
+    }
+
+    /**
+     * Sets the size of the map and stamps the blasts again. Blasts added before the size was known
+     * (while a snapshot is restored) are stamped here.
+     */
+    void resize(int width, int height) {
+        this.width = width;
+        this.height = height;
+        detonatesAt = new float[width * height];
+        Arrays.fill(detonatesAt, Float.POSITIVE_INFINITY);
+        dangerousTiles.clear();
+        for (Map.Entry<Bomb, Blast> entry : blasts.entrySet()) {
+            Blast blast = new Blast(entry.getKey(), entry.getValue().time); // The walls are known now
+            entry.setValue(blast);
+            stamp(blast);
+        }
+        safeWalkability = null;
+    }
+
+    /**
+     * Marks the tiles in the blast of a bomb whose fuse was started. A bomb that is added again, e.g.
+     * because its fuse was restarted, replaces its earlier blast.
+     *
+     * @param bomb          the bomb
+     * @param delaySeconds  the seconds until the bomb explodes
+     */
+    public void addBlast(Bomb bomb, float delaySeconds) {
+        removeBlast(bomb);
+        Blast blast = new Blast(bomb, timers.getTime() + delaySeconds);
+        blasts.put(bomb, blast);
+        stamp(blast);
+    }
+
+    /**
+     * Removes the blast of a bomb that exploded. The tiles of its cross are cleared and stamped again
+     * from the other blasts reaching them, so they stay dangerous where another blast covers them.
+     *
+     * @param bomb the bomb
+     */
+    public void removeBlast(Bomb bomb) {
+        Blast removed = blasts.remove(bomb);
+        if (removed == null) {
+            return;
+        }
+        List<Blast> overlapping = new ArrayList<>();
+        for (Blast blast : blasts.values()) {
+            if (blast.overlapsBoundsOf(removed)) {
+                overlapping.add(blast);
+            }
+        }
+        restampTile(removed.x, removed.y, overlapping);
+        for (int d = 0; d < DIRECTION_X.length; d++) {
+            for (int i = 1; i <= removed.reach[d]; i++) {
+                restampTile(removed.x + i * DIRECTION_X[d], removed.y + i * DIRECTION_Y[d], overlapping);
+            }
+        }
+        safeWalkability = null;
+    }
+
+    private void restampTile(int x, int y, List<Blast> overlapping) {
+        if (x < 0 || x >= width || y < 0 || y >= height) {
+            return;
+        }
+        int tile = y * width + x;
+        detonatesAt[tile] = Float.POSITIVE_INFINITY;
+        dangerousTiles.clear(tile);
+        for (Blast blast : overlapping) {
+            if (blast.covers(x, y)) {
+                stampTile(x, y, blast.time);
+            }
+        }
+    }
+
+    private void stamp(Blast blast) {
+        stampTile(blast.x, blast.y, blast.time);
+        for (int d = 0; d < DIRECTION_X.length; d++) {
+            for (int i = 1; i <= blast.reach[d]; i++) {
+                stampTile(blast.x + i * DIRECTION_X[d], blast.y + i * DIRECTION_Y[d], blast.time);
+            }
+        }
+        safeWalkability = null;
+    }
+
+    private void stampTile(int x, int y, float time) {
+        if (x < 0 || x >= width || y < 0 || y >= height) {
+            return;
+        }
+        int tile = y * width + x;
+        if (!dangerousTiles.get(tile) || time < detonatesAt[tile]) {
+            detonatesAt[tile] = time;
+            dangerousTiles.set(tile);
+        }
+    }
+
+    /**
+     * @param x X-coordinate (in tiles).
+     * @param y Y-coordinate (in tiles).
+     * @return True if the tile is in the blast of an armed bomb.
+     */
+    public boolean isDangerous(int x, int y) {
+        return x >= 0 && x < width && y >= 0 && y < height && dangerousTiles.get(y * width + x);
+    }
+
+    /**
+     * @param x X-coordinate (in tiles).
+     * @param y Y-coordinate (in tiles).
+     * @return The seconds until the tile is hit by the first bomb, 0 if that is due right now,
+     * or infinity if the tile is safe.
+     */
+    public float getTimeToDetonation(int x, int y) {
+        if (!isDangerous(x, y)) {
+            return Float.POSITIVE_INFINITY;
+        }
+        return Math.max(0f, detonatesAt[y * width + x] - timers.getTime());
+    }
+
+    /**
+     * Returns the walkable tiles without the tiles of any blast, for path searches that must not lead
+     * through a blast. The grid is kept until a blast or the walkable tiles change.
+     *
+     * @param walkability the walkable tiles of the map
+     * @return the walkable tiles that are safe, the given grid itself if there is no armed bomb
+     */
+    public WalkabilityGrid avoiding(WalkabilityGrid walkability) {
+        if (dangerousTiles.isEmpty()) {
+            return walkability;
+        }
+        if (safeWalkability == null || safeWalkabilityBase != walkability) {
+            safeWalkability = walkability.without(dangerousTiles);
+            safeWalkabilityBase = walkability;
+        }
+        return safeWalkability;
+    }
+
+    /**
+     * Searches for the closest safe tile that can be walked to from a tile in a blast, moving only
+     * through tiles that are hit later than the starting tile, so the way out does not run into an
+     * earlier explosion.
+     *
+     * @param walkability the walkable tiles of the map
+     * @param x the x-coordinate of the starting tile
+     * @param y the y-coordinate of the starting tile
+     * @return the first tile to move to (y * width + x), or -1 if the tile is safe or there is no way out
+     */
+    public int findEscapeStep(WalkabilityGrid walkability, int x, int y) {
+        if (!isDangerous(x, y)) {
+            return -1;
+        }
+        int start = y * width + x;
+        float startTime = detonatesAt[start];
+
+        // Tiles are indexed within the window around the start, which is in its middle
+        int originX = x - MAX_ESCAPE_DISTANCE;
+        int originY = y - MAX_ESCAPE_DISTANCE;
+        int startLocal = MAX_ESCAPE_DISTANCE * ESCAPE_WINDOW + MAX_ESCAPE_DISTANCE;
+
+        Escape escape = ESCAPES.get();
+        escape.begin();
+        escape.stamp[startLocal] = escape.searchNumber;
+        escape.distance[startLocal] = 0;
+        escape.firstStep[startLocal] = -1;
+        escape.queue[0] = startLocal;
+        int head = 0;
+        int tail = 1;
+
+        while (head < tail) {
+            int current = escape.queue[head++];
+            if (escape.distance[current] == MAX_ESCAPE_DISTANCE) {
+                continue;
+            }
+            int cx = originX + current % ESCAPE_WINDOW;
+            int cy = originY + current / ESCAPE_WINDOW;
+            for (int d = 0; d < DIRECTION_X.length; d++) {
+                int nx = cx + DIRECTION_X[d];
+                int ny = cy + DIRECTION_Y[d];
+                if (!walkability.isWalkable(nx, ny)) {
+                    continue;
+                }
+                int next = ny * width + nx;
+                int local = (ny - originY) * ESCAPE_WINDOW + nx - originX;
+                if (escape.stamp[local] == escape.searchNumber
+                        || (dangerousTiles.get(next) && detonatesAt[next] < startTime)) {
+                    continue;
+                }
+                escape.stamp[local] = escape.searchNumber;
+                escape.distance[local] = escape.distance[current] + 1;
+                escape.firstStep[local] = current == startLocal ? next : escape.firstStep[current];
+                if (!dangerousTiles.get(next)) {
+                    return escape.firstStep[local];
+                }
+                escape.queue[tail++] = local;
+            }
+        }
+        return -1;
+    }
+}
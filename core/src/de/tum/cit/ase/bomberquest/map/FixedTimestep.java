@@ -0,0 +1,52 @@
+package de.tum.cit.ase.bomberquest.map;
+
+/**
+ * Decouples the game simulation from the render rate.
+ * The frame time is collected in an accumulator and handed out as whole simulation steps of
+ * {@link #SIMULATION_STEP} seconds, so every tick of the game logic sees exactly the same delta.
+ * The time left over in the accumulator is exposed as an interpolation factor for rendering.
+ *
+ * Implemented according to https://gafferongames.com/post/fix_your_timestep/
+ */
+public class FixedTimestep {
+
+    public static final float SIMULATION_STEP = 1f / 60f; // Length of one simulation tick in seconds
+
+    // Upper bound of ticks per frame. If the simulation falls further behind (e.g. after a long
+    // hitch), the remaining time is dropped instead of trying to catch up (spiral of death).
+    private static final int MAX_STEPS_PER_FRAME = 5;
+
+    private float accumulator = 0f;
+
+    /**
+     * Adds the frame time to the accumulator and returns how many simulation steps have to run.
+     *
+     * @param frameTime Time elapsed since the last frame.
+     * @return the number of simulation steps to run this frame
+     */
+    public int advance(float frameTime) {
+        accumulator += frameTime;
+        int steps = (int) (accumulator / SIMULATION_STEP);
+        if (steps > MAX_STEPS_PER_FRAME) {
+            steps = MAX_STEPS_PER_FRAME;
+            accumulator = 0f;
+        } else {
+            accumulator -= steps * SIMULATION_STEP;
+        }
+        return steps;
+    }
+
+    /**
+     * @return how far the render time is between the last and the next simulation step (0 to 1)
+     */
+    public float getAlpha() {
+        return Math.min(accumulator / SIMULATION_STEP, 1f);
+    }
+
+    /**
+     * Discards any accumulated time, e.g. after the game was paused.
+     */
+    public void reset() {
+        accumulator = 0f;
+    }
+}
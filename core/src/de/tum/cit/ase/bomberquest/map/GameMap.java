@@ -1,18 +1,27 @@
 package de.tum.cit.ase.bomberquest.map;
 
 import com.badlogic.gdx.Gdx;
-import com.badlogic.gdx.audio.Sound;
 import com.badlogic.gdx.files.FileHandle;
 import com.badlogic.gdx.math.Vector2;
 import com.badlogic.gdx.physics.box2d.*;
 import de.tum.cit.ase.bomberquest.BomberQuestGame;
+import de.tum.cit.ase.bomberquest.audio.SoundEffect;
+import de.tum.cit.ase.bomberquest.audio.SoundMixer;
 import de.tum.cit.ase.bomberquest.bonusFeatures.ArrowPowerUp;
+import de.tum.cit.ase.bomberquest.bonusFeatures.AStarPathFinder;
+import de.tum.cit.ase.bomberquest.bonusFeatures.HierarchicalPathFinder;
+import de.tum.cit.ase.bomberquest.bonusFeatures.PathFinder;
 import de.tum.cit.ase.bomberquest.bonusFeatures.SpeedPowerUp;
 import de.tum.cit.ase.bomberquest.bonusFeatures.Score;
+import de.tum.cit.ase.bomberquest.ecs.*;
+import de.tum.cit.ase.bomberquest.effects.EffectEngine;
+import de.tum.cit.ase.bomberquest.effects.Stat;
 import de.tum.cit.ase.bomberquest.objects.*;
+import de.tum.cit.ase.bomberquest.replay.Replay;
 import de.tum.cit.ase.bomberquest.screens.Hud;
 
 import java.util.*;
+import java.util.function.Consumer;
 
 /**
  * Represents the game map, which holds all the objects and entities in the game.
@@ -36,26 +45,77 @@ public class GameMap {
     private final World world;
     private final Hud hud;
 
-    private int concurrentBombCount = 1; // Number of bombs player can place at once
-    private int blastRadius = 1; // Radius of bomb explosions
     private int remainingEnemiesCount = 0;
 
     // Score management
     private Score score;
 
-    // Player and game objects
-    private Player player;
+    // Players and game objects. The first player starts at the entrance of the map, the others are added
+    // for local multiplayer. A player that died keeps its index, without a body
+    private final List<Player> players = new ArrayList<>();
+    private float[] targets = new float[0]; // Centers of the living players, x and y, for the enemies
     private List<Enemy> enemies = new ArrayList<>();        // List of enemies in the game
     private final List<Bomb> bombs = new ArrayList<>();     // List of active bombs
     private final Map<Vector2, GameObject> map = new HashMap<>();
     private final List<ExplosionTile> explosionTiles = new ArrayList<>();
     private final List<Arrow> activeArrows = new ArrayList<>();
 
+    // Exits by tile, kept up to date whenever a tile object is placed or removed, so activating them
+    // never needs a scan of the map
+    private final Map<Vector2, Exit> exits = new HashMap<>();
+    private boolean exitsActive = false;
+
+    // Deadlines of bombs, explosions, arrows and wandering enemies, advanced once per step
+    private final TimerWheel timers = new TimerWheel();
+
+    // The player, enemies, bombs, arrows and explosion tiles are entities. Their positions, sprites, AI and
+    // damage are stored in dense component arrays that the systems below run over once per step or frame.
+    // The lists above only keep track of which objects belong to the map, e.g. for snapshots.
+    private final EntityWorld entities = new EntityWorld();
+    private final MovementSystem movement = new MovementSystem(entities);
+    private final AiSystem ai = new AiSystem(entities);
+    private final DamageSystem damage = new DamageSystem(entities);
+    private final RenderSystem rendering = new RenderSystem(entities);
+
+    // Power-ups touched by a player in the current step
+    private record Pickup(Player player, PowerUp powerUp) {
+    }
+
+    private final Queue<Pickup> pickupQueue = new ArrayDeque<>();
+
+    // Players hit by an explosion or caught by an enemy in the current step
+    private final Queue<Player> dyingPlayers = new ArrayDeque<>();
+
     // Map dimensions
     private int width = 0;
     private int height = 0;
 
-    private Sound bombPlacedSound = Gdx.audio.newSound(Gdx.files.internal("assets/audio/bombPlaced.mp3")); // Audio FX for bomb placement
+    // All randomness of a map (exit placement, power-ups, enemy wandering) comes from this seeded generator
+    private final long seed;
+    private final Random random;
+
+    // Every input applied to this map is recorded, so the session can be replayed
+    private final String mapPath;
+    private Replay replay; // Null for maps restored from a snapshot taken mid-game, or with several players
+    private boolean headless = false; // Headless maps (replay playback) never change the screen
+    private boolean finished = false;
+    private boolean won = false;
+
+    // Tile codes of the whole map; objects only exist for the chunks around the action
+    private final TileChunks chunks = new TileChunks(this);
+
+    // Tiles (y * width + x) whose object changed since the last snapshot was taken
+    private final BitSet dirtyTiles = new BitSet();
+
+    // Walkable tiles (y * width + x), kept up to date as tiles change. The enemies read an immutable copy,
+    // which is only made again after a change
+    private final BitSet walkableTiles = new BitSet();
+    private WalkabilityGrid walkability;
+    private HierarchicalPathFinder routes; // Rebuilt around changed tiles before the enemies think
+    private PathFinder pathFinder = new AStarPathFinder(); // Recorded replays depend on its tie-breaking
+
+    // Tiles in the blast of an armed bomb, updated when a fuse starts and when a bomb explodes
+    private final DangerMap danger = new DangerMap(timers);
 
     /**
      * Constructor for the GameMap class.
@@ -66,18 +126,101 @@ public class GameMap {
      * @param score      The Score instance for tracking player points.
      */
     public GameMap(BomberQuestGame game, FileHandle fileHandle, Hud hud, Score score) {
+        this(game, fileHandle, hud, score, new Random().nextLong(), game.getSavedTime());
+    }
+
+    /**
+     * Constructor for the GameMap class with a fixed random seed, e.g. to play back a replay.
+     *
+     * @param game       The main game instance.
+     * @param fileHandle The file containing the map definition.
+     * @param hud        The game's HUD for displaying stats, or null for a headless map.
+     * @param score      The Score instance for tracking player points.
+     * @param seed       The seed for all randomness of this map.
+     * @param timeLeft   The time on the level timer when the session starts (stored in the replay).
+     */
+    public GameMap(BomberQuestGame game, FileHandle fileHandle, Hud hud, Score score, long seed, float timeLeft) {
+        this(game, fileHandle.path(), hud, score, seed, timeLeft, map -> MapParser.parseMap(map, fileHandle));
+    }
+
+    /**
+     * Constructor for a GameMap with a generated arena instead of a map file.
+     *
+     * @param game     The main game instance.
+     * @param settings The parameters of the arena.
+     * @param hud      The game's HUD for displaying stats, or null for a headless map.
+     * @param score    The Score instance for tracking player points.
+     * @param seed     The seed for all randomness of this map, including the layout.
+     * @param timeLeft The time on the level timer when the session starts (stored in the replay).
+     */
+    public GameMap(BomberQuestGame game, ArenaGenerator.Settings settings, Hud hud, Score score, long seed, float timeLeft) {
+        this(game, settings.toPath(), hud, score, seed, timeLeft, map -> ArenaGenerator.generate(map, settings));
+    }
+
+    private GameMap(BomberQuestGame game, String mapPath, Hud hud, Score score, long seed, float timeLeft,
+                    Consumer<GameMap> populate) {
         this.game = game;
         this.hud = hud;
         this.world = new World(Vector2.Zero, true);
         this.score = score;
-        hud.setSpeedPowerUpActive(false);
+        this.seed = seed;
+        this.random = new Random(seed);
+        this.mapPath = mapPath;
+        this.replay = new Replay(mapPath, seed, timeLeft);
+
+        // Parse or generate the map, then create the objects around the entrance
+        populate.accept(this);
+        markBorderWalls();
+        initWalkability();
+        registerPlayer(getPlayer());
+        exitsActive = enemies.isEmpty();
+        chunks.update(players, bombs, explosionTiles);
+
+        registerContactListener();
+        attachPlayerEffects();
+        damage.setListener(this::onExplosionHit);
+    }
 
+    /**
+     * Constructor for a GameMap restored from a snapshot. The map file is not parsed again.
+     * Only a snapshot taken before the first simulation step can keep recording the replay.
+     *
+     * @param game     The main game instance.
+     * @param snapshot The snapshot to restore.
+     * @param hud      The game's HUD for displaying stats.
+     * @param score    The Score instance for tracking player points.
+     */
+    GameMap(BomberQuestGame game, MapSnapshot snapshot, Hud hud, Score score) {
+        this.game = game;
+        this.hud = hud;
+        this.world = new World(Vector2.Zero, true);
+        this.score = score;
+        this.seed = snapshot.getSeed();
+        this.random = snapshot.createRandom();
+        this.mapPath = snapshot.getMapPath();
+        this.replay = snapshot.isFresh() ? new Replay(mapPath, seed, snapshot.getTimeLeft()) : null;
 
-        // Parse the map and initialize objects
-        MapParser.parseMap(this, fileHandle);
+        snapshot.restoreInto(this);
         markBorderWalls();
+        initWalkability();
+        for (Player player : players) {
+            if (player.getBody() != null) {
+                registerPlayer(player);
+            }
+        }
+        exitsActive = enemies.isEmpty();
+        chunks.update(players, bombs, explosionTiles);
+        dirtyTiles.clear();
+
+        registerContactListener();
+        attachPlayerEffects();
+        damage.setListener(this::onExplosionHit);
+    }
 
-        // Collision detection
+    /**
+     * Registers the collision detection between the player, enemies, power-ups and arrows.
+     */
+    private void registerContactListener() {
         world.setContactListener(new ContactListener() {
             @Override
             public void beginContact(Contact contact) {
@@ -100,9 +243,9 @@ public void beginContact(Contact contact) {
 
                 if (player != null && otherObject != null) {
                     if (otherObject instanceof Enemy) {
-                        handlePlayerEnemyCollision();
-                    } else if (otherObject instanceof PowerUp) {
-                        ((PowerUp) otherObject).markForRemoval();
+                        handlePlayerEnemyCollision(player);
+                    } else if (otherObject instanceof PowerUp powerUp) {
+                        collectPowerUp(player, powerUp);
                     }
                 }
 
@@ -134,113 +277,151 @@ public void preSolve(Contact contact, Manifold oldManifold) {}
             @Override
             public void postSolve(Contact contact, ContactImpulse impulse) {}
 
-            private void handlePlayerEnemyCollision() {
+            private void handlePlayerEnemyCollision(Player player) {
                 Gdx.app.log("Collision", "Player collided with an Enemy!");
-                game.goToGameOver();
+                killPlayer(player);
             }
         });
     }
 
     /**
-     * Removes power-ups that have been marked for removal from the map.
-     * Also applies their effects to the player (e.g., speed, arrow).
+     * Shows the HUD icons of the first player's timed effects and keeps them in sync when effects start or end.
      */
-    private void handlePowerUps() {
-        List<Vector2> toRemovePositions = new ArrayList<>();
-        List<GameObject> toAwardEffects = new ArrayList<>();
-
-        for (Map.Entry<Vector2, GameObject> entry : map.entrySet()) {
-            GameObject obj = entry.getValue();
-            if (obj instanceof PowerUp powerUpObj && powerUpObj.isMarkedForRemoval()) {
-                toRemovePositions.add(entry.getKey());
-                toAwardEffects.add(obj);
-            } else if (obj instanceof SpeedPowerUp speedPU && speedPU.isMarkedForRemoval()) {
-                toRemovePositions.add(entry.getKey());
-                toAwardEffects.add(obj);
-            } else if (obj instanceof ArrowPowerUp arrowPU && arrowPU.isMarkedForRemoval()) {
-                toRemovePositions.add(entry.getKey());
-                toAwardEffects.add(obj);
+    private void attachPlayerEffects() {
+        if (hud == null) {
+            return; // Headless map without a HUD, e.g. a bot game of a soak test
+        }
+        EffectEngine effects = getPlayer().getEffects();
+        hud.setSpeedPowerUpActive(effects.isActive(PowerUpType.SPEED));
+        hud.setArrowPowerUpActive(effects.isActive(PowerUpType.ARROW));
+        effects.setListener((type, active) -> {
+            switch (type) {
+                case SPEED -> hud.setSpeedPowerUpActive(active);
+                case ARROW -> hud.setArrowPowerUpActive(active);
+                default -> {
+                    // No HUD icon, the counters are shown every frame
+                }
             }
+        });
+    }
+
+    /**
+     * Queues a power-up a player touched. It is applied and removed after the physics step,
+     * since bodies cannot be destroyed while the world is stepping. Only the first player to touch it gets it.
+     *
+     * @param player  The player collecting the power-up.
+     * @param powerUp The power-up to collect.
+     */
+    private void collectPowerUp(Player player, PowerUp powerUp) {
+        if (!powerUp.isMarkedForRemoval()) {
+            powerUp.markForRemoval();
+            pickupQueue.add(new Pickup(player, powerUp));
         }
+    }
 
-        // Award the power-up effects
-        for (GameObject obj : toAwardEffects) {
-            if (obj instanceof PowerUp pu) {
-                PowerUp.playSound();
-                score.addPointsForPowerUp();
-                switch (pu.getType()) {
-                    case BLASTRADIUS -> blastRadius = Math.min(blastRadius + 1, 8);
-                    case CONCURRENTBOMB -> concurrentBombCount = Math.min(concurrentBombCount + 1, 8);
-                    case SPEED -> {
-                        player.activateSpeedPowerUp(30f);
-                        hud.setSpeedPowerUpActive(true);
-                    }
-                    case ARROW -> {
-                        // Plain arrow in a "PowerUp" destructible wall scenario
-                        System.out.println("[handlePowerUps] Plain ARROW power-up. Activating arrow shoot for 30s...");
-                        player.activateArrowPowerUp(30f);
-                        hud.setArrowPowerUpActive(true);
-                    }
-                }
-            } else if (obj instanceof SpeedPowerUp) {
-                // SpeedPowerUp logic
-                SpeedPowerUp.playSound();
-                score.addPointsForPowerUp();
-                player.activateSpeedPowerUp(30f);
-                hud.setSpeedPowerUpActive(true);
-
-            } else if (obj instanceof ArrowPowerUp) {
-                // ArrowPowerUp logic
-                ArrowPowerUp.playSound();
-                score.addPointsForPowerUp();
-                player.activateArrowPowerUp(30f);
-                hud.setArrowPowerUpActive(true);
+    /**
+     * Applies and removes the power-ups collected during the last physics step.
+     * Only the queued power-ups are visited, never the whole map.
+     */
+    private void handlePowerUps() {
+        Pickup pickup;
+        while ((pickup = pickupQueue.poll()) != null) {
+            PowerUp powerUp = pickup.powerUp();
+            if (powerUp.getBody() == null) {
+                continue; // Already removed from the map
             }
+            int x = (int) Math.floor(powerUp.getX());
+            int y = (int) Math.floor(powerUp.getY());
+
+            powerUp.playSound(this);
+            score.addPointsForPowerUp();
+            pickup.player().getEffects().apply(powerUp.getType());
+
+            // Remove the used power-up from the map
+            removeObjectAt(x, y);
         }
+    }
 
-        // Remove the used power-ups from the map
-        for (Vector2 pos : toRemovePositions) {
-            removeObjectAt((int) pos.x, (int) pos.y);
+    /**
+     * Queues the death of a player. Deaths are handled after the physics step, since bodies cannot be
+     * destroyed while the world is stepping.
+     *
+     * @param player The player that was hit by an explosion or caught by an enemy.
+     */
+    private void killPlayer(Player player) {
+        if (player.getBody() != null && !dyingPlayers.contains(player)) {
+            dyingPlayers.add(player);
+        }
+    }
+
+    /**
+     * Removes the players that died in the last step. The session is lost once the last living player dies;
+     * that player is left standing, like in a single player game.
+     */
+    private void handlePlayerDeaths() {
+        Player player;
+        while ((player = dyingPlayers.poll()) != null) {
+            if (player.getBody() == null) {
+                continue;
+            }
+            if (getLivingPlayerCount() == 1) {
+                endGame(false);
+                dyingPlayers.clear();
+                return;
+            }
+            Gdx.app.log("GameMap", "Player " + (players.indexOf(player) + 1) + " died");
+            world.destroyBody(player.getBody());
+            player.setBody(null);
+            destroyEntity(player);
         }
     }
 
     /**
-     * Updates the game logic. This method is called once per frame.
+     * Updates the game logic. This method is called once per simulation step,
+     * always with {@link FixedTimestep#SIMULATION_STEP} as the frame time.
      *
-     * @param frameTime Time elapsed since the last frame.
+     * @param frameTime Length of the simulation step in seconds.
      */
     public void tick(float frameTime) {
+        // Create the objects of the chunks the players and bombs moved into, drop the ones they left
+        chunks.update(players, bombs, explosionTiles);
+
         // Remove enemies without physics bodies
-        enemies.removeIf(enemy -> enemy.getBody() == null);
+        enemies.removeIf(enemy -> {
+            if (enemy.getBody() == null) {
+                destroyEntity(enemy);
+                return true;
+            }
+            return false;
+        });
 
         // Update remaining enemies count
         remainingEnemiesCount = enemies.size();
-        hud.setRemainingEnemiesCount(remainingEnemiesCount);
-
-        // Tick each enemy
-        for (Enemy enemy : enemies) {
-            enemy.tick(frameTime);
+        if (hud != null) {
+            hud.setRemainingEnemiesCount(remainingEnemiesCount);
         }
 
-        // Update bombs and remove those with finished explosions
-        bombs.removeIf(b -> {
-            b.update(frameTime);
-            return b.isExplosionFinished();
-        });
+        // Let the enemies decide in parallel, then move them one after the other
+        WalkabilityGrid grid = getWalkability();
+        routes.refresh(grid);
+        WalkabilityGrid safeGrid = danger.avoiding(grid);
+        AiView view = new AiView(grid, safeGrid, danger, pathFinder, routes, updateTargets());
+        ai.update(view, frameTime);
 
-        // Update explosion tiles
-        for (ExplosionTile tile : explosionTiles) {
-            tile.update(frameTime);
-        }
-        // Remove finished explosion tiles
-        explosionTiles.removeIf(ExplosionTile::isFinished);
+        // Fire the timers that are due: bombs explode, finished explosions and bombs remove themselves,
+        // arrows run out of lifetime. Nothing else is touched.
+        timers.advance();
 
         // Step the physics simulation
         doPhysicsStep(frameTime);
+        movement.syncFromBodies();
 
         // Handle power-up removals/collection
         handlePowerUps();
 
+        // Remove the players that were hit or caught, or end the session when none is left
+        handlePlayerDeaths();
+
         // Clean up any removed enemies
         enemies.removeIf(e -> {
             if (e.isMarkedForRemoval()) {
@@ -248,6 +429,7 @@ public void tick(float frameTime) {
                     e.getBody().getWorld().destroyBody(e.getBody());
                     e.setBody(null);
                 }
+                destroyEntity(e);
                 return true;
             }
             return false;
@@ -256,44 +438,192 @@ public void tick(float frameTime) {
         // Update arrows
         for (Iterator<Arrow> it = activeArrows.iterator(); it.hasNext();) {
             Arrow arrow = it.next();
-            arrow.update(frameTime);
-
-            if (arrow.shouldRemove()) {
+            // Arrows leaving the chunks around the players would fly through the walls there, which have no bodies
+            if (arrow.shouldRemove() || (arrow.getBody() != null
+                    && !chunks.isHydrated((int) Math.floor(arrow.getX()), (int) Math.floor(arrow.getY())))) {
                 arrow.destroyBody();
+                destroyEntity(arrow);
                 it.remove();
             }
         }
 
-        // Activate exit if all enemies are dead
-        boolean allEnemiesDead = enemies.isEmpty();
-        for (GameObject obj : map.values()) {
-            if (obj instanceof Exit exitObj) {
-                exitObj.setActive(allEnemiesDead);
-            }
-        }
+        // Activate the exits when the last enemy died
+        updateExitActivation();
 
-        // Check if player is on an active exit tile
-        if (player != null) {
+        // Check if a living player is on an active exit tile
+        for (int i = 0; i < players.size() && !finished; i++) {
+            Player player = players.get(i);
+            if (player.getBody() == null) {
+                continue;
+            }
             int px = (int) Math.floor(player.getX());
             int py = (int) Math.floor(player.getY());
             GameObject below = getObjectAt(px, py);
             if (below instanceof Exit exit && exit.isActive()) {
-                score.addTimeBonus(hud.getTimerInSeconds());
-                game.goToGameWon();
+                score.addTimeBonus(hud != null ? hud.getTimerInSeconds() : 0);
+                endGame(true);
             }
         }
+    }
 
-        // remove speed power up icon when time is up
-        if (player != null && player.getSpeedTimer() <= 0f) {
-            hud.setSpeedPowerUpActive(false);
+    /**
+     * Writes the centers of the living players into the targets of the enemies. The array is only
+     * replaced when the number of living players changed.
+     *
+     * @return The x- and y-coordinates of the living players, one pair per player.
+     */
+    private float[] updateTargets() {
+        int living = getLivingPlayerCount();
+        if (targets.length != living * 2) {
+            targets = new float[living * 2];
+        }
+        int i = 0;
+        for (Player player : players) {
+            if (player.getBody() != null) {
+                targets[i++] = player.getX();
+                targets[i++] = player.getY();
+            }
         }
+        return targets;
+    }
 
-        // remove arrow hud icon when time is up
-        if (player != null && player.getArrowTimer() <= 0f) {
-            hud.setArrowPowerUpActive(false);
+    /**
+     * Switches the exits on or off when the enemy count changed between zero and non-zero.
+     * Only the indexed exits are touched, and only on that transition.
+     */
+    private void updateExitActivation() {
+        boolean allEnemiesDead = enemies.isEmpty();
+        if (allEnemiesDead == exitsActive) {
+            return;
+        }
+        exitsActive = allEnemiesDead;
+        for (Exit exit : exits.values()) {
+            exit.setActive(allEnemiesDead);
         }
     }
 
+    /**
+     * Applies the input of the first player for one simulation step: movement, bomb placement and arrow
+     * shooting. The input is recorded in the replay of this map.
+     *
+     * @param input The input bits of the step (see {@link Replay}).
+     * @param step  Length of the simulation step in seconds.
+     */
+    public void applyPlayerInput(int input, float step) {
+        applyPlayerInput(0, input, step);
+    }
+
+    /**
+     * Applies the input of one player for one simulation step. Players that died ignore their input.
+     *
+     * @param playerIndex The index of the player (see {@link #getPlayer(int)}).
+     * @param input       The input bits of the step (see {@link Replay}).
+     * @param step        Length of the simulation step in seconds.
+     */
+    public void applyPlayerInput(int playerIndex, int input, float step) {
+        if (replay != null) {
+            replay.addFrame(input); // Only recorded with a single player
+        }
+        Player player = players.get(playerIndex);
+        if (player.getBody() == null) {
+            return;
+        }
+
+        float moveSpeed = 2f; // Player's speed
+        float vx = 0; // Horizontal velocity
+        float vy = 0; // Vertical velocity
+
+        // Player movement
+        if ((input & Replay.MOVE_UP) != 0) {
+            vy += moveSpeed;
+        }
+        if ((input & Replay.MOVE_DOWN) != 0) {
+            vy -= moveSpeed;
+        }
+        if ((input & Replay.MOVE_LEFT) != 0) {
+            vx -= moveSpeed;
+        }
+        if ((input & Replay.MOVE_RIGHT) != 0) {
+            vx += moveSpeed;
+        }
+
+        // Normalize the velocity vector if moving diagonally
+        float magnitude = (float) Math.sqrt(vx * vx + vy * vy);
+        if (magnitude > 0) {
+            vx = (vx / magnitude) * moveSpeed;
+            vy = (vy / magnitude) * moveSpeed;
+        }
+
+        player.updateDirection(vx, vy);
+        player.update(step);
+
+        if ((input & Replay.PLACE_BOMB) != 0) {
+            int tileX = (int) Math.floor(player.getX());
+            int tileY = (int) Math.floor(player.getY());
+
+            Bomb bomb = new Bomb(world, tileX, tileY, 1, this, score);
+            bomb.setRadius((int) player.getEffects().get(Stat.BLAST_RADIUS));
+            bomb.setOwner(player);
+            if (addBomb(bomb)) {
+                bomb.startTimer();
+            } else {
+                world.destroyBody(bomb.getBody()); // Over the limit, the bomb is never placed
+                bomb.setBody(null);
+            }
+        }
+
+        if ((input & Replay.SHOOT_ARROW) != 0) {
+            player.shootArrow(this);
+            Gdx.app.log("Shift key clicked", "Shooting arrow requested");
+        }
+    }
+
+    /**
+     * Ends the session on this map. The replay is saved and the game switches to the game won
+     * or game over screen. Further calls are ignored.
+     *
+     * @param won True if a player reached the exit, false if all players died or ran out of time.
+     */
+    public void endGame(boolean won) {
+        if (finished) {
+            return;
+        }
+        finished = true;
+        this.won = won;
+        if (headless) {
+            return;
+        }
+        if (replay != null) {
+            saveReplay();
+        }
+        if (won) {
+            game.goToGameWon();
+        } else {
+            game.goToGameOver();
+        }
+    }
+
+    /**
+     * Writes the replay of this session to the local replays folder.
+     */
+    private void saveReplay() {
+        FileHandle file = Gdx.files.local("replays/" + System.currentTimeMillis() + ".bqr");
+        try {
+            replay.write(file);
+            Gdx.app.log("Replay", "Saved " + replay.getFrameCount() + " steps to " + file.path());
+        } catch (Exception e) {
+            Gdx.app.error("Replay", "Failed to save replay", e);
+        }
+    }
+
+    /**
+     * Stores the current position of every entity, so the renderer can
+     * interpolate between this and the next simulation step.
+     */
+    public void savePreviousPositions() {
+        movement.savePreviousPositions();
+    }
+
     /**
      * Advances the physics simulation in fixed time steps.
      *
@@ -319,87 +649,101 @@ public void createObject(int x, int y, int objectType) {
         if (x + 1 > width) width = x + 1;
         if (y + 1 > height) height = y + 1;
 
+        // Tiles only get their code here, the objects are created when their chunk is needed
         switch (objectType) {
-            case 0 -> map.put(new Vector2(x, y), new IndestructibleWall(world, x, y));
-            case 1 -> map.put(new Vector2(x, y), new DestructibleWall(world, x, y, false, null));
+            case 0, 1, 4, 5, 6, 7, 8 -> chunks.place(x, y, (byte) objectType);
             case 2 -> {
-                map.put(new Vector2(x, y), new Entrance(world, x, y));
-                if (player == null) player = new Player(world, x, y);
+                chunks.place(x, y, (byte) objectType);
+                if (players.isEmpty()) players.add(new Player(world, x, y));
             }
             case 3 -> {
                 Enemy enemy = new Enemy(world, x, y, this);
                 map.put(new Vector2(x, y), enemy);
-                enemies.add(enemy);
+                addEnemy(enemy);
             }
-            case 4 -> map.put(new Vector2(x, y), new DestructibleWall(world, x, y, true, null));
-            case 5 -> map.put(new Vector2(x, y), new DestructibleWall(world, x, y, false, PowerUpType.CONCURRENTBOMB));
-            case 6 -> map.put(new Vector2(x, y), new DestructibleWall(world, x, y, false, PowerUpType.BLASTRADIUS));
-            case 7 -> map.put(new Vector2(x, y), new DestructibleWall(world, x, y, false, PowerUpType.SPEED));
-            case 8 -> map.put(new Vector2(x, y), new DestructibleWall(world, x, y, false, PowerUpType.ARROW));
         }
     }
 
+    /**
+     * Places a tile by its code, including the codes of exits and power-ups lying in the open.
+     * Only used when restoring a snapshot.
+     *
+     * @param x    X-coordinate (in tiles).
+     * @param y    Y-coordinate (in tiles).
+     * @param code The tile code (see {@link TileChunks}).
+     */
+    void placeTile(int x, int y, byte code) {
+        if (x + 1 > width) width = x + 1;
+        if (y + 1 > height) height = y + 1;
+        chunks.place(x, y, code);
+    }
+
     /**
      * Marks walls on the border of the map as border walls.
+     * The corner or edge type is stored in the tile code, so only the border tiles are visited.
      */
     private void markBorderWalls() {
         int maxX = width - 1;
         int maxY = height - 1;
 
-        for (Map.Entry<Vector2, GameObject> entry : map.entrySet()) {
-            if (entry.getValue() instanceof IndestructibleWall wall) {
-                int x = (int) entry.getKey().x;
-                int y = (int) entry.getKey().y;
-
-                // Check if it's on the border
-                if (isOnBorder(x, y, maxX, maxY)) {
-                    wall.setBorderWall(true);
-                    // Set corner or edge type...
-                    if (x == 0 && y == 0) {
-                        wall.setBorderWallType(IndestructibleWall.BorderWallType.BOTTOM_LEFT);
-                    } else if (x == 0 && y == maxY) {
-                        wall.setBorderWallType(IndestructibleWall.BorderWallType.TOP_LEFT);
-                    } else if (x == maxX && y == 0) {
-                        wall.setBorderWallType(IndestructibleWall.BorderWallType.BOTTOM_RIGHT);
-                    } else if (x == maxX && y == maxY) {
-                        wall.setBorderWallType(IndestructibleWall.BorderWallType.TOP_RIGHT);
-                    } else if (y == 0) {
-                        wall.setBorderWallType(IndestructibleWall.BorderWallType.BOTTOM);
-                    } else if (y == maxY) {
-                        wall.setBorderWallType(IndestructibleWall.BorderWallType.TOP);
-                    } else if (x == 0) {
-                        wall.setBorderWallType(IndestructibleWall.BorderWallType.LEFT);
-                    } else if (x == maxX) {
-                        wall.setBorderWallType(IndestructibleWall.BorderWallType.RIGHT);
-                    }
-                }
-            }
+        for (int x = 0; x <= maxX; x++) {
+            markBorderWall(x, 0, maxX, maxY);
+            markBorderWall(x, maxY, maxX, maxY);
+        }
+        for (int y = 1; y < maxY; y++) {
+            markBorderWall(0, y, maxX, maxY);
+            markBorderWall(maxX, y, maxX, maxY);
         }
     }
 
+    private void markBorderWall(int x, int y, int maxX, int maxY) {
+        // Check if it's on the border
+        if (chunks.get(x, y) != TileChunks.WALL || !isOnBorder(x, y, maxX, maxY)) {
+            return;
+        }
+        // Set corner or edge type...
+        IndestructibleWall.BorderWallType type;
+        if (x == 0 && y == 0) {
+            type = IndestructibleWall.BorderWallType.BOTTOM_LEFT;
+        } else if (x == 0 && y == maxY) {
+            type = IndestructibleWall.BorderWallType.TOP_LEFT;
+        } else if (x == maxX && y == 0) {
+            type = IndestructibleWall.BorderWallType.BOTTOM_RIGHT;
+        } else if (x == maxX && y == maxY) {
+            type = IndestructibleWall.BorderWallType.TOP_RIGHT;
+        } else if (y == 0) {
+            type = IndestructibleWall.BorderWallType.BOTTOM;
+        } else if (y == maxY) {
+            type = IndestructibleWall.BorderWallType.TOP;
+        } else if (x == 0) {
+            type = IndestructibleWall.BorderWallType.LEFT;
+        } else {
+            type = IndestructibleWall.BorderWallType.RIGHT;
+        }
+        chunks.set(x, y, (byte) (TileChunks.BORDER_WALL + type.ordinal()));
+    }
+
     private boolean isOnBorder(int x, int y, int maxX, int maxY) {
         return (x == 0 || y == 0 || x == maxX || y == maxY);
     }
 
     /**
-     * Adds a bomb to the game, if the player has not exceeded their bomb limit.
+     * Adds a bomb to the game, if its owner has not exceeded their bomb limit. A bomb without an owner
+     * belongs to the first player. Every player counts their own armed bombs, so no bombs are counted here.
      *
      * @param bomb The bomb to add.
+     * @return True if the bomb was placed, false if the limit is reached.
      */
-    public void addBomb(Bomb bomb) {
-        // Count active bombs
-        int bombsActive = 0;
-        for (Bomb b : bombs) {
-            if (!b.isHasExploded()) {
-                bombsActive++;
-            }
-        }
-
-        if (bombsActive >= concurrentBombCount) {
-            return; // Do not add more bombs if limit is reached
+    public boolean addBomb(Bomb bomb) {
+        Player owner = bomb.getOwner() != null ? bomb.getOwner() : getPlayer();
+        if (owner.getArmedBombs() >= (int) owner.getEffects().get(Stat.CONCURRENT_BOMBS)) {
+            return false; // Do not add more bombs if limit is reached
         }
-        bombs.add(bomb);
-        bombPlacedSound.play();
+        bomb.setOwner(owner);
+        owner.bombArmed();
+        trackBomb(bomb);
+        playSound(SoundEffect.BOMB_PLACED, bomb.getX(), bomb.getY()); // Audio FX for bomb placement
+        return true;
     }
 
     /**
@@ -409,6 +753,190 @@ public void addBomb(Bomb bomb) {
      */
     public void addArrow(Arrow arrow) {
         activeArrows.add(arrow);
+        int entity = entities.create(arrow);
+        entities.transforms.add(entity, arrow, arrow.getX(), arrow.getY());
+        entities.sprites.add(entity, arrow, 1f, SpriteStore.LAYER_ARROW);
+        arrow.setEntity(entity);
+        arrow.startLifetime(timers);
+    }
+
+    /**
+     * Adds a bomb that has already been placed, without checking the bomb limit.
+     * Only used when restoring a snapshot.
+     *
+     * @param bomb  The bomb to add.
+     * @param owner The index of the player who placed it, -1 for the first player.
+     */
+    void restoreBomb(Bomb bomb, int owner) {
+        if (!bomb.isHasExploded()) {
+            Player player = owner >= 0 ? players.get(owner) : getPlayer();
+            bomb.setOwner(player);
+            player.bombArmed();
+        }
+        trackBomb(bomb);
+    }
+
+    private void trackBomb(Bomb bomb) {
+        bombs.add(bomb);
+        int entity = entities.create(bomb);
+        entities.transforms.add(entity, null, bomb.getX(), bomb.getY()); // Bombs do not move
+        entities.sprites.add(entity, bomb, 1f, SpriteStore.LAYER_BOMB);
+        bomb.setEntity(entity);
+    }
+
+    /**
+     * Removes a bomb whose explosion is over.
+     *
+     * @param bomb The bomb to remove.
+     */
+    public void removeBomb(Bomb bomb) {
+        bombs.remove(bomb);
+        destroyEntity(bomb);
+    }
+
+    /**
+     * Adds an enemy to the game. Its spawn tile is not touched.
+     *
+     * @param enemy The enemy to add.
+     */
+    void addEnemy(Enemy enemy) {
+        enemies.add(enemy);
+        int entity = entities.create(enemy);
+        entities.transforms.add(entity, enemy, enemy.getX(), enemy.getY());
+        entities.sprites.add(entity, enemy, 1.5f, SpriteStore.LAYER_ENEMY);
+        entities.brains.add(entity, enemy);
+        entities.damage.add(entity, DamageStore.FACTION_ENEMY);
+        movement.track(entity);
+        enemy.setEntity(entity);
+    }
+
+    /**
+     * Adds another player for local multiplayer. The player starts on the free tile closest to the first
+     * player that keeps a tile of space to the other players and the enemies. Only one player's input fits
+     * into a replay, so the replay of the map is dropped.
+     *
+     * @return The index of the new player.
+     */
+    public int addPlayer() {
+        int spawn = findSpawnTile();
+        Player player = new Player(world, spawn % width, spawn / width);
+        players.add(player);
+        registerPlayer(player);
+        if (replay != null) {
+            Gdx.app.log("Replay", "Not recording a replay with " + players.size() + " players");
+            replay = null;
+        }
+        return players.size() - 1;
+    }
+
+    /**
+     * Takes a player out of the session, e.g. when its client left a network match. The player dies like
+     * one caught by an enemy, so the session is lost if it was the last one alive.
+     *
+     * @param index The index of the player.
+     */
+    public void removePlayer(int index) {
+        killPlayer(players.get(index));
+    }
+
+    /**
+     * Searches the walkable tiles breadth-first from the first living player for an empty tile without
+     * another player within one tile or an enemy within three tiles.
+     *
+     * @return The tile (y * width + x), the first living player's tile if there is no free one.
+     */
+    private int findSpawnTile() {
+        WalkabilityGrid grid = getWalkability();
+        Player from = getPlayer();
+        for (Player player : players) {
+            if (player.getBody() != null) {
+                from = player;
+                break;
+            }
+        }
+        int start = (int) Math.floor(from.getY()) * width + (int) Math.floor(from.getX());
+        int[] queue = new int[width * height];
+        BitSet visited = new BitSet(width * height);
+        queue[0] = start;
+        visited.set(start);
+        int head = 0;
+        int tail = 1;
+        while (head < tail) {
+            int tile = queue[head++];
+            int x = tile % width;
+            int y = tile / width;
+            if (chunks.get(x, y) == TileChunks.EMPTY && isFreeForSpawn(x, y)) {
+                return tile;
+            }
+            for (int d = 0; d < 4; d++) {
+                int nx = x + (d == 0 ? 1 : d == 1 ? -1 : 0);
+                int ny = y + (d == 2 ? 1 : d == 3 ? -1 : 0);
+                if (grid.isWalkable(nx, ny) && !visited.get(ny * width + nx)) {
+                    visited.set(ny * width + nx);
+                    queue[tail++] = ny * width + nx;
+                }
+            }
+        }
+        return start;
+    }
+
+    private boolean isFreeForSpawn(int x, int y) {
+        for (Player player : players) {
+            if (player.getBody() != null && Math.abs(Math.floor(player.getX()) - x) <= 1
+                    && Math.abs(Math.floor(player.getY()) - y) <= 1) {
+                return false;
+            }
+        }
+        for (Enemy enemy : enemies) {
+            if (enemy.getBody() != null && Math.abs(Math.floor(enemy.getX()) - x) <= 3
+                    && Math.abs(Math.floor(enemy.getY()) - y) <= 3) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Creates the entity of a player, once the player exists.
+     */
+    private void registerPlayer(Player player) {
+        int entity = entities.create(player);
+        entities.transforms.add(entity, player, player.getX(), player.getY());
+        entities.sprites.add(entity, player, 0.8f, SpriteStore.LAYER_PLAYER);
+        entities.damage.add(entity, DamageStore.FACTION_PLAYER);
+        movement.track(entity);
+        player.setEntity(entity);
+    }
+
+    private void destroyEntity(GameObject obj) {
+        entities.destroy(obj.getEntity());
+        obj.setEntity(-1);
+    }
+
+    /**
+     * Handles a player or an enemy being hit by an explosion. Called by the {@link DamageSystem}.
+     * A player hit here dies like one caught by an enemy, so a lost session always ends through
+     * {@link #endGame}, which knows about replays and headless maps.
+     *
+     * @param entity  The entity that was hit.
+     * @param faction The faction of the entity (see {@link DamageStore}).
+     */
+    private void onExplosionHit(int entity, byte faction) {
+        if (finished) {
+            return; // Bombs still going off after the session ended neither kill nor score
+        }
+        if (faction == DamageStore.FACTION_PLAYER) {
+            if (entities.getOwner(entity) instanceof Player player) {
+                killPlayer(player);
+            }
+        } else if (entities.getOwner(entity) instanceof Enemy enemy && enemy.getBody() != null) {
+            world.destroyBody(enemy.getBody());
+            enemy.setBody(null);
+            destroyEntity(enemy);
+            enemies.remove(enemy);
+            System.out.println("Added points for enemy killed");
+            score.addPointsForEnemyKilled();
+        }
     }
 
     /**
@@ -419,7 +947,12 @@ public void addArrow(Arrow arrow) {
      */
     public void removeObjectAt(int x, int y) {
         System.out.println("removeObjectAt called for tile (" + x + "," + y + ")");
-        GameObject removedObj = map.remove(new Vector2(x, y));
+        chunks.ensureHydrated(x, y);
+        GameObject removedObj = removeTileObject(new Vector2(x, y));
+        if (!(removedObj instanceof Enemy)) {
+            chunks.set(x, y, TileChunks.EMPTY);
+        }
+        markDirty(x, y);
 
         if (removedObj != null) {
             System.out.println("Removed object: " + removedObj);
@@ -432,24 +965,23 @@ public void removeObjectAt(int x, int y) {
 
         if (removedObj instanceof DestructibleWall dw) {
             if (dw.isExitUnderneath()) {
-                boolean activeState = enemies.isEmpty();
-                Exit exit = new Exit(world, x, y, activeState);
+                Exit exit = new Exit(world, x, y, exitsActive);
                 Gdx.app.log("GameMap", "Placing Exit at (" + x + ", " + y + ")");
-                map.put(new Vector2(x, y), exit);
+                putObject(x, y, exit);
             } else if (dw.getPowerUpUnderneath() != null) {
                 PowerUpType type = dw.getPowerUpUnderneath();
                 switch (type) {
                     case SPEED -> {
                         SpeedPowerUp speedPowerUp = new SpeedPowerUp(world, x, y);
-                        map.put(new Vector2(x, y), speedPowerUp);
+                        putObject(x, y, speedPowerUp);
                     }
                     case BLASTRADIUS, CONCURRENTBOMB -> {
                         PowerUp powerUp = new PowerUp(world, x, y, type);
-                        map.put(new Vector2(x, y), powerUp);
+                        putObject(x, y, powerUp);
                     }
                     case ARROW -> {
                         ArrowPowerUp arrowPowerUp = new ArrowPowerUp(world, x, y);
-                        map.put(new Vector2(x, y), arrowPowerUp);
+                        putObject(x, y, arrowPowerUp);
                     }
                 }
             }
@@ -457,7 +989,111 @@ public void removeObjectAt(int x, int y) {
     }
 
     /**
-     * Returns the Map object at (x,y), or null if none.
+     * Places an object on the tile at (x,y), replacing the object that was there.
+     *
+     * @param x   X-coordinate (in tiles).
+     * @param y   Y-coordinate (in tiles).
+     * @param obj The object to place.
+     */
+    public void putObject(int x, int y, GameObject obj) {
+        chunks.put(x, y, obj);
+        placeTileObject(new Vector2(x, y), obj);
+        markDirty(x, y);
+    }
+
+    /**
+     * Puts an object into the tile map and the index of its kind. Every tile object goes through here
+     * (or {@link #removeTileObject}), so the indices always match the map.
+     *
+     * @param key The tile.
+     * @param obj The object to place.
+     */
+    void placeTileObject(Vector2 key, GameObject obj) {
+        GameObject replaced = map.put(key, obj);
+        if (replaced instanceof Exit) {
+            exits.remove(key);
+        }
+        if (obj instanceof Exit exit) {
+            exits.put(key, exit);
+        }
+    }
+
+    /**
+     * Removes the object of a tile from the tile map and the index of its kind.
+     *
+     * @param key The tile.
+     * @return The removed object, or null if the tile was empty.
+     */
+    GameObject removeTileObject(Vector2 key) {
+        GameObject removed = map.remove(key);
+        if (removed instanceof Exit) {
+            exits.remove(key);
+        }
+        return removed;
+    }
+
+    private void markDirty(int x, int y) {
+        if (x >= 0 && x < width && y >= 0 && y < height) {
+            dirtyTiles.set(y * width + x);
+            walkableTiles.set(y * width + x, isTileWalkable(x, y));
+            walkability = null;
+            if (routes != null) {
+                routes.markChanged(x, y);
+            }
+        }
+    }
+
+    private void initWalkability() {
+        walkableTiles.clear();
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                walkableTiles.set(y * width + x, isTileWalkable(x, y));
+            }
+        }
+        walkability = null;
+        routes = new HierarchicalPathFinder(getWalkability());
+        danger.resize(width, height);
+    }
+
+    /**
+     * Returns an immutable copy of the walkable tiles. The same copy is returned until a tile changes,
+     * so it is cheap to call every step and safe to read from any thread.
+     *
+     * @return The walkable tiles of the map.
+     */
+    public WalkabilityGrid getWalkability() {
+        if (walkability == null) {
+            walkability = new WalkabilityGrid(width, height, (BitSet) walkableTiles.clone());
+        }
+        return walkability;
+    }
+
+    /**
+     * Sets the strategy the enemies use to find exact paths to a nearby player. The default is A*.
+     * Other strategies, like {@link de.tum.cit.ase.bomberquest.bonusFeatures.JumpPointPathFinder}, may pick
+     * a different one of several shortest paths, so enemies walk other routes and replays recorded with
+     * another strategy play out differently.
+     *
+     * @param pathFinder The path finding strategy.
+     */
+    public void setPathFinder(PathFinder pathFinder) {
+        this.pathFinder = pathFinder;
+    }
+
+    /**
+     * Returns the tiles that changed since the last call and starts tracking anew.
+     *
+     * @return the indices (y * width + x) of the changed tiles
+     */
+    BitSet takeDirtyTiles() {
+        BitSet dirty = (BitSet) dirtyTiles.clone();
+        dirtyTiles.clear();
+        return dirty;
+    }
+
+    /**
+     * Returns the Map object at (x,y), or null if none. Only reads: the tiles of dormant chunks have no
+     * objects, use {@link #getTileCode} for them.
      *
      * @param x X-coordinate (in tiles).
      * @param y Y-coordinate (in tiles).
@@ -467,6 +1103,43 @@ public GameObject getObjectAt(int x, int y) {
         return map.get(new Vector2(x, y));
     }
 
+    /**
+     * Returns the Map object at (x,y) like {@link #getObjectAt}, but first creates the objects of the tile's
+     * chunk if it is dormant. For callers that are about to change the tile.
+     *
+     * @param x X-coordinate (in tiles).
+     * @param y Y-coordinate (in tiles).
+     * @return The GameObject at the specified location, or null if none.
+     */
+    public GameObject loadObjectAt(int x, int y) {
+        chunks.ensureHydrated(x, y);
+        return map.get(new Vector2(x, y));
+    }
+
+    /**
+     * Checks whether the walls on and next to a tile have physics bodies, so a body moving there collides
+     * with them. Far from the players, chunks are dormant and only their tile codes exist.
+     *
+     * @param x X-coordinate (in tiles).
+     * @param y Y-coordinate (in tiles).
+     * @return True if the chunks of the tile and of its eight neighbours are hydrated.
+     */
+    public boolean isAreaHydrated(int x, int y) {
+        return chunks.isHydrated(x - 1, y - 1) && chunks.isHydrated(x + 1, y - 1)
+                && chunks.isHydrated(x - 1, y + 1) && chunks.isHydrated(x + 1, y + 1);
+    }
+
+    /**
+     * Returns the code of the tile at (x,y) without creating any objects.
+     *
+     * @param x X-coordinate (in tiles).
+     * @param y Y-coordinate (in tiles).
+     * @return The tile code (see {@link TileChunks}).
+     */
+    public byte getTileCode(int x, int y) {
+        return chunks.get(x, y);
+    }
+
     /**
      * Checks whether a tile is walkable.
      *
@@ -478,12 +1151,52 @@ public boolean isTileWalkable(int x, int y) {
         if (x < 0 || x >= width || y < 0 || y >= height) {
             return false;
         }
-        GameObject obj = getObjectAt(x, y);
-        if (obj == null) {
-            return true;
-        }
-        // Walls or destructible walls are not walkable
-        return !(obj instanceof IndestructibleWall || obj instanceof DestructibleWall);
+        // Walls or destructible walls are not walkable. The codes are checked, so no chunk is created for this
+        return !TileChunks.isSolid(chunks.get(x, y));
+    }
+
+    /**
+     * Checks whether a tile holds an indestructible wall. These walls are not objects,
+     * so {@link #getObjectAt} returns null for them.
+     *
+     * @param x X-coordinate (in tiles).
+     * @param y Y-coordinate (in tiles).
+     * @return True if the tile is an indestructible wall, false otherwise.
+     */
+    public boolean isIndestructibleWall(int x, int y) {
+        return TileChunks.isWall(chunks.get(x, y));
+    }
+
+    /**
+     * Checks whether a tile holds a destructible wall, with or without something hidden underneath.
+     * The codes are checked, so no chunk is created for this.
+     *
+     * @param x X-coordinate (in tiles).
+     * @param y Y-coordinate (in tiles).
+     * @return True if the tile is a destructible wall, false otherwise.
+     */
+    public boolean isDestructibleWall(int x, int y) {
+        byte code = chunks.get(x, y);
+        return TileChunks.isSolid(code) && !TileChunks.isWall(code);
+    }
+
+    /**
+     * @param x X-coordinate (in tiles).
+     * @param y Y-coordinate (in tiles).
+     * @return True if an uncollected power-up lies on the tile.
+     */
+    public boolean isPowerUpTile(int x, int y) {
+        byte code = chunks.get(x, y);
+        return code >= TileChunks.POWER_UP && code <= TileChunks.ARROW_POWER_UP;
+    }
+
+    /**
+     * @param x X-coordinate (in tiles).
+     * @param y Y-coordinate (in tiles).
+     * @return True if an uncovered exit is on the tile, active or not.
+     */
+    public boolean isExitTile(int x, int y) {
+        return chunks.get(x, y) == TileChunks.EXIT;
     }
 
     /**
@@ -504,18 +1217,70 @@ public void killEnemyWithArrow(Enemy enemy) {
      */
     public void addExplosionTile(ExplosionTile tile) {
         explosionTiles.add(tile);
+        int entity = entities.create(tile);
+        entities.transforms.add(entity, null, tile.getX(), tile.getY());
+        entities.sprites.add(entity, tile, 2f, SpriteStore.LAYER_EXPLOSION);
+        tile.setEntity(entity);
+    }
+
+    /**
+     * Removes an explosion tile whose animation is over.
+     *
+     * @param tile The {@link ExplosionTile} to remove.
+     */
+    public void removeExplosionTile(ExplosionTile tile) {
+        explosionTiles.remove(tile);
+        entities.destroy(tile.getEntity());
+        tile.setEntity(-1);
     }
 
     // -------------------------
     // Getters and Setters
     // -------------------------
 
+    /**
+     * Returns the objects of all hydrated chunks plus the enemies at their spawn tiles.
+     *
+     * @return the objects currently on the map
+     */
     public Collection<GameObject> getAllObjects() {
         return map.values();
     }
 
+    /**
+     * @return The first player, the one shown in the HUD and stored in snapshots.
+     */
     public Player getPlayer() {
-        return player;
+        return players.isEmpty() ? null : players.get(0);
+    }
+
+    /**
+     * @param index The index of the player, 0 for the first one.
+     * @return The player, also if it died.
+     */
+    public Player getPlayer(int index) {
+        return players.get(index);
+    }
+
+    public List<Player> getPlayers() {
+        return players;
+    }
+
+    public int getPlayerCount() {
+        return players.size();
+    }
+
+    /**
+     * @return The number of players that did not die.
+     */
+    public int getLivingPlayerCount() {
+        int living = 0;
+        for (Player player : players) {
+            if (player.getBody() != null) {
+                living++;
+            }
+        }
+        return living;
     }
 
     public BomberQuestGame getGame() {
@@ -554,16 +1319,67 @@ public List<Enemy> getEnemies() {
         return enemies;
     }
 
+    public EntityWorld getEntities() {
+        return entities;
+    }
+
+    public MovementSystem getMovement() {
+        return movement;
+    }
+
+    public DamageSystem getDamage() {
+        return damage;
+    }
+
+    public DangerMap getDanger() {
+        return danger;
+    }
+
+    public RenderSystem getRenderSystem() {
+        return rendering;
+    }
+
+    /**
+     * @return True if the exits are open, i.e. all enemies are dead.
+     */
+    public boolean areExitsActive() {
+        return exitsActive;
+    }
+
     public Map<Vector2, GameObject> getMap() {
         return map;
     }
 
+    public TimerWheel getTimers() {
+        return timers;
+    }
+
+    public TileChunks getChunks() {
+        return chunks;
+    }
+
+    /**
+     * @return Number of bombs the first player can place at once.
+     */
     public int getConcurrentBombCount() {
-        return concurrentBombCount;
+        Player player = getPlayer();
+        float value = player == null ? Stat.CONCURRENT_BOMBS.getBase() : player.getEffects().get(Stat.CONCURRENT_BOMBS);
+        return (int) value;
     }
 
+    /**
+     * @return Radius of the first player's bomb explosions.
+     */
     public int getBlastRadius() {
-        return blastRadius;
+        Player player = getPlayer();
+        float value = player == null ? Stat.BLAST_RADIUS.getBase() : player.getEffects().get(Stat.BLAST_RADIUS);
+        return (int) value;
+    }
+
+    // Only used when restoring a snapshot
+    void setPlayers(List<Player> restored) {
+        players.clear();
+        players.addAll(restored);
     }
 
     public int getRemainingEnemiesCount() {
@@ -579,6 +1395,69 @@ public Score getScore() {
         return score;
     }
 
+    /**
+     * Returns the random generator of this map. All gameplay randomness must use it,
+     * otherwise replays are not reproducible.
+     *
+     * @return The seeded {@link Random} instance.
+     */
+    public Random getRandom() {
+        return random;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public String getMapPath() {
+        return mapPath;
+    }
+
+    public Replay getReplay() {
+        return replay;
+    }
+
+    public boolean isFinished() {
+        return finished;
+    }
+
+    /**
+     * @return True if the session ended with a player reaching the exit.
+     */
+    public boolean isWon() {
+        return won;
+    }
+
+    public void setHeadless(boolean headless) {
+        this.headless = headless;
+    }
+
+    /**
+     * Requests a sound effect at a position from the {@link SoundMixer}. Headless maps play no sounds:
+     * they are stepped on other threads, e.g. by the game server, and the mixer is only used on the
+     * render thread.
+     *
+     * @param effect The sound effect.
+     * @param x      The x-coordinate of the sound in tiles.
+     * @param y      The y-coordinate of the sound in tiles.
+     */
+    public void playSound(SoundEffect effect, float x, float y) {
+        if (!headless) {
+            SoundMixer.play(effect, x, y);
+        }
+    }
+
+    /**
+     * Requests a sound effect without a position, unless the map is headless (see above).
+     *
+     * @param effect The sound effect.
+     */
+    public void playSound(SoundEffect effect) {
+        if (!headless) {
+            SoundMixer.play(effect);
+        }
+    }
+
     /**
      * Returns the list of currently active arrows on the map.
      *
@@ -34,12 +34,15 @@ public static void parseMap(GameMap gameMap, FileHandle fileHandle){
 
         }
 
+        // Use the map's seeded generator, so the same seed always yields the same layout
+        Random random = gameMap.getRandom();
+
         if(!containsExit){
-            placeRandomExit(tileMap);
+            placeRandomExit(tileMap, random);
         }
 
-        addSpeedPowerUps(tileMap);
-        addArrowPowerUps(tileMap);
+        addSpeedPowerUps(tileMap, random);
+        addArrowPowerUps(tileMap, random);
 
         for(Map.Entry<String, Integer> entry : tileMap.entrySet()){
             int x = Integer.parseInt(entry.getKey().split(",")[0]);
@@ -53,15 +56,15 @@ public static void parseMap(GameMap gameMap, FileHandle fileHandle){
      * Places a random exit on one of the destructible walls if no exit exists.
      *
      * @param tileMap the map of tile coordinates to their corresponding types
+     * @param random  the generator used to pick the wall
      */
-    public static void placeRandomExit(HashMap<String, Integer> tileMap){
+    public static void placeRandomExit(HashMap<String, Integer> tileMap, Random random){
         HashMap<String, Integer> destructibleWalls = new HashMap<>();
 
         for (Map.Entry<String, Integer> entry : tileMap.entrySet()){
             if(entry.getValue().equals(1)) destructibleWalls.put(entry.getKey(), entry.getValue());
         }
 
-        Random random = new Random();
         int randomExit = random.nextInt(destructibleWalls.size());
 
         List<String> keys = new ArrayList<>(destructibleWalls.keySet());
@@ -74,8 +77,9 @@ public static void placeRandomExit(HashMap<String, Integer> tileMap){
      * Adds speed power-ups to random destructible wall positions on the map.
      *
      * @param tileMap the map of tile coordinates to their corresponding types
+     * @param random  the generator used to shuffle the positions
      */
-    public static void addSpeedPowerUps(HashMap<String, Integer> tileMap) {
+    public static void addSpeedPowerUps(HashMap<String, Integer> tileMap, Random random) {
         List<String> possiblePositions = new ArrayList<>();
 
         for (Map.Entry<String, Integer> entry : tileMap.entrySet()) {
@@ -84,7 +88,7 @@ public static void addSpeedPowerUps(HashMap<String, Integer> tileMap) {
             }
         }
 
-        Collections.shuffle(possiblePositions);
+        Collections.shuffle(possiblePositions, random);
         int maxSpeedPowerUps = Math.min(10, possiblePositions.size());
 
         for (int i = 0; i < maxSpeedPowerUps; i++) {
@@ -93,7 +97,7 @@ public static void addSpeedPowerUps(HashMap<String, Integer> tileMap) {
         }
     }
 
-    public static void addArrowPowerUps(HashMap<String, Integer> tileMap) {
+    public static void addArrowPowerUps(HashMap<String, Integer> tileMap, Random random) {
         List<String> possiblePositions = new ArrayList<>();
 
         for (Map.Entry<String, Integer> entry : tileMap.entrySet()) {
@@ -103,7 +107,7 @@ public static void addArrowPowerUps(HashMap<String, Integer> tileMap) {
             }
         }
 
-        Collections.shuffle(possiblePositions);
+        Collections.shuffle(possiblePositions, random);
         int maxArrowPowerUps = Math.min(10, possiblePositions.size());
 
         for (int i = 0; i < maxArrowPowerUps; i++) {
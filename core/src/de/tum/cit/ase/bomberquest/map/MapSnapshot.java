@@ -0,0 +1,441 @@
+package de.tum.cit.ase.bomberquest.map;
+
+import com.badlogic.gdx.math.Vector2;
+import de.tum.cit.ase.bomberquest.BomberQuestGame;
+import de.tum.cit.ase.bomberquest.bonusFeatures.Score;
+import de.tum.cit.ase.bomberquest.effects.EffectEngine;
+import de.tum.cit.ase.bomberquest.effects.Stat;
+import de.tum.cit.ase.bomberquest.objects.*;
+import de.tum.cit.ase.bomberquest.screens.Hud;
+
+import java.io.*;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * A copy of the complete state of a {@link GameMap} at the end of a simulation step: the tile grid,
+ * every player with their power-up timers and counters, the enemies, bombs, arrows and explosions with
+ * their positions, velocities and timers, the score, the level timer and the state of the map's
+ * random generator. A snapshot never references live objects, so it can be written on another thread
+ * and restored any number of times.
+ *
+ * The tile grid is stored as one byte per tile, with the codes of {@link TileChunks}.
+ */
+public class MapSnapshot {
+
+    record PlayerState(boolean alive, float x, float y, float vx, float vy, float speedTimer, float arrowTimer,
+                       int concurrentBombCount, int blastRadius) {}
+
+    record EnemyState(float x, float y, float vx, float vy, float walkTimer, float walkX, float walkY,
+                      int spawnX, int spawnY) {}
+
+    record BombState(int tileX, int tileY, int owner, float radius, float remainingTime, boolean exploded,
+                     float explosionTimer, boolean explosionInitialized, float elapsedTime) {}
+
+    record ArrowState(float x, float y, float vx, float vy, Player.PlayerDirection direction, float lifetime) {}
+
+    record ExplosionState(int tileX, int tileY, ExplosionTile.Type type, float elapsedTime, float duration) {}
+
+    private final String mapPath;
+    private final long seed;
+    private final byte[] randomState;
+    private final boolean fresh; // Taken before the first simulation step, so the replay can still be recorded
+    private final float timeLeft;
+    private final int score;
+    private final int width;
+    private final int height;
+    private final byte[] tiles;
+    private final List<PlayerState> players; // In the order of the map, dead ones included
+    private final List<EnemyState> enemies;
+    private final List<BombState> bombs;
+    private final List<ArrowState> arrows;
+    private final List<ExplosionState> explosions;
+
+    private MapSnapshot(String mapPath, long seed, byte[] randomState, boolean fresh, float timeLeft, int score,
+                        int width, int height, byte[] tiles, List<PlayerState> players, List<EnemyState> enemies,
+                        List<BombState> bombs, List<ArrowState> arrows, List<ExplosionState> explosions) {
+        this.mapPath = mapPath;
+        this.seed = seed;
+        this.randomState = randomState;
+        this.fresh = fresh;
+        this.timeLeft = timeLeft;
+        this.score = score;
+        this.width = width;
+        this.height = height;
+        this.tiles = tiles;
+        this.players = players;
+        this.enemies = enemies;
+        this.bombs = bombs;
+        this.arrows = arrows;
+        this.explosions = explosions;
+    }
+
+    /**
+     * Takes a snapshot of the whole map, encoding every tile.
+     *
+     * @param map      the map to copy
+     * @param timeLeft the time left on the level timer
+     * @return the snapshot
+     */
+    public static MapSnapshot capture(GameMap map, float timeLeft) {
+        return capture(map, timeLeft, encodeTiles(map));
+    }
+
+    /**
+     * Takes a snapshot of the map with an already encoded tile grid, so only the entities are copied.
+     *
+     * @param map      the map to copy
+     * @param timeLeft the time left on the level timer
+     * @param tiles    the encoded tiles, one byte per tile, row by row. The snapshot keeps the array.
+     * @return the snapshot
+     */
+    static MapSnapshot capture(GameMap map, float timeLeft, byte[] tiles) {
+        // Enemies are also stored in the tile map at the tile they spawned on
+        Map<GameObject, Vector2> spawnTiles = new IdentityHashMap<>();
+        for (Map.Entry<Vector2, GameObject> entry : map.getMap().entrySet()) {
+            if (entry.getValue() instanceof Enemy) {
+                spawnTiles.put(entry.getValue(), entry.getKey());
+            }
+        }
+
+        List<PlayerState> players = new ArrayList<>();
+        for (Player p : map.getPlayers()) {
+            EffectEngine effects = p.getEffects();
+            int concurrentBombCount = (int) effects.get(Stat.CONCURRENT_BOMBS);
+            int blastRadius = (int) effects.get(Stat.BLAST_RADIUS);
+            if (p.getBody() == null) {
+                // Dead players keep their place, so every local player steers the same one after loading
+                players.add(new PlayerState(false, 0f, 0f, 0f, 0f, 0f, 0f, concurrentBombCount, blastRadius));
+                continue;
+            }
+            Vector2 pv = p.getBody().getLinearVelocity();
+            players.add(new PlayerState(true, p.getX(), p.getY(), pv.x, pv.y,
+                    effects.getRemaining(PowerUpType.SPEED), effects.getRemaining(PowerUpType.ARROW),
+                    concurrentBombCount, blastRadius));
+        }
+
+        List<EnemyState> enemies = new ArrayList<>();
+        for (Enemy e : map.getEnemies()) {
+            if (e.getBody() == null || e.isMarkedForRemoval()) {
+                continue;
+            }
+            Vector2 v = e.getBody().getLinearVelocity();
+            Vector2 spawn = spawnTiles.get(e);
+            enemies.add(new EnemyState(e.getX(), e.getY(), v.x, v.y, e.getRandomWalkTimer(),
+                    e.getRandomDirection().x, e.getRandomDirection().y,
+                    spawn != null ? (int) spawn.x : -1, spawn != null ? (int) spawn.y : -1));
+        }
+
+        List<BombState> bombs = new ArrayList<>();
+        for (Bomb b : map.getBombs()) {
+            bombs.add(new BombState((int) Math.floor(b.getX()), (int) Math.floor(b.getY()),
+                    map.getPlayers().indexOf(b.getOwner()), b.getRadius(),
+                    b.getRemainingTime(), b.isHasExploded(), b.getExplosionTimer(), b.isExplosionInitialized(),
+                    b.getElapsedTime()));
+        }
+
+        List<ArrowState> arrows = new ArrayList<>();
+        for (Arrow a : map.getActiveArrows()) {
+            if (a.getBody() == null) {
+                continue;
+            }
+            Vector2 v = a.getBody().getLinearVelocity();
+            arrows.add(new ArrowState(a.getX(), a.getY(), v.x, v.y, a.getDirection(), a.getLifetime()));
+        }
+
+        List<ExplosionState> explosions = new ArrayList<>();
+        for (ExplosionTile t : map.getExplosionTiles()) {
+            explosions.add(new ExplosionState(t.getTileX(), t.getTileY(), t.getType(), t.getElapsedTime(), t.getDuration()));
+        }
+
+        boolean fresh = map.getReplay() != null && map.getReplay().getFrameCount() == 0;
+        return new MapSnapshot(map.getMapPath(), map.getSeed(), saveRandom(map.getRandom()), fresh, timeLeft,
+                map.getScore().getScore(), map.getWidth(), map.getHeight(), tiles, players, enemies, bombs, arrows,
+                explosions);
+    }
+
+    /**
+     * Encodes every tile of the map. No objects are created for dormant chunks.
+     *
+     * @param map the map
+     * @return one byte per tile, row by row
+     */
+    static byte[] encodeTiles(GameMap map) {
+        int width = map.getWidth();
+        byte[] tiles = new byte[width * map.getHeight()];
+        for (int i = 0; i < tiles.length; i++) {
+            tiles[i] = map.getTileCode(i % width, i / width);
+        }
+        return tiles;
+    }
+
+    /**
+     * Builds a new map in this state. No map file is parsed.
+     *
+     * @param game  The main game instance.
+     * @param hud   The game's HUD for displaying stats.
+     * @param score The Score instance, it is set to the score of the snapshot.
+     * @return the restored map
+     */
+    public GameMap restore(BomberQuestGame game, Hud hud, Score score) {
+        score.setScore(this.score);
+        return new GameMap(game, this, hud, score);
+    }
+
+    /**
+     * Creates all objects of the snapshot in a map that has just been constructed from it.
+     *
+     * @param map the new map
+     */
+    void restoreInto(GameMap map) {
+        map.setWidth(width);
+        map.setHeight(height);
+
+        List<Player> restoredPlayers = new ArrayList<>(players.size());
+        for (PlayerState state : players) {
+            Player p = new Player(map.getWorld(), state.x() - 0.5f, state.y() - 0.5f);
+            if (state.alive()) {
+                p.getBody().setLinearVelocity(state.vx(), state.vy());
+                p.updateDirection(state.vx(), state.vy());
+            } else {
+                map.getWorld().destroyBody(p.getBody());
+                p.setBody(null);
+            }
+            EffectEngine effects = p.getEffects();
+            effects.restore(PowerUpType.SPEED, state.speedTimer() > 0f ? 1 : 0, state.speedTimer());
+            effects.restore(PowerUpType.ARROW, state.arrowTimer() > 0f ? 1 : 0, state.arrowTimer());
+            effects.restoreFromStat(PowerUpType.CONCURRENTBOMB, Stat.CONCURRENT_BOMBS, state.concurrentBombCount());
+            effects.restoreFromStat(PowerUpType.BLASTRADIUS, Stat.BLAST_RADIUS, state.blastRadius());
+            restoredPlayers.add(p);
+        }
+        map.setPlayers(restoredPlayers);
+
+        for (int i = 0; i < tiles.length; i++) {
+            if (tiles[i] != TileChunks.EMPTY) {
+                map.placeTile(i % width, i / width, tiles[i]);
+            }
+        }
+
+        for (EnemyState state : enemies) {
+            Enemy e = new Enemy(map.getWorld(), state.x() - 0.5f, state.y() - 0.5f, map);
+            e.getBody().setLinearVelocity(state.vx(), state.vy());
+            e.restoreRandomWalk(state.walkTimer(), state.walkX(), state.walkY());
+            map.addEnemy(e);
+            if (state.spawnX() >= 0) {
+                map.getMap().put(new Vector2(state.spawnX(), state.spawnY()), e);
+            }
+        }
+
+        for (BombState state : bombs) {
+            Bomb b = new Bomb(map.getWorld(), state.tileX(), state.tileY(), state.radius(), map, map.getScore());
+            b.restoreState(state.remainingTime(), state.exploded(), state.explosionTimer(),
+                    state.explosionInitialized(), state.elapsedTime());
+            map.restoreBomb(b, state.owner());
+        }
+
+        for (ArrowState state : arrows) {
+            Arrow a = new Arrow(map.getWorld(), state.x() - 0.5f, state.y() - 0.5f, state.direction());
+            a.getBody().setLinearVelocity(state.vx(), state.vy());
+            a.setLifetime(state.lifetime());
+            map.addArrow(a);
+        }
+
+        for (ExplosionState state : explosions) {
+            ExplosionTile t = new ExplosionTile(map, state.tileX(), state.tileY(), state.type());
+            t.restoreTimers(state.elapsedTime(), state.duration());
+            map.addExplosionTile(t);
+        }
+    }
+
+    /**
+     * Writes everything except the tile grid.
+     *
+     * @param out the stream to write to
+     * @throws IOException if the stream cannot be written
+     */
+    void writeState(DataOutputStream out) throws IOException {
+        out.writeUTF(mapPath);
+        out.writeLong(seed);
+        out.writeShort(randomState.length);
+        out.write(randomState);
+        out.writeBoolean(fresh);
+        out.writeFloat(timeLeft);
+        out.writeInt(score);
+
+        out.writeByte(players.size());
+        for (PlayerState p : players) {
+            out.writeBoolean(p.alive());
+            out.writeFloat(p.x());
+            out.writeFloat(p.y());
+            out.writeFloat(p.vx());
+            out.writeFloat(p.vy());
+            out.writeFloat(p.speedTimer());
+            out.writeFloat(p.arrowTimer());
+            out.writeByte(p.concurrentBombCount());
+            out.writeByte(p.blastRadius());
+        }
+
+        out.writeShort(enemies.size());
+        for (EnemyState e : enemies) {
+            out.writeFloat(e.x());
+            out.writeFloat(e.y());
+            out.writeFloat(e.vx());
+            out.writeFloat(e.vy());
+            out.writeFloat(e.walkTimer());
+            out.writeFloat(e.walkX());
+            out.writeFloat(e.walkY());
+            out.writeShort(e.spawnX());
+            out.writeShort(e.spawnY());
+        }
+
+        out.writeShort(bombs.size());
+        for (BombState b : bombs) {
+            out.writeShort(b.tileX());
+            out.writeShort(b.tileY());
+            out.writeByte(b.owner());
+            out.writeFloat(b.radius());
+            out.writeFloat(b.remainingTime());
+            out.writeBoolean(b.exploded());
+            out.writeFloat(b.explosionTimer());
+            out.writeBoolean(b.explosionInitialized());
+            out.writeFloat(b.elapsedTime());
+        }
+
+        out.writeShort(arrows.size());
+        for (ArrowState a : arrows) {
+            out.writeFloat(a.x());
+            out.writeFloat(a.y());
+            out.writeFloat(a.vx());
+            out.writeFloat(a.vy());
+            out.writeByte(a.direction().ordinal());
+            out.writeFloat(a.lifetime());
+        }
+
+        out.writeShort(explosions.size());
+        for (ExplosionState t : explosions) {
+            out.writeShort(t.tileX());
+            out.writeShort(t.tileY());
+            out.writeByte(t.type().ordinal());
+            out.writeFloat(t.elapsedTime());
+            out.writeFloat(t.duration());
+        }
+    }
+
+    /**
+     * Reads everything except the tile grid, as written by {@link #writeState(DataOutputStream)}.
+     *
+     * @param in     the stream to read from
+     * @param width  the width of the tile grid
+     * @param height the height of the tile grid
+     * @param tiles  the tile grid, the snapshot keeps the array
+     * @return the snapshot
+     * @throws IOException if the stream cannot be read
+     */
+    static MapSnapshot readState(DataInputStream in, int width, int height, byte[] tiles) throws IOException {
+        String mapPath = in.readUTF();
+        long seed = in.readLong();
+        byte[] randomState = new byte[in.readUnsignedShort()];
+        in.readFully(randomState);
+        boolean fresh = in.readBoolean();
+        float timeLeft = in.readFloat();
+        int score = in.readInt();
+
+        int count = in.readUnsignedByte();
+        List<PlayerState> players = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            players.add(new PlayerState(in.readBoolean(), in.readFloat(), in.readFloat(), in.readFloat(),
+                    in.readFloat(), in.readFloat(), in.readFloat(), in.readUnsignedByte(), in.readUnsignedByte()));
+        }
+
+        count = in.readUnsignedShort();
+        List<EnemyState> enemies = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            enemies.add(new EnemyState(in.readFloat(), in.readFloat(), in.readFloat(), in.readFloat(),
+                    in.readFloat(), in.readFloat(), in.readFloat(), in.readShort(), in.readShort()));
+        }
+
+        count = in.readUnsignedShort();
+        List<BombState> bombs = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            bombs.add(new BombState(in.readShort(), in.readShort(), in.readByte(), in.readFloat(), in.readFloat(),
+                    in.readBoolean(), in.readFloat(), in.readBoolean(), in.readFloat()));
+        }
+
+        count = in.readUnsignedShort();
+        List<ArrowState> arrows = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            arrows.add(new ArrowState(in.readFloat(), in.readFloat(), in.readFloat(), in.readFloat(),
+                    Player.PlayerDirection.values()[in.readUnsignedByte()], in.readFloat()));
+        }
+
+        count = in.readUnsignedShort();
+        List<ExplosionState> explosions = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            explosions.add(new ExplosionState(in.readShort(), in.readShort(),
+                    ExplosionTile.Type.values()[in.readUnsignedByte()], in.readFloat(), in.readFloat()));
+        }
+
+        return new MapSnapshot(mapPath, seed, randomState, fresh, timeLeft, score, width, height, tiles,
+                players, enemies, bombs, arrows, explosions);
+    }
+
+    // java.util.Random is serializable, which is the only way to copy its exact internal state
+    private static byte[] saveRandom(Random random) {
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+                out.writeObject(random);
+            }
+            return bytes.toByteArray();
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to copy the random generator", e);
+        }
+    }
+
+    /**
+     * Creates a random generator in the state it had when the snapshot was taken.
+     *
+     * @return a new random generator
+     */
+    Random createRandom() {
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(randomState))) {
+            return (Random) in.readObject();
+        } catch (IOException | ClassNotFoundException e) {
+            throw new IllegalStateException("Failed to restore the random generator", e);
+        }
+    }
+
+    public String getMapPath() {
+        return mapPath;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * @return true if the snapshot was taken before the first simulation step of the map
+     */
+    public boolean isFresh() {
+        return fresh;
+    }
+
+    public float getTimeLeft() {
+        return timeLeft;
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    byte[] getTiles() {
+        return tiles;
+    }
+}
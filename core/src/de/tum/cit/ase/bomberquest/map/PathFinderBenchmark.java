@@ -0,0 +1,207 @@
+package de.tum.cit.ase.bomberquest.map;
+
+import de.tum.cit.ase.bomberquest.bonusFeatures.AStarPathFinder;
+import de.tum.cit.ase.bomberquest.bonusFeatures.JumpPointPathFinder;
+import de.tum.cit.ase.bomberquest.bonusFeatures.PathFinder;
+import de.tum.cit.ase.bomberquest.bonusFeatures.TilePath;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.*;
+
+/**
+ * Compares the {@link PathFinder} strategies on the bundled maps, on generated arenas and on large mazes.
+ *
+ * Every strategy answers the same random queries between walkable tiles. The benchmark reports the
+ * average number of expanded nodes and the average time per query, and checks that all strategies find
+ * paths of the same length. Run it with {@code gradlew core:benchmarkPathFinders}, optionally passing
+ * the maps directory as the first argument.
+ */
+public class PathFinderBenchmark {
+
+    private static final int QUERIES = 2000;
+    private static final int WARMUP_ROUNDS = 3;
+    private static final long SEED = 42L;
+
+    private PathFinderBenchmark() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        Path mapsDirectory = Paths.get(args.length > 0 ? args[0] : "maps");
+        Map<String, PathFinder> strategies = new LinkedHashMap<>();
+        strategies.put("A*", new AStarPathFinder());
+        strategies.put("JPS", new JumpPointPathFinder());
+
+        Map<String, WalkabilityGrid> grids = new LinkedHashMap<>();
+        if (Files.isDirectory(mapsDirectory)) {
+            try (DirectoryStream<Path> files = Files.newDirectoryStream(mapsDirectory, "*.properties")) {
+                List<Path> sorted = new ArrayList<>();
+                files.forEach(sorted::add);
+                Collections.sort(sorted);
+                for (Path file : sorted) {
+                    grids.put(file.getFileName().toString(), readMap(file));
+                }
+            }
+        } else {
+            System.out.println("No maps directory at " + mapsDirectory.toAbsolutePath() + ", skipping the bundled maps");
+        }
+        for (int size : new int[]{101, 301}) {
+            grids.put("arena " + size + "x" + size, generateArena(size));
+        }
+        for (int size : new int[]{255, 1023}) {
+            grids.put("maze " + size + "x" + size, generateMaze(size, new SplittableRandom(SEED)));
+        }
+
+        System.out.printf(Locale.ROOT, "%-24s %-6s %14s %14s%n", "grid", "", "expanded/query", "us/query");
+        for (Map.Entry<String, WalkabilityGrid> grid : grids.entrySet()) {
+            int[] queries = pickQueries(grid.getValue(), new SplittableRandom(SEED));
+            int[] reference = null;
+            for (Map.Entry<String, PathFinder> strategy : strategies.entrySet()) {
+                for (int round = 0; round < WARMUP_ROUNDS; round++) {
+                    run(strategy.getValue(), grid.getValue(), queries, null);
+                }
+                int[] lengths = new int[queries.length / 4];
+                long start = System.nanoTime();
+                long expanded = run(strategy.getValue(), grid.getValue(), queries, lengths);
+                long elapsed = System.nanoTime() - start;
+
+                if (reference == null) {
+                    reference = lengths;
+                } else if (!Arrays.equals(reference, lengths)) {
+                    System.out.println("Path lengths of " + strategy.getKey() + " differ on " + grid.getKey());
+                }
+                int count = lengths.length;
+                System.out.printf(Locale.ROOT, "%-24s %-6s %14.1f %14.2f%n", grid.getKey(), strategy.getKey(),
+                        (double) expanded / count, elapsed / 1000.0 / count);
+            }
+        }
+    }
+
+    /**
+     * Answers all queries with one strategy.
+     *
+     * @param lengths receives the path length of each query (-1 if there is no path), or null
+     * @return the total number of expanded nodes
+     */
+    private static long run(PathFinder strategy, WalkabilityGrid grid, int[] queries, int[] lengths) {
+        TilePath path = new TilePath();
+        long expanded = 0;
+        for (int i = 0; i < queries.length; i += 4) {
+            boolean found = strategy.findPath(grid, queries[i], queries[i + 1], queries[i + 2], queries[i + 3], path);
+            expanded += strategy.getLastExpandedCount();
+            if (lengths != null) {
+                lengths[i / 4] = found ? path.size() - 1 : -1;
+            }
+        }
+        return expanded;
+    }
+
+    /**
+     * Picks random pairs of walkable tiles, as start x, start y, goal x, goal y.
+     */
+    private static int[] pickQueries(WalkabilityGrid grid, SplittableRandom random) {
+        int[] walkable = new int[grid.getWidth() * grid.getHeight()];
+        int count = 0;
+        for (int y = 0; y < grid.getHeight(); y++) {
+            for (int x = 0; x < grid.getWidth(); x++) {
+                if (grid.isWalkable(x, y)) {
+                    walkable[count++] = y * grid.getWidth() + x;
+                }
+            }
+        }
+        int[] queries = new int[QUERIES * 4];
+        for (int i = 0; i < queries.length; i += 2) {
+            int tile = walkable[random.nextInt(count)];
+            queries[i] = tile % grid.getWidth();
+            queries[i + 1] = tile / grid.getWidth();
+        }
+        return queries;
+    }
+
+    /**
+     * Reads the walkable tiles of a map file. Tiles without an entry are walkable.
+     */
+    private static WalkabilityGrid readMap(Path file) throws IOException {
+        Map<Integer, Byte> codes = new HashMap<>();
+        int width = 0;
+        int height = 0;
+        for (String line : Files.readAllLines(file)) {
+            line = line.trim();
+            if (line.isEmpty() || line.startsWith("#")) continue;
+            String[] pair = line.split("=");
+            String[] coordinates = pair[0].split(",");
+            int x = Integer.parseInt(coordinates[0].trim());
+            int y = Integer.parseInt(coordinates[1].trim());
+            codes.put(y << 16 | x, Byte.parseByte(pair[1].trim()));
+            width = Math.max(width, x + 1);
+            height = Math.max(height, y + 1);
+        }
+        BitSet walkable = new BitSet(width * height);
+        walkable.set(0, width * height);
+        for (Map.Entry<Integer, Byte> entry : codes.entrySet()) {
+            if (TileChunks.isSolid(entry.getValue())) {
+                int x = entry.getKey() & 0xFFFF;
+                int y = entry.getKey() >>> 16;
+                walkable.clear(y * width + x);
+            }
+        }
+        return new WalkabilityGrid(width, height, walkable);
+    }
+
+    /**
+     * Generates an arena like the procedural maps of the game.
+     */
+    private static WalkabilityGrid generateArena(int size) {
+        byte[] tiles = ArenaGenerator.generate(ArenaGenerator.Settings.of(size, size), SEED);
+        BitSet walkable = new BitSet(tiles.length);
+        for (int i = 0; i < tiles.length; i++) {
+            walkable.set(i, !TileChunks.isSolid(tiles[i]));
+        }
+        return new WalkabilityGrid(size, size, walkable);
+    }
+
+    /**
+     * Generates a perfect maze with a randomized depth-first search: every cell on odd coordinates is
+     * connected to every other one by exactly one path of corridors. This is the worst case for Jump Point
+     * Search, as nearly every tile is next to a corner.
+     *
+     * @param size the width and height in tiles, should be odd
+     */
+    private static WalkabilityGrid generateMaze(int size, SplittableRandom random) {
+        int cells = size / 2;
+        BitSet walkable = new BitSet(size * size);
+        boolean[] visited = new boolean[cells * cells];
+        int[] stack = new int[cells * cells];
+        int[] neighbours = new int[4];
+        int top = 0;
+        stack[top++] = 0;
+        visited[0] = true;
+        walkable.set(size + 1);
+        while (top > 0) {
+            int cell = stack[top - 1];
+            int cx = cell % cells;
+            int cy = cell / cells;
+            int count = 0;
+            if (cx > 0 && !visited[cell - 1]) neighbours[count++] = cell - 1;
+            if (cx < cells - 1 && !visited[cell + 1]) neighbours[count++] = cell + 1;
+            if (cy > 0 && !visited[cell - cells]) neighbours[count++] = cell - cells;
+            if (cy < cells - 1 && !visited[cell + cells]) neighbours[count++] = cell + cells;
+            if (count == 0) {
+                top--;
+                continue;
+            }
+            int next = neighbours[random.nextInt(count)];
+            int nx = next % cells;
+            int ny = next / cells;
+            // Open the next cell and the wall between the two cells
+            walkable.set((2 * ny + 1) * size + 2 * nx + 1);
+            walkable.set((cy + ny + 1) * size + cx + nx + 1);
+            visited[next] = true;
+            stack[top++] = next;
+        }
+        return new WalkabilityGrid(size, size, walkable);
+    }
+}
@@ -0,0 +1,194 @@
+package de.tum.cit.ase.bomberquest.map;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.files.FileHandle;
+
+import java.io.*;
+import java.util.BitSet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps the latest {@link MapSnapshot} of a game in memory and in a save file.
+ *
+ * The first save of a map writes the full tile grid. Every later save of the same map only appends
+ * the tiles that changed since the previous save (walls blown up, power-ups collected), as gaps between
+ * tile indices plus the new tile codes, followed by the entities, which are few. The snapshot is taken
+ * on the render thread, encoding and writing the file happen on a background thread, so a save never
+ * stalls a frame. Loading replays the records of the file in order.
+ */
+public class SnapshotStore {
+
+    private static final int MAGIC = 0x42515356; // "BQSV"
+    private static final int VERSION = 2; // 2: all players, each with their own stats, and the owners of the bombs
+    private static final byte FULL = 0;
+    private static final byte DELTA = 1;
+
+    private final FileHandle file;
+    private final ExecutorService writer = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "SnapshotWriter");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private GameMap savedMap; // The map the tile grid below belongs to
+    private byte[] tiles;
+    private MapSnapshot latest;
+
+    /**
+     * Creates a store for the given save file. Nothing is read until the first load.
+     *
+     * @param file the save file
+     */
+    public SnapshotStore(FileHandle file) {
+        this.file = file;
+    }
+
+    /**
+     * Takes a snapshot of the map and writes it in the background.
+     *
+     * @param map      the map to save
+     * @param timeLeft the time left on the level timer
+     * @return the snapshot
+     */
+    public MapSnapshot save(GameMap map, float timeLeft) {
+        BitSet dirty = map.takeDirtyTiles();
+        if (map != savedMap) {
+            savedMap = map;
+            tiles = MapSnapshot.encodeTiles(map);
+            latest = MapSnapshot.capture(map, timeLeft, tiles.clone());
+            MapSnapshot snapshot = latest;
+            writer.execute(() -> writeFull(snapshot));
+        } else {
+            int[] indices = dirty.stream().toArray();
+            for (int index : indices) {
+                tiles[index] = map.getTileCode(index % map.getWidth(), index / map.getWidth());
+            }
+            latest = MapSnapshot.capture(map, timeLeft, tiles.clone());
+            MapSnapshot snapshot = latest;
+            writer.execute(() -> writeDelta(snapshot, indices));
+        }
+        return latest;
+    }
+
+    /**
+     * Returns the latest snapshot. If nothing was saved in this session, the save file is read.
+     *
+     * @return the latest snapshot, or null if there is none
+     */
+    public MapSnapshot getLatest() {
+        if (latest == null && file.exists()) {
+            try {
+                latest = read();
+            } catch (IOException e) {
+                Gdx.app.error("SnapshotStore", "Failed to read " + file.path(), e);
+            }
+        }
+        return latest;
+    }
+
+    private void writeFull(MapSnapshot snapshot) {
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(file.write(false)))) {
+            out.writeInt(MAGIC);
+            out.writeByte(VERSION);
+            out.writeByte(FULL);
+            out.writeShort(snapshot.getWidth());
+            out.writeShort(snapshot.getHeight());
+            out.write(snapshot.getTiles());
+            snapshot.writeState(out);
+        } catch (IOException e) {
+            Gdx.app.error("SnapshotStore", "Failed to write " + file.path(), e);
+        }
+    }
+
+    private void writeDelta(MapSnapshot snapshot, int[] indices) {
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(file.write(true)))) {
+            out.writeByte(DELTA);
+            writeVarInt(out, indices.length);
+            int previous = 0;
+            for (int index : indices) {
+                writeVarInt(out, index - previous); // Indices are ascending, so the gaps are small
+                out.writeByte(snapshot.getTiles()[index]);
+                previous = index;
+            }
+            snapshot.writeState(out);
+        } catch (IOException e) {
+            Gdx.app.error("SnapshotStore", "Failed to write " + file.path(), e);
+        }
+    }
+
+    /**
+     * Reads the save file. A record that was cut off, e.g. because the game was closed while
+     * writing, is ignored and the snapshot before it is returned.
+     *
+     * @return the latest snapshot in the file
+     * @throws IOException if the file cannot be read or is not a save file
+     */
+    private MapSnapshot read() throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(file.read()))) {
+            if (in.readInt() != MAGIC) {
+                throw new IOException("Not a save file: " + file.path());
+            }
+            int version = in.readUnsignedByte();
+            if (version != VERSION || in.readByte() != FULL) {
+                throw new IOException("Unsupported save file: " + file.path());
+            }
+            int width = in.readUnsignedShort();
+            int height = in.readUnsignedShort();
+            byte[] tiles = new byte[width * height];
+            in.readFully(tiles);
+            MapSnapshot snapshot = MapSnapshot.readState(in, width, height, tiles);
+
+            int kind;
+            while ((kind = in.read()) == DELTA) {
+                try {
+                    byte[] next = snapshot.getTiles().clone();
+                    int count = readVarInt(in);
+                    int index = 0;
+                    for (int i = 0; i < count; i++) {
+                        index += readVarInt(in);
+                        next[index] = in.readByte();
+                    }
+                    snapshot = MapSnapshot.readState(in, width, height, next);
+                } catch (EOFException | ArrayIndexOutOfBoundsException e) {
+                    Gdx.app.log("SnapshotStore", "Ignoring incomplete record at the end of " + file.path());
+                    break;
+                }
+            }
+            return snapshot;
+        }
+    }
+
+    /**
+     * Waits for pending writes and stops the writer thread.
+     */
+    public void dispose() {
+        writer.shutdown();
+        try {
+            writer.awaitTermination(2, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void writeVarInt(DataOutputStream out, int value) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            out.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte(value);
+    }
+
+    private static int readVarInt(DataInputStream in) throws IOException {
+        int value = 0;
+        int shift = 0;
+        int b;
+        do {
+            b = in.readUnsignedByte();
+            value |= (b & 0x7F) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+        return value;
+    }
+}
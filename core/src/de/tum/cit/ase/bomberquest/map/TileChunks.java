@@ -0,0 +1,384 @@
+package de.tum.cit.ase.bomberquest.map;
+
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.physics.box2d.Body;
+import com.badlogic.gdx.physics.box2d.BodyDef;
+import com.badlogic.gdx.physics.box2d.PolygonShape;
+import de.tum.cit.ase.bomberquest.bonusFeatures.ArrowPowerUp;
+import de.tum.cit.ase.bomberquest.bonusFeatures.SpeedPowerUp;
+import de.tum.cit.ase.bomberquest.objects.*;
+
+import java.util.*;
+
+/**
+ * Stores the tiles of a {@link GameMap} as one byte per tile, grouped into square chunks.
+ *
+ * A chunk starts out dormant: only its tile codes exist. The destructible walls, power-ups and exits of
+ * a chunk are created as GameObjects with physics bodies (hydrated) when the chunk comes near a player, an
+ * armed bomb or an explosion, or when an object is placed on or removed from one of its tiles. A chunk that
+ * has not been needed for a while is dehydrated again: its objects and bodies are destroyed and only the
+ * codes remain. Enemies far away do not keep chunks hydrated, they walk on the tile codes instead (see
+ * {@link #isHydrated}), so memory and load time grow with the area around the players, not with the size
+ * of the map or the number of enemies. Reading a tile never hydrates its chunk.
+ *
+ * Indestructible walls never become objects. A hydrated chunk gets a single static body with one box
+ * fixture per wall, and the walls are drawn straight from their codes. Border walls have their own codes,
+ * one per {@link IndestructibleWall.BorderWallType}, so the texture needs no lookup of the neighbours.
+ *
+ * The codes are kept up to date while a chunk is hydrated, so dehydrating never has to read objects back.
+ * Tile codes 0 to 8 are the codes of the map files (see {@link GameMap#createObject}). Enemies are not tiles.
+ */
+public class TileChunks {
+
+    public static final int CHUNK_SIZE = 16;
+
+    // Tile codes beyond the ones of the map files
+    static final byte EMPTY = -1;
+    static final byte WALL = 0;
+    static final byte EXIT = 9;
+    static final byte POWER_UP = 10; // Plain power-ups use POWER_UP + PowerUpType ordinal (10 to 13)
+    static final byte SPEED_POWER_UP = 14;
+    static final byte ARROW_POWER_UP = 15;
+    static final byte BORDER_WALL = 16; // Border walls use BORDER_WALL + BorderWallType ordinal (16 to 23)
+
+    private static final int PLAYER_RADIUS = 2; // Chunks around the player, covers the visible area
+    private static final int BOMB_RADIUS = 1; // Chunks around bombs, covers the whole blast
+    private static final int KEEP_ALIVE_STEPS = 60; // Steps an unneeded chunk stays hydrated, avoids thrashing
+
+    private static final class Chunk {
+        final int chunkX;
+        final int chunkY;
+        final byte[] codes = new byte[CHUNK_SIZE * CHUNK_SIZE];
+        boolean hydrated = false;
+        long lastNeeded;
+        Body walls; // Holds the fixtures of all indestructible walls while hydrated
+
+        Chunk(int chunkX, int chunkY) {
+            this.chunkX = chunkX;
+            this.chunkY = chunkY;
+            Arrays.fill(codes, EMPTY);
+        }
+    }
+
+    private final GameMap gameMap;
+    private final Map<Long, Chunk> chunks = new HashMap<>();
+    private final List<Chunk> hydratedChunks = new ArrayList<>();
+    private long step = 0;
+
+    TileChunks(GameMap gameMap) {
+        this.gameMap = gameMap;
+    }
+
+    private static long key(int chunkX, int chunkY) {
+        return ((long) chunkX << 32) | (chunkY & 0xFFFFFFFFL);
+    }
+
+    private Chunk chunkAt(int x, int y) {
+        return chunks.get(key(Math.floorDiv(x, CHUNK_SIZE), Math.floorDiv(y, CHUNK_SIZE)));
+    }
+
+    private Chunk createChunk(int x, int y) {
+        int chunkX = Math.floorDiv(x, CHUNK_SIZE);
+        int chunkY = Math.floorDiv(y, CHUNK_SIZE);
+        Chunk chunk = new Chunk(chunkX, chunkY);
+        chunks.put(key(chunkX, chunkY), chunk);
+        return chunk;
+    }
+
+    private static int indexInChunk(int x, int y) {
+        return Math.floorMod(y, CHUNK_SIZE) * CHUNK_SIZE + Math.floorMod(x, CHUNK_SIZE);
+    }
+
+    /**
+     * Returns the code of a tile without creating any objects.
+     *
+     * @param x X-coordinate (in tiles).
+     * @param y Y-coordinate (in tiles).
+     * @return the tile code, {@link #EMPTY} for empty tiles and tiles outside the map
+     */
+    byte get(int x, int y) {
+        Chunk chunk = chunkAt(x, y);
+        return chunk == null ? EMPTY : chunk.codes[indexInChunk(x, y)];
+    }
+
+    /**
+     * Sets the code of a tile. If the chunk is hydrated, the caller is responsible for the object.
+     */
+    void set(int x, int y, byte code) {
+        Chunk chunk = chunkAt(x, y);
+        if (chunk == null) {
+            if (code == EMPTY) {
+                return;
+            }
+            chunk = createChunk(x, y);
+        }
+        chunk.codes[indexInChunk(x, y)] = code;
+    }
+
+    /**
+     * Sets the code of a tile and creates its object right away if the chunk is hydrated.
+     */
+    void place(int x, int y, byte code) {
+        set(x, y, code);
+        Chunk chunk = chunkAt(x, y);
+        if (chunk == null || !chunk.hydrated || code == EMPTY) {
+            return;
+        }
+        if (isWall(code)) {
+            addWallFixture(chunk, x, y, null);
+        } else {
+            gameMap.placeTileObject(new Vector2(x, y), createTileObject(x, y, code));
+        }
+    }
+
+    /**
+     * Records an object that the caller places on a tile itself. The chunk is hydrated first,
+     * so the object never exists next to a second one created from the code.
+     */
+    void put(int x, int y, GameObject obj) {
+        Chunk chunk = chunkAt(x, y);
+        if (chunk == null) {
+            chunk = createChunk(x, y);
+        }
+        if (!chunk.hydrated) {
+            hydrate(chunk);
+        }
+        chunk.lastNeeded = step;
+        chunk.codes[indexInChunk(x, y)] = tileCode(obj);
+    }
+
+    /**
+     * Makes sure the objects of the chunk containing a tile exist, before an object is removed from it.
+     *
+     * @param x X-coordinate (in tiles).
+     * @param y Y-coordinate (in tiles).
+     */
+    void ensureHydrated(int x, int y) {
+        Chunk chunk = chunkAt(x, y);
+        if (chunk != null && !chunk.hydrated) {
+            hydrate(chunk);
+        }
+        if (chunk != null) {
+            chunk.lastNeeded = step;
+        }
+    }
+
+    /**
+     * Checks whether the walls around a tile have physics bodies. Tiles of chunks without any codes count as
+     * hydrated, since there is nothing to collide with.
+     *
+     * @param x X-coordinate (in tiles).
+     * @param y Y-coordinate (in tiles).
+     * @return true if the chunk of the tile is hydrated or has no tiles
+     */
+    boolean isHydrated(int x, int y) {
+        Chunk chunk = chunkAt(x, y);
+        return chunk == null || chunk.hydrated;
+    }
+
+    /**
+     * Hydrates the chunks around the players, the bombs and the explosions and dehydrates the chunks that
+     * have not been needed for a while. Called once per simulation step.
+     */
+    void update(List<Player> players, List<Bomb> bombs, List<ExplosionTile> explosions) {
+        step++;
+        for (Player player : players) {
+            if (player.getBody() != null) {
+                require(player.getX(), player.getY(), PLAYER_RADIUS);
+            }
+        }
+        for (Bomb bomb : bombs) {
+            require(bomb.getX(), bomb.getY(), BOMB_RADIUS);
+        }
+        for (ExplosionTile explosion : explosions) {
+            require(explosion.getTileX(), explosion.getTileY(), 0);
+        }
+
+        for (Iterator<Chunk> it = hydratedChunks.iterator(); it.hasNext();) {
+            Chunk chunk = it.next();
+            if (step - chunk.lastNeeded > KEEP_ALIVE_STEPS) {
+                dehydrate(chunk);
+                it.remove();
+            }
+        }
+    }
+
+    private void require(float x, float y, int radius) {
+        int centerX = Math.floorDiv((int) Math.floor(x), CHUNK_SIZE);
+        int centerY = Math.floorDiv((int) Math.floor(y), CHUNK_SIZE);
+        for (int chunkY = centerY - radius; chunkY <= centerY + radius; chunkY++) {
+            for (int chunkX = centerX - radius; chunkX <= centerX + radius; chunkX++) {
+                Chunk chunk = chunks.get(key(chunkX, chunkY));
+                if (chunk == null) {
+                    continue;
+                }
+                if (!chunk.hydrated) {
+                    hydrate(chunk);
+                }
+                chunk.lastNeeded = step;
+            }
+        }
+    }
+
+    private void hydrate(Chunk chunk) {
+        chunk.hydrated = true;
+        chunk.lastNeeded = step;
+        hydratedChunks.add(chunk);
+        int x0 = chunk.chunkX * CHUNK_SIZE;
+        int y0 = chunk.chunkY * CHUNK_SIZE;
+        PolygonShape box = new PolygonShape();
+        for (int i = 0; i < chunk.codes.length; i++) {
+            byte code = chunk.codes[i];
+            if (code == EMPTY) {
+                continue;
+            }
+            int x = x0 + i % CHUNK_SIZE;
+            int y = y0 + i / CHUNK_SIZE;
+            if (isWall(code)) {
+                addWallFixture(chunk, x, y, box);
+            } else {
+                gameMap.placeTileObject(new Vector2(x, y), createTileObject(x, y, code));
+            }
+        }
+        box.dispose();
+    }
+
+    /**
+     * Adds the 1x1 box of an indestructible wall to the wall body of its chunk.
+     *
+     * @param box a shape to reuse, or null to create one for this wall only
+     */
+    private void addWallFixture(Chunk chunk, int x, int y, PolygonShape box) {
+        if (chunk.walls == null) {
+            BodyDef bodyDef = new BodyDef();
+            bodyDef.type = BodyDef.BodyType.StaticBody;
+            bodyDef.position.set(chunk.chunkX * CHUNK_SIZE, chunk.chunkY * CHUNK_SIZE);
+            chunk.walls = gameMap.getWorld().createBody(bodyDef);
+        }
+        PolygonShape shape = box != null ? box : new PolygonShape();
+        // Fixtures are relative to the chunk corner; the box is centered in its tile like GameObject hitboxes
+        Vector2 center = new Vector2(Math.floorMod(x, CHUNK_SIZE) + 0.5f, Math.floorMod(y, CHUNK_SIZE) + 0.5f);
+        shape.setAsBox(0.5f, 0.5f, center, 0f);
+        chunk.walls.createFixture(shape, 1.0f);
+        if (box == null) {
+            shape.dispose();
+        }
+    }
+
+    private void dehydrate(Chunk chunk) {
+        chunk.hydrated = false;
+        if (chunk.walls != null) {
+            gameMap.getWorld().destroyBody(chunk.walls);
+            chunk.walls = null;
+        }
+        int x0 = chunk.chunkX * CHUNK_SIZE;
+        int y0 = chunk.chunkY * CHUNK_SIZE;
+        for (int i = 0; i < chunk.codes.length; i++) {
+            if (chunk.codes[i] == EMPTY || isWall(chunk.codes[i])) {
+                continue;
+            }
+            Vector2 key = new Vector2(x0 + i % CHUNK_SIZE, y0 + i / CHUNK_SIZE);
+            GameObject obj = gameMap.getMap().get(key);
+            if (obj == null || obj instanceof Enemy) {
+                continue; // Enemies are also kept at their spawn tile, they are not part of the chunk
+            }
+            gameMap.removeTileObject(key);
+            if (obj.getBody() != null) {
+                obj.getBody().getWorld().destroyBody(obj.getBody());
+                obj.setBody(null);
+            }
+        }
+    }
+
+    private GameObject createTileObject(int x, int y, byte code) {
+        return switch (code) {
+            case 1 -> new DestructibleWall(gameMap.getWorld(), x, y, false, null);
+            case 2 -> new Entrance(gameMap.getWorld(), x, y);
+            case 4 -> new DestructibleWall(gameMap.getWorld(), x, y, true, null);
+            case 5, 6, 7, 8 -> new DestructibleWall(gameMap.getWorld(), x, y, false, PowerUpType.values()[code - 5]);
+            case EXIT -> new Exit(gameMap.getWorld(), x, y, gameMap.areExitsActive());
+            case SPEED_POWER_UP -> new SpeedPowerUp(gameMap.getWorld(), x, y);
+            case ARROW_POWER_UP -> new ArrowPowerUp(gameMap.getWorld(), x, y);
+            default -> new PowerUp(gameMap.getWorld(), x, y, PowerUpType.values()[code - POWER_UP]);
+        };
+    }
+
+    /**
+     * Returns the code of the object lying on a tile.
+     *
+     * @param obj the object on the tile, or null
+     * @return the tile code
+     */
+    static byte tileCode(GameObject obj) {
+        if (obj instanceof DestructibleWall wall) {
+            if (wall.isExitUnderneath()) {
+                return 4;
+            }
+            if (wall.getPowerUpUnderneath() == null) {
+                return 1;
+            }
+            return (byte) (5 + wall.getPowerUpUnderneath().ordinal());
+        } else if (obj instanceof Entrance) {
+            return 2;
+        } else if (obj instanceof Exit) {
+            return EXIT;
+        } else if (obj instanceof SpeedPowerUp) { // Before PowerUp, which it extends
+            return SPEED_POWER_UP;
+        } else if (obj instanceof ArrowPowerUp) {
+            return ARROW_POWER_UP;
+        } else if (obj instanceof PowerUp powerUp) {
+            return (byte) (POWER_UP + powerUp.getType().ordinal());
+        }
+        return EMPTY;
+    }
+
+    /**
+     * Checks whether a tile code is an indestructible wall, including border walls.
+     *
+     * @param code the tile code
+     * @return true for indestructible walls
+     */
+    static boolean isWall(byte code) {
+        return code == WALL || code >= BORDER_WALL;
+    }
+
+    /**
+     * Checks whether a tile code blocks movement: indestructible and destructible walls.
+     *
+     * @param code the tile code
+     * @return true if nothing can walk onto the tile
+     */
+    static boolean isSolid(byte code) {
+        return isWall(code) || code == 1 || (code >= 4 && code <= 8);
+    }
+
+    /**
+     * Returns the wall type of a tile code, used to pick the texture of an indestructible wall.
+     *
+     * @param code the tile code
+     * @return the border wall type, NONE for walls inside the map, or null if the tile is not an indestructible wall
+     */
+    public static IndestructibleWall.BorderWallType getWallType(byte code) {
+        if (code == WALL) {
+            return IndestructibleWall.BorderWallType.NONE;
+        }
+        if (code >= BORDER_WALL) {
+            return IndestructibleWall.BorderWallType.values()[code - BORDER_WALL];
+        }
+        return null;
+    }
+
+    /**
+     * @return the number of chunks that currently have objects
+     */
+    public int getHydratedChunkCount() {
+        return hydratedChunks.size();
+    }
+
+    /**
+     * @return the number of chunks of the map
+     */
+    public int getChunkCount() {
+        return chunks.size();
+    }
+}
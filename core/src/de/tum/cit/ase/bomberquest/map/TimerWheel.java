@@ -0,0 +1,145 @@
+package de.tum.cit.ase.bomberquest.map;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Schedules callbacks on the simulation clock of a {@link GameMap}.
+ *
+ * Bombs, explosions, arrows and wandering enemies register a deadline instead of counting down a float
+ * every step. The timers are kept in a hierarchical timing wheel: four levels of 64 slots, where a slot
+ * of level n covers 64^n simulation steps. A timer is filed into the lowest level whose range covers
+ * its deadline and moves down one level each time the level above turns over. An advance only looks at
+ * the slot of the current step, so entities that are just waiting cost nothing per step, and scheduling
+ * or cancelling a timer is O(1).
+ *
+ * Timers that are due in the same step fire in the order they were scheduled, so the simulation stays
+ * deterministic for replays.
+ */
+public class TimerWheel {
+
+    private static final int SLOT_BITS = 6;
+    private static final int SLOTS = 1 << SLOT_BITS; // 64
+    private static final int SLOT_MASK = SLOTS - 1;
+    private static final int LEVELS = 4;              // 64^4 steps, about 77 hours at 60 steps per second
+    private static final long MAX_DELAY = (1L << (SLOT_BITS * LEVELS)) - 1;
+
+    /**
+     * A scheduled callback. It fires once, unless it is cancelled first.
+     */
+    public static final class Timer {
+        private final TimerWheel wheel;
+        private final Runnable callback;
+        private long deadline;
+        private boolean pending = true;
+
+        private Timer(TimerWheel wheel, long deadline, Runnable callback) {
+            this.wheel = wheel;
+            this.deadline = deadline;
+            this.callback = callback;
+        }
+
+        /**
+         * Keeps the callback from firing. The timer stays in its slot and is dropped when the slot comes up.
+         */
+        public void cancel() {
+            pending = false;
+        }
+
+        /**
+         * @return true if the timer has neither fired nor been cancelled
+         */
+        public boolean isPending() {
+            return pending;
+        }
+
+        /**
+         * @return the seconds left until the timer fires, 0 if it is no longer pending
+         */
+        public float getRemaining() {
+            return pending ? (deadline - wheel.now) * FixedTimestep.SIMULATION_STEP : 0f;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private final List<Timer>[][] slots = new List[LEVELS][SLOTS];
+    private final List<Timer> due = new ArrayList<>(); // Reused while a slot is processed
+    private long now = 0;
+
+    public TimerWheel() {
+        for (List<Timer>[] level : slots) {
+            for (int i = 0; i < SLOTS; i++) {
+                level[i] = new ArrayList<>();
+            }
+        }
+    }
+
+    /**
+     * Schedules a callback. Delays are rounded to whole simulation steps, a timer fires at the earliest
+     * in the next step.
+     *
+     * @param delaySeconds the delay in seconds
+     * @param callback     the callback, run during {@link #advance()}
+     * @return the timer, which can be cancelled or asked for the remaining time
+     */
+    public Timer schedule(float delaySeconds, Runnable callback) {
+        long steps = Math.max(1L, Math.round(delaySeconds / FixedTimestep.SIMULATION_STEP));
+        Timer timer = new Timer(this, now + Math.min(steps, MAX_DELAY), callback);
+        file(timer);
+        return timer;
+    }
+
+    /**
+     * Advances the clock by one simulation step and runs the callbacks that are due.
+     */
+    public void advance() {
+        now++;
+
+        // Move the timers of the higher levels down when their slot comes up, the highest level first,
+        // so timers cascading over several levels arrive before the lower slot is emptied in turn
+        for (int level = LEVELS - 1; level >= 1; level--) {
+            if ((now & ((1L << (SLOT_BITS * level)) - 1)) == 0) {
+                List<Timer> slot = slots[level][(int) (now >>> (SLOT_BITS * level)) & SLOT_MASK];
+                due.addAll(slot);
+                slot.clear();
+                for (Timer timer : due) {
+                    if (timer.pending) {
+                        file(timer);
+                    }
+                }
+                due.clear();
+            }
+        }
+
+        List<Timer> slot = slots[0][(int) now & SLOT_MASK];
+        due.addAll(slot);
+        slot.clear();
+        for (Timer timer : due) {
+            if (timer.pending) {
+                timer.pending = false;
+                timer.callback.run();
+            }
+        }
+        due.clear();
+    }
+
+    private void file(Timer timer) {
+        long delay = timer.deadline - now;
+        if (delay <= 0) {
+            slots[0][(int) now & SLOT_MASK].add(timer); // Cascaded into the current step, fires right away
+            return;
+        }
+        int level = 0;
+        while (level < LEVELS - 1 && delay >= 1L << (SLOT_BITS * (level + 1))) {
+            level++;
+        }
+        slots[level][(int) (timer.deadline >>> (SLOT_BITS * level)) & SLOT_MASK].add(timer);
+    }
+
+    /**
+     * @return the simulation time in seconds since the wheel was created
+     */
+    public float getTime() {
+        return now * FixedTimestep.SIMULATION_STEP;
+    }
+}
@@ -0,0 +1,50 @@
+package de.tum.cit.ase.bomberquest.map;
+
+import java.util.BitSet;
+
+/**
+ * An immutable copy of which tiles of a {@link GameMap} can be walked on.
+ *
+ * The map keeps the walkable tiles up to date as walls are blown up and hands out a new grid only when
+ * something changed, so all enemies of a step share one grid. Since a grid never changes, it can be read
+ * from several threads at once, e.g. while the enemies plan their paths in parallel.
+ */
+public final class WalkabilityGrid {
+
+    private final int width;
+    private final int height;
+    private final BitSet walkable; // Index y * width + x, never modified after construction
+
+    WalkabilityGrid(int width, int height, BitSet walkable) {
+        this.width = width;
+        this.height = height;
+        this.walkable = walkable;
+    }
+
+    /**
+     * @param x X-coordinate (in tiles).
+     * @param y Y-coordinate (in tiles).
+     * @return True if the tile is on the map and walkable.
+     */
+    public boolean isWalkable(int x, int y) {
+        return x >= 0 && x < width && y >= 0 && y < height && walkable.get(y * width + x);
+    }
+
+    /**
+     * @param blocked Tiles (y * width + x) that may not be walked on.
+     * @return A copy of this grid without the blocked tiles.
+     */
+    WalkabilityGrid without(BitSet blocked) {
+        BitSet remaining = (BitSet) walkable.clone();
+        remaining.andNot(blocked);
+        return new WalkabilityGrid(width, height, remaining);
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+}
@@ -0,0 +1,335 @@
+package de.tum.cit.ase.bomberquest.net;
+
+import de.tum.cit.ase.bomberquest.input.InputSource;
+import de.tum.cit.ase.bomberquest.map.FixedTimestep;
+import de.tum.cit.ase.bomberquest.map.GameMap;
+import de.tum.cit.ase.bomberquest.replay.Replay;
+
+import java.io.Closeable;
+import java.net.SocketAddress;
+import java.nio.ByteBuffer;
+
+/**
+ * Plays a match on a {@link GameServer}. The client asks a local input source, the keyboard or a bot, for
+ * the input of each step, sends it to the server and moves its own player at once, without waiting for
+ * the server: the position is predicted by moving the player with the velocity
+ * {@link GameMap#applyPlayerInput} gives it.
+ *
+ * Every snapshot says which input the server applied last. The client then starts over from the position
+ * in the snapshot and moves the player again by the inputs the server has not applied yet, so a wrong
+ * prediction, e.g. into a wall, is corrected without throwing away the inputs still on their way.
+ */
+public class GameClient implements InputSource, Closeable {
+
+    private static final int HISTORY = 64;        // Inputs and snapshots kept, like on the server
+    private static final int HELLO_INTERVAL = 30; // Updates between two HELLOs while waiting to be welcomed
+    private static final float MOVE_SPEED = 2f;   // The player's speed, as in GameMap
+
+    private final Transport transport;
+    private final SocketAddress server;
+    private final int matchId;
+    private final InputSource local;
+    private final ByteBuffer out = ByteBuffer.allocate(64);
+
+    // The match, from the WELCOME
+    private int playerIndex = -1;
+    private String mapPath;
+    private long seed;
+    private float timeLeft;
+    private boolean rejected = false;
+    private int updatesWithoutWelcome = 0;
+
+    // Snapshots received, by tick, as bases for the next deltas
+    private final NetSnapshot[] snapshots = new NetSnapshot[HISTORY];
+    private NetSnapshot latest;
+    private byte matchState = NetProtocol.RUNNING;
+    private long bytesReceived = 0;
+
+    // Inputs sent and the positions predicted before each of them, by sequence number
+    private final byte[] inputs = new byte[HISTORY];
+    private final float[] predictedXs = new float[HISTORY];
+    private final float[] predictedYs = new float[HISTORY];
+    private int sequence = -1;
+    private boolean predicting = false;
+    private float x;
+    private float y;
+    private float speedMultiplier = 1f;
+
+    // How far the predictions were off when the server's position arrived
+    private double predictionErrorSum = 0;
+    private float maxPredictionError = 0;
+    private int predictionChecks = 0;
+
+    /**
+     * @param transport the transport to talk to the server on, used by this client only
+     * @param server    the address of the server
+     * @param matchId   the match to join
+     * @param local     the source of this player's inputs
+     */
+    public GameClient(Transport transport, SocketAddress server, int matchId, InputSource local) {
+        this.transport = transport;
+        this.server = server;
+        this.matchId = matchId;
+        this.local = local;
+    }
+
+    /**
+     * Takes the packets from the server, and asks to join the match until the server answered.
+     */
+    public void update() {
+        transport.receive(this::onPacket);
+        if (playerIndex < 0 && !rejected && updatesWithoutWelcome++ % HELLO_INTERVAL == 0) {
+            out.clear();
+            out.put(NetProtocol.HELLO);
+            NetProtocol.putVarInt(out, matchId);
+            out.flip();
+            transport.send(server, out);
+        }
+    }
+
+    /**
+     * Asks the local input source for the input of the next step, sends it to the server and predicts
+     * where it moves the player.
+     *
+     * @param map      passed on to the local input source, may be null if the source does not need it
+     * @param stepTime the real time the step stands for
+     * @return the input bits of the step
+     */
+    @Override
+    public int nextInput(GameMap map, long stepTime) {
+        update();
+        int input = local.nextInput(map, stepTime);
+        if (playerIndex < 0 || isFinished()) {
+            return input;
+        }
+
+        // Like the server: the step first moves the player by the last input, then takes the new one
+        sequence++;
+        if (predicting && sequence > 0) {
+            x += velocityX(inputs[Math.floorMod(sequence - 1, HISTORY)]) * FixedTimestep.SIMULATION_STEP;
+            y += velocityY(inputs[Math.floorMod(sequence - 1, HISTORY)]) * FixedTimestep.SIMULATION_STEP;
+        }
+        int slot = Math.floorMod(sequence, HISTORY);
+        inputs[slot] = (byte) input;
+        predictedXs[slot] = x;
+        predictedYs[slot] = y;
+
+        out.clear();
+        out.put(NetProtocol.INPUT);
+        NetProtocol.putVarInt(out, latest != null ? latest.getTick() + 1 : 0);
+        NetProtocol.putVarInt(out, sequence);
+        int count = Math.min(sequence + 1, NetProtocol.INPUT_REDUNDANCY);
+        out.put((byte) count);
+        for (int s = sequence - count + 1; s <= sequence; s++) {
+            out.put(inputs[Math.floorMod(s, HISTORY)]);
+        }
+        out.flip();
+        transport.send(server, out);
+        return input;
+    }
+
+    private void onPacket(SocketAddress from, ByteBuffer packet) {
+        if (!from.equals(server)) {
+            return;
+        }
+        bytesReceived += packet.remaining();
+        byte type = packet.get();
+        switch (type) {
+            case NetProtocol.WELCOME -> {
+                playerIndex = NetProtocol.getVarInt(packet);
+                mapPath = NetProtocol.getString(packet);
+                seed = packet.getLong();
+                timeLeft = packet.getFloat();
+            }
+            case NetProtocol.SNAPSHOT -> onSnapshot(packet);
+            case NetProtocol.REJECT -> rejected = playerIndex < 0;
+            default -> {
+            }
+        }
+    }
+
+    private void onSnapshot(ByteBuffer packet) {
+        int tick = NetProtocol.getVarInt(packet);
+        int baseTick = NetProtocol.getVarInt(packet) - 1;
+        int appliedSequence = NetProtocol.getVarInt(packet) - 1;
+        byte state = packet.get();
+        if (latest != null && tick <= latest.getTick()) {
+            return; // Arrived late, a newer snapshot is already there
+        }
+        NetSnapshot base = null;
+        if (baseTick >= 0) {
+            base = snapshots[slot(baseTick)];
+            if (base == null || base.getTick() != baseTick) {
+                return; // The base is gone, the server sends a full snapshot once it stops hearing about it
+            }
+        }
+        NetSnapshot snapshot = NetSnapshot.readDelta(tick, base, packet);
+        snapshots[slot(tick)] = snapshot;
+        latest = snapshot;
+        matchState = state;
+        reconcile(snapshot, appliedSequence);
+    }
+
+    private static int slot(int tick) {
+        return tick / NetProtocol.SNAPSHOT_INTERVAL % HISTORY;
+    }
+
+    /**
+     * Starts the prediction over from the server's position of the player, as it was before the input
+     * the server applied last moved it, and moves it by that input and all later ones.
+     */
+    private void reconcile(NetSnapshot snapshot, int appliedSequence) {
+        int index = snapshot.indexOfPlayer(playerIndex);
+        if (index < 0) {
+            predicting = false; // Dead
+            return;
+        }
+        speedMultiplier = snapshot.getSpeedMultiplier(index);
+        float serverX = snapshot.getX(index);
+        float serverY = snapshot.getY(index);
+        if (appliedSequence < 0 || sequence - appliedSequence >= HISTORY || !predicting) {
+            // Nothing to go by yet, the player is where the server says until the next input
+            x = serverX;
+            y = serverY;
+            predicting = true;
+            return;
+        }
+
+        int slot = Math.floorMod(appliedSequence, HISTORY);
+        float error = (float) Math.hypot(predictedXs[slot] - serverX, predictedYs[slot] - serverY);
+        predictionErrorSum += error;
+        maxPredictionError = Math.max(maxPredictionError, error);
+        predictionChecks++;
+
+        x = serverX;
+        y = serverY;
+        predictedXs[slot] = x;
+        predictedYs[slot] = y;
+        for (int s = appliedSequence; s < sequence; s++) {
+            int input = inputs[Math.floorMod(s, HISTORY)];
+            x += velocityX(input) * FixedTimestep.SIMULATION_STEP;
+            y += velocityY(input) * FixedTimestep.SIMULATION_STEP;
+            predictedXs[Math.floorMod(s + 1, HISTORY)] = x;
+            predictedYs[Math.floorMod(s + 1, HISTORY)] = y;
+        }
+    }
+
+    private float velocityX(int input) {
+        float vx = 0;
+        if ((input & Replay.MOVE_LEFT) != 0) {
+            vx -= 1;
+        }
+        if ((input & Replay.MOVE_RIGHT) != 0) {
+            vx += 1;
+        }
+        return vx * speed(input);
+    }
+
+    private float velocityY(int input) {
+        float vy = 0;
+        if ((input & Replay.MOVE_DOWN) != 0) {
+            vy -= 1;
+        }
+        if ((input & Replay.MOVE_UP) != 0) {
+            vy += 1;
+        }
+        return vy * speed(input);
+    }
+
+    /**
+     * @return the speed along each axis, smaller when moving diagonally so the total speed stays the same
+     */
+    private float speed(int input) {
+        boolean horizontal = ((input & Replay.MOVE_LEFT) != 0) != ((input & Replay.MOVE_RIGHT) != 0);
+        boolean vertical = ((input & Replay.MOVE_UP) != 0) != ((input & Replay.MOVE_DOWN) != 0);
+        float speed = MOVE_SPEED * speedMultiplier;
+        return horizontal && vertical ? speed / (float) Math.sqrt(2) : speed;
+    }
+
+    @Override
+    public void close() {
+        transport.close();
+    }
+
+    /**
+     * @return true once the server let this client into the match
+     */
+    public boolean isConnected() {
+        return playerIndex >= 0;
+    }
+
+    /**
+     * @return true if the server turned this client away, because the match is full or over
+     */
+    public boolean isRejected() {
+        return rejected;
+    }
+
+    /**
+     * @return true once a snapshot said that the match was won or lost
+     */
+    public boolean isFinished() {
+        return matchState != NetProtocol.RUNNING;
+    }
+
+    public boolean isWon() {
+        return matchState == NetProtocol.WON;
+    }
+
+    public int getPlayerIndex() {
+        return playerIndex;
+    }
+
+    public String getMapPath() {
+        return mapPath;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public float getTimeLeft() {
+        return timeLeft;
+    }
+
+    /**
+     * @return the newest snapshot of the match, or null before the first one arrived
+     */
+    public NetSnapshot getSnapshot() {
+        return latest;
+    }
+
+    /**
+     * @return the predicted x-coordinate of this client's player, to draw it at instead of the snapshot's
+     */
+    public float getPredictedX() {
+        return x;
+    }
+
+    public float getPredictedY() {
+        return y;
+    }
+
+    public boolean isPredicting() {
+        return predicting;
+    }
+
+    /**
+     * @return the mean distance in tiles between the predicted and the server's position of the player
+     */
+    public double getMeanPredictionError() {
+        return predictionChecks > 0 ? predictionErrorSum / predictionChecks : 0;
+    }
+
+    public float getMaxPredictionError() {
+        return maxPredictionError;
+    }
+
+    public int getPredictionChecks() {
+        return predictionChecks;
+    }
+
+    public long getBytesReceived() {
+        return bytesReceived;
+    }
+}
@@ -0,0 +1,240 @@
+package de.tum.cit.ase.bomberquest.net;
+
+import com.badlogic.gdx.Gdx;
+import de.tum.cit.ase.bomberquest.BomberQuestGame;
+import de.tum.cit.ase.bomberquest.bonusFeatures.Score;
+import de.tum.cit.ase.bomberquest.bot.LatencyHistogram;
+import de.tum.cit.ase.bomberquest.map.FixedTimestep;
+import de.tum.cit.ase.bomberquest.map.GameMap;
+
+import java.io.Closeable;
+import java.net.SocketAddress;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs matches for clients on other machines or in this process. The server is authoritative: only it
+ * steps the maps, the clients send their inputs and draw what the snapshots show.
+ *
+ * One thread is the event loop. At the rate of the simulation steps it takes all packets from the
+ * {@link Transport}, lets clients join the match they ask for, creating it if needed, and hands the inputs
+ * to the matches. Then all matches are stepped at once on a pool of workers, each match on one worker,
+ * and the loop waits for them before the next step. No match is touched by two threads at a time, so the
+ * matches need no locks, and a slow step of one match does not hold up the packets of the others for
+ * more than one step.
+ */
+public class GameServer implements Closeable {
+
+    /**
+     * What to serve.
+     *
+     * @param mapPath    the map of all matches, a map file or the path of a generated arena
+     * @param maxPlayers the number of clients per match
+     * @param timeLeft   the level time of each match in seconds
+     * @param threads    the number of workers stepping the matches
+     * @param maxMatches the number of matches running at the same time
+     */
+    public record Settings(String mapPath, int maxPlayers, float timeLeft, int threads, int maxMatches) {
+    }
+
+    private static final long STEP_NANOS = Math.round(FixedTimestep.SIMULATION_STEP * 1_000_000_000.0);
+
+    private final BomberQuestGame game;
+    private final Settings settings;
+    private final Transport transport;
+    private final ScheduledExecutorService loop = Executors.newSingleThreadScheduledExecutor();
+    private final ExecutorService workers;
+
+    // Only used on the event loop
+    private final Map<Integer, ServerMatch> matches = new HashMap<>();
+    private final Map<SocketAddress, ServerMatch> matchByClient = new HashMap<>();
+    private final List<Callable<Void>> steps = new ArrayList<>();
+    private final ByteBuffer out = ByteBuffer.allocate(16);
+    private final LatencyHistogram tickTimes = new LatencyHistogram();
+    private final LatencyHistogram snapshotSizes = new LatencyHistogram();
+    private long bytesSent = 0; // Of the matches that ended, the running ones count their own
+    private int matchesPlayed = 0;
+
+    /**
+     * @param game      the main game instance, used for the map file lookup
+     * @param settings  the matches to serve
+     * @param transport the transport the clients reach the server on
+     */
+    public GameServer(BomberQuestGame game, Settings settings, Transport transport) {
+        this.game = game;
+        this.settings = settings;
+        this.transport = transport;
+        this.workers = Executors.newFixedThreadPool(Math.max(1, settings.threads()));
+    }
+
+    /**
+     * Starts the event loop. The server runs until it is closed.
+     */
+    public void start() {
+        Gdx.app.log("GameServer", "Serving " + settings.mapPath() + " on " + transport.getLocalAddress());
+        loop.scheduleAtFixedRate(this::tick, 0, STEP_NANOS, TimeUnit.NANOSECONDS);
+    }
+
+    private void tick() {
+        try {
+            long start = System.nanoTime();
+            transport.receive(this::onPacket);
+
+            steps.clear();
+            for (ServerMatch match : matches.values()) {
+                steps.add(() -> {
+                    match.step(transport);
+                    return null;
+                });
+            }
+            for (Future<Void> step : workers.invokeAll(steps)) {
+                try {
+                    step.get();
+                } catch (ExecutionException e) {
+                    Gdx.app.error("GameServer", "A match failed to step", e.getCause());
+                }
+            }
+
+            Iterator<ServerMatch> iterator = matches.values().iterator();
+            while (iterator.hasNext()) {
+                ServerMatch match = iterator.next();
+                for (SocketAddress address : match.takeDroppedClients()) {
+                    matchByClient.remove(address, match);
+                }
+                if (match.isDone()) {
+                    iterator.remove();
+                    matchByClient.values().removeIf(m -> m == match);
+                    endMatch(match);
+                }
+            }
+            tickTimes.record(System.nanoTime() - start);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Throwable e) {
+            // Anything thrown out of here, errors included, cancels the loop, so one bad step is only logged
+            Gdx.app.error("GameServer", "Server step failed", e);
+        }
+    }
+
+    private void onPacket(SocketAddress from, ByteBuffer packet) {
+        try {
+            byte type = packet.get();
+            if (type == NetProtocol.HELLO) {
+                onHello(from, NetProtocol.getVarInt(packet));
+            } else if (type == NetProtocol.INPUT) {
+                ServerMatch match = matchByClient.get(from);
+                if (match != null) {
+                    match.onInput(from, packet);
+                }
+            }
+        } catch (RuntimeException e) {
+            Gdx.app.error("GameServer", "Dropped a malformed packet from " + from, e);
+        }
+    }
+
+    private void onHello(SocketAddress from, int matchId) {
+        ServerMatch match = matches.get(matchId);
+        if (match == null && matches.size() < settings.maxMatches()) {
+            match = createMatch(matchId);
+        }
+        if (match != null && match.join(transport, from)) {
+            matchByClient.put(from, match);
+            return;
+        }
+        out.clear();
+        out.put(NetProtocol.REJECT);
+        out.flip();
+        transport.send(from, out);
+    }
+
+    private ServerMatch createMatch(int matchId) {
+        try {
+            GameMap map = game.createMap(settings.mapPath(), new Score(), new Random().nextLong(), settings.timeLeft(), null);
+            ServerMatch match = new ServerMatch(matchId, map, settings.maxPlayers(), settings.timeLeft());
+            matches.put(matchId, match);
+            return match;
+        } catch (Exception e) {
+            Gdx.app.error("GameServer", "Failed to create match " + matchId, e);
+            return null;
+        }
+    }
+
+    private void endMatch(ServerMatch match) {
+        bytesSent += match.getBytesSent();
+        snapshotSizes.add(match.getSnapshotSizes());
+        matchesPlayed++;
+        match.dispose();
+    }
+
+    /**
+     * Stops the event loop and waits for the step that is running. The statistics can be read afterwards.
+     */
+    public void stop() {
+        loop.shutdown();
+        try {
+            loop.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Stops the server, ends all matches and closes the transport.
+     */
+    @Override
+    public void close() {
+        stop();
+        for (ServerMatch match : matches.values()) {
+            endMatch(match);
+        }
+        matches.clear();
+        matchByClient.clear();
+        workers.shutdown();
+        transport.close();
+    }
+
+    /**
+     * @return the time each step of the event loop took, receiving the packets and stepping all matches
+     */
+    public LatencyHistogram getTickTimes() {
+        return tickTimes;
+    }
+
+    /**
+     * @return the sizes of the snapshot packets in bytes, of the matches that ended
+     */
+    public LatencyHistogram getSnapshotSizes() {
+        return snapshotSizes;
+    }
+
+    /**
+     * @return the bytes sent to the clients, of the matches that ended
+     */
+    public long getBytesSent() {
+        return bytesSent;
+    }
+
+    public int getMatchesPlayed() {
+        return matchesPlayed;
+    }
+
+    public int getRunningMatchCount() {
+        return matches.size();
+    }
+
+    public Settings getSettings() {
+        return settings;
+    }
+}
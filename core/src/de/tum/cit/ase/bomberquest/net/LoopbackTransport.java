@@ -0,0 +1,94 @@
+package de.tum.cit.ase.bomberquest.net;
+
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.nio.ByteBuffer;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A {@link Transport} within one process: sending a packet puts a copy of it into the queue of the
+ * receiver. To test how the game copes with a bad connection, the network can drop a share of the packets.
+ */
+public class LoopbackTransport implements Transport {
+
+    /**
+     * Connects the loopback transports opened on it, by made-up addresses.
+     */
+    public static final class Network {
+
+        private final Map<SocketAddress, LoopbackTransport> endpoints = new ConcurrentHashMap<>();
+        private final AtomicInteger nextPort = new AtomicInteger(1);
+        private final double lossRate;
+
+        public Network() {
+            this(0.0);
+        }
+
+        /**
+         * @param lossRate the share of packets that is dropped, from 0 to 1
+         */
+        public Network(double lossRate) {
+            this.lossRate = lossRate;
+        }
+
+        /**
+         * @return a new transport with its own address on this network
+         */
+        public LoopbackTransport open() {
+            LoopbackTransport transport = new LoopbackTransport(this,
+                    InetSocketAddress.createUnresolved("loopback", nextPort.getAndIncrement()));
+            endpoints.put(transport.address, transport);
+            return transport;
+        }
+    }
+
+    private record Packet(SocketAddress from, byte[] data) {
+    }
+
+    private final Network network;
+    private final SocketAddress address;
+    private final Queue<Packet> inbox = new ConcurrentLinkedQueue<>();
+
+    private LoopbackTransport(Network network, SocketAddress address) {
+        this.network = network;
+        this.address = address;
+    }
+
+    @Override
+    public SocketAddress getLocalAddress() {
+        return address;
+    }
+
+    @Override
+    public void send(SocketAddress to, ByteBuffer packet) {
+        LoopbackTransport receiver = network.endpoints.get(to);
+        if (receiver == null || (network.lossRate > 0 && ThreadLocalRandom.current().nextDouble() < network.lossRate)) {
+            return;
+        }
+        byte[] data = new byte[packet.remaining()];
+        packet.get(data);
+        receiver.inbox.add(new Packet(address, data));
+    }
+
+    @Override
+    public int receive(Handler handler) {
+        int count = 0;
+        Packet packet;
+        while ((packet = inbox.poll()) != null) {
+            handler.onPacket(packet.from(), ByteBuffer.wrap(packet.data()));
+            count++;
+        }
+        return count;
+    }
+
+    @Override
+    public void close() {
+        network.endpoints.remove(address);
+        inbox.clear();
+    }
+}
@@ -0,0 +1,74 @@
+package de.tum.cit.ase.bomberquest.net;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * The packets between the {@link GameServer} and its clients. Every packet starts with its type.
+ * Numbers are written as variable-length integers, 7 bits per byte, so small ones take one byte.
+ *
+ * <ul>
+ *     <li>HELLO, client to server: the match id. Sent until the WELCOME arrives.</li>
+ *     <li>WELCOME, server to client: the player index, the map path, the seed and the level time.</li>
+ *     <li>INPUT, client to server: the tick of the newest snapshot received plus 1 (0 for none), the
+ *     sequence number of the newest input, then up to {@value #INPUT_REDUNDANCY} inputs ending with it,
+ *     oldest first, with their count. Every packet repeats the inputs sent before, so a lost packet does
+ *     not lose an input.</li>
+ *     <li>SNAPSHOT, server to client: the tick, the tick of the base snapshot plus 1 (0 for none), the
+ *     sequence number of the client's last applied input plus 1, the state of the match, then the
+ *     {@link NetSnapshot} as a delta to the base.</li>
+ *     <li>REJECT, server to client: the match is full or over.</li>
+ * </ul>
+ */
+final class NetProtocol {
+
+    static final byte HELLO = 1;
+    static final byte WELCOME = 2;
+    static final byte INPUT = 3;
+    static final byte SNAPSHOT = 4;
+    static final byte REJECT = 5;
+
+    // States of a match, sent with every snapshot
+    static final byte RUNNING = 0;
+    static final byte WON = 1;
+    static final byte LOST = 2;
+
+    static final int MAX_PACKET_SIZE = 65507; // Largest UDP payload. A full snapshot must fit
+    static final int INPUT_REDUNDANCY = 8;
+    static final int SNAPSHOT_INTERVAL = 3; // Simulation steps per snapshot, 20 snapshots per second
+
+    private NetProtocol() {
+    }
+
+    static void putVarInt(ByteBuffer buffer, int value) {
+        while ((value & ~0x7F) != 0) {
+            buffer.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        buffer.put((byte) value);
+    }
+
+    static int getVarInt(ByteBuffer buffer) {
+        int value = 0;
+        for (int shift = 0; shift < 32; shift += 7) {
+            byte b = buffer.get();
+            value |= (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("Malformed variable-length integer");
+    }
+
+    static void putString(ByteBuffer buffer, String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        putVarInt(buffer, bytes.length);
+        buffer.put(bytes);
+    }
+
+    static String getString(ByteBuffer buffer) {
+        byte[] bytes = new byte[getVarInt(buffer)];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
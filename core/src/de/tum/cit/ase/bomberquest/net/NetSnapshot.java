@@ -0,0 +1,364 @@
+package de.tum.cit.ase.bomberquest.net;
+
+import de.tum.cit.ase.bomberquest.effects.Stat;
+import de.tum.cit.ase.bomberquest.map.GameMap;
+import de.tum.cit.ase.bomberquest.objects.*;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * What the clients see of a match at one tick: the code of every tile and the players, enemies, bombs and
+ * arrows, each by its entity id with a kind, a position and one byte of state.
+ *
+ * Snapshots are sent as the difference to an older snapshot the client confirmed to have: runs of changed
+ * tiles, the ids of the entities that are gone and the entities that are new or changed. Most tiles and
+ * idle entities do not change between snapshots, so a delta is a small fraction of the whole. Positions
+ * are stored in 1/{@value #POSITION_SCALE} tiles, which keeps them in two bytes on maps of up to 1023
+ * tiles. The entities are sorted by id, so two snapshots are compared in one pass.
+ *
+ * A snapshot is never changed once it is complete, so the server can keep and share it between threads.
+ */
+public final class NetSnapshot {
+
+    public static final byte KIND_PLAYER = 0;
+    public static final byte KIND_ENEMY = 1;
+    public static final byte KIND_BOMB = 2;
+    public static final byte KIND_ARROW = 3;
+
+    private static final float POSITION_SCALE = 64f;
+
+    private final int tick;
+    private final int width;
+    private final int height;
+    private final byte[] tiles;
+
+    private int count = 0;
+    private int[] ids;
+    private byte[] kinds;
+    private char[] xs;
+    private char[] ys;
+    private byte[] states;
+
+    private NetSnapshot(int tick, int width, int height, byte[] tiles, int capacity) {
+        this.tick = tick;
+        this.width = width;
+        this.height = height;
+        this.tiles = tiles;
+        this.ids = new int[capacity];
+        this.kinds = new byte[capacity];
+        this.xs = new char[capacity];
+        this.ys = new char[capacity];
+        this.states = new byte[capacity];
+    }
+
+    /**
+     * Takes a snapshot of a map. Only the tile codes are read, no chunk is created for this.
+     *
+     * @param map  the map
+     * @param tick the simulation step of the match
+     * @return the snapshot
+     */
+    public static NetSnapshot capture(GameMap map, int tick) {
+        int width = map.getWidth();
+        byte[] tiles = new byte[width * map.getHeight()];
+        for (int i = 0; i < tiles.length; i++) {
+            tiles[i] = map.getTileCode(i % width, i / width);
+        }
+        NetSnapshot snapshot = new NetSnapshot(tick, width, map.getHeight(), tiles,
+                map.getPlayerCount() + map.getEnemies().size() + map.getBombs().size() + map.getActiveArrows().size());
+
+        List<Player> players = map.getPlayers();
+        for (int i = 0; i < players.size(); i++) {
+            Player player = players.get(i);
+            if (player.getBody() != null) {
+                // The player index and the speed multiplier in quarters, which the client predicts with
+                int speed = Math.min(15, Math.round(player.getEffects().get(Stat.SPEED_MULTIPLIER) * 4));
+                snapshot.add(player, KIND_PLAYER, (byte) (i | speed << 4));
+            }
+        }
+        for (Enemy enemy : map.getEnemies()) {
+            if (enemy.getBody() != null) {
+                snapshot.add(enemy, KIND_ENEMY, (byte) 0);
+            }
+        }
+        for (Bomb bomb : map.getBombs()) {
+            snapshot.add(bomb, KIND_BOMB, (byte) (bomb.isHasExploded() ? 1 : 0));
+        }
+        for (Arrow arrow : map.getActiveArrows()) {
+            if (arrow.getBody() != null) {
+                snapshot.add(arrow, KIND_ARROW, (byte) arrow.getDirection().ordinal());
+            }
+        }
+        snapshot.sortById();
+        return snapshot;
+    }
+
+    private void add(GameObject object, byte kind, byte state) {
+        if (object.getEntity() < 0) {
+            return;
+        }
+        add(object.getEntity(), kind, toFixed(object.getX()), toFixed(object.getY()), state);
+    }
+
+    private void add(int id, byte kind, char x, char y, byte state) {
+        if (count == ids.length) {
+            int capacity = Math.max(8, count * 2);
+            ids = Arrays.copyOf(ids, capacity);
+            kinds = Arrays.copyOf(kinds, capacity);
+            xs = Arrays.copyOf(xs, capacity);
+            ys = Arrays.copyOf(ys, capacity);
+            states = Arrays.copyOf(states, capacity);
+        }
+        ids[count] = id;
+        kinds[count] = kind;
+        xs[count] = x;
+        ys[count] = y;
+        states[count] = state;
+        count++;
+    }
+
+    private static char toFixed(float tiles) {
+        return (char) Math.max(0, Math.min(Character.MAX_VALUE, Math.round(tiles * POSITION_SCALE)));
+    }
+
+    /**
+     * Sorts the entities by id. Ids of destroyed entities are handed out again, so the order in which the
+     * entities were collected says nothing about their ids.
+     */
+    private void sortById() {
+        long[] order = new long[count];
+        for (int i = 0; i < count; i++) {
+            order[i] = (long) ids[i] << 32 | i;
+        }
+        Arrays.sort(order);
+        int[] sortedIds = new int[ids.length];
+        byte[] sortedKinds = new byte[ids.length];
+        char[] sortedXs = new char[ids.length];
+        char[] sortedYs = new char[ids.length];
+        byte[] sortedStates = new byte[ids.length];
+        for (int i = 0; i < count; i++) {
+            int from = (int) order[i];
+            sortedIds[i] = ids[from];
+            sortedKinds[i] = kinds[from];
+            sortedXs[i] = xs[from];
+            sortedYs[i] = ys[from];
+            sortedStates[i] = states[from];
+        }
+        ids = sortedIds;
+        kinds = sortedKinds;
+        xs = sortedXs;
+        ys = sortedYs;
+        states = sortedStates;
+    }
+
+    /**
+     * Writes this snapshot as the difference to a base snapshot of the same match.
+     *
+     * @param base the snapshot the receiver has, or null to write all of this one
+     * @param out  the buffer to write to
+     */
+    public void writeDelta(NetSnapshot base, ByteBuffer out) {
+        NetProtocol.putVarInt(out, width);
+        NetProtocol.putVarInt(out, height);
+        boolean sameSize = base != null && base.tiles.length == tiles.length;
+
+        // Tiles: runs of changed tiles, each as the unchanged tiles before it, its length and the codes
+        int runCountPosition = out.position();
+        out.putInt(0);
+        int runs = 0;
+        int previousEnd = 0;
+        int i = 0;
+        while (i < tiles.length) {
+            if (sameSize && tiles[i] == base.tiles[i]) {
+                i++;
+                continue;
+            }
+            int start = i;
+            while (i < tiles.length && !(sameSize && tiles[i] == base.tiles[i])) {
+                i++;
+            }
+            NetProtocol.putVarInt(out, start - previousEnd);
+            NetProtocol.putVarInt(out, i - start);
+            out.put(tiles, start, i - start);
+            previousEnd = i;
+            runs++;
+        }
+        out.putInt(runCountPosition, runs);
+
+        // Entities: the ids of the removed ones, then the new and changed ones, both as gaps between ids
+        int baseCount = base != null ? base.count : 0;
+        int removedPosition = out.position();
+        out.putInt(0);
+        int removed = 0;
+        int previousId = 0;
+        for (int b = 0, c = 0; b < baseCount; b++) {
+            while (c < count && ids[c] < base.ids[b]) {
+                c++;
+            }
+            if (c == count || ids[c] != base.ids[b] || kinds[c] != base.kinds[b]) {
+                NetProtocol.putVarInt(out, base.ids[b] - previousId);
+                previousId = base.ids[b];
+                removed++;
+            }
+        }
+        out.putInt(removedPosition, removed);
+
+        int changedPosition = out.position();
+        out.putInt(0);
+        int changed = 0;
+        previousId = 0;
+        for (int c = 0, b = 0; c < count; c++) {
+            while (b < baseCount && base.ids[b] < ids[c]) {
+                b++;
+            }
+            boolean same = b < baseCount && base.ids[b] == ids[c] && base.kinds[b] == kinds[c]
+                    && base.xs[b] == xs[c] && base.ys[b] == ys[c] && base.states[b] == states[c];
+            if (!same) {
+                NetProtocol.putVarInt(out, ids[c] - previousId);
+                previousId = ids[c];
+                out.put(kinds[c]);
+                out.putChar(xs[c]);
+                out.putChar(ys[c]);
+                out.put(states[c]);
+                changed++;
+            }
+        }
+        out.putInt(changedPosition, changed);
+    }
+
+    /**
+     * Reads a snapshot written by {@link #writeDelta}.
+     *
+     * @param tick the tick of the snapshot, from the header of the packet
+     * @param base the base snapshot the delta was written against, or null
+     * @param in   the buffer to read from
+     * @return the snapshot
+     */
+    public static NetSnapshot readDelta(int tick, NetSnapshot base, ByteBuffer in) {
+        int width = NetProtocol.getVarInt(in);
+        int height = NetProtocol.getVarInt(in);
+        byte[] tiles = base != null && base.tiles.length == width * height ? base.tiles.clone() : new byte[width * height];
+        int runs = in.getInt();
+        int position = 0;
+        for (int r = 0; r < runs; r++) {
+            position += NetProtocol.getVarInt(in);
+            int length = NetProtocol.getVarInt(in);
+            in.get(tiles, position, length);
+            position += length;
+        }
+
+        int removed = in.getInt();
+        int[] removedIds = new int[removed];
+        int previousId = 0;
+        for (int r = 0; r < removed; r++) {
+            previousId += NetProtocol.getVarInt(in);
+            removedIds[r] = previousId;
+        }
+
+        int changed = in.getInt();
+        int baseCount = base != null ? base.count : 0;
+        NetSnapshot snapshot = new NetSnapshot(tick, width, height, tiles, baseCount + changed);
+        int b = 0;
+        int removedIndex = 0;
+        previousId = 0;
+        for (int c = 0; c < changed; c++) {
+            int id = previousId + NetProtocol.getVarInt(in);
+            previousId = id;
+            byte kind = in.get();
+            char x = in.getChar();
+            char y = in.getChar();
+            byte state = in.get();
+            // Keep the base entities before this one, unless they were removed
+            while (b < baseCount && base.ids[b] < id) {
+                removedIndex = copyUnlessRemoved(base, b++, removedIds, removedIndex, snapshot);
+            }
+            if (b < baseCount && base.ids[b] == id) {
+                b++; // Replaced by the changed entry
+            }
+            snapshot.add(id, kind, x, y, state);
+        }
+        while (b < baseCount) {
+            removedIndex = copyUnlessRemoved(base, b++, removedIds, removedIndex, snapshot);
+        }
+        return snapshot;
+    }
+
+    private static int copyUnlessRemoved(NetSnapshot base, int b, int[] removedIds, int removedIndex, NetSnapshot into) {
+        while (removedIndex < removedIds.length && removedIds[removedIndex] < base.ids[b]) {
+            removedIndex++;
+        }
+        if (removedIndex < removedIds.length && removedIds[removedIndex] == base.ids[b]) {
+            return removedIndex + 1;
+        }
+        into.add(base.ids[b], base.kinds[b], base.xs[b], base.ys[b], base.states[b]);
+        return removedIndex;
+    }
+
+    public int getTick() {
+        return tick;
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    /**
+     * @param x X-coordinate (in tiles).
+     * @param y Y-coordinate (in tiles).
+     * @return The tile code, as returned by {@link GameMap#getTileCode}.
+     */
+    public byte getTile(int x, int y) {
+        return tiles[y * width + x];
+    }
+
+    public int getEntityCount() {
+        return count;
+    }
+
+    public int getId(int index) {
+        return ids[index];
+    }
+
+    public byte getKind(int index) {
+        return kinds[index];
+    }
+
+    public float getX(int index) {
+        return xs[index] / POSITION_SCALE;
+    }
+
+    public float getY(int index) {
+        return ys[index] / POSITION_SCALE;
+    }
+
+    public byte getState(int index) {
+        return states[index];
+    }
+
+    /**
+     * @param playerIndex the index of the player on the map
+     * @return the index of the player among the entities, or -1 if the player is dead
+     */
+    public int indexOfPlayer(int playerIndex) {
+        for (int i = 0; i < count; i++) {
+            if (kinds[i] == KIND_PLAYER && (states[i] & 0x0F) == playerIndex) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * @param index the index of a player among the entities
+     * @return the player's speed multiplier
+     */
+    public float getSpeedMultiplier(int index) {
+        return ((states[index] >> 4) & 0x0F) / 4f;
+    }
+}
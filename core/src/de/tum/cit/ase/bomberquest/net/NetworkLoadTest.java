@@ -0,0 +1,176 @@
+package de.tum.cit.ase.bomberquest.net;
+
+import com.badlogic.gdx.Gdx;
+import de.tum.cit.ase.bomberquest.BomberQuestGame;
+import de.tum.cit.ase.bomberquest.bot.LatencyHistogram;
+import de.tum.cit.ase.bomberquest.input.InputSource;
+import de.tum.cit.ase.bomberquest.map.FixedTimestep;
+import de.tum.cit.ase.bomberquest.map.GameMap;
+import de.tum.cit.ase.bomberquest.replay.Replay;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs a {@link GameServer} with many matches at once in real time, with clients in this process that walk
+ * around at random, to see how many matches one server process keeps up with.
+ *
+ * The clients talk to the server over a {@link LoopbackTransport}, or over UDP on the loopback interface.
+ * At the end, the time per server step is logged next to the budget of one simulation step, with the
+ * bandwidth, the size of the snapshots and how far the clients' predictions were off.
+ */
+public final class NetworkLoadTest {
+
+    /**
+     * What to run.
+     *
+     * @param matches         the number of matches
+     * @param playersPerMatch the number of clients in each match
+     * @param udp             true to connect the clients over UDP, false for the loopback transport
+     * @param mapPath         the map of all matches, a map file or the path of a generated arena
+     * @param seconds         how long to run
+     */
+    public record Settings(int matches, int playersPerMatch, boolean udp, String mapPath, float seconds) {
+    }
+
+    private static final long STEP_NANOS = Math.round(FixedTimestep.SIMULATION_STEP * 1_000_000_000.0);
+
+    /**
+     * Walks in one random direction for a while, now and then places a bomb. Much cheaper than a
+     * {@link de.tum.cit.ase.bomberquest.bot.BotPlayer}, which needs the map the clients do not have.
+     */
+    private static final class RandomWalk implements InputSource {
+
+        private static final int[] MOVES = {Replay.MOVE_UP, Replay.MOVE_DOWN, Replay.MOVE_LEFT, Replay.MOVE_RIGHT, 0};
+
+        private final SplittableRandom random;
+        private int move = 0;
+        private int stepsLeft = 0;
+
+        RandomWalk(long seed) {
+            this.random = new SplittableRandom(seed);
+        }
+
+        @Override
+        public int nextInput(GameMap map, long stepTime) {
+            if (--stepsLeft <= 0) {
+                move = MOVES[random.nextInt(MOVES.length)];
+                stepsLeft = 20 + random.nextInt(60);
+            }
+            return random.nextInt(600) == 0 ? move | Replay.PLACE_BOMB : move;
+        }
+    }
+
+    private NetworkLoadTest() {
+    }
+
+    /**
+     * Runs the server and its clients for the given time and logs the results.
+     *
+     * @param game     the main game instance, used for the map file lookup
+     * @param settings the matches to run
+     */
+    public static void run(BomberQuestGame game, Settings settings) {
+        int threads = Runtime.getRuntime().availableProcessors();
+        Gdx.app.log("NetTest", String.format("Running %d matches of %d players on %s over %s with %d threads",
+                settings.matches(), settings.playersPerMatch(), settings.mapPath(),
+                settings.udp() ? "UDP" : "loopback", threads));
+
+        LoopbackTransport.Network network = new LoopbackTransport.Network();
+        List<GameClient> clients = new ArrayList<>();
+        Transport serverTransport = null;
+        GameServer server;
+        try {
+            serverTransport = settings.udp() ? new UdpTransport(0) : network.open();
+            server = new GameServer(game, new GameServer.Settings(settings.mapPath(), settings.playersPerMatch(),
+                    settings.seconds() + 60, threads, settings.matches()), serverTransport);
+            for (int match = 1; match <= settings.matches(); match++) {
+                for (int player = 0; player < settings.playersPerMatch(); player++) {
+                    Transport transport = settings.udp() ? new UdpTransport(0) : network.open();
+                    clients.add(new GameClient(transport, serverTransport.getLocalAddress(), match,
+                            new RandomWalk((long) match * settings.playersPerMatch() + player)));
+                }
+            }
+        } catch (IOException e) {
+            Gdx.app.error("NetTest", "Failed to open the transports", e);
+            clients.forEach(GameClient::close);
+            if (serverTransport != null) {
+                serverTransport.close();
+            }
+            return;
+        }
+
+        // All clients step on one thread, at the same rate as the server
+        ScheduledExecutorService clientLoop = Executors.newSingleThreadScheduledExecutor();
+        server.start();
+        clientLoop.scheduleAtFixedRate(() -> {
+            try {
+                long now = System.nanoTime();
+                for (GameClient client : clients) {
+                    client.nextInput(null, now);
+                }
+            } catch (Throwable e) {
+                Gdx.app.error("NetTest", "Client step failed", e); // Thrown on, it would cancel the loop
+            }
+        }, 0, STEP_NANOS, TimeUnit.NANOSECONDS);
+
+        try {
+            Thread.sleep((long) (settings.seconds() * 1000));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        clientLoop.shutdown();
+        try {
+            clientLoop.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        server.stop();
+        int runningMatches = server.getRunningMatchCount();
+        server.close();
+        log(settings, server, clients, runningMatches);
+        clients.forEach(GameClient::close);
+    }
+
+    private static void log(Settings settings, GameServer server, List<GameClient> clients, int runningMatches) {
+        int connected = 0;
+        int rejected = 0;
+        long bytesReceived = 0;
+        double errorSum = 0;
+        int errorClients = 0;
+        float maxError = 0;
+        for (GameClient client : clients) {
+            connected += client.isConnected() ? 1 : 0;
+            rejected += client.isRejected() ? 1 : 0;
+            bytesReceived += client.getBytesReceived();
+            if (client.getPredictionChecks() > 0) {
+                errorSum += client.getMeanPredictionError();
+                errorClients++;
+            }
+            maxError = Math.max(maxError, client.getMaxPredictionError());
+        }
+
+        LatencyHistogram tickTimes = server.getTickTimes();
+        LatencyHistogram snapshotSizes = server.getSnapshotSizes();
+        double seconds = settings.seconds();
+        Gdx.app.log("NetTest", String.format("%d of %d clients connected, %d rejected, %d matches still running at the end",
+                connected, clients.size(), rejected, runningMatches));
+        Gdx.app.log("NetTest", String.format("Server step: p50 %.3f ms, p99 %.3f ms, p99.9 %.3f ms, max %.3f ms (budget %.3f ms), %d steps",
+                tickTimes.getPercentile(0.5) / 1e6, tickTimes.getPercentile(0.99) / 1e6,
+                tickTimes.getPercentile(0.999) / 1e6, tickTimes.getMax() / 1e6, STEP_NANOS / 1e6,
+                tickTimes.getCount()));
+        Gdx.app.log("NetTest", String.format("Sent %.1f kB/s in total, %.2f kB/s per client, %d B received by the clients",
+                server.getBytesSent() / seconds / 1000, server.getBytesSent() / seconds / 1000 / Math.max(1, connected),
+                bytesReceived));
+        Gdx.app.log("NetTest", String.format("Snapshot size: p50 %d B, p99 %d B, max %d B, %d snapshots",
+                snapshotSizes.getPercentile(0.5), snapshotSizes.getPercentile(0.99), snapshotSizes.getMax(),
+                snapshotSizes.getCount()));
+        Gdx.app.log("NetTest", String.format("Prediction error: mean %.3f tiles, max %.3f tiles",
+                errorClients > 0 ? errorSum / errorClients : 0, maxError));
+    }
+}
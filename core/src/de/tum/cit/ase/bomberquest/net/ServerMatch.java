@@ -0,0 +1,268 @@
+package de.tum.cit.ase.bomberquest.net;
+
+import com.badlogic.gdx.Gdx;
+import de.tum.cit.ase.bomberquest.bot.LatencyHistogram;
+import de.tum.cit.ase.bomberquest.map.FixedTimestep;
+import de.tum.cit.ase.bomberquest.map.GameMap;
+import de.tum.cit.ase.bomberquest.replay.Replay;
+
+import java.net.SocketAddress;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * One match of the {@link GameServer}: a headless map that is stepped like the game screen steps it, with
+ * the input of every client applied to its own player.
+ *
+ * Inputs are applied in the order of their sequence numbers, one per step. When the next input of a client
+ * has not arrived yet, its last movement is repeated, so a late packet makes the player drift on rather
+ * than stop. Every {@value NetProtocol#SNAPSHOT_INTERVAL} steps a {@link NetSnapshot} is taken and sent to
+ * each client as the difference to the newest snapshot the client confirmed.
+ *
+ * A match is only used by one thread at a time: the server's event loop hands it the packets, then one
+ * of the workers steps it.
+ */
+final class ServerMatch {
+
+    private static final int HISTORY = 64;             // Snapshots kept as bases for the deltas, about 3 seconds
+    private static final int INPUT_BUFFER = 64;        // Inputs kept per client, by sequence number
+    private static final int MAX_INPUT_DELAY = 8;      // Steps a client's inputs may queue up before old ones are skipped
+    private static final int CLIENT_TIMEOUT = 10 * 60; // Steps without a packet before a client is dropped
+    private static final int LINGER_STEPS = 2 * 60;    // Steps the final snapshot is still sent after the match ended
+
+    private static final int MOVEMENT = Replay.MOVE_UP | Replay.MOVE_DOWN | Replay.MOVE_LEFT | Replay.MOVE_RIGHT;
+
+    private static final class Client {
+        final SocketAddress address;
+        final int playerIndex;
+        final byte[] inputs = new byte[INPUT_BUFFER]; // By sequence number modulo the size
+        int newestSequence = -1;
+        int appliedSequence = -1;
+        int lastInput = 0;
+        int ackedTick = -1;
+        int lastHeard;
+
+        Client(SocketAddress address, int playerIndex, int tick) {
+            this.address = address;
+            this.playerIndex = playerIndex;
+            this.lastHeard = tick;
+        }
+    }
+
+    private final int id;
+    private final GameMap map;
+    private final int maxPlayers;
+    private final float timeLeft;
+    private final List<Client> clients = new ArrayList<>();
+    private final NetSnapshot[] history = new NetSnapshot[HISTORY];
+    private final ByteBuffer out = ByteBuffer.allocate(NetProtocol.MAX_PACKET_SIZE);
+    private final LatencyHistogram snapshotSizes = new LatencyHistogram();
+    private final List<SocketAddress> droppedClients = new ArrayList<>(); // Until the event loop takes them
+
+    private int tick = 0;
+    private float remainingTime;
+    private int stepsSinceEnd = 0;
+    private long bytesSent = 0;
+
+    /**
+     * @param id         the id the clients ask for in their HELLO
+     * @param map        the map of the match, made headless here
+     * @param maxPlayers the number of clients that can join
+     * @param timeLeft   the level time in seconds
+     */
+    ServerMatch(int id, GameMap map, int maxPlayers, float timeLeft) {
+        this.id = id;
+        this.map = map;
+        this.maxPlayers = maxPlayers;
+        this.timeLeft = timeLeft;
+        this.remainingTime = timeLeft;
+        map.setHeadless(true);
+    }
+
+    /**
+     * Lets a client join, or welcomes it again if its WELCOME was lost. The first client steers the player
+     * the map was loaded with, every further client gets a new player.
+     *
+     * @param transport the transport to answer on
+     * @param address   the address of the client
+     * @return true if the client is in the match, false if the match is full or over
+     */
+    boolean join(Transport transport, SocketAddress address) {
+        Client client = findClient(address);
+        if (client == null) {
+            if (clients.size() >= maxPlayers || map.isFinished()) {
+                return false;
+            }
+            int playerIndex = clients.isEmpty() ? 0 : map.addPlayer();
+            client = new Client(address, playerIndex, tick);
+            clients.add(client);
+            Gdx.app.log("GameServer", "Client " + address + " joined match " + id + " as player " + playerIndex);
+        }
+        client.lastHeard = tick;
+
+        out.clear();
+        out.put(NetProtocol.WELCOME);
+        NetProtocol.putVarInt(out, client.playerIndex);
+        NetProtocol.putString(out, map.getMapPath());
+        out.putLong(map.getSeed());
+        out.putFloat(timeLeft);
+        send(transport, client.address);
+        return true;
+    }
+
+    /**
+     * Takes the inputs of an INPUT packet, read up to after its type. Inputs that were already applied
+     * are skipped.
+     */
+    void onInput(SocketAddress address, ByteBuffer packet) {
+        Client client = findClient(address);
+        if (client == null) {
+            return;
+        }
+        client.lastHeard = tick;
+        client.ackedTick = Math.max(client.ackedTick, NetProtocol.getVarInt(packet) - 1);
+        int newest = NetProtocol.getVarInt(packet);
+        int count = Math.min(packet.get() & 0xFF, NetProtocol.INPUT_REDUNDANCY);
+        for (int i = 0; i < count; i++) {
+            int sequence = newest - count + 1 + i;
+            byte input = packet.get();
+            if (sequence > client.appliedSequence) {
+                client.inputs[Math.floorMod(sequence, INPUT_BUFFER)] = input;
+            }
+        }
+        client.newestSequence = Math.max(client.newestSequence, newest);
+    }
+
+    /**
+     * Advances the match by one simulation step and sends a snapshot if one is due.
+     *
+     * @param transport the transport to send the snapshots on
+     */
+    void step(Transport transport) {
+        tick++;
+        if (map.isFinished()) {
+            stepsSinceEnd++;
+        } else {
+            map.tick(FixedTimestep.SIMULATION_STEP);
+            for (Client client : clients) {
+                map.applyPlayerInput(client.playerIndex, nextInput(client), FixedTimestep.SIMULATION_STEP);
+            }
+            remainingTime -= FixedTimestep.SIMULATION_STEP;
+            if (remainingTime <= 0 && !map.isFinished()) {
+                map.endGame(false);
+            }
+        }
+        clients.removeIf(client -> {
+            boolean silent = tick - client.lastHeard > CLIENT_TIMEOUT;
+            if (silent) {
+                Gdx.app.log("GameServer", "Client " + client.address + " of match " + id + " timed out");
+                if (!map.isFinished()) {
+                    map.removePlayer(client.playerIndex); // Nobody steers it any more
+                }
+                droppedClients.add(client.address);
+            }
+            return silent;
+        });
+        if (tick % NetProtocol.SNAPSHOT_INTERVAL == 0) {
+            sendSnapshots(transport);
+        }
+    }
+
+    private int nextInput(Client client) {
+        if (client.newestSequence - client.appliedSequence > MAX_INPUT_DELAY) {
+            client.appliedSequence = client.newestSequence - MAX_INPUT_DELAY;
+        }
+        if (client.appliedSequence < client.newestSequence) {
+            client.appliedSequence++;
+            client.lastInput = client.inputs[Math.floorMod(client.appliedSequence, INPUT_BUFFER)];
+            return client.lastInput;
+        }
+        return client.lastInput & MOVEMENT; // Bombs and arrows are not repeated
+    }
+
+    private void sendSnapshots(Transport transport) {
+        NetSnapshot snapshot = NetSnapshot.capture(map, tick);
+        history[slot(tick)] = snapshot;
+        byte state = !map.isFinished() ? NetProtocol.RUNNING : map.isWon() ? NetProtocol.WON : NetProtocol.LOST;
+
+        for (Client client : clients) {
+            NetSnapshot base = client.ackedTick >= 0 ? history[slot(client.ackedTick)] : null;
+            if (base != null && base.getTick() != client.ackedTick) {
+                base = null; // Too old, the slot was taken by a newer snapshot
+            }
+            out.clear();
+            try {
+                out.put(NetProtocol.SNAPSHOT);
+                NetProtocol.putVarInt(out, tick);
+                NetProtocol.putVarInt(out, base != null ? base.getTick() + 1 : 0);
+                NetProtocol.putVarInt(out, client.appliedSequence + 1);
+                out.put(state);
+                snapshot.writeDelta(base, out);
+            } catch (BufferOverflowException e) {
+                Gdx.app.error("GameServer", "Snapshot of match " + id + " does not fit into a packet");
+                continue;
+            }
+            snapshotSizes.record(out.position());
+            send(transport, client.address);
+        }
+    }
+
+    private static int slot(int tick) {
+        return tick / NetProtocol.SNAPSHOT_INTERVAL % HISTORY;
+    }
+
+    private void send(Transport transport, SocketAddress address) {
+        out.flip();
+        bytesSent += out.remaining();
+        transport.send(address, out);
+    }
+
+    private Client findClient(SocketAddress address) {
+        for (Client client : clients) {
+            if (client.address.equals(address)) {
+                return client;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Hands the clients that timed out since the last call to the event loop, so it forgets their addresses.
+     * A dropped client that says HELLO again joins as a new player.
+     *
+     * @return the addresses of the dropped clients
+     */
+    List<SocketAddress> takeDroppedClients() {
+        if (droppedClients.isEmpty()) {
+            return List.of();
+        }
+        List<SocketAddress> dropped = List.copyOf(droppedClients);
+        droppedClients.clear();
+        return dropped;
+    }
+
+    /**
+     * @return true once the match ended and the clients had time to receive its end, or all clients left
+     */
+    boolean isDone() {
+        return stepsSinceEnd > LINGER_STEPS || (clients.isEmpty() && tick > 0);
+    }
+
+    void dispose() {
+        map.getWorld().dispose();
+    }
+
+    int getId() {
+        return id;
+    }
+
+    long getBytesSent() {
+        return bytesSent;
+    }
+
+    LatencyHistogram getSnapshotSizes() {
+        return snapshotSizes;
+    }
+}
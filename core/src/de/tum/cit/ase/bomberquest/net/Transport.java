@@ -0,0 +1,51 @@
+package de.tum.cit.ase.bomberquest.net;
+
+import java.io.Closeable;
+import java.net.SocketAddress;
+import java.nio.ByteBuffer;
+
+/**
+ * Sends and receives datagrams: packets that arrive whole or not at all, possibly out of order.
+ *
+ * The {@link GameServer} and the {@link GameClient} only talk through this interface, so a match can run
+ * in one process over a {@link LoopbackTransport} or between processes over a {@link UdpTransport}.
+ * Neither sending nor receiving blocks.
+ */
+public interface Transport extends Closeable {
+
+    /**
+     * Receives the packets taken from the transport.
+     */
+    interface Handler {
+        /**
+         * @param from   the address of the sender, to send the answer to
+         * @param packet the packet, only valid during the call
+         */
+        void onPacket(SocketAddress from, ByteBuffer packet);
+    }
+
+    /**
+     * @return the address other transports send to to reach this one
+     */
+    SocketAddress getLocalAddress();
+
+    /**
+     * Sends the remaining bytes of a buffer as one packet. A packet that cannot be sent is dropped,
+     * like one lost on the way. May be called from several threads at once.
+     *
+     * @param to     the address of the receiver
+     * @param packet the packet
+     */
+    void send(SocketAddress to, ByteBuffer packet);
+
+    /**
+     * Hands every packet that arrived since the last call to the handler. Only called from one thread.
+     *
+     * @param handler the receiver of the packets
+     * @return the number of packets received
+     */
+    int receive(Handler handler);
+
+    @Override
+    void close();
+}
@@ -0,0 +1,86 @@
+package de.tum.cit.ase.bomberquest.net;
+
+import com.badlogic.gdx.Gdx;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.DatagramChannel;
+
+/**
+ * A {@link Transport} over UDP, on a non-blocking datagram channel.
+ */
+public class UdpTransport implements Transport {
+
+    private final DatagramChannel channel;
+    private final ByteBuffer receiveBuffer = ByteBuffer.allocate(NetProtocol.MAX_PACKET_SIZE);
+
+    /**
+     * Opens a transport on a port of the loopback interface, for matches on this machine.
+     *
+     * @param port the port, or 0 for any free port
+     * @throws IOException if the port cannot be bound
+     */
+    public UdpTransport(int port) throws IOException {
+        this(new InetSocketAddress(InetAddress.getLoopbackAddress(), port));
+    }
+
+    /**
+     * @param bindAddress the local address to receive on
+     * @throws IOException if the address cannot be bound
+     */
+    public UdpTransport(InetSocketAddress bindAddress) throws IOException {
+        this.channel = DatagramChannel.open();
+        channel.configureBlocking(false);
+        channel.bind(bindAddress);
+    }
+
+    @Override
+    public SocketAddress getLocalAddress() {
+        try {
+            return channel.getLocalAddress();
+        } catch (IOException e) {
+            throw new IllegalStateException("Transport is closed", e);
+        }
+    }
+
+    @Override
+    public void send(SocketAddress to, ByteBuffer packet) {
+        try {
+            channel.send(packet, to);
+        } catch (IOException e) {
+            Gdx.app.error("UdpTransport", "Failed to send a packet to " + to, e);
+        }
+    }
+
+    @Override
+    public int receive(Handler handler) {
+        int count = 0;
+        try {
+            while (true) {
+                receiveBuffer.clear();
+                SocketAddress from = channel.receive(receiveBuffer);
+                if (from == null) {
+                    return count;
+                }
+                receiveBuffer.flip();
+                handler.onPacket(from, receiveBuffer);
+                count++;
+            }
+        } catch (IOException e) {
+            Gdx.app.error("UdpTransport", "Failed to receive", e);
+            return count;
+        }
+    }
+
+    @Override
+    public void close() {
+        try {
+            channel.close();
+        } catch (IOException e) {
+            Gdx.app.error("UdpTransport", "Failed to close", e);
+        }
+    }
+}
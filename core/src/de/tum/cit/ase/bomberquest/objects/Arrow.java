@@ -1,9 +1,10 @@
 package de.tum.cit.ase.bomberquest.objects;
 
-import com.badlogic.gdx.Gdx;
-import com.badlogic.gdx.audio.Sound;
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.physics.box2d.*;
+import de.tum.cit.ase.bomberquest.audio.SoundEffect;
+import de.tum.cit.ase.bomberquest.map.GameMap;
+import de.tum.cit.ase.bomberquest.map.TimerWheel;
 import de.tum.cit.ase.bomberquest.textures.Drawable;
 import de.tum.cit.ase.bomberquest.textures.Textures;
 
@@ -24,19 +25,19 @@ public class Arrow extends GameObject implements Drawable {
     private final float speed = 10f;  // Arrow speed
 
     /**
-     * The remaining lifetime of the arrow before it disappears.
+     * The lifetime of the arrow before it disappears, until the lifetime timer is started.
      */
     private float arrowLifetime = 3f;   // arrow disappears after 3 sec
 
     /**
-     * Indicates whether the arrow is marked for removal from the game.
+     * Removes the arrow when its lifetime is over.
      */
-    private boolean markedForRemoval = false;
+    private TimerWheel.Timer lifetimeTimer;
 
     /**
-     * The sound played when the arrow is fired.
+     * Indicates whether the arrow is marked for removal from the game.
      */
-    private static final Sound arrowSound = Gdx.audio.newSound(Gdx.files.internal("assets/audio/arrowSound.mp3"));
+    private boolean markedForRemoval = false;
 
     /**
      * Marks the arrow for removal from the game, scheduling it to be deleted
@@ -133,14 +134,12 @@ public TextureRegion getCurrentAppearance() {
     }
 
     /**
-     * Updates the state of the arrow based on the elapsed time.
-     * Decreases the arrow's lifetime and marks it for removal if its lifetime has expired.
+     * Starts the lifetime of the arrow. The arrow is marked for removal when the timer fires.
      *
-     * @param deltaTime the time elapsed since the last update
+     * @param timers the timers of the map the arrow flies in
      */
-    public void update(float deltaTime) {
-        arrowLifetime -= deltaTime;
-        if (arrowLifetime <= 0) markForRemoval();
+    public void startLifetime(TimerWheel timers) {
+        lifetimeTimer = timers.schedule(arrowLifetime, this::markForRemoval);
     }
 
     /**
@@ -163,10 +162,27 @@ public void destroyBody() {
         }
     }
 
+    public Player.PlayerDirection getDirection() {
+        return direction;
+    }
+
+    public float getLifetime() {
+        return lifetimeTimer != null ? lifetimeTimer.getRemaining() : arrowLifetime;
+    }
+
+    /**
+     * Sets the lifetime of an arrow whose lifetime has not been started yet, e.g. when restoring a snapshot.
+     */
+    public void setLifetime(float lifetime) {
+        this.arrowLifetime = lifetime;
+    }
+
     /**
      * Plays the sound effect associated with firing the arrow.
+     *
+     * @param map The map the arrow was fired on.
      */
-    public void playSound(){
-        arrowSound.play();
+    public void playSound(GameMap map) {
+        map.playSound(SoundEffect.ARROW, getX(), getY());
     }
 }
@@ -1,25 +1,22 @@
 package de.tum.cit.ase.bomberquest.objects;
 
-import com.badlogic.gdx.Gdx;
-import com.badlogic.gdx.audio.Sound;
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
-import com.badlogic.gdx.math.Vector2;
 import com.badlogic.gdx.physics.box2d.*;
+import de.tum.cit.ase.bomberquest.audio.SoundEffect;
 import de.tum.cit.ase.bomberquest.bonusFeatures.Score;
 import de.tum.cit.ase.bomberquest.map.GameMap;
+import de.tum.cit.ase.bomberquest.map.TimerWheel;
 import de.tum.cit.ase.bomberquest.textures.Animations;
 import de.tum.cit.ase.bomberquest.textures.Drawable;
 
-import java.util.Iterator;
-
 /**
  * The Bomb class represents a bomb in the game.
  * It handles the bomb's timer, explosion effects, and interactions with the game map.
  */
 public class Bomb extends GameObject implements Drawable {
 
-    // Time left before the bomb explodes
-    private float remainingTime;
+    // Fires when the bomb explodes
+    private TimerWheel.Timer fuse;
 
     // The radius of the explosion (how far it affects tiles)
     private float radius;
@@ -27,8 +24,8 @@ public class Bomb extends GameObject implements Drawable {
     // Whether the bomb has already exploded
     private boolean hasExploded;
 
-    // Time elapsed since the bomb was placed (used for animations)
-    private float elapsedTime;
+    // Time of the map clock when the bomb was placed (used for animations)
+    private float placedAt;
 
     // Variables to save position before destroying the body
     private float savedX, savedY;
@@ -36,14 +33,15 @@ public class Bomb extends GameObject implements Drawable {
     // Reference to the game map for applying effects
     private final GameMap gameMap;
 
-    // Sound effect for the explosion
-    private static final Sound explosionSound = Gdx.audio.newSound(Gdx.files.internal("assets/audio/explosionSound.mp3"));
-
-    private float explosionTimer = Animations.BOMB_CENTER_EXPLOSION.getAnimationDuration();
-    private boolean explosionInitialized = false;
+    // Fires when the explosion animation of the bomb is over
+    private TimerWheel.Timer explosionEnd;
+    private boolean explosionFinished = false;
 
     private Score score;
 
+    // The player who placed the bomb, whose bomb limit it counts against until it explodes
+    private Player owner;
+
     /**
      * Creates a new bomb object.
      * @param world The Box2D world the bomb exists in.
@@ -57,8 +55,7 @@ public Bomb(World world, float tileX, float tileY, float radius, GameMap gameMap
         this.radius = radius;
         this.gameMap = gameMap;
         this.hasExploded = false; // The bomb hasn't exploded yet.
-        this.remainingTime = 0f; // Timer starts at 0 (not yet counting down).
-        this.elapsedTime = 0; // Used for animation purposes.
+        this.placedAt = gameMap.getTimers().getTime(); // Used for animation purposes.
         this.score = score;
     }
 
@@ -83,13 +80,28 @@ protected void createHitbox(World world, float tileX, float tileY) {
 
     public void startTimer() {
         if (hasExploded) return;
-        this.remainingTime = 3f; // Bomb explodes after 3 seconds
+        startFuse(3f); // Bomb explodes after 3 seconds
+    }
+
+    private void startFuse(float seconds) {
+        if (fuse != null) {
+            fuse.cancel();
+        }
+        fuse = gameMap.getTimers().schedule(seconds, this::explode);
+        gameMap.getDanger().addBlast(this, seconds);
+    }
+
+    private void startExplosionEnd(float seconds) {
+        explosionEnd = gameMap.getTimers().schedule(seconds, () -> {
+            explosionFinished = true;
+            gameMap.removeBomb(this);
+        });
     }
 
     public void explode() {
         if (hasExploded) return;
         hasExploded = true;
-        explosionSound.play();
+        gameMap.playSound(SoundEffect.EXPLOSION, getX(), getY());
 
 
         // Save the position before destroying the body
@@ -97,39 +109,20 @@ public void explode() {
         savedY = getY();
 
         affectArea();
+        gameMap.getDanger().removeBlast(this);
+        if (owner != null) {
+            owner.bombExploded();
+        }
 
         if (body != null) {
             body.getWorld().destroyBody(body);
             body = null; // Nullify the body
         }
 
-        explosionTimer = 0.4f; // Keep the bomb around for the animation
-    }
-
-    public void update(float deltaTime) {
-        // 1) Countdown to explosion
-        if (remainingTime > 0) {
-            remainingTime -= deltaTime;
-            if (remainingTime <= 0) {
-                explode();
-            }
-        }
-
-        // 2) If bomb has exploded, handle the explosion-lifespan timer
-        if (hasExploded) {
-            // Spawn the plus-shape explosion tiles only once
-            if (!explosionInitialized) {
-                spawnExplosionTiles();
-                explosionInitialized = true;
-            }
-
-            // Decrement the bomb's own animation timer
-            if (explosionTimer > 0) {
-                explosionTimer -= deltaTime;
-            }
-        }
+        // Spawn the plus-shape explosion tiles
+        spawnExplosionTiles();
 
-        elapsedTime += deltaTime;
+        startExplosionEnd(ExplosionTile.DURATION); // Keep the bomb around for the animation
     }
 
     // The main explosion logic
@@ -148,31 +141,47 @@ private void affectArea() {
     }
 
     private void checkDirection(int startX, int startY, int dx, int dy) {
-        for (int i = 1; i <= radius; i++) {
-            int checkX = startX + i * dx;
-            int checkY = startY + i * dy;
-
-            // If we hit a wall, stop
-            boolean shouldStop = applyExplosionEffects(checkX, checkY);
-            if (shouldStop) break;
+        int reach = getBlastReach(dx, dy);
+        for (int i = 1; i <= reach; i++) {
+            applyExplosionEffects(startX + i * dx, startY + i * dy);
         }
     }
 
-    private boolean applyExplosionEffects(int tileX, int tileY) {
-        if (destroyWalls(tileX, tileY)) return true;
+    /**
+     * Counts the tiles the explosion reaches in one direction: up to the radius, stopping in front of
+     * the first indestructible wall. Destructible walls do not stop it. Also used by the danger map,
+     * so enemies avoid exactly the tiles that will be hit.
+     *
+     * @param dx The x-direction (-1, 0 or 1).
+     * @param dy The y-direction (-1, 0 or 1).
+     * @return The number of tiles reached, not counting the bomb's own tile.
+     */
+    public int getBlastReach(int dx, int dy) {
+        int startX = (int) Math.floor(getX());
+        int startY = (int) Math.floor(getY());
+        int reach = 0;
+        for (int i = 1; i <= radius; i++) {
+            if (gameMap.isIndestructibleWall(startX + i * dx, startY + i * dy)) {
+                break;
+            }
+            reach = i;
+        }
+        return reach;
+    }
 
-        damagePlayerIfPresent(tileX, tileY);
-        damageEnemiesIfPresent(tileX, tileY);
+    private void applyExplosionEffects(int tileX, int tileY) {
+        destroyWalls(tileX, tileY);
 
-        return false;
+        // The player and enemies on the tile are hit, see GameMap#onExplosionHit
+        gameMap.getDamage().hitTile(tileX, tileY);
     }
 
-    private boolean destroyWalls(int tileX, int tileY) {
-        GameObject obj = gameMap.getObjectAt(tileX, tileY);
-
-        if (obj instanceof IndestructibleWall) {
-            return true; // stop
-        } else if (obj instanceof DestructibleWall destructibleWall) {
+    private void destroyWalls(int tileX, int tileY) {
+        if (!gameMap.isDestructibleWall(tileX, tileY)) {
+            return;
+        }
+        GameObject obj = gameMap.loadObjectAt(tileX, tileY);
+        if (obj instanceof DestructibleWall destructibleWall) {
 
             score.addPointsForWallDestroyed();
             System.out.println("Added points for wall destroyed");
@@ -181,37 +190,9 @@ private boolean destroyWalls(int tileX, int tileY) {
 
             if (destructibleWall.getPowerUpUnderneath() != null) {
                 // spawn powerup
-                gameMap.getMap().put(new Vector2(tileX, tileY),
+                gameMap.putObject(tileX, tileY,
                         new PowerUp(gameMap.getWorld(), tileX, tileY, destructibleWall.getPowerUpUnderneath()));
             }
-            return false; // keep expanding, since destructible walls do not block
-        }
-
-        return false;
-    }
-
-    private void damagePlayerIfPresent(int tileX, int tileY) {
-        int px = (int) Math.floor(gameMap.getPlayer().getX());
-        int py = (int) Math.floor(gameMap.getPlayer().getY());
-        if (px == tileX && py == tileY) {
-            gameMap.getGame().goToGameOver();
-        }
-    }
-
-    private void damageEnemiesIfPresent(int tileX, int tileY) {
-        Iterator<Enemy> it = gameMap.getEnemies().iterator();
-        while (it.hasNext()) {
-            Enemy e = it.next();
-            if (e.getBody() == null) continue;
-            int ex = (int) Math.floor(e.getX());
-            int ey = (int) Math.floor(e.getY());
-            if (ex == tileX && ey == tileY) {
-                e.getBody().getWorld().destroyBody(e.getBody());
-                e.setBody(null);
-                System.out.println("Added points for enemy killed");
-                score.addPointsForEnemyKilled();
-                it.remove();
-            }
         }
     }
 
@@ -232,17 +213,13 @@ private void spawnExplosionTiles() {
     }
 
     private void spawnDirectionalTiles(int startX, int startY, int dx, int dy) {
-        for (int i = 1; i <= radius; i++) {
+        // No tile is drawn from the first IndestructibleWall on,
+        // but the explosion still passes destroyed destructible walls
+        int reach = getBlastReach(dx, dy);
+        for (int i = 1; i <= reach; i++) {
             int tx = startX + i * dx;
             int ty = startY + i * dy;
 
-            // If we hit an IndestructibleWall, no tile is drawn
-            // If we destroy a destructible wall, we STILL want the explosion to pass
-            GameObject obj = gameMap.getObjectAt(tx, ty);
-            if (obj instanceof IndestructibleWall) {
-                break; // stop drawing further tiles
-            }
-
             boolean isEnd = (i == radius);
             ExplosionTile.Type type = pickTileType(dx, dy, isEnd);
             ExplosionTile tile = new ExplosionTile(gameMap, tx, ty, type);
@@ -275,19 +252,47 @@ private ExplosionTile.Type pickTileType(int dx, int dy, boolean isEnd) {
     public TextureRegion getCurrentAppearance() {
         // If not exploded, show bomb animation
         if (!hasExploded) {
-            return Animations.BOMB_GOING_OFF.getKeyFrame(this.elapsedTime, true);
+            return Animations.BOMB_GOING_OFF.getKeyFrame(getElapsedTime(), true);
         }
         // If exploded, optionally show a "center explosion" animation
-        return Animations.BOMB_CENTER_EXPLOSION.getKeyFrame(this.elapsedTime, false);
+        return Animations.BOMB_CENTER_EXPLOSION.getKeyFrame(getElapsedTime(), false);
     }
 
     public float getRadius() { return radius; }
     public void setRadius(float radius) { this.radius = radius; }
     public boolean isHasExploded() { return hasExploded; }
+    public Player getOwner() { return owner; }
+    public void setOwner(Player owner) { this.owner = owner; }
+    public float getRemainingTime() { return fuse != null ? fuse.getRemaining() : 0f; }
+    public float getElapsedTime() { return gameMap.getTimers().getTime() - placedAt; }
+    public float getExplosionTimer() { return explosionEnd != null ? explosionEnd.getRemaining() : 0f; }
+    public boolean isExplosionInitialized() { return hasExploded; } // The explosion tiles spawn with the explosion
+
+    /**
+     * Puts a freshly created bomb into the state it had when a snapshot was taken.
+     * An exploded bomb loses its body, like in {@link #explode()}, but keeps its position for the animation.
+     * Its explosion tiles are restored separately.
+     */
+    public void restoreState(float remainingTime, boolean hasExploded, float explosionTimer,
+                             boolean explosionInitialized, float elapsedTime) {
+        this.placedAt = gameMap.getTimers().getTime() - elapsedTime;
+        if (hasExploded) {
+            if (body != null) {
+                savedX = getX();
+                savedY = getY();
+                body.getWorld().destroyBody(body);
+                body = null;
+            }
+            startExplosionEnd(explosionTimer);
+        } else if (remainingTime > 0f) {
+            startFuse(remainingTime);
+        }
+        this.hasExploded = hasExploded;
+    }
 
-    // Use this in GameMap.bombs removal logic
+    // Set when the explosion animation is over, the bomb then removes itself from the map
     public boolean isExplosionFinished() {
-        return (hasExploded && explosionTimer <= 0);
+        return explosionFinished;
     }
 
     @Override
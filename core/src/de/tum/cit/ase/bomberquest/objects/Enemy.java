@@ -5,17 +5,24 @@
 import com.badlogic.gdx.physics.box2d.BodyDef;
 import com.badlogic.gdx.physics.box2d.CircleShape;
 import com.badlogic.gdx.physics.box2d.World;
-import de.tum.cit.ase.bomberquest.bonusFeatures.AStarPathFinder;
+import de.tum.cit.ase.bomberquest.bonusFeatures.TilePath;
+import de.tum.cit.ase.bomberquest.ecs.AiView;
+import de.tum.cit.ase.bomberquest.ecs.Brain;
+import de.tum.cit.ase.bomberquest.map.DangerMap;
 import de.tum.cit.ase.bomberquest.map.GameMap;
+import de.tum.cit.ase.bomberquest.map.TimerWheel;
 import de.tum.cit.ase.bomberquest.textures.Animations;
 import de.tum.cit.ase.bomberquest.textures.Drawable;
 
-import java.util.List;
-
 /**
  * Represents an enemy in the game.
+ *
+ * Near the players, an enemy is a body in the physics world and walks by its velocity. Far from them, where
+ * it is only updated every few steps or where the chunks are dormant and the walls have no bodies, it walks
+ * from tile to tile on the tile codes instead, with its body taken out of the physics world
+ * (see {@link #walkOnTiles}).
  */
-public class Enemy extends GameObject implements Drawable {
+public class Enemy extends GameObject implements Drawable, Brain {
 
     /** The elapsed time since the game started, used for animations. */
     private float elapsedTime;
@@ -28,8 +35,21 @@ public class Enemy extends GameObject implements Drawable {
 
     private boolean markedForRemoval = false;
 
+    // Chasing, decided in think() and carried out in apply()
+    private static final float CHASE_RANGE = 5f; // Distance in tiles from which the player is chased
+    private boolean chasing = false;
+    private float chaseSpeedBonus = 0f;
+    private final Vector2 chaseDirection = new Vector2();
+    private final TilePath path = new TilePath(); // Reused for every search, so chasing makes no garbage
+    private boolean wanderingIntoDanger = false; // The random direction leads into a bomb blast
+    private boolean onTiles = false; // Walks on the tile codes, without taking part in the physics step
+    private boolean coarse = false; // Far from the players, only updated every few steps
+    private boolean blocked = false; // The last walk on the tiles ran into a wall
+
     // Random wandering
-    private float randomWalkTimer = 0f; // Timer for how long to move in one random direction
+    private TimerWheel.Timer randomWalkTimer; // Runs while the enemy keeps moving in one random direction
+    private boolean randomWalkOver = true; // Set by the timer, a new direction is picked on the next step
+    private final Runnable endRandomWalk = () -> randomWalkOver = true;
     private Vector2 randomDirectionVector = new Vector2(0, 0); // Current random direction
     private final float MAX_RANDOM_DIRECTION_TIME = 2.0f; // Max time to move in one random direction
 
@@ -84,95 +104,201 @@ protected void createHitbox(World world, float tileX, float tileY) {
     }
 
     /**
-     * Updates the enemy's movement and animation based on elapsed time.
-     * @param deltaTime The time elapsed since the last frame.
+     * Decides whether to flee from a bomb, chase or hunt the player this step. Only reads the view,
+     * so enemies can think in parallel.
+     *
+     * @param view What the enemy may look at in this step.
+     * @param x    The x-coordinate of the enemy's center (in tiles).
+     * @param y    The y-coordinate of the enemy's center (in tiles).
      */
-    public void tick(float deltaTime) {
-        elapsedTime += deltaTime;
-
-        // 1) Safety checks
-        if (gameMap == null || gameMap.getPlayer() == null) {
-            body.setLinearVelocity(0, 0);
+    @Override
+    public void think(AiView view, float x, float y) {
+        chasing = false;
+
+        // 1) Get the enemy's current tile (floored, since paths are searched on tiles)
+        int ex = (int) Math.floor(x);
+        int ey = (int) Math.floor(y);
+
+        // 2) Get out of the blast of a bomb first, at chase speed
+        DangerMap danger = view.danger();
+        int escape = danger.findEscapeStep(view.walkability(), ex, ey);
+        if (escape >= 0) {
+            int width = view.walkability().getWidth();
+            chaseDirection.set(escape % width + 0.5f - x, escape / width + 0.5f - y).nor();
+            chaseSpeedBonus = 0.5f;
+            chasing = true;
             return;
         }
+        wanderingIntoDanger = danger.isDangerous(ex + Math.round(randomDirectionVector.x),
+                ey + Math.round(randomDirectionVector.y));
 
-        // 2) Get the enemy's current tile (floored, since A* works on tiles)
-        int ex = (int) Math.floor(getX());
-        int ey = (int) Math.floor(getY());
-
-        // 3) Get the player's exact position
-        float px = gameMap.getPlayer().getX();
-        float py = gameMap.getPlayer().getY();
+        // 3) Get the exact position of the closest player
+        int target = view.nearestTarget(x, y);
+        if (target < 0) {
+            return;
+        }
+        float px = view.targets()[target];
+        float py = view.targets()[target + 1];
 
         // 4) Calculate distance to player
-        float distToPlayer = new Vector2(getX(), getY()).dst(px, py);
-
-        // 5) Define the chase range in tiles
-        float chaseRange = 5f;
-
-        // 6) Only activate A* if the player is within the chase range
-        if (distToPlayer <= chaseRange) {
-            // Temporarily increase the speed by 1 while following the player
-            float originalSpeed = speed; // the original speed
-            speed += 0.5; // temporary speed boost
-
-            // Use A* to find a path to the player's current tile
-            List<Vector2> path = AStarPathFinder.calculatePath(
-                    gameMap,
-                    new Vector2(ex, ey),                 // Enemy's current tile
-                    new Vector2((int) Math.floor(px), (int) Math.floor(py)) // Player's current tile (fallback for pathfinding)
-            );
-
-            if (path.size() > 1) {
-                // Follow the next step in the path
-                Vector2 nextTile = path.get(1); // The next step in the path
-                Vector2 targetPos = new Vector2(nextTile.x + 0.5f, nextTile.y + 0.5f); // Center of the next tile
-                Vector2 currentPos = new Vector2(getX(), getY());
-
-                // Move toward the center of the tile
-                Vector2 direction = targetPos.sub(currentPos).nor(); // Calculate normalized direction
-                body.setLinearVelocity(direction.scl(speed)); // Use the boosted speed
-
-                // Reset the speed back to the original after applying the boost
-                speed = originalSpeed;
-
-                // Update animation direction based on velocity
-                updateAnimationDirection(direction.x, direction.y);
-                return;
+        float distToPlayer = Vector2.dst(x, y, px, py);
+
+        // 5) Only search for an exact path if the player is within the chase range
+        if (distToPlayer <= CHASE_RANGE) {
+            // Find a path from the enemy's tile to the player's current tile, around the bomb blasts
+            if (view.pathFinder().findPath(view.safeWalkability(), ex, ey,
+                    (int) Math.floor(px), (int) Math.floor(py), path) && path.size() > 1) {
+                // Move toward the center of the next tile in the path
+                chaseDirection.set(path.getX(1) + 0.5f - x, path.getY(1) + 0.5f - y).nor();
+                chaseSpeedBonus = 0.5f;
+                chasing = true;
+            }
+        } else {
+            // Further away, however far, follow the route on the abstract graph of the map at normal speed,
+            // unless the next step is into a blast. Distant enemies think rarely, see AiSystem
+            if (view.routes().findPath(ex, ey, (int) Math.floor(px), (int) Math.floor(py), path) && path.size() > 1
+                    && !danger.isDangerous(path.getX(1), path.getY(1))) {
+                chaseDirection.set(path.getX(1) + 0.5f - x, path.getY(1) + 0.5f - y).nor();
+                chaseSpeedBonus = 0f;
+                chasing = true;
             }
+        }
+    }
+
+    /**
+     * Applies the decision of {@link #think}: runs out of a blast or follows the path or route to the player,
+     * or falls back to random wandering if no path or route was found.
+     *
+     * @param deltaTime The time since the last update in seconds, several steps for distant enemies.
+     */
+    @Override
+    public void apply(float deltaTime) {
+        elapsedTime += deltaTime;
+
+        if (gameMap == null || gameMap.getPlayer() == null) {
+            body.setLinearVelocity(0, 0);
+            return;
+        }
+        setOnTiles(coarse || !gameMap.isAreaHydrated((int) Math.floor(getX()), (int) Math.floor(getY())));
 
-            // Reset the speed back to the original in case no path was found
-            speed = originalSpeed;
+        if (chasing) {
+            // Enemies are a bit faster while the player is close
+            move(chaseDirection.x, chaseDirection.y, speed + chaseSpeedBonus, deltaTime);
+            return;
         }
 
-        // 7) Fallback to random wandering if the player is out of range or no path was found
         doRandomWander(deltaTime);
     }
 
+    @Override
+    public void setCoarse(boolean coarse) {
+        this.coarse = coarse;
+    }
+
     /**
      * Moves the enemy in a random direction, changing direction every few seconds.
      */
     private void doRandomWander(float deltaTime) {
-        randomWalkTimer -= deltaTime;
-        if (randomWalkTimer <= 0) {
-            // Pick a new random direction
+        if (randomWalkOver || wanderingIntoDanger || blocked) {
+            // Pick a new random direction, also when the current one leads into a bomb blast or a wall
+            wanderingIntoDanger = false;
             pickRandomDirection();
-            // Reset timer
-            randomWalkTimer = MAX_RANDOM_DIRECTION_TIME;
+            startRandomWalk(MAX_RANDOM_DIRECTION_TIME);
         }
 
         // Move in that random direction
-        float speed = this.speed;
-        body.setLinearVelocity(randomDirectionVector.x * speed, randomDirectionVector.y * speed);
+        move(randomDirectionVector.x, randomDirectionVector.y, speed, deltaTime);
+    }
+
+    /**
+     * Starts the timer of a new random direction, replacing the one of the last direction if it still runs.
+     */
+    private void startRandomWalk(float seconds) {
+        if (randomWalkTimer != null) {
+            randomWalkTimer.cancel();
+        }
+        randomWalkOver = false;
+        randomWalkTimer = gameMap.getTimers().schedule(seconds, endRandomWalk);
+    }
+
+    /**
+     * Moves the enemy in a direction: by its velocity in the physics world, or straight away on the tiles.
+     */
+    private void move(float dx, float dy, float speed, float deltaTime) {
+        if (onTiles) {
+            blocked = !walkOnTiles(dx, dy, speed * deltaTime);
+        } else {
+            blocked = false;
+            body.setLinearVelocity(dx * speed, dy * speed);
+        }
+        updateAnimationDirection(dx, dy);
+    }
+
+    /**
+     * Takes the body out of the physics world while the enemy walks on the tiles, and puts it back once the
+     * walls around it have bodies again. Only called between physics steps.
+     */
+    private void setOnTiles(boolean onTiles) {
+        if (this.onTiles == onTiles) {
+            return;
+        }
+        this.onTiles = onTiles;
+        body.setLinearVelocity(0, 0);
+        body.setActive(!onTiles);
+    }
+
+    /**
+     * Walks along the main axis of a direction from tile center to tile center, over the tiles that are
+     * walkable by their codes. Cheap and needs no bodies of the walls, but does not touch anything on the way.
+     *
+     * @param dx       X component of the direction.
+     * @param dy       Y component of the direction.
+     * @param distance How far to walk (in tiles).
+     * @return False if a wall stopped the enemy at the center of its tile.
+     */
+    private boolean walkOnTiles(float dx, float dy, float distance) {
+        int stepX = 0;
+        int stepY = 0;
+        if (Math.abs(dx) >= Math.abs(dy)) {
+            stepX = (int) Math.signum(dx);
+        } else {
+            stepY = (int) Math.signum(dy);
+        }
+        if (stepX == 0 && stepY == 0) {
+            return true;
+        }
 
-        // Update animation direction
-        updateAnimationDirection(randomDirectionVector.x, randomDirectionVector.y);
+        float x = getX();
+        float y = getY();
+        boolean open = true;
+        while (distance > 0f) {
+            int tileX = (int) Math.floor(x);
+            int tileY = (int) Math.floor(y);
+            open = gameMap.isTileWalkable(tileX + stepX, tileY + stepY);
+            // The center of the next tile, or of this one if the way is blocked
+            float targetX = tileX + 0.5f + (open ? stepX : 0);
+            float targetY = tileY + 0.5f + (open ? stepY : 0);
+            float length = Vector2.dst(x, y, targetX, targetY);
+            if (length > distance) {
+                x += (targetX - x) / length * distance;
+                y += (targetY - y) / length * distance;
+                break;
+            }
+            x = targetX;
+            y = targetY;
+            distance -= length;
+            if (!open) {
+                break;
+            }
+        }
+        body.setTransform(x, y, 0f);
+        return open;
     }
 
     /** Chooses a random direction among up/down/left/right (or you can do fully any angle). */
     private void pickRandomDirection() {
         // Simple 4-direction approach:
-        int dir = (int) (Math.random() * 4);
+        int dir = gameMap.getRandom().nextInt(4); // Seeded by the map, so replays pick the same directions
         switch (dir) {
             case 0: randomDirectionVector.set(1, 0);  break; // right
             case 1: randomDirectionVector.set(-1, 0); break; // left
@@ -203,6 +329,28 @@ public void markForRemoval() {
         this.markedForRemoval = true;
     }
 
+    public float getRandomWalkTimer() {
+        return randomWalkTimer != null ? randomWalkTimer.getRemaining() : 0f;
+    }
+
+    public Vector2 getRandomDirection() {
+        return randomDirectionVector;
+    }
+
+    /**
+     * Restores the random wandering from a snapshot, so the enemy keeps walking the same way.
+     *
+     * @param timer Time left before a new random direction is picked.
+     * @param dx    X component of the current random direction.
+     * @param dy    Y component of the current random direction.
+     */
+    public void restoreRandomWalk(float timer, float dx, float dy) {
+        if (timer > 0f) {
+            startRandomWalk(timer);
+        }
+        randomDirectionVector.set(dx, dy);
+    }
+
     public boolean isMarkedForRemoval() {
         return markedForRemoval;
     }
@@ -2,6 +2,7 @@
 
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import de.tum.cit.ase.bomberquest.map.GameMap;
+import de.tum.cit.ase.bomberquest.map.TimerWheel;
 import de.tum.cit.ase.bomberquest.textures.Animations;
 import de.tum.cit.ase.bomberquest.textures.Drawable;
 
@@ -11,6 +12,12 @@
  */
 public class ExplosionTile implements Drawable {
 
+    /**
+     * How long an explosion lasts in seconds, the length of {@link Animations#BOMB_CENTER_EXPLOSION}.
+     * Kept as a number, so the simulation never loads the animations, also on threads without a GL context.
+     */
+    public static final float DURATION = 0.4f;
+
     /**
      * Defines the type of explosion tile, determining its appearance.
      */
@@ -31,8 +38,10 @@ public enum Type {
     private final int tileY;
     private final Type type;
 
-    private float elapsedTime = 0f;
-    private float duration = Animations.BOMB_CENTER_EXPLOSION.getAnimationDuration();
+    private float startTime; // Time of the map clock when the explosion started, drives the animation
+    private TimerWheel.Timer removalTimer;
+    private boolean finished = false;
+    private int entity = -1;
 
     /**
      * Constructs an ExplosionTile with the specified parameters.
@@ -47,21 +56,64 @@ public ExplosionTile(GameMap gameMap, int tileX, int tileY, Type type) {
         this.tileX = tileX;
         this.tileY = tileY;
         this.type = type;
+        this.startTime = gameMap.getTimers().getTime();
+        scheduleRemoval(DURATION);
+    }
+
+    /**
+     * Removes the tile from the map when the given time is over.
+     */
+    private void scheduleRemoval(float duration) {
+        if (removalTimer != null) {
+            removalTimer.cancel();
+        }
+        removalTimer = gameMap.getTimers().schedule(duration, () -> {
+            finished = true;
+            gameMap.removeExplosionTile(this);
+        });
+    }
+
+    public boolean isFinished() {
+        return finished;
     }
 
     /**
-     * Updates the state of the explosion tile based on the elapsed time.
+     * Restores the animation progress from a snapshot.
      *
-     * @param deltaTime the time elapsed since the last update
+     * @param elapsedTime the time since the explosion started
+     * @param duration    the time left until the tile disappears
      */
-    public void update(float deltaTime) {
-        elapsedTime += deltaTime;
-        duration -= deltaTime;
+    public void restoreTimers(float elapsedTime, float duration) {
+        this.startTime = gameMap.getTimers().getTime() - elapsedTime;
+        scheduleRemoval(duration);
     }
 
+    public int getEntity() {
+        return entity;
+    }
 
-    public boolean isFinished() {
-        return (duration <= 0);
+    public void setEntity(int entity) {
+        this.entity = entity;
+    }
+
+    public int getTileX() {
+        return tileX;
+    }
+
+    public int getTileY() {
+        return tileY;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public float getElapsedTime() {
+        return gameMap.getTimers().getTime() - startTime;
+    }
+
+    public float getDuration() {
+        return removalTimer.getRemaining();
     }
 
     @Override
@@ -83,25 +135,25 @@ public float getY() {
     public TextureRegion getCurrentAppearance() {
         switch (type) {
             case CENTER:
-                return Animations.BOMB_CENTER_EXPLOSION.getKeyFrame(elapsedTime, false);
+                return Animations.BOMB_CENTER_EXPLOSION.getKeyFrame(getElapsedTime(), false);
             case LEFT_END:
-                return Animations.BLAST_LEFT_END_PIECE.getKeyFrame(elapsedTime, false);
+                return Animations.BLAST_LEFT_END_PIECE.getKeyFrame(getElapsedTime(), false);
             case RIGHT_END:
-                return Animations.BLAST_RIGHT_END_PIECE.getKeyFrame(elapsedTime, false);
+                return Animations.BLAST_RIGHT_END_PIECE.getKeyFrame(getElapsedTime(), false);
             case UP_END:
-                return Animations.BLAST_UP_END_PIECE.getKeyFrame(elapsedTime, false);
+                return Animations.BLAST_UP_END_PIECE.getKeyFrame(getElapsedTime(), false);
             case DOWN_END:
-                return Animations.BLAST_DOWN_END_PIECE.getKeyFrame(elapsedTime, false);
+                return Animations.BLAST_DOWN_END_PIECE.getKeyFrame(getElapsedTime(), false);
             case RIGHT_MIDDLE:
-                return Animations.BLAST_RIGHT_INITIAL_PIECE.getKeyFrame(elapsedTime, false);
+                return Animations.BLAST_RIGHT_INITIAL_PIECE.getKeyFrame(getElapsedTime(), false);
             case LEFT_MIDDLE:
-                return Animations.BLAST_LEFT_INITIAL_PIECE.getKeyFrame(elapsedTime, false);
+                return Animations.BLAST_LEFT_INITIAL_PIECE.getKeyFrame(getElapsedTime(), false);
             case UP_MIDDLE:
-                return Animations.BLAST_UP_INITIAL_PIECE.getKeyFrame(elapsedTime, false);
+                return Animations.BLAST_UP_INITIAL_PIECE.getKeyFrame(getElapsedTime(), false);
             case DOWN_MIDDLE:
-                return Animations.BLAST_DOWN_INITIAL_PIECE.getKeyFrame(elapsedTime, false);
+                return Animations.BLAST_DOWN_INITIAL_PIECE.getKeyFrame(getElapsedTime(), false);
             default:
-                return Animations.BOMB_CENTER_EXPLOSION.getKeyFrame(elapsedTime, false);
+                return Animations.BOMB_CENTER_EXPLOSION.getKeyFrame(getElapsedTime(), false);
         }
     }
 }
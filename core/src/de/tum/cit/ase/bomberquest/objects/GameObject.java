@@ -8,6 +8,9 @@ public abstract class GameObject {
     protected Body body;
     protected World world;
 
+    // Id of the entity standing for this object, -1 for objects that are only tiles of the map
+    private int entity = -1;
+
     public GameObject(World world, float tileX, float tileY) {
         createHitbox(world, tileX, tileY);
         this.world = world;
@@ -71,4 +74,15 @@ public void setBody(Body body) {
     public World getWorld() {
         return world;
     }
+
+    /**
+     * @return The id of the entity standing for this object, or -1 if it has none.
+     */
+    public int getEntity() {
+        return entity;
+    }
+
+    public void setEntity(int entity) {
+        this.entity = entity;
+    }
 }
@@ -1,18 +1,18 @@
 package de.tum.cit.ase.bomberquest.objects;
 
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
-import com.badlogic.gdx.physics.box2d.World;
-import de.tum.cit.ase.bomberquest.textures.Drawable;
 import de.tum.cit.ase.bomberquest.textures.Textures;
 
 /**
  * Represents an indestructible wall within the game.
  * Indestructible walls cannot be destroyed by explosions or other destructive actions.
  * They can serve as barriers or boundaries within the game map.
+ *
+ * Indestructible walls have no behaviour, so they are not GameObjects: the map only keeps a tile code
+ * for them (see {@link de.tum.cit.ase.bomberquest.map.TileChunks}), which includes the border wall type.
+ * This class only holds the border wall types and their textures.
  */
-public class IndestructibleWall extends GameObject implements Drawable {
-
-    private boolean borderWall;
+public final class IndestructibleWall {
 
     public enum BorderWallType {
         TOP_LEFT,
@@ -26,31 +26,17 @@ public enum BorderWallType {
         NONE
     }
 
-    private BorderWallType borderWallType = BorderWallType.NONE;
-
-    /**
-     * Constructs an IndestructibleWall at the specified position within the given physics world.
-     *
-     * @param world the physics world where the wall exists
-     * @param x     the x-coordinate of the wall's position
-     * @param y     the y-coordinate of the wall's position
-     */
-    public IndestructibleWall(World world, float x, float y) {
-        super(world, x, y);
+    private IndestructibleWall() {
     }
 
     /**
-     * Retrieves the current texture representing the indestructible wall.
-     * If the wall is marked as a border wall, a different texture is returned.
+     * Retrieves the texture representing an indestructible wall.
+     * Border walls use a different texture for each corner and edge.
      *
+     * @param borderWallType the border wall type, NONE for walls inside the map
      * @return the texture region for the indestructible wall
      */
-    @Override
-    public TextureRegion getCurrentAppearance() {
-        if (!borderWall) {
-            return Textures.INDESTRUCTABLEWALL;
-        }
-
+    public static TextureRegion getAppearance(BorderWallType borderWallType) {
         switch (borderWallType) {
             case TOP_LEFT:
                 return Textures.TLBW;
@@ -73,20 +59,4 @@ public TextureRegion getCurrentAppearance() {
                 return Textures.INDESTRUCTABLEWALL;
         }
     }
-
-    public boolean isBorderWall() {
-        return borderWall;
-    }
-
-    public void setBorderWall(boolean borderWall) {
-        this.borderWall = borderWall;
-    }
-
-    public BorderWallType getBorderWallType() {
-        return borderWallType;
-    }
-
-    public void setBorderWallType(BorderWallType borderWallType) {
-        this.borderWallType = borderWallType;
-    }
 }
@@ -2,14 +2,12 @@
 
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.physics.box2d.*;
+import de.tum.cit.ase.bomberquest.effects.EffectEngine;
+import de.tum.cit.ase.bomberquest.effects.Stat;
 import de.tum.cit.ase.bomberquest.map.GameMap;
 import de.tum.cit.ase.bomberquest.textures.Animations;
 import de.tum.cit.ase.bomberquest.textures.Drawable;
 
-import java.util.ArrayList;
-import java.util.Iterator;
-import java.util.List;
-
 /**
  * Represents the player character in the game.
  * The player inherits common functionality from GameObject and adds player-specific behaviors.
@@ -23,15 +21,12 @@ public class Player extends GameObject implements Drawable {
     private PlayerDirection currentDirection = PlayerDirection.DOWN;
     private float vx = 0, vy = 0; // Velocity components
 
-    private List<Arrow> activeArrows = new ArrayList<>();
-    private boolean canShootArrows = false; // Indicates if the player can shoot arrows
+    private boolean canShootArrows = false; // Permanent arrow shooting (legacy), the power-up is an effect
 
-    // -- SPEED Power-Up Handling --
-    private float speedMultiplier = 1.0f;
-    private float speedTimer = 0f;
+    // -- Power-Up Handling: speed, arrows, blast radius and bomb count come from the active effects --
+    private final EffectEngine effects = new EffectEngine();
 
-    // -- ARROW Power-Up Handling --
-    private float arrowTimer = 0f;  // Tracks remaining Arrow Power-Up time
+    private int armedBombs = 0; // Bombs of this player that have not exploded yet
 
     // player directions
     public enum PlayerDirection {
@@ -112,78 +107,25 @@ public void updateDirection(float vx, float vy) {
         }
     }
 
-    /**
-     * Updates all active arrows, removing them when they should be destroyed.
-     *
-     * @param deltaTime The time elapsed since the last frame.
-     */
-    public void updateArrows(float deltaTime) {
-        Iterator<Arrow> it = activeArrows.iterator();
-        while (it.hasNext()) {
-            Arrow arrow = it.next();
-            arrow.update(deltaTime);
-            if (arrow.shouldRemove()) {
-                arrow.destroyBody();
-                it.remove();
-            }
-        }
-    }
-
     /**
      * The main update method called every frame.
-     * Handles the speed and arrow power-up timers and applies the final velocity to the Box2D body.
+     * Advances the power-up effects and applies the final velocity to the Box2D body.
      *
      * @param deltaTime The time elapsed since the last frame.
      */
     public void update(float deltaTime) {
         this.elapsedTime += deltaTime;
 
-        // -- Handle SPEED power-up timer --
-        if (speedTimer > 0f) {
-            speedTimer -= deltaTime;
-            if (speedTimer <= 0f) {
-                speedMultiplier = 1.0f;
-                speedTimer = 0f;
-            }
-        }
-
-        // -- Handle ARROW power-up timer --
-        if (arrowTimer > 0f) {
-            arrowTimer -= deltaTime;
-            if (arrowTimer <= 0f) {
-                arrowTimer = 0f;
-                canShootArrows = false;
-                System.out.println("update: Arrow Power-Up ended. Can no longer shoot arrows.");
-            }
-        }
+        // Ends the effects that ran out, nothing to do otherwise
+        effects.update(deltaTime);
 
         // Apply velocity to player's body
         if (body != null) {
+            float speedMultiplier = effects.get(Stat.SPEED_MULTIPLIER);
             body.setLinearVelocity(vx * speedMultiplier, vy * speedMultiplier);
         }
     }
 
-    /**
-     * Activates a speed power-up, doubling the player's speed for a given duration.
-     *
-     * @param durationSeconds The duration (in seconds) for the speed boost.
-     */
-    public void activateSpeedPowerUp(float durationSeconds) {
-        this.speedMultiplier = 2f;
-        this.speedTimer = durationSeconds;
-    }
-
-    /**
-     * Activates the Arrow Power-Up, allowing the player to shoot arrows for a limited duration.
-     *
-     * @param durationSeconds The duration (in seconds) for the arrow shooting ability.
-     */
-    public void activateArrowPowerUp(float durationSeconds) {
-        this.arrowTimer = durationSeconds;
-        this.canShootArrows = true;
-        System.out.println("[activateArrowPowerUp] Player can now shoot arrows for " + durationSeconds + " seconds.");
-    }
-
     /**
      * Enables permanent arrow shooting without a duration timer LEGACY CODE
      */
@@ -200,7 +142,7 @@ public void enableArrowShooting() {
     public void shootArrow(GameMap map) {
         System.out.println("[shootArrow] Arrow shooting method called.");
 
-        if (!canShootArrows) {
+        if (!canShootArrows && effects.get(Stat.ARROWS) <= 0f) {
             System.out.println("[shootArrow] Cannot shoot arrows - player does not have the arrow power-up.");
             return;
         }
@@ -239,7 +181,7 @@ public void shootArrow(GameMap map) {
 
         Arrow arrow = new Arrow(map.getWorld(), spawnX, spawnY, currentDirection);
         map.addArrow(arrow);
-        arrow.playSound();
+        arrow.playSound(map);
 
         System.out.println("[shootArrow] Arrow shot in direction: " + currentDirection);
     }
@@ -267,23 +209,33 @@ public TextureRegion getCurrentAppearance() {
         }
     }
 
-    // -------------------------
-    // Getters for power-up timers
-    // -------------------------
+    /**
+     * Gets the number of bombs this player placed that have not exploded yet.
+     * @return The armed bombs, checked against the bomb limit of the player.
+     */
+    public int getArmedBombs() {
+        return armedBombs;
+    }
+
+    /**
+     * Counts a bomb placed by this player.
+     */
+    public void bombArmed() {
+        armedBombs++;
+    }
 
     /**
-     * Gets the remaining duration of the Speed Power-Up.
-     * @return Remaining speed power-up time in seconds.
+     * Counts a bomb of this player that exploded.
      */
-    public float getSpeedTimer() {
-        return speedTimer;
+    public void bombExploded() {
+        armedBombs = Math.max(0, armedBombs - 1);
     }
 
     /**
-     * Gets the remaining duration of the Arrow Power-Up.
-     * @return Remaining arrow power-up time in seconds.
+     * Gets the power-up effects of the player.
+     * @return The effects, which also hold the resulting stats.
      */
-    public float getArrowTimer() {
-        return arrowTimer;
+    public EffectEngine getEffects() {
+        return effects;
     }
 }
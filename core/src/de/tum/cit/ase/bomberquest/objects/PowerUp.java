@@ -1,12 +1,12 @@
 package de.tum.cit.ase.bomberquest.objects;
 
-import com.badlogic.gdx.Gdx;
-import com.badlogic.gdx.audio.Sound;
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.physics.box2d.BodyDef;
 import com.badlogic.gdx.physics.box2d.Fixture;
 import com.badlogic.gdx.physics.box2d.PolygonShape;
 import com.badlogic.gdx.physics.box2d.World;
+import de.tum.cit.ase.bomberquest.audio.SoundEffect;
+import de.tum.cit.ase.bomberquest.map.GameMap;
 import de.tum.cit.ase.bomberquest.textures.Drawable;
 import de.tum.cit.ase.bomberquest.textures.Textures;
 
@@ -19,9 +19,6 @@ public class PowerUp extends GameObject implements Drawable {
     private final PowerUpType type;
 
 
-    private static final Sound clickSound = Gdx.audio.newSound(Gdx.files.internal("assets/audio/powerUp.mp3"));
-
-
     private boolean markedForRemoval = false;
 
 
@@ -97,9 +94,11 @@ public TextureRegion getCurrentAppearance() {
 
     /**
      * Plays the sound effect associated with collecting the power-up.
+     *
+     * @param map The map the power-up was collected on.
      */
-    public static void playSound() {
-        clickSound.play();
+    public void playSound(GameMap map) {
+        map.playSound(SoundEffect.POWER_UP);
     }
 
     /**
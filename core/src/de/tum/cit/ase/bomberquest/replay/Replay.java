@@ -0,0 +1,167 @@
+package de.tum.cit.ase.bomberquest.replay;
+
+import com.badlogic.gdx.files.FileHandle;
+
+import java.io.*;
+import java.util.Arrays;
+
+/**
+ * A recorded game session: the map file, the seed of the map's random generator, the starting time
+ * and the player input of every simulation step. Since the game logic runs at a fixed timestep and
+ * all randomness comes from the seeded generator, feeding the same input into a map built from the
+ * same file and seed reproduces the session exactly.
+ *
+ * The input is stored as one byte per step and written run-length encoded, since the input usually
+ * stays the same for many steps in a row.
+ */
+public class Replay {
+
+    // Input bits of one simulation step
+    public static final int MOVE_UP = 1;
+    public static final int MOVE_DOWN = 1 << 1;
+    public static final int MOVE_LEFT = 1 << 2;
+    public static final int MOVE_RIGHT = 1 << 3;
+    public static final int PLACE_BOMB = 1 << 4;
+    public static final int SHOOT_ARROW = 1 << 5;
+
+    private static final int MAGIC = 0x42515250; // "BQRP"
+    private static final int VERSION = 1;
+
+    private final String mapPath;
+    private final long seed;
+    private final float timeLeft;
+    private byte[] frames = new byte[1024];
+    private int frameCount = 0;
+
+    /**
+     * Creates an empty replay.
+     *
+     * @param mapPath  the path of the map file, resolved like {@code BomberQuestGame.loadMap}
+     * @param seed     the seed of the map's random generator
+     * @param timeLeft the time on the level timer when the session started
+     */
+    public Replay(String mapPath, long seed, float timeLeft) {
+        this.mapPath = mapPath;
+        this.seed = seed;
+        this.timeLeft = timeLeft;
+    }
+
+    /**
+     * Appends the input of one simulation step.
+     *
+     * @param input the input bits of the step
+     */
+    public void addFrame(int input) {
+        if (frameCount == frames.length) {
+            frames = Arrays.copyOf(frames, frames.length * 2);
+        }
+        frames[frameCount++] = (byte) input;
+    }
+
+    /**
+     * @param index the simulation step
+     * @return the input bits of the step
+     */
+    public int getFrame(int index) {
+        return frames[index];
+    }
+
+    public int getFrameCount() {
+        return frameCount;
+    }
+
+    public String getMapPath() {
+        return mapPath;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public float getTimeLeft() {
+        return timeLeft;
+    }
+
+    /**
+     * Writes the replay to a file.
+     *
+     * @param file the file to write to
+     * @throws IOException if the file cannot be written
+     */
+    public void write(FileHandle file) throws IOException {
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(file.write(false)))) {
+            out.writeInt(MAGIC);
+            out.writeByte(VERSION);
+            out.writeUTF(mapPath);
+            out.writeLong(seed);
+            out.writeFloat(timeLeft);
+            out.writeInt(frameCount);
+
+            // Runs of equal input: the input byte followed by the run length as a variable-length int
+            int i = 0;
+            while (i < frameCount) {
+                byte input = frames[i];
+                int run = 1;
+                while (i + run < frameCount && frames[i + run] == input) {
+                    run++;
+                }
+                out.writeByte(input);
+                writeVarInt(out, run);
+                i += run;
+            }
+        }
+    }
+
+    /**
+     * Reads a replay from a file.
+     *
+     * @param file the file to read from
+     * @return the replay
+     * @throws IOException if the file cannot be read or is not a replay
+     */
+    public static Replay read(FileHandle file) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(file.read()))) {
+            if (in.readInt() != MAGIC) {
+                throw new IOException("Not a replay file: " + file.path());
+            }
+            int version = in.readUnsignedByte();
+            if (version != VERSION) {
+                throw new IOException("Unsupported replay version " + version + ": " + file.path());
+            }
+            Replay replay = new Replay(in.readUTF(), in.readLong(), in.readFloat());
+            int frameCount = in.readInt();
+            replay.frames = new byte[Math.max(frameCount, 1)];
+
+            while (replay.frameCount < frameCount) {
+                byte input = in.readByte();
+                int run = readVarInt(in);
+                if (replay.frameCount + run > frameCount) {
+                    throw new IOException("Corrupt replay file: " + file.path());
+                }
+                Arrays.fill(replay.frames, replay.frameCount, replay.frameCount + run, input);
+                replay.frameCount += run;
+            }
+            return replay;
+        }
+    }
+
+    private static void writeVarInt(DataOutputStream out, int value) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            out.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte(value);
+    }
+
+    private static int readVarInt(DataInputStream in) throws IOException {
+        int value = 0;
+        int shift = 0;
+        int b;
+        do {
+            b = in.readUnsignedByte();
+            value |= (b & 0x7F) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+        return value;
+    }
+}
@@ -0,0 +1,54 @@
+package de.tum.cit.ase.bomberquest.replay;
+
+import com.badlogic.gdx.Gdx;
+import de.tum.cit.ase.bomberquest.BomberQuestGame;
+import de.tum.cit.ase.bomberquest.bonusFeatures.Score;
+import de.tum.cit.ase.bomberquest.map.FixedTimestep;
+import de.tum.cit.ase.bomberquest.map.GameMap;
+
+/**
+ * Plays a replay back without rendering, as fast as the simulation can run.
+ * The map is rebuilt from the recorded file and seed and then stepped with the recorded input,
+ * so a replay doubles as a reproducible workload for profiling and for regression checks.
+ */
+public final class ReplayRunner {
+
+    private ReplayRunner() {
+    }
+
+    /**
+     * Runs a replay to its end (or until the session is over) and logs the timing.
+     *
+     * @param game   the main game instance, used for the map file lookup
+     * @param replay the replay to run
+     * @return the final score of the replayed session
+     */
+    public static int run(BomberQuestGame game, Replay replay) {
+        GameMap map = game.createMap(replay.getMapPath(), new Score(), replay.getSeed(), replay.getTimeLeft(), null);
+        map.setHeadless(true); // The session ends without switching the screen of the running game
+
+        float remainingTime = replay.getTimeLeft();
+        int steps = 0;
+        long start = System.nanoTime();
+
+        while (steps < replay.getFrameCount() && !map.isFinished()) {
+            map.tick(FixedTimestep.SIMULATION_STEP);
+            map.applyPlayerInput(replay.getFrame(steps), FixedTimestep.SIMULATION_STEP);
+            steps++;
+
+            remainingTime -= FixedTimestep.SIMULATION_STEP;
+            if (remainingTime <= 0) {
+                map.endGame(false);
+            }
+        }
+
+        long elapsedNanos = System.nanoTime() - start;
+        map.getWorld().dispose();
+
+        double elapsedMillis = elapsedNanos / 1_000_000.0;
+        Gdx.app.log("Replay", String.format("Ran %d of %d steps in %.1f ms (%.3f ms/step), score %d%s",
+                steps, replay.getFrameCount(), elapsedMillis, steps > 0 ? elapsedMillis / steps : 0,
+                map.getScore().getScore(), map.isFinished() ? ", session ended" : ""));
+        return map.getScore().getScore();
+    }
+}
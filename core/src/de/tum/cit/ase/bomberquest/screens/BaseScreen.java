@@ -2,6 +2,7 @@
 
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.Screen;
+import com.badlogic.gdx.assets.AssetDescriptor;
 import com.badlogic.gdx.graphics.*;
 import com.badlogic.gdx.graphics.g2d.BitmapFont;
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
@@ -20,6 +21,7 @@
 import com.crashinvaders.vfx.effects.OldTvEffect;
 import com.crashinvaders.vfx.effects.VignettingEffect;
 import de.tum.cit.ase.bomberquest.BomberQuestGame;
+import de.tum.cit.ase.bomberquest.assets.GameAssets;
 
 /**
  * Base screen for BomberQuest. Handles background rendering with visual effects
@@ -47,10 +49,10 @@ public abstract class BaseScreen implements Screen {
      *
      * @param game                the main game instance
      * @param font                the bitmap font for rendering text
-     * @param backgroundImagePath the file path to the background image
+     * @param background          the descriptor of the background image
      * @param showOverlay         whether to display the transparent overlay
      */
-    public BaseScreen(BomberQuestGame game, BitmapFont font, String backgroundImagePath, boolean showOverlay) {
+    public BaseScreen(BomberQuestGame game, BitmapFont font, AssetDescriptor<Texture> background, boolean showOverlay) {
         this.game = game;
         this.font = font;
         this.showOverlay = showOverlay;
@@ -60,9 +62,8 @@ public BaseScreen(BomberQuestGame game, BitmapFont font, String backgroundImageP
         Viewport viewport = new ScreenViewport(camera);
         backgroundStage = new Stage(viewport, game.getSpriteBatch());
 
-        // Load and configure the background texture
-        backgroundTexture = new Texture(Gdx.files.internal(backgroundImagePath));
-        backgroundTexture.setFilter(Texture.TextureFilter.Linear, Texture.TextureFilter.Linear);
+        // The background texture is shared and owned by GameAssets (loaded with linear filtering)
+        backgroundTexture = GameAssets.get(background);
 
         // Create and add the background image to the stage
         Image backgroundImage = new Image(new TextureRegionDrawable(new TextureRegion(backgroundTexture)));
@@ -155,7 +156,8 @@ public void hide() {
 
     /**
      * Releases all resources associated with this screen.
-     * This includes disposing of stages, textures, effects, and renderers.
+     * This includes disposing of stages, effects, and renderers.
+     * The background texture is owned by {@link GameAssets} and is not disposed here.
      */
     @Override
     public void dispose() {
@@ -163,9 +165,6 @@ public void dispose() {
         vfxManager.dispose();
         oldTvEffect.dispose();
         filmGrainEffect.dispose();
-        if (backgroundTexture != null) {
-            backgroundTexture.dispose();
-        }
         overlayShapeRenderer.dispose();
     }
 
@@ -1,18 +1,27 @@
 package de.tum.cit.ase.bomberquest.screens;
 
 import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.InputMultiplexer;
 import com.badlogic.gdx.Screen;
 import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.graphics.OrthographicCamera;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.utils.ScreenUtils;
+import com.badlogic.gdx.utils.TimeUtils;
 import de.tum.cit.ase.bomberquest.BomberQuestGame;
 import de.tum.cit.ase.bomberquest.ScreenStates.PauseScreen;
 import de.tum.cit.ase.bomberquest.ScreenStates.ScreenState;
+import de.tum.cit.ase.bomberquest.audio.SoundMixer;
 import de.tum.cit.ase.bomberquest.objects.Arrow;
 import de.tum.cit.ase.bomberquest.bonusFeatures.Score;
+import de.tum.cit.ase.bomberquest.bot.BotPlayer;
+import de.tum.cit.ase.bomberquest.ecs.RenderSystem;
+import de.tum.cit.ase.bomberquest.input.InputSource;
+import de.tum.cit.ase.bomberquest.input.KeyboardInput;
+import de.tum.cit.ase.bomberquest.map.FixedTimestep;
 import de.tum.cit.ase.bomberquest.map.GameMap;
+import de.tum.cit.ase.bomberquest.map.TileChunks;
 import de.tum.cit.ase.bomberquest.objects.*;
 import de.tum.cit.ase.bomberquest.textures.Drawable;
 import de.tum.cit.ase.bomberquest.textures.Textures;
@@ -26,6 +35,7 @@ public class GameScreen implements Screen {
 
     public static final int TILE_SIZE_PX = 32; // Size of a tile in pixels
     public static final int SCALE = 2; // Scale factor for rendering
+    private static final float MAX_CAMERA_ZOOM = 3f; // How far the camera zooms out to fit all players
 
     // References to core game components
     private final BomberQuestGame game;
@@ -42,6 +52,14 @@ public class GameScreen implements Screen {
     private boolean blinkToggle = false; // Toggles the blink state
     private boolean isGameOver = false; // Tracks whether the game is over
 
+    private final FixedTimestep timestep = new FixedTimestep(); // Runs the game logic at a fixed rate
+    private float renderAlpha = 0f; // Interpolation factor between the last two simulation steps
+    private final RenderSystem.Sink entitySink = (texture, x, y, scale) -> draw(spriteBatch, texture, x, y, scale);
+    private static final long SIMULATION_STEP_NANOS = (long) (FixedTimestep.SIMULATION_STEP * 1_000_000_000L);
+
+    private final KeyboardInput keyboard = new KeyboardInput(); // Receives the key events while this screen is shown
+    private final InputSource[] inputs; // Steer the players: the keyboard, or bots beyond its players
+
     private Score score;
 
     /**
@@ -56,13 +74,19 @@ public GameScreen(BomberQuestGame game, Score score, float timeLeft) {
         this.hud = game.getHud();
         this.mapCamera = new OrthographicCamera();
         this.mapCamera.setToOrtho(false);
-        this.pauseScreen = new PauseScreen(game, game.getSkin().getFont("font"));
+        this.pauseScreen = game.getScreens().getPauseScreen(); // Shared between all game screens
         this.remainingTime = timeLeft; // use passed-in time from bomberquest.java for consistent time across game screens
         this.score = score;
+        this.inputs = new InputSource[map.getPlayerCount()];
+        for (int i = 0; i < inputs.length; i++) {
+            inputs[i] = i < KeyboardInput.PLAYERS ? keyboard.player(i) : new BotPlayer(map.getSeed() + i, i);
+        }
     }
 
     /**
      * Renders the game screen, updating game logic and handling user input.
+     * The game logic runs in fixed simulation steps, the frame only decides how many steps are due
+     * and draws the moving objects interpolated between the last two steps.
      *
      * @param deltaTime Time elapsed since the last frame.
      */
@@ -72,64 +96,30 @@ public void render(float deltaTime) {
 
             game.setSavedTime(remainingTime);
 
-            map.tick(deltaTime);
+            int steps = timestep.advance(deltaTime);
+            renderAlpha = timestep.getAlpha();
 
-            float moveSpeed = 2f; // Player's speed
-            float vx = 0; // Horizontal velocity
-            float vy = 0; // Vertical velocity
-
-            // Player movement
-            if (Gdx.input.isKeyPressed(KeyBindings.getKey(KeyBindings.MOVE_UP))) {
-                vy += moveSpeed;
-            }
-            if (Gdx.input.isKeyPressed(KeyBindings.getKey(KeyBindings.MOVE_DOWN))) {
-                vy -= moveSpeed;
-            }
-            if (Gdx.input.isKeyPressed(KeyBindings.getKey(KeyBindings.MOVE_LEFT))) {
-                vx -= moveSpeed;
-            }
-            if (Gdx.input.isKeyPressed(KeyBindings.getKey(KeyBindings.MOVE_RIGHT))) {
-                vx += moveSpeed;
-            }
-
-            // Normalize the velocity vector if moving diagonally
-            float magnitude = (float) Math.sqrt(vx * vx + vy * vy);
-            if (magnitude > 0) {
-                vx = (vx / magnitude) * moveSpeed;
-                vy = (vy / magnitude) * moveSpeed;
-            }
-
-            map.getPlayer().updateDirection(vx, vy);
-            map.getPlayer().update(deltaTime);
-
-            if (Gdx.input.isKeyJustPressed(KeyBindings.getKey(KeyBindings.PLACE_BOMB))) {
-                float px = map.getPlayer().getX();
-                float py = map.getPlayer().getY();
-
-                int tileX = (int) Math.floor(px);
-                int tileY = (int) Math.floor(py);
-
-                Bomb bomb = new Bomb(map.getWorld(), tileX, tileY, 1, map, score);
-                bomb.setRadius(map.getBlastRadius());
-                bomb.startTimer();
-                map.addBomb(bomb);
-            }
-
-            if (Gdx.input.isKeyJustPressed(KeyBindings.getKey(KeyBindings.SHOOT_ARROW))) {
-                map.getPlayer().shootArrow(map);
-                Gdx.app.log("Shift key clicked", "Shooting arrow requested");
-            }
-
-            remainingTime -= deltaTime;
-            if (remainingTime < 0) {
-                remainingTime = 0;
+            // The last step ends where the interpolated frame is drawn, the steps before it one step apart,
+            // so each step takes the key events that happened up to its own point in real time
+            long lastStepTime = TimeUtils.nanoTime() - (long) (renderAlpha * SIMULATION_STEP_NANOS);
+            for (int i = 0; i < steps && game.getScreen() == this; i++) {
+                simulate(FixedTimestep.SIMULATION_STEP, lastStepTime - (steps - 1 - i) * SIMULATION_STEP_NANOS);
             }
+            keyboard.drain(lastStepTime); // Keeps the queue short while bots steer the players
         }
 
-        if (Gdx.input.isKeyJustPressed(KeyBindings.getKey(KeyBindings.PAUSE_GAME))) {
+        if (keyboard.consumePress(KeyBindings.ACTION_PAUSE_GAME)) {
             setPaused(!paused);
         }
 
+        if (!paused && game.getScreen() == this) {
+            if (keyboard.consumePress(KeyBindings.ACTION_QUICK_SAVE)) {
+                game.quickSave(remainingTime);
+            } else if (keyboard.consumePress(KeyBindings.ACTION_QUICK_LOAD) && game.quickLoad()) {
+                return; // This screen was replaced by one for the loaded map
+            }
+        }
+
         ScreenUtils.clear(Color.BLACK);
 
         updateCamera();
@@ -175,7 +165,7 @@ public void render(float deltaTime) {
         hud.render(timerText);
 
         if(remainingTime == 0){
-            game.goToGameOver();
+            map.endGame(false);
         }
 
         if (paused) {
@@ -183,6 +173,44 @@ public void render(float deltaTime) {
         }
     }
 
+    /**
+     * Advances the game logic by one fixed simulation step: the map, the input of every player and the level timer.
+     *
+     * @param step     Length of the simulation step in seconds.
+     * @param stepTime Real time of the step in nanoseconds, up to which the input is taken.
+     */
+    private void simulate(float step, long stepTime) {
+        map.savePreviousPositions();
+        map.tick(step);
+        for (int i = 0; i < inputs.length; i++) {
+            map.applyPlayerInput(i, inputs[i].nextInput(map, stepTime), step);
+        }
+
+        remainingTime -= step;
+        if (remainingTime < 0) {
+            remainingTime = 0;
+        }
+    }
+
+    /**
+     * Replaces the source of the first player's input, e.g. to let a {@link BotPlayer} play.
+     *
+     * @param input the new input source
+     */
+    public void setInputSource(InputSource input) {
+        setInputSource(0, input);
+    }
+
+    /**
+     * Replaces the source of a player's input.
+     *
+     * @param player the index of the player on the map
+     * @param input  the new input source
+     */
+    public void setInputSource(int player, InputSource input) {
+        inputs[player] = input;
+    }
+
     /**
      * Sets the paused state of the game, pausing or resuming game logic and music accordingly.
      *
@@ -190,6 +218,7 @@ public void render(float deltaTime) {
      */
     public void setPaused(boolean shouldPause) {
         this.paused = shouldPause;
+        timestep.reset(); // Do not carry a partial step across the pause
         // Update the game's screen state
         if (shouldPause) {
             game.setCurrentScreenState(ScreenState.PAUSE);
@@ -203,13 +232,15 @@ public void setPaused(boolean shouldPause) {
                 game.getCurrentMusicTrack().pause();
             }
             Gdx.app.log("Pause", "Pausing and setting input processor to PauseScreen stage");
-            Gdx.input.setInputProcessor(pauseScreen.getStage());
+            // The keyboard stays behind the stage, so the pause key can resume the game
+            Gdx.input.setInputProcessor(new InputMultiplexer(pauseScreen.getStage(), keyboard));
         } else {
             if (game.getCurrentMusicTrack() != null) {
                 game.getCurrentMusicTrack().play();
             }
             Gdx.app.log("Pause", "Unpausing; removing PauseScreen stage input processor");
-            Gdx.input.setInputProcessor(null);
+            Gdx.input.setInputProcessor(keyboard);
+            keyboard.reset(); // Drop what was typed into the pause screen
         }
     }
 
@@ -230,10 +261,13 @@ public void resumeGame() {
      * position to prevent it from moving beyond the boundaries of the map.
      */
     private void updateCamera() {
-        // Calculate half of the camera's viewport width and height.
+        // With several players alive, the camera zooms out to fit all of them instead of following one
+        boolean fitted = fitCameraToPlayers();
+
+        // Calculate half of the camera's visible width and height.
         // This is used to determine the camera's boundaries relative to its center position.
-        float halfW = mapCamera.viewportWidth * 0.5f;
-        float halfH = mapCamera.viewportHeight * 0.5f;
+        float halfW = mapCamera.viewportWidth * mapCamera.zoom * 0.5f;
+        float halfH = mapCamera.viewportHeight * mapCamera.zoom * 0.5f;
 
         // Determine the left, right, bottom, and top edges of the camera's viewport.
         // These values represent the current visible area in the game world.
@@ -251,30 +285,31 @@ private void updateCamera() {
         // Retrieve the player's current position in tile coordinates,
         // then convert it to pixel coordinates by multiplying with TILE_SIZE_PX and SCALE.
         // This gives the player's position in the same coordinate system as the camera.
-        float playerX = map.getPlayer().getX() * TILE_SIZE_PX * SCALE;
-        float playerY = map.getPlayer().getY() * TILE_SIZE_PX * SCALE;
+        int playerEntity = getCameraPlayer().getEntity();
+        float playerX = map.getMovement().getInterpolatedX(playerEntity, renderAlpha) * TILE_SIZE_PX * SCALE;
+        float playerY = map.getMovement().getInterpolatedY(playerEntity, renderAlpha) * TILE_SIZE_PX * SCALE;
 
         // Check if the player's X position is to the left of the left margin.
-        if (playerX < cameraLeft + marginX) {
+        if (!fitted && playerX < cameraLeft + marginX) {
             // Move the camera to the left so that the player is within the left margin.
             // The camera's new X position is set such that the player is 'marginX' units from the left edge.
             mapCamera.position.x = playerX + (halfW - marginX);
         }
         // Check if the player's X position is to the right of the right margin.
-        else if (playerX > cameraRight - marginX) {
+        else if (!fitted && playerX > cameraRight - marginX) {
             // Move the camera to the right so that the player is within the right margin.
             // The camera's new X position is set such that the player is 'marginX' units from the right edge.
             mapCamera.position.x = playerX - (halfW - marginX);
         }
 
         // Check if the player's Y position is below the bottom margin.
-        if (playerY < cameraBottom + marginY) {
+        if (!fitted && playerY < cameraBottom + marginY) {
             // Move the camera downward so that the player is within the bottom margin.
             // The camera's new Y position is set such that the player is 'marginY' units from the bottom edge.
             mapCamera.position.y = playerY + (halfH - marginY);
         }
         // Check if the player's Y position is above the top margin.
-        else if (playerY > cameraTop - marginY) {
+        else if (!fitted && playerY > cameraTop - marginY) {
             // Move the camera upward so that the player is within the top margin.
             // The camera's new Y position is set such that the player is 'marginY' units from the top edge.
             mapCamera.position.y = playerY - (halfH - marginY);
@@ -308,12 +343,12 @@ else if (playerY > cameraTop - marginY) {
             mapCamera.position.y = maxCameraY;
         }
 
-        if (mapWidthInPx < mapCamera.viewportWidth) {
+        if (mapWidthInPx < halfW * 2) {
             mapCamera.position.x = mapWidthInPx / 2f;
         }
 
         // If the map is shorter than the viewport, center vertically:
-        if (mapHeightInPx < mapCamera.viewportHeight) {
+        if (mapHeightInPx < halfH * 2) {
             mapCamera.position.y = mapHeightInPx / 2f;
         }
 
@@ -321,9 +356,63 @@ else if (playerY > cameraTop - marginY) {
         // After adjusting the camera's position, update the camera to apply the changes.
         // This typically recalculates the camera's matrices and ensures the new position is rendered.
         mapCamera.update();
+
+        // Sound effects are attenuated relative to the visible area, converted back to tiles
+        float tileSizeInPx = TILE_SIZE_PX * SCALE;
+        SoundMixer.setListener(mapCamera.position.x / tileSizeInPx, mapCamera.position.y / tileSizeInPx,
+                halfW / tileSizeInPx, halfH / tileSizeInPx);
     }
 
 
+    /**
+     * Centers the camera on the living players and zooms out until all of them are inside the margins,
+     * up to {@value #MAX_CAMERA_ZOOM} times the normal view. With fewer than two players alive the zoom is reset.
+     *
+     * @return true if the camera was fitted to several players, false if it follows a single one
+     */
+    private boolean fitCameraToPlayers() {
+        float minX = Float.POSITIVE_INFINITY;
+        float minY = Float.POSITIVE_INFINITY;
+        float maxX = Float.NEGATIVE_INFINITY;
+        float maxY = Float.NEGATIVE_INFINITY;
+        int living = 0;
+        for (Player player : map.getPlayers()) {
+            if (player.getBody() == null) {
+                continue;
+            }
+            float x = map.getMovement().getInterpolatedX(player.getEntity(), renderAlpha) * TILE_SIZE_PX * SCALE;
+            float y = map.getMovement().getInterpolatedY(player.getEntity(), renderAlpha) * TILE_SIZE_PX * SCALE;
+            minX = Math.min(minX, x);
+            minY = Math.min(minY, y);
+            maxX = Math.max(maxX, x);
+            maxY = Math.max(maxY, y);
+            living++;
+        }
+        if (living < 2) {
+            mapCamera.zoom = 1f;
+            return false;
+        }
+        // The same margins as when following a single player, on both sides
+        float zoom = Math.max((maxX - minX) / (0.6f * mapCamera.viewportWidth),
+                (maxY - minY) / (0.6f * mapCamera.viewportHeight));
+        mapCamera.zoom = Math.min(Math.max(zoom, 1f), MAX_CAMERA_ZOOM);
+        mapCamera.position.x = (minX + maxX) / 2f;
+        mapCamera.position.y = (minY + maxY) / 2f;
+        return true;
+    }
+
+    /**
+     * @return the player the camera follows when it is not fitted to several players: the first one alive
+     */
+    private Player getCameraPlayer() {
+        for (Player player : map.getPlayers()) {
+            if (player.getBody() != null) {
+                return player;
+            }
+        }
+        return map.getPlayer();
+    }
+
     /**
      * Renders all drawable objects on the map, including the player, enemies, bombs, and explosions.
      */
@@ -333,51 +422,47 @@ private void renderMap() {
         spriteBatch.setProjectionMatrix(mapCamera.combined);
         spriteBatch.begin();
 
+        renderWalls();
+
+        // Tiles first; the player, enemies, bombs, explosions and arrows are entities and drawn on top
         for (GameObject obj : map.getAllObjects()) {
-            if (obj instanceof Drawable drawableObj && obj.getBody() != null) {
+            if (obj instanceof Drawable drawableObj && obj.getBody() != null && obj.getEntity() < 0) {
                 draw(spriteBatch, drawableObj);
             }
-            if (obj instanceof Exit) {
-
-            }
         }
 
-        for (Enemy enemy : map.getEnemies()) {
-            draw(spriteBatch, enemy);
-        }
-
-        for (Bomb bomb : map.getBombs()) {
-            draw(spriteBatch, bomb);
-        }
+        // Moving entities are drawn between their last two simulation positions
+        map.getRenderSystem().render(renderAlpha, entitySink);
 
+        spriteBatch.end();
+    }
 
-        for (ExplosionTile explosionTile : map.getExplosionTiles()) {
-            draw(spriteBatch, explosionTile);
-        }
-
-        for (Arrow arrow : map.getActiveArrows()) {
-            draw(spriteBatch, arrow);
-        }
-
-        if (map.getPlayer() != null) {
-            Drawable player = map.getPlayer();
-            TextureRegion texture = player.getCurrentAppearance();
-
-            float playerScaleFactor = 0.8f; // Scale the player size (texture) individually
-
-            float spriteWidthInWorldUnits = ((float) texture.getRegionWidth() / TILE_SIZE_PX) * playerScaleFactor;
-            float spriteHeightInWorldUnits = ((float) texture.getRegionHeight() / TILE_SIZE_PX) * playerScaleFactor;
+    /**
+     * Renders the indestructible walls in the camera's current viewport.
+     * They are not objects, so they are drawn from the tile codes of the map.
+     */
+    private void renderWalls() {
+        float tileSizeInWorldUnits = TILE_SIZE_PX * SCALE;
 
-            float x = (player.getX() - (spriteWidthInWorldUnits / 2)) * TILE_SIZE_PX * SCALE;
-            float y = (player.getY() - (spriteHeightInWorldUnits / 2)) * TILE_SIZE_PX * SCALE;
+        float visibleWidth = mapCamera.viewportWidth * mapCamera.zoom;
+        float visibleHeight = mapCamera.viewportHeight * mapCamera.zoom;
+        float startX = mapCamera.position.x - (visibleWidth / 2);
+        float startY = mapCamera.position.y - (visibleHeight / 2);
 
-            float width = texture.getRegionWidth() * SCALE * playerScaleFactor;
-            float height = texture.getRegionHeight() * SCALE * playerScaleFactor;
+        int startTileX = Math.max(0, (int) (startX / tileSizeInWorldUnits));
+        int startTileY = Math.max(0, (int) (startY / tileSizeInWorldUnits));
+        int endTileX = Math.min(map.getWidth() - 1, (int) ((startX + visibleWidth) / tileSizeInWorldUnits) + 1);
+        int endTileY = Math.min(map.getHeight() - 1, (int) ((startY + visibleHeight) / tileSizeInWorldUnits) + 1);
 
-            spriteBatch.draw(texture, x, y, width, height);
+        for (int x = startTileX; x <= endTileX; x++) {
+            for (int y = startTileY; y <= endTileY; y++) {
+                IndestructibleWall.BorderWallType type = TileChunks.getWallType(map.getTileCode(x, y));
+                if (type != null) {
+                    spriteBatch.draw(IndestructibleWall.getAppearance(type), x * tileSizeInWorldUnits,
+                            y * tileSizeInWorldUnits, tileSizeInWorldUnits, tileSizeInWorldUnits);
+                }
+            }
         }
-
-        spriteBatch.end();
     }
 
     /**
@@ -390,13 +475,15 @@ private void renderBackground() {
         TextureRegion backgroundTile = Textures.BACKGROUND;
         float tileSizeInWorldUnits = TILE_SIZE_PX * SCALE;
 
-        float startX = mapCamera.position.x - (mapCamera.viewportWidth / 2);
-        float startY = mapCamera.position.y - (mapCamera.viewportHeight / 2);
+        float visibleWidth = mapCamera.viewportWidth * mapCamera.zoom;
+        float visibleHeight = mapCamera.viewportHeight * mapCamera.zoom;
+        float startX = mapCamera.position.x - (visibleWidth / 2);
+        float startY = mapCamera.position.y - (visibleHeight / 2);
 
         int startTileX = (int) (startX / tileSizeInWorldUnits);
         int startTileY = (int) (startY / tileSizeInWorldUnits);
-        int endTileX = (int) ((startX + mapCamera.viewportWidth) / tileSizeInWorldUnits) + 1;
-        int endTileY = (int) ((startY + mapCamera.viewportHeight) / tileSizeInWorldUnits) + 1;
+        int endTileX = (int) ((startX + visibleWidth) / tileSizeInWorldUnits) + 1;
+        int endTileY = (int) ((startY + visibleHeight) / tileSizeInWorldUnits) + 1;
 
         for (int x = startTileX; x <= endTileX; x++) {
             for (int y = startTileY; y <= endTileY; y++) {
@@ -415,20 +502,24 @@ private void renderBackground() {
      * @param drawable    The drawable object to render.
      */
     private static void draw(SpriteBatch spriteBatch, Drawable drawable) {
-        TextureRegion texture = drawable.getCurrentAppearance();
-        // Apply scaling for specific objects
-        float scale = 1.0f; // Default scale
-        if (drawable instanceof ExplosionTile) {
-            scale = 2.0f; // Scale ExplosionTile by 2
-        } else if (drawable instanceof Enemy) {
-            scale = 1.5f; // Scale Enemy by 1.5
-        }
+        draw(spriteBatch, drawable.getCurrentAppearance(), drawable.getX(), drawable.getY(), 1f);
+    }
 
+    /**
+     * Draws a texture centered at the given position using the provided SpriteBatch.
+     *
+     * @param spriteBatch The SpriteBatch used for rendering.
+     * @param texture     The texture to render.
+     * @param tileX       The x-coordinate (in tiles) of the center.
+     * @param tileY       The y-coordinate (in tiles) of the center.
+     * @param scale       The scale of the texture, 1 for its natural size.
+     */
+    private static void draw(SpriteBatch spriteBatch, TextureRegion texture, float tileX, float tileY, float scale) {
         float spriteWidthInWorldUnits = ((float) texture.getRegionWidth() / TILE_SIZE_PX) * scale;
         float spriteHeightInWorldUnits = ((float) texture.getRegionHeight() / TILE_SIZE_PX) * scale;
 
-        float x = (drawable.getX() - (spriteWidthInWorldUnits / 2)) * TILE_SIZE_PX * SCALE;
-        float y = (drawable.getY() - (spriteHeightInWorldUnits / 2)) * TILE_SIZE_PX * SCALE;
+        float x = (tileX - (spriteWidthInWorldUnits / 2)) * TILE_SIZE_PX * SCALE;
+        float y = (tileY - (spriteHeightInWorldUnits / 2)) * TILE_SIZE_PX * SCALE;
 
         float width = texture.getRegionWidth() * SCALE * scale;
         float height = texture.getRegionHeight() * SCALE * scale;
@@ -450,11 +541,11 @@ public void resize(int width, int height) {
     }
 
     /**
-     * Disposes of resources used by the game screen, including the pause screen.
+     * Disposes of resources used by the game screen.
+     * The pause screen is shared and owned by the ScreenRegistry, so it is not disposed here.
      */
     @Override
     public void dispose() {
-        pauseScreen.dispose();
     }
 
     @Override
@@ -467,10 +558,13 @@ public void resume() {
 
     @Override
     public void show() {
+        Gdx.input.setInputProcessor(keyboard);
+        keyboard.reset();
     }
 
     @Override
     public void hide() {
+        SoundMixer.clearListener();
     }
 
     /**
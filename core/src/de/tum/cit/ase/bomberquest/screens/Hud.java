@@ -5,6 +5,8 @@
 import com.badlogic.gdx.graphics.Pixmap;
 import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.g2d.*;
+import de.tum.cit.ase.bomberquest.assets.AssetDescriptors;
+import de.tum.cit.ase.bomberquest.assets.GameAssets;
 import de.tum.cit.ase.bomberquest.textures.Textures;
 
 /**
@@ -19,16 +21,11 @@ public class Hud {
     private final BitmapFont font;
     private final OrthographicCamera camera;
 
-    private Texture blackPanelTexture;
-    private Texture redPanelTexture;
-    private Texture bluePanelTexture;
-    private Texture panelTexture;
+    // The panel textures belong to the GAME manifest and are looked up when the HUD is drawn
+    private PanelState panelState = PanelState.BLACK;
 
     private Texture transparentBlackTexture; // For underlay
 
-    private final float panelWidth;
-    private final float panelHeight;
-
     private int concurrentBombCount = 1;
     private int blastRadiusCount = 1;
     private int remainingEnemiesCount = 0;
@@ -47,7 +44,7 @@ public class Hud {
 
     /**
      * Constructs the Hud with the specified SpriteBatch and BitmapFont.
-     * Initializes textures and sets up the HUD panel.
+     * Creates the underlay texture; the panel textures are provided by {@link GameAssets}.
      *
      * @param spriteBatch The SpriteBatch used for rendering HUD elements.
      * @param font        The BitmapFont used for rendering text on the HUD.
@@ -57,15 +54,6 @@ public Hud(SpriteBatch spriteBatch, BitmapFont font) {
         this.font = font;
         this.camera = new OrthographicCamera();
 
-        blackPanelTexture = new Texture(Gdx.files.internal("assets/menu/hudPanelBlack.png"));
-        redPanelTexture = new Texture(Gdx.files.internal("assets/menu/hudPanelRed.png"));
-        bluePanelTexture = new Texture(Gdx.files.internal("assets/menu/hudPanelBlue.png"));
-
-        panelTexture = blackPanelTexture;
-
-        panelWidth = panelTexture.getWidth();
-        panelHeight = panelTexture.getHeight();
-
         Pixmap pixmap = new Pixmap(1, 1, Pixmap.Format.RGBA8888);
         pixmap.setColor(0, 0, 0, 0.3f); // Black with 0.3 opacity
         pixmap.fill();
@@ -103,6 +91,10 @@ public void render(String timerText) {
         float screenWidth = Gdx.graphics.getWidth();
         float screenHeight = Gdx.graphics.getHeight();
 
+        Texture panelTexture = getPanelTexture();
+        float panelWidth = panelTexture.getWidth();
+        float panelHeight = panelTexture.getHeight();
+
         float scaleFactor = 0.4f;
         float newPanelWidth = screenWidth * scaleFactor;
 
@@ -291,7 +283,8 @@ public float getScaledHeight() {
         float screenWidth = Gdx.graphics.getWidth();
         float scaleFactor = 0.3f;
         float newPanelWidth = screenWidth * scaleFactor;
-        float aspectRatio = panelHeight / panelWidth;
+        Texture panelTexture = getPanelTexture();
+        float aspectRatio = (float) panelTexture.getHeight() / panelTexture.getWidth();
         return newPanelWidth * aspectRatio;
     }
 
@@ -311,11 +304,28 @@ public void resize(int width, int height) {
      * @param state The new PanelState to apply to the HUD panel.
      */
     public void setPanelState(PanelState state) {
-        switch (state) {
-            case BLACK -> panelTexture = blackPanelTexture;
-            case RED -> panelTexture = redPanelTexture;
-            case BLUE -> panelTexture = bluePanelTexture;
-        }
+        this.panelState = state;
+    }
+
+    /**
+     * Returns the panel texture for the current panel state.
+     *
+     * @return The texture of the HUD panel.
+     */
+    private Texture getPanelTexture() {
+        return switch (panelState) {
+            case BLACK -> GameAssets.get(AssetDescriptors.HUD_PANEL_BLACK);
+            case RED -> GameAssets.get(AssetDescriptors.HUD_PANEL_RED);
+            case BLUE -> GameAssets.get(AssetDescriptors.HUD_PANEL_BLUE);
+        };
+    }
+
+    /**
+     * Disposes of the underlay texture created by this HUD.
+     * The panel textures are owned by {@link GameAssets} and are disposed with it.
+     */
+    public void dispose() {
+        transparentBlackTexture.dispose();
     }
 
     /**
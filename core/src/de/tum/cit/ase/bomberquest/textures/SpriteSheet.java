@@ -1,8 +1,10 @@
 package de.tum.cit.ase.bomberquest.textures;
 
-import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.assets.AssetDescriptor;
 import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import de.tum.cit.ase.bomberquest.assets.AssetDescriptors;
+import de.tum.cit.ase.bomberquest.assets.GameAssets;
 
 /**
  * Enumerates all spritesheets used in the game and provides helper methods for grabbing texture regions from them.
@@ -15,24 +17,24 @@
 public enum SpriteSheet {
     
     //The character spritesheet, which has a grid size of 16x32.
-    CHARACTER("character.png", 16, 32),
+    CHARACTER(AssetDescriptors.CHARACTER_SHEET, 16, 32),
 
-    PLAYER("player.png", 32, 16),
+    PLAYER(AssetDescriptors.PLAYER_SHEET, 32, 16),
 
     //The enemy spritesheet, which has a grid size of 16x32.
-    ENEMY("mobs.png", 16, 16),
+    ENEMY(AssetDescriptors.MOBS_SHEET, 16, 16),
 
     //The bomb spritesheet, which has a grid size of 16x32.
-    BOMB("original-bomberman.png", 16, 16),
+    BOMB(AssetDescriptors.ORIGINAL_BOMBERMAN_SHEET, 16, 16),
 
     // The basic tiles spritesheet, which has a grid size of 16x16.
-    TILES("tileset.png", 32, 32),
+    TILES(AssetDescriptors.TILESET_SHEET, 32, 32),
 
     //ExplosionTiles
-    ORIGINAL_BOMBERMAN("original-bomberman.png", 16, 16);
+    ORIGINAL_BOMBERMAN(AssetDescriptors.ORIGINAL_BOMBERMAN_SHEET, 16, 16);
 
 
-    private final Texture spritesheet;
+    private final AssetDescriptor<Texture> spritesheet;
     private final int width;
     private final int height;
 
@@ -40,12 +42,13 @@ public enum SpriteSheet {
     /**
      * Constructor for each variant of this enum.
      * Every SpriteSheet has a corresponding file, width, and height.
-     * @param filename the filename of the spritesheet
+     * The texture itself is owned by {@link GameAssets} and only looked up when a region is requested.
+     * @param spritesheet the descriptor of the spritesheet texture
      * @param width the width of a single grid cell
      * @param height the height of a single grid cell
      */
-    SpriteSheet(String filename, int width, int height) {
-        this.spritesheet = new Texture(Gdx.files.internal("texture/" + filename));
+    SpriteSheet(AssetDescriptor<Texture> spritesheet, int width, int height) {
+        this.spritesheet = spritesheet;
         this.width = width;
         this.height = height;
     }
@@ -65,7 +68,7 @@ public TextureRegion at(int row, int column) {
 
     public TextureRegion at(int row, int column, int tileWidthMultiplier, int tileHeightMultiplier) {
         return new TextureRegion(
-                spritesheet,
+                GameAssets.get(spritesheet),
                 (column - 1) * this.width,               // X position
                 (row - 1) * this.height,                // Y position
                 this.width * tileWidthMultiplier,       // Region width
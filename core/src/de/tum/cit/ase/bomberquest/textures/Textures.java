@@ -1,18 +1,19 @@
 package de.tum.cit.ase.bomberquest.textures;
 
-import com.badlogic.gdx.Gdx;
-import com.badlogic.gdx.files.FileHandle;
 import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.g2d.NinePatch;
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import de.tum.cit.ase.bomberquest.assets.AssetDescriptors;
+import de.tum.cit.ase.bomberquest.assets.GameAssets;
 
 /**
  * Contains all texture constants used in the game.
  * These can be referenced anywhere they are needed.
+ * The underlying textures are owned by {@link GameAssets} and belong to the MENU manifest.
  */
 public class Textures {
 
-    public static final Texture LOGO = new Texture(Gdx.files.internal("assets/menu/bomberQuestLogo.png"));
+    public static final Texture LOGO = GameAssets.get(AssetDescriptors.LOGO);
 
 
     // Game assets
@@ -35,36 +36,36 @@ public class Textures {
     public static final TextureRegion BACKGROUND = SpriteSheet.TILES.at(7, 4);
     public static final TextureRegion BORDERWALL = SpriteSheet.TILES.at(9, 3);
     public static final TextureRegion BLASTRADIUS = new TextureRegion(
-            new Texture(new FileHandle("assets/texture/blastRadiusPU.png")));
+            GameAssets.get(AssetDescriptors.BLAST_RADIUS_PU));
 
     public static final TextureRegion POWERUP_CONCURRENTBOMB = new TextureRegion(
-            new Texture(new FileHandle("assets/texture/concurrentBombPU.png")));
+            GameAssets.get(AssetDescriptors.CONCURRENT_BOMB_PU));
 
     public static final TextureRegion BLASTRADIOUS_HUD = new TextureRegion(
-            new Texture(new FileHandle("assets/texture/blastRadiusBombPuHUD.png")));
+            GameAssets.get(AssetDescriptors.BLAST_RADIUS_HUD));
 
     public static final TextureRegion CONCURRENTBOMB_HUD = new TextureRegion(
-            new Texture(new FileHandle("assets/texture/concurrentBombPuHUD.png")));
+            GameAssets.get(AssetDescriptors.CONCURRENT_BOMB_HUD));
 
-    public static final TextureRegion ENEMYCOUNT_HUD = new TextureRegion(new Texture(new FileHandle("assets/texture/enemyCountHUD.png")));
+    public static final TextureRegion ENEMYCOUNT_HUD = new TextureRegion(GameAssets.get(AssetDescriptors.ENEMY_COUNT_HUD));
 
-    public static final TextureRegion SPEED_POWER_UP_HUD = new TextureRegion(new Texture(new FileHandle("assets/texture/speedPuHUD.png")));
-    public static final TextureRegion SPEED_POWER_UP = new TextureRegion(new Texture(new FileHandle("assets/texture/speedPU.png")));
+    public static final TextureRegion SPEED_POWER_UP_HUD = new TextureRegion(GameAssets.get(AssetDescriptors.SPEED_PU_HUD));
+    public static final TextureRegion SPEED_POWER_UP = new TextureRegion(GameAssets.get(AssetDescriptors.SPEED_PU));
 
-    public static final TextureRegion ARROW_POWER_UP = new TextureRegion(new Texture(new FileHandle("assets/texture/arrowPowerUp.png")));
-    public static final TextureRegion ARROW_POWER_UP_HUD = new TextureRegion(new Texture(new FileHandle("assets/texture/arrowPowerUpHUD.png")));
+    public static final TextureRegion ARROW_POWER_UP = new TextureRegion(GameAssets.get(AssetDescriptors.ARROW_PU));
+    public static final TextureRegion ARROW_POWER_UP_HUD = new TextureRegion(GameAssets.get(AssetDescriptors.ARROW_PU_HUD));
 
-    public static final TextureRegion ARROW_RIGHT = new TextureRegion(new Texture(new FileHandle("assets/texture/arrowRight.png")));
-    public static final TextureRegion ARROW_LEFT = new TextureRegion(new Texture(new FileHandle("assets/texture/arrowLeft.png")));
-    public static final TextureRegion ARROW_UP = new TextureRegion(new Texture(new FileHandle("assets/texture/arrowUp.png")));
-    public static final TextureRegion ARROW_DOWN = new TextureRegion(new Texture(new FileHandle("assets/texture/arrowDown.png")));
+    public static final TextureRegion ARROW_RIGHT = new TextureRegion(GameAssets.get(AssetDescriptors.ARROW_RIGHT));
+    public static final TextureRegion ARROW_LEFT = new TextureRegion(GameAssets.get(AssetDescriptors.ARROW_LEFT));
+    public static final TextureRegion ARROW_UP = new TextureRegion(GameAssets.get(AssetDescriptors.ARROW_UP));
+    public static final TextureRegion ARROW_DOWN = new TextureRegion(GameAssets.get(AssetDescriptors.ARROW_DOWN));
 
 
     // Menu button textures
     public static final TextureRegion BUTTON_LONG_OFF = new TextureRegion(
-            new Texture(new FileHandle("assets/menu/button_long_off.png")));
+            GameAssets.get(AssetDescriptors.BUTTON_LONG_OFF));
     public static final TextureRegion BUTTON_LONG_HOVER = new TextureRegion(
-            new Texture(new FileHandle("assets/menu/button_long_hover.png")));
+            GameAssets.get(AssetDescriptors.BUTTON_LONG_HOVER));
 
     // Nine patch custom button. This defines the stretchable area of the button texture
     // left = 4, right = 4, top = 4, bottom = 6
@@ -3,6 +3,9 @@
 import com.badlogic.gdx.Graphics;
 import com.badlogic.gdx.backends.lwjgl3.Lwjgl3Application;
 import com.badlogic.gdx.backends.lwjgl3.Lwjgl3ApplicationConfiguration;
+import de.tum.cit.ase.bomberquest.bot.SoakTestRunner;
+import de.tum.cit.ase.bomberquest.net.GameServer;
+import de.tum.cit.ase.bomberquest.net.NetworkLoadTest;
 import games.spooky.gdx.nativefilechooser.desktop.DesktopFileChooser;
 
 /**
@@ -20,7 +23,47 @@ public static void main(String[] arg) {
 		config.useVsync(true);
 		config.setForegroundFPS(60);
 
-		new Lwjgl3Application(new BomberQuestGame(new DesktopFileChooser()), config);
+		BomberQuestGame game = new BomberQuestGame(new DesktopFileChooser());
+
+		// "--replay <file>" plays a recorded session back at maximum speed on startup
+		if (arg.length >= 2 && arg[0].equals("--replay")) {
+			game.setReplayToRun(arg[1]);
+		}
+
+		// "--soak <games> [threads] [map]" lets bots play many games in parallel on startup and logs the results
+		if (arg.length >= 2 && arg[0].equals("--soak")) {
+			int threads = arg.length >= 3 ? Integer.parseInt(arg[2]) : Runtime.getRuntime().availableProcessors();
+			String map = arg.length >= 4 ? arg[3] : "maps/Map 1.properties";
+			game.setSoakTestToRun(new SoakTestRunner.Settings(Integer.parseInt(arg[1]), threads, map, 5 * 60f));
+		}
+
+		// "--net-test <matches> [players] [udp]" runs a game server with bot clients for a minute and logs the results
+		if (arg.length >= 2 && arg[0].equals("--net-test")) {
+			int players = arg.length >= 3 ? Integer.parseInt(arg[2]) : 2;
+			boolean udp = arg.length >= 4 && arg[3].equals("udp");
+			game.setNetworkTestToRun(new NetworkLoadTest.Settings(Integer.parseInt(arg[1]), players, udp,
+					"maps/Map 1.properties", 60f));
+		}
+
+		// "--server <port> [players] [map]" runs a dedicated game server on a UDP port next to the game
+		if (arg.length >= 2 && arg[0].equals("--server")) {
+			int players = arg.length >= 3 ? Integer.parseInt(arg[2]) : 4;
+			String map = arg.length >= 4 ? arg[3] : "maps/Map 1.properties";
+			game.setServerToRun(new GameServer.Settings(map, players, 5 * 60f,
+					Runtime.getRuntime().availableProcessors(), 256), Integer.parseInt(arg[1]));
+		}
+
+		// "--bot" lets a bot play instead of the keyboard
+		if (arg.length >= 1 && arg[0].equals("--bot")) {
+			game.setBotControlled(true);
+		}
+
+		// "--players <n>" starts every map with n local players; two share the keyboard, bots steer the rest
+		if (arg.length >= 2 && arg[0].equals("--players")) {
+			game.setPlayerCount(Integer.parseInt(arg[1]));
+		}
+
+		new Lwjgl3Application(game, config);
 	}
 }
 